@@ -28,6 +28,8 @@ public class GeometryViewerConstants {
     public static final String PREF_SHOW_LABELS = "gis.view.showLabels";
 
     public static final int DEFAULT_MAX_OBJECTS_RENDER = 10000;
+    // Larger value sets are indexed and sent to the map by tiles
+    public static final int TILED_RENDER_THRESHOLD = 1000;
 
     // https://leafletjs.com/reference.html#tilelayer-minzoom
     public static final int DEFAULT_MIN_ZOOM_LEVEL = 0;
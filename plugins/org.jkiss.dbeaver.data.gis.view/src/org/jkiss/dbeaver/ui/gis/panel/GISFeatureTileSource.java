@@ -0,0 +1,179 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.gis.panel;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Puntal;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+
+import java.util.*;
+
+/**
+ * Serves geometries to the map viewer by tiles.
+ * <p>
+ * All geometries are put into a spatial index once. Map requests only tiles visible in the viewport,
+ * each tile contains geometries intersecting it, simplified with the tolerance of one pixel of the requested zoom level.
+ * Tile grid matches Leaflet tile layers: 256 pixel tiles in the projected pixel space of the map CRS.
+ */
+class GISFeatureTileSource {
+
+    private static final int TILE_SIZE = 256;
+    // Simplified geometries are kept for a few recent zoom levels only
+    private static final int MAX_CACHED_ZOOM_LEVELS = 3;
+
+    private record Feature(int id, @NotNull Geometry geometry, @Nullable JsonElement tip) {
+    }
+
+    private final int maxFeaturesPerTile;
+    private volatile boolean simpleCRS;
+    private final List<Feature> features = new ArrayList<>();
+    private final STRtree index = new STRtree();
+    private final Envelope bounds = new Envelope();
+    private final Map<Integer, Map<Integer, String>> simplifiedCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Map<Integer, String>> eldest) {
+            return size() > MAX_CACHED_ZOOM_LEVELS;
+        }
+    };
+
+    GISFeatureTileSource(int maxFeaturesPerTile) {
+        this.maxFeaturesPerTile = maxFeaturesPerTile;
+    }
+
+    /**
+     * @param simpleCRS geometries use plain coordinates (Leaflet CRS.Simple) instead of WGS 84
+     */
+    void setSimpleCRS(boolean simpleCRS) {
+        this.simpleCRS = simpleCRS;
+    }
+
+    synchronized void addFeature(@NotNull Geometry geometry, @Nullable JsonElement tip) {
+        Feature feature = new Feature(features.size(), geometry, tip);
+        features.add(feature);
+        Envelope envelope = geometry.getEnvelopeInternal();
+        index.insert(envelope, feature);
+        bounds.expandToInclude(envelope);
+    }
+
+    int getFeatureCount() {
+        return features.size();
+    }
+
+    /**
+     * Envelope of all geometries
+     */
+    @NotNull
+    Envelope getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Returns JSON array of tile features. Each feature has id, simplified WKT and tip.
+     * The same feature may appear in several tiles, the viewer deduplicates them by id.
+     */
+    @NotNull
+    synchronized String getTile(int zoom, int x, int y) {
+        JsonArray result = new JsonArray();
+        Envelope tileEnvelope = getTileEnvelope(zoom, x, y);
+        if (tileEnvelope == null) {
+            return result.toString();
+        }
+        double tolerance = getUnitsPerPixel(zoom);
+        Map<Integer, String> zoomCache = simplifiedCache.computeIfAbsent(zoom, z -> new HashMap<>());
+        @SuppressWarnings("unchecked")
+        List<Feature> candidates = index.query(tileEnvelope);
+        candidates.sort(Comparator.comparingInt(Feature::id));
+        int count = 0;
+        for (Feature feature : candidates) {
+            if (!feature.geometry.getEnvelopeInternal().intersects(tileEnvelope)) {
+                continue;
+            }
+            if (count++ >= maxFeaturesPerTile) {
+                break;
+            }
+            JsonObject item = new JsonObject();
+            item.addProperty("id", feature.id);
+            item.addProperty("wkt", zoomCache.computeIfAbsent(feature.id, id -> simplify(feature.geometry, tolerance)));
+            if (feature.tip != null) {
+                item.add("tip", feature.tip);
+            }
+            result.add(item);
+        }
+        return result.toString();
+    }
+
+    @NotNull
+    private static String simplify(@NotNull Geometry geometry, double tolerance) {
+        if (geometry instanceof Puntal) {
+            return geometry.toText();
+        }
+        Geometry simplified = TopologyPreservingSimplifier.simplify(geometry, tolerance);
+        return simplified.isEmpty() ? geometry.toText() : simplified.toText();
+    }
+
+    private double getUnitsPerPixel(int zoom) {
+        double scale = Math.pow(2, zoom);
+        if (simpleCRS) {
+            return 1 / scale;
+        }
+        // Degrees per pixel at the equator
+        return 360.0 / (TILE_SIZE * scale);
+    }
+
+    @Nullable
+    private Envelope getTileEnvelope(int zoom, int x, int y) {
+        double scale = Math.pow(2, zoom);
+        if (simpleCRS) {
+            // CRS.Simple: pixel = (lng * scale, -lat * scale)
+            double west = x * TILE_SIZE / scale;
+            double east = (x + 1) * TILE_SIZE / scale;
+            double north = -y * TILE_SIZE / scale;
+            double south = -(y + 1) * TILE_SIZE / scale;
+            return new Envelope(west, east, south, north);
+        }
+        if (zoom < 0 || x < 0 || y < 0 || x >= scale || y >= scale) {
+            return null;
+        }
+        // Spherical mercator tile bounds
+        double west = x / scale * 360.0 - 180.0;
+        double east = (x + 1) / scale * 360.0 - 180.0;
+        double north = Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y / scale))));
+        double south = Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * (y + 1) / scale))));
+        // Geometries on the map edges may slightly exceed the world bounds
+        if (x == 0) {
+            west = -Double.MAX_VALUE;
+        }
+        if (x == scale - 1) {
+            east = Double.MAX_VALUE;
+        }
+        if (y == 0) {
+            north = Double.MAX_VALUE;
+        }
+        if (y == scale - 1) {
+            south = -Double.MAX_VALUE;
+        }
+        return new Envelope(west, east, south, north);
+    }
+
+}
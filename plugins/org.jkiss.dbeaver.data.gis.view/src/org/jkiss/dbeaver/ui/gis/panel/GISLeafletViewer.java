@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.ui.gis.panel;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.action.ToolBarManager;
@@ -75,7 +76,10 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -104,6 +108,7 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
 
     private Browser browser;
     private DBGeometry[] lastValue;
+    private volatile GISFeatureTileSource tileSource;
     private int sourceSRID = UNDEFINED_SRID; // Explicitly set SRID
     private int actualSourceSRID; // SRID taken from geometry value
     private Path scriptFile;
@@ -153,6 +158,20 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                 }
             };
 
+            new BrowserFunction(browser, "loadGeometryTile") {
+                @Override
+                public Object function(Object[] arguments) {
+                    final GISFeatureTileSource source = tileSource;
+                    if (source == null) {
+                        return "[]";
+                    }
+                    return source.getTile(
+                        CommonUtils.toInt(arguments[0]),
+                        CommonUtils.toInt(arguments[1]),
+                        CommonUtils.toInt(arguments[2]));
+                }
+            };
+
             if (presentation instanceof SpreadsheetPresentation) {
                 new BrowserFunction(browser, "setPresentationSelection") {
                     @Override
@@ -293,7 +312,9 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         if (maxObjects <= 0) {
             maxObjects = GeometryViewerConstants.DEFAULT_MAX_OBJECTS_RENDER;
         }
-        if (values != null && values.length > maxObjects) {
+        // Large value sets are rendered by tiles, only visible features are sent to the map
+        final boolean tiledMode = values != null && values.length > GeometryViewerConstants.TILED_RENDER_THRESHOLD;
+        if (!tiledMode && values != null && values.length > maxObjects) {
             // Truncate value list
             DBGeometry[] truncValues = new DBGeometry[maxObjects];
             System.arraycopy(values, 0, truncValues, 0, maxObjects);
@@ -302,10 +323,11 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         if (browser != null) {
             try {
                 if (ArrayUtils.isEmpty(values)) {
+                    tileSource = null;
                     browser.setUrl("about:blank");
                 } else {
                     final Bounds bounds = recenter ? null : Bounds.tryExtractFromBrowser(browser);
-                    final Path file = generateViewScript(values, bounds);
+                    final Path file = generateViewScript(values, bounds, tiledMode ? maxObjects : 0);
                     browser.setUrl(file.toFile().toURI().toURL().toString());
                 }
             } catch (IOException e) {
@@ -316,7 +338,10 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         populateToolbar();
     }
 
-    private Path generateViewScript(DBGeometry[] values, @Nullable Bounds bounds) throws IOException {
+    /**
+     * @param maxTiledObjects maximum number of objects rendered in tiled mode, or zero if all values are rendered at once
+     */
+    private Path generateViewScript(DBGeometry[] values, @Nullable Bounds bounds, int maxTiledObjects) throws IOException {
         if (scriptFile == null) {
             Path tempDir = DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), "gis-viewer-files");
             checkIncludesExistence(tempDir);
@@ -336,6 +361,7 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
 
         List<String> geomValues = new ArrayList<>();
         List<String> geomTipValues = new ArrayList<>();
+        final GISFeatureTileSource tiles = maxTiledObjects > 0 ? new GISFeatureTileSource(maxTiledObjects) : null;
         boolean showMap = false;
         for (int i = 0; i < values.length; i++) {
             DBGeometry value = values[i];
@@ -397,6 +423,21 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
             if (targetValue == null) {
                 continue;
             }
+            if (tiles != null) {
+                Geometry geometry = getJtsGeometry(targetValue);
+                if (geometry != null && !geometry.isEmpty()) {
+                    JsonElement tip = null;
+                    try {
+                        if (!CommonUtils.isEmpty(value.getProperties())) {
+                            tip = gson.toJsonTree(value.getProperties());
+                        }
+                    } catch (Exception e) {
+                        log.debug(e);
+                    }
+                    tiles.addFeature(geometry, tip);
+                }
+                continue;
+            }
             geomValues.add("'" + targetValue + "'");
             try {
                 if (CommonUtils.isEmpty(value.getProperties())) {
@@ -413,6 +454,16 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         String geomTipValuesString = String.join(",", geomTipValues);
         String geomCRS = actualSourceSRID == GisConstants.SRID_SIMPLE ? GisConstants.LL_CRS_SIMPLE : GisConstants.LL_CRS_3857;
         boolean isShowMap = showMap;
+        final boolean isTiledMode = tiles != null && tiles.getFeatureCount() > 0;
+        final String dataBounds;
+        if (isTiledMode) {
+            tiles.setSimpleCRS(actualSourceSRID == GisConstants.SRID_SIMPLE);
+            Envelope envelope = tiles.getBounds();
+            dataBounds = new Bounds(envelope.getMaxY(), envelope.getMaxX(), envelope.getMinY(), envelope.getMinX()).toString();
+        } else {
+            dataBounds = "undefined";
+        }
+        this.tileSource = isTiledMode ? tiles : null;
 
         InputStream fis = GISViewerActivator.getDefault().getResourceStream(GISBrowserViewerConstants.VIEW_TEMPLATE_PATH);
         if (fis == null) {
@@ -438,6 +489,12 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
                         return geomCRS;
                     case "geomBounds":
                         return CommonUtils.toString(bounds, "undefined");
+                    case "tiledMode":
+                        return String.valueOf(isTiledMode);
+                    case "maxFeatures":
+                        return String.valueOf(maxTiledObjects);
+                    case "dataBounds":
+                        return dataBounds;
                     case "minZoomLevel":
                         return String.valueOf(GISViewerActivator.getDefault().getPreferences().getInt(GeometryViewerConstants.PREF_MIN_ZOOM_LEVEL));
                     case "defaultTiles":
@@ -459,6 +516,19 @@ public class GISLeafletViewer implements IGeometryValueEditor, DBPPreferenceList
         return scriptFile;
     }
 
+    @Nullable
+    private static Geometry getJtsGeometry(@NotNull Object value) {
+        Geometry geometry = GisTransformUtils.getJtsGeometry(value);
+        if (geometry == null) {
+            try {
+                geometry = new WKTReader().read(value.toString());
+            } catch (ParseException e) {
+                log.debug("Error parsing geometry '" + value + "'", e);
+            }
+        }
+        return geometry;
+    }
+
     private void checkIncludesExistence(Path scriptDir) throws IOException {
         Path incFolder = scriptDir.resolve("inc");
         if (!Files.exists(incFolder)) {
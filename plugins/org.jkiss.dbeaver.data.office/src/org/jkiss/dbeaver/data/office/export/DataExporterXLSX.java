@@ -34,7 +34,9 @@ import org.jkiss.dbeaver.model.exec.DBCResultSet;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.tools.transfer.DTUtils;
 import org.jkiss.dbeaver.tools.transfer.stream.IAppendableDataExporter;
 import org.jkiss.dbeaver.tools.transfer.stream.IStreamDataExporterSite;
@@ -42,16 +44,20 @@ import org.jkiss.dbeaver.tools.transfer.stream.exporter.StreamExporterAbstract;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
+import org.jkiss.utils.IOUtils;
 
 import java.awt.Color;
 import java.io.IOException;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.zip.Deflater;
 
 /**
  * Export XLSX with Apache POI
@@ -83,6 +89,8 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     private static final String PROP_DATE_FORMAT = "dateFormat";
     private static final String PROP_APPEND_STRATEGY = "appendStrategy";
     private static final String PROP_USE_DEFAULT_SPREADSHEET_NAMES = "useDefaultSpreadsheetNames";
+    private static final String PROP_STREAMING_WRITER = "streamingWriter";
+    private static final String PROP_COMPRESSION_LEVEL = "compressionLevel";
 
     private static final int EXCEL2007MAXROWS = 1048575;
     private static final int EXCEL_MAX_CELL_CHARACTERS = 32767; // Total number of characters that a cell can contain - 32,767 characters
@@ -91,6 +99,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     enum FontStyleProp {NONE, BOLD, ITALIC, STRIKEOUT, UNDERLINE}
 
     private static final int ROW_WINDOW = 100;
+    private static final int DEFAULT_COMPRESSION_LEVEL = 6;
 
     private String nullString;
 
@@ -98,6 +107,8 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     private DBDAttributeDecorator decorator;
 
     private SXSSFWorkbook wb;
+    // Used instead of POI workbook in the streaming writer mode
+    private XLSXStreamWriter streamWriter;
 
     private HeaderFormat headerFormat = HeaderFormat.LABEL;
     private boolean rowNumber = false;
@@ -118,6 +129,12 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     private XSSFCellStyle style;
     private XSSFCellStyle styleDate;
     private XSSFCellStyle styleHeader;
+    // Decorated cell styles by background color
+    private final Map<String, XSSFCellStyle> decoratedStyles = new HashMap<>();
+
+    private int streamStyle;
+    private int streamStyleDate;
+    private int streamStyleHeader;
 
     private HashMap<Object, Worksheet> worksheets;
 
@@ -138,6 +155,8 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         properties.put(DataExporterXLSX.PROP_DATE_FORMAT, "");
         properties.put(DataExporterXLSX.PROP_APPEND_STRATEGY, AppendStrategy.CREATE_NEW_SHEETS.value);
         properties.put(DataExporterXLSX.PROP_USE_DEFAULT_SPREADSHEET_NAMES, false);
+        properties.put(DataExporterXLSX.PROP_STREAMING_WRITER, false);
+        properties.put(DataExporterXLSX.PROP_COMPRESSION_LEVEL, DEFAULT_COMPRESSION_LEVEL);
         return properties;
     }
 
@@ -161,12 +180,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         String dateFormat = CommonUtils.toString(properties.get(PROP_DATE_FORMAT), "");
         appendStrategy = AppendStrategy.of(CommonUtils.toString(properties.get(PROP_APPEND_STRATEGY)));
 
-        if (wb == null) {
-            wb = new SXSSFWorkbook(ROW_WINDOW);
-        }
-
         worksheets = new HashMap<>(1);
-        styleHeader = (XSSFCellStyle) wb.createCellStyle();
 
         BorderStyle border = CommonUtils.valueOf(
             BorderStyle.class,
@@ -178,6 +192,53 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
             CommonUtils.toString(properties.get(PROP_HEADER_FONT), FontStyleProp.BOLD.name()),
             FontStyleProp.BOLD);
 
+        // Appending to an existing workbook requires POI
+        if (wb == null && CommonUtils.getBoolean(properties.get(PROP_STREAMING_WRITER), false)) {
+            initStreamWriter(
+                border,
+                fontStyle,
+                dateFormat,
+                CommonUtils.toInt(properties.get(PROP_COMPRESSION_LEVEL), DEFAULT_COMPRESSION_LEVEL));
+        } else {
+            initWorkbook(border, fontStyle, dateFormat);
+        }
+
+        this.rowCount = 0;
+        this.sheetIndex = 0;
+
+        super.init(site);
+    }
+
+    private void initStreamWriter(BorderStyle border, FontStyleProp fontStyle, String dateFormat, int compressionLevel) throws DBException {
+        String headerFont = switch (fontStyle) {
+            case BOLD -> "b";
+            case ITALIC -> "i";
+            case STRIKEOUT -> "strike";
+            case UNDERLINE -> "u val=\"singleAccounting\"";
+            default -> "";
+        };
+        try {
+            streamWriter = new XLSXStreamWriter(
+                DBWorkbench.getPlatform().getTempFolder(new VoidProgressMonitor(), "xlsx"),
+                Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, compressionLevel)),
+                border == BorderStyle.NONE ? null : border.name().toLowerCase(Locale.ENGLISH),
+                headerFont,
+                dateFormat);
+        } catch (IOException e) {
+            throw new DBException("Error creating XLSX writer", e);
+        }
+        streamStyle = streamWriter.getStyle(false, false, null);
+        streamStyleDate = streamWriter.getStyle(false, true, null);
+        streamStyleHeader = streamWriter.getStyle(true, false, null);
+    }
+
+    private void initWorkbook(BorderStyle border, FontStyleProp fontStyle, String dateFormat) {
+        if (wb == null) {
+            wb = new SXSSFWorkbook(ROW_WINDOW);
+        }
+
+        styleHeader = (XSSFCellStyle) wb.createCellStyle();
+
         styleHeader.setBorderTop(border);
         styleHeader.setBorderBottom(border);
         styleHeader.setBorderLeft(border);
@@ -221,15 +282,14 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         } else {
             styleDate.setDataFormat(wb.getCreationHelper().createDataFormat().getFormat(dateFormat));
         }
-
-        this.rowCount = 0;
-        this.sheetIndex = 0;
-
-        super.init(site);
+        decoratedStyles.clear();
     }
 
     @Override
     public void dispose() {
+        if (streamWriter != null) {
+            disposeStreamWriter();
+        }
         try {
             if (exportSql && wb != null) {
                 try {
@@ -278,6 +338,25 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         super.dispose();
     }
 
+    private void disposeStreamWriter() {
+        try {
+            if (exportSql) {
+                XLSXStreamWriter.Sheet sheet = streamWriter.createSheet(makeUniqueSheetName(WorksheetUtils.DEFAULT_SHEET_NAME));
+                String sqlText = getSite().getSource().getName();
+                String[] lines = splitSqlText ? sqlText.split("\n", EXCEL2007MAXROWS) : new String[] { sqlText };
+                for (String line : lines) {
+                    sheet.addRow(new Object[] { line }, new int[] { 0 });
+                }
+            }
+            streamWriter.write(getSite().getOutputStream());
+        } catch (Exception e) {
+            log.error("Dispose error", e);
+        } finally {
+            streamWriter.dispose();
+            streamWriter = null;
+        }
+    }
+
     @Override
     public void exportHeader(DBCSession session) throws DBException {
 
@@ -297,7 +376,7 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     private void printHeader(DBCResultSet resultSet, Worksheet wsh) throws DBException {
         final SXSSFSheet sh = (SXSSFSheet) wsh.getSh();
 
-        if (appendStrategy == AppendStrategy.USE_EXISTING_SHEETS && getPhysicalNumberOfRows(sh) > 0) {
+        if (sh != null && appendStrategy == AppendStrategy.USE_EXISTING_SHEETS && getPhysicalNumberOfRows(sh) > 0) {
             return;
         }
 
@@ -333,6 +412,11 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
             return;
         }
 
+        if (sh == null) {
+            printStreamHeader(wsh, hasDescription);
+            return;
+        }
+
         sh.trackAllColumnsForAutoSizing();
 
         int startCol = rowNumber ? 1 : 0;
@@ -377,6 +461,35 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         sh.untrackAllColumnsForAutoSizing();
     }
 
+    private void printStreamHeader(Worksheet wsh, boolean hasDescription) throws DBException {
+        int startCol = rowNumber ? 1 : 0;
+        Object[] values = new Object[columns.length + startCol];
+        int[] styles = new int[values.length];
+        Arrays.fill(styles, startCol, styles.length, streamStyleHeader);
+        try {
+            if (headerFormat.hasLabel()) {
+                for (int i = 0; i < columns.length; i++) {
+                    String colName = columns[i].getLabel();
+                    if (CommonUtils.isEmpty(colName)) {
+                        colName = columns[i].getName();
+                    }
+                    values[i + startCol] = colName;
+                }
+                wsh.getStreamSheet().addRow(values, styles);
+                wsh.incRow();
+            }
+            if (hasDescription) {
+                for (int i = 0; i < columns.length; i++) {
+                    values[i + startCol] = CommonUtils.notEmpty(columns[i].getDescription());
+                }
+                wsh.getStreamSheet().addRow(values, styles);
+                wsh.incRow();
+            }
+        } catch (IOException e) {
+            throw new DBException("Error processing header", e);
+        }
+    }
+
     private void writeCellValue(Cell cell, Reader reader) throws IOException {
         try {
             StringBuilder sb = new StringBuilder();
@@ -397,7 +510,20 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
     private Worksheet createSheet(DBCResultSet resultSet, Object colValue) throws DBException {
         final Sheet sheet;
         final Worksheet worksheet;
-        if (appendStrategy == AppendStrategy.USE_EXISTING_SHEETS && sheetIndex < wb.getNumberOfSheets()) {
+        if (streamWriter != null) {
+            String sheetName;
+            if (CommonUtils.toBoolean(getSite().getProperties().get(PROP_USE_DEFAULT_SPREADSHEET_NAMES))) {
+                sheetName = "Sheet" + sheetIndex;
+            } else {
+                sheetName = makeUniqueSheetName(exportTableName);
+            }
+            sheetIndex++;
+            try {
+                worksheet = new Worksheet(streamWriter.createSheet(sheetName), colValue);
+            } catch (IOException e) {
+                throw new DBException("Error creating sheet", e);
+            }
+        } else if (appendStrategy == AppendStrategy.USE_EXISTING_SHEETS && sheetIndex < wb.getNumberOfSheets()) {
             sheet = wb.getSheetAt(sheetIndex++);
             worksheet = new Worksheet(sheet, colValue, getPhysicalNumberOfRows(sheet));
         } else {
@@ -413,6 +539,10 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         return worksheet;
     }
 
+    private String makeUniqueSheetName(String name) {
+        return WorksheetUtils.makeUniqueSheetName(streamWriter::hasSheet, name);
+    }
+
     private Worksheet getWsh(DBCResultSet resultSet, Object[] row) throws DBException {
         Object colValue = ((splitByCol <= 0) || (splitByCol >= columns.length)) ? "" : row[splitByCol];
         Worksheet w = worksheets.get(colValue);
@@ -433,6 +563,10 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         throws DBException, IOException {
 
         Worksheet wsh = getWsh(resultSet, row);
+        if (streamWriter != null) {
+            exportStreamRow(session, wsh, row);
+            return;
+        }
         Row rowX = wsh.getSh().createRow(wsh.getCurrentRow());
 
         int startCol = 0;
@@ -497,6 +631,63 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
         rowCount++;
     }
 
+    private void exportStreamRow(DBCSession session, Worksheet wsh, Object[] row) throws DBException, IOException {
+        int startCol = rowNumber ? 1 : 0;
+        Object[] values = new Object[row.length + startCol];
+        int[] styles = new int[values.length];
+        if (rowNumber) {
+            values[0] = String.valueOf(wsh.getCurrentRow());
+            styles[0] = streamStyle;
+        }
+        for (int i = 0; i < row.length; i++) {
+            DBDAttributeBinding column = columns[i];
+            Object value = row[i];
+            int cellStyle = getStreamCellStyle(column, rowCount, value instanceof Date);
+            Object cellValue;
+            if (DBUtils.isNullValue(value)) {
+                cellValue = CommonUtils.isEmpty(nullString) ? null : nullString;
+            } else if (value instanceof DBDContent content) {
+                try {
+                    DBDContentStorage cs = content.getContents(session.getProgressMonitor());
+                    if (cs == null) {
+                        cellValue = DBConstants.NULL_VALUE_LABEL;
+                    } else if (ContentUtils.isTextContent(content)) {
+                        try (Reader reader = cs.getContentReader()) {
+                            cellValue = getPreparedString(IOUtils.readToString(reader));
+                        }
+                    } else {
+                        cellValue = BINARY_FIXED;
+                    }
+                } finally {
+                    content.release();
+                }
+            } else if (value instanceof Boolean bool) {
+                cellValue = booleRedefined ? (bool ? boolTrue : boolFalse) : bool;
+            } else if (value instanceof Number) {
+                cellValue = value;
+            } else if (value instanceof Date) {
+                cellValue = value;
+            } else {
+                cellValue = getPreparedString(super.getValueDisplayString(column, value));
+            }
+            values[i + startCol] = cellValue;
+            styles[i + startCol] = cellStyle;
+        }
+        wsh.getStreamSheet().addRow(values, styles);
+        wsh.incRow();
+        rowCount++;
+    }
+
+    private int getStreamCellStyle(@NotNull DBDAttributeBinding attribute, int row, boolean date) {
+        if (decorator != null) {
+            final String bg = decorator.getCellBackground(attribute, row);
+            if (bg != null) {
+                return streamWriter.getStyle(false, date, bg);
+            }
+        }
+        return date ? streamStyleDate : streamStyle;
+    }
+
     private CellType getCellType(DBDAttributeBinding column) {
         switch (column.getDataKind()) {
         case NUMERIC:
@@ -573,12 +764,14 @@ public class DataExporterXLSX extends StreamExporterAbstract implements IAppenda
             final String bg = decorator.getCellBackground(attribute, row);
 
             if (bg != null) {
-                // Setting the foreground color sets the background color. Is this a bug/feature of POI?
-                final XSSFCellStyle style = (XSSFCellStyle) this.style.copy();
-                style.setFillForegroundColor(new XSSFColor(asColor(bg), new DefaultIndexedColorMap()));
-                style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-
-                return style;
+                // Styles are shared by cells, workbook style count is limited
+                return decoratedStyles.computeIfAbsent(bg, color -> {
+                    // Setting the foreground color sets the background color. Is this a bug/feature of POI?
+                    final XSSFCellStyle style = (XSSFCellStyle) this.style.copy();
+                    style.setFillForegroundColor(new XSSFColor(asColor(color), new DefaultIndexedColorMap()));
+                    style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+                    return style;
+                });
             }
         }
 
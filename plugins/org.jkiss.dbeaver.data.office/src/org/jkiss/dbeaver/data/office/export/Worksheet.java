@@ -22,6 +22,7 @@ import org.apache.poi.ss.usermodel.Sheet;
 public class Worksheet {
 	
 	private Sheet sh;
+	private XLSXStreamWriter.Sheet streamSheet;
 	private Object columnVal;
 	private int currentRow;
 	
@@ -33,11 +34,22 @@ public class Worksheet {
 		this.currentRow = currentRow;
 	}
 	
+	Worksheet(XLSXStreamWriter.Sheet streamSheet, Object columnVal)
+	{
+		this.streamSheet = streamSheet;
+		this.columnVal = columnVal;
+	}
+	
 	public Sheet getSh()
 	{
 		return sh;
 	}
 	
+	XLSXStreamWriter.Sheet getStreamSheet()
+	{
+		return streamSheet;
+	}
+	
 	public Object getColumnVal()
 	{
 		return columnVal;
@@ -54,5 +66,6 @@ public class Worksheet {
 	
 	public void dispose(){
 		sh = null;
+		streamSheet = null;
 	}
 }
@@ -22,6 +22,7 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Xlsx sheet name validator.
@@ -42,6 +43,11 @@ public class WorksheetUtils {
 
     @NotNull
     public static String makeUniqueSheetName(@NotNull Workbook workbook, @Nullable String sheetName) {
+        return makeUniqueSheetName(name -> workbook.getSheet(name) != null, sheetName);
+    }
+
+    @NotNull
+    public static String makeUniqueSheetName(@NotNull Predicate<String> sheetExists, @Nullable String sheetName) {
         String name = toValidExcelSheetName(sheetName);
         for (int i = 0; i < MAX_NAME_GENERATION_ATTEMPTS; i++) {
             String result;
@@ -51,7 +57,7 @@ public class WorksheetUtils {
                 String suffix = String.valueOf(i);
                 result = name.substring(0, Math.min(name.length(), MAX_NAME_LENGTH - suffix.length())) + suffix;
             }
-            if (workbook.getSheet(result) == null) {
+            if (!sheetExists.test(result)) {
                 return result;
             }
         }
@@ -0,0 +1,480 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.office.export;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streaming XLSX writer.
+ * <p>
+ * Rows are serialized into sheet temporary files by a small pool of writer threads, so XML generation
+ * doesn't slow down data fetching. Rows of a sheet are written in batches, one batch of a sheet at a time.
+ * Strings are written inline, there is no shared strings table to build and keep in memory.
+ * Sheet parts are zipped into the output stream when the workbook is written.
+ */
+public class XLSXStreamWriter {
+
+    private static final Log log = Log.getLog(XLSXStreamWriter.class);
+
+    private static final String SPREADSHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final int ROW_BATCH_SIZE = 1000;
+    private static final int MAX_WRITER_THREADS = 4;
+    private static final int BUILTIN_DATE_FORMAT = 14;
+    private static final int CUSTOM_DATE_FORMAT = 164;
+    private static final int MIN_COLUMN_WIDTH = 10;
+    private static final int MAX_COLUMN_WIDTH = 100;
+    private static final int DATE_COLUMN_WIDTH = 10;
+
+    private record CellStyle(boolean header, boolean date, @Nullable String fillColor) {
+    }
+
+    private final Path tempFolder;
+    private final int compressionLevel;
+    @Nullable
+    private final String borderStyle;
+    @NotNull
+    private final String headerFontStyle;
+    @Nullable
+    private final String dateFormat;
+
+    private final Map<CellStyle, Integer> styles = new LinkedHashMap<>();
+    private final List<String> fillColors = new ArrayList<>();
+    private final List<Sheet> sheets = new ArrayList<>();
+    private final ExecutorService writerExecutor;
+
+    /**
+     * @param borderStyle     cell border style (thin, thick) or null
+     * @param headerFontStyle header font element (b, i, strike, u) or empty string
+     * @param dateFormat      custom date format or null for the default one
+     */
+    public XLSXStreamWriter(
+        @NotNull Path tempFolder,
+        int compressionLevel,
+        @Nullable String borderStyle,
+        @NotNull String headerFontStyle,
+        @Nullable String dateFormat
+    ) {
+        this.tempFolder = tempFolder;
+        this.compressionLevel = compressionLevel;
+        this.borderStyle = borderStyle;
+        this.headerFontStyle = headerFontStyle;
+        this.dateFormat = CommonUtils.isEmpty(dateFormat) ? null : dateFormat;
+        int threadCount = Math.max(1, Math.min(MAX_WRITER_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+        this.writerExecutor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "XLSX sheet writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns style index. Styles are cached, so it is cheap to call it for each cell.
+     *
+     * @param fillColor background color in r,g,b format
+     */
+    public synchronized int getStyle(boolean header, boolean date, @Nullable String fillColor) {
+        return styles.computeIfAbsent(new CellStyle(header, date, fillColor), style -> {
+            if (style.fillColor != null && !fillColors.contains(style.fillColor)) {
+                fillColors.add(style.fillColor);
+            }
+            // Style 0 is the default one
+            return styles.size() + 1;
+        });
+    }
+
+    @NotNull
+    public synchronized Sheet createSheet(@NotNull String name) throws IOException {
+        Path file = Files.createTempFile(tempFolder, "sheet", ".xml");
+        Sheet sheet = new Sheet(name, file);
+        sheets.add(sheet);
+        return sheet;
+    }
+
+    synchronized boolean hasSheet(@NotNull String name) {
+        for (Sheet sheet : sheets) {
+            if (sheet.name.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits for all sheet writers and writes the workbook. Output stream is not closed.
+     */
+    public void write(@NotNull OutputStream out) throws IOException {
+        for (Sheet sheet : sheets) {
+            sheet.finish();
+        }
+        writerExecutor.shutdown();
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        zip.setLevel(compressionLevel);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+        zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        writer.write(XML_HEADER);
+        writer.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        writer.write("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        writer.write("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        writer.write("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        writer.write("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= sheets.size(); i++) {
+            writer.write("<Override PartName=\"/xl/worksheets/sheet" + i + ".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        writer.write("</Types>");
+        closeEntry(zip, writer);
+
+        zip.putNextEntry(new ZipEntry("_rels/.rels"));
+        writer.write(XML_HEADER);
+        writer.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        writer.write("<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>");
+        writer.write("</Relationships>");
+        closeEntry(zip, writer);
+
+        zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        writer.write(XML_HEADER);
+        writer.write("<workbook xmlns=\"" + SPREADSHEET_NS + "\" xmlns:r=\"" + RELATIONSHIPS_NS + "\"><sheets>");
+        for (int i = 1; i <= sheets.size(); i++) {
+            writer.write("<sheet name=\"");
+            writeEscaped(writer, sheets.get(i - 1).name, true);
+            writer.write("\" sheetId=\"" + i + "\" r:id=\"rId" + i + "\"/>");
+        }
+        writer.write("</sheets></workbook>");
+        closeEntry(zip, writer);
+
+        zip.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+        writer.write(XML_HEADER);
+        writer.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheets.size(); i++) {
+            writer.write("<Relationship Id=\"rId" + i + "\" Type=\"" + RELATIONSHIPS_NS + "/worksheet\" Target=\"worksheets/sheet" + i + ".xml\"/>");
+        }
+        writer.write("<Relationship Id=\"rId" + (sheets.size() + 1) + "\" Type=\"" + RELATIONSHIPS_NS + "/styles\" Target=\"styles.xml\"/>");
+        writer.write("</Relationships>");
+        closeEntry(zip, writer);
+
+        zip.putNextEntry(new ZipEntry("xl/styles.xml"));
+        writeStyles(writer);
+        closeEntry(zip, writer);
+
+        for (int i = 1; i <= sheets.size(); i++) {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + i + ".xml"));
+            sheets.get(i - 1).writePart(writer, zip);
+            closeEntry(zip, writer);
+        }
+        zip.finish();
+    }
+
+    /**
+     * Stops sheet writers and deletes temporary files
+     */
+    public void dispose() {
+        for (Sheet sheet : sheets) {
+            sheet.dispose();
+        }
+        sheets.clear();
+        writerExecutor.shutdownNow();
+    }
+
+    private static void closeEntry(@NotNull ZipOutputStream zip, @NotNull Writer writer) throws IOException {
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeStyles(@NotNull Writer writer) throws IOException {
+        writer.write(XML_HEADER);
+        writer.write("<styleSheet xmlns=\"" + SPREADSHEET_NS + "\">");
+        if (dateFormat != null) {
+            writer.write("<numFmts count=\"1\"><numFmt numFmtId=\"" + CUSTOM_DATE_FORMAT + "\" formatCode=\"");
+            writeEscaped(writer, dateFormat, true);
+            writer.write("\"/></numFmts>");
+        }
+        writer.write("<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font><font>");
+        if (!headerFontStyle.isEmpty()) {
+            writer.write("<" + headerFontStyle + "/>");
+        }
+        writer.write("<sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>");
+
+        // The first two fills are reserved
+        writer.write("<fills count=\"" + (fillColors.size() + 2) + "\">");
+        writer.write("<fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill>");
+        for (String color : fillColors) {
+            writer.write("<fill><patternFill patternType=\"solid\"><fgColor rgb=\"" + toARGB(color) + "\"/></patternFill></fill>");
+        }
+        writer.write("</fills>");
+
+        writer.write("<borders count=\"2\"><border><left/><right/><top/><bottom/><diagonal/></border><border>");
+        if (borderStyle != null) {
+            String style = " style=\"" + borderStyle + "\"";
+            writer.write("<left" + style + "/><right" + style + "/><top" + style + "/><bottom" + style + "/>");
+        } else {
+            writer.write("<left/><right/><top/><bottom/>");
+        }
+        writer.write("<diagonal/></border></borders>");
+
+        writer.write("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+        writer.write("<cellXfs count=\"" + (styles.size() + 1) + "\">");
+        writer.write("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>");
+        for (CellStyle style : styles.keySet()) {
+            int numFmtId = style.date ? (dateFormat != null ? CUSTOM_DATE_FORMAT : BUILTIN_DATE_FORMAT) : 0;
+            int fillId = style.fillColor == null ? 0 : fillColors.indexOf(style.fillColor) + 2;
+            writer.write("<xf numFmtId=\"" + numFmtId + "\" fontId=\"" + (style.header ? 1 : 0) +
+                "\" fillId=\"" + fillId + "\" borderId=\"1\" xfId=\"0\"");
+            if (numFmtId != 0) {
+                writer.write(" applyNumberFormat=\"1\"");
+            }
+            if (fillId != 0) {
+                writer.write(" applyFill=\"1\"");
+            }
+            writer.write(" applyBorder=\"1\"/>");
+        }
+        writer.write("</cellXfs>");
+        writer.write("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        writer.write("</styleSheet>");
+    }
+
+    @NotNull
+    private static String toARGB(@NotNull String rgb) {
+        StringBuilder argb = new StringBuilder("FF");
+        for (String component : rgb.split(",")) {
+            String hex = Integer.toHexString(CommonUtils.toInt(component.trim()) & 0xFF).toUpperCase(Locale.ENGLISH);
+            if (hex.length() < 2) {
+                argb.append('0');
+            }
+            argb.append(hex);
+        }
+        return argb.toString();
+    }
+
+    private static void writeEscaped(@NotNull Writer writer, @NotNull String text, boolean attribute) throws IOException {
+        int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            String replacement;
+            if (c == '<') {
+                replacement = "&lt;";
+            } else if (c == '>') {
+                replacement = "&gt;";
+            } else if (c == '&') {
+                replacement = "&amp;";
+            } else if (c == '"' && attribute) {
+                replacement = "&quot;";
+            } else if (c < 0x20 && c != '\t' && c != '\n' && c != '\r' || c == 0xFFFE || c == 0xFFFF) {
+                // Not allowed in XML
+                replacement = "";
+            } else {
+                continue;
+            }
+            writer.write(text, start, i - start);
+            writer.write(replacement);
+            start = i + 1;
+        }
+        writer.write(text, start, length - start);
+    }
+
+    /**
+     * Worksheet. Rows are collected into batches which are serialized by writer threads.
+     */
+    public class Sheet {
+
+        private final String name;
+        private final Path file;
+        private List<Object[]> batch = new ArrayList<>(ROW_BATCH_SIZE);
+        // Batches of the same sheet are never written concurrently
+        @Nullable
+        private Future<?> pendingWrite;
+        private int rowCount;
+        // Accessed by writer tasks only until the sheet is finished
+        private int[] columnWidths = new int[0];
+        private int writtenRowCount;
+
+        private Sheet(@NotNull String name, @NotNull Path file) {
+            this.name = name;
+            this.file = file;
+        }
+
+        @NotNull
+        String getName() {
+            return name;
+        }
+
+        int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Adds row to the sheet.
+         *
+         * @param values cell values: String, Number, Boolean, Date or null
+         * @param styles cell style indexes
+         */
+        public void addRow(@NotNull Object[] values, @NotNull int[] styles) throws IOException {
+            Object[] row = new Object[values.length * 2];
+            for (int i = 0; i < values.length; i++) {
+                row[i * 2] = values[i];
+                row[i * 2 + 1] = styles[i];
+            }
+            batch.add(row);
+            rowCount++;
+            if (batch.size() >= ROW_BATCH_SIZE) {
+                flushBatch();
+            }
+        }
+
+        private void flushBatch() throws IOException {
+            waitPendingWrite();
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Object[]> rows = batch;
+            batch = new ArrayList<>(ROW_BATCH_SIZE);
+            pendingWrite = writerExecutor.submit(() -> {
+                writeRows(rows);
+                return null;
+            });
+        }
+
+        private void waitPendingWrite() throws IOException {
+            if (pendingWrite == null) {
+                return;
+            }
+            try {
+                pendingWrite.get();
+                pendingWrite = null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Sheet writer interrupted");
+            } catch (ExecutionException e) {
+                throw new IOException("Error writing sheet '" + name + "'", e.getCause());
+            }
+        }
+
+        private void finish() throws IOException {
+            flushBatch();
+            waitPendingWrite();
+        }
+
+        private void dispose() {
+            if (pendingWrite != null) {
+                pendingWrite.cancel(true);
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Error deleting temporary sheet file", e);
+            }
+        }
+
+        private void writeRows(@NotNull List<Object[]> rows) throws IOException {
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+                for (Object[] row : rows) {
+                    writeRow(writer, row);
+                }
+            }
+        }
+
+        private void writeRow(@NotNull Writer writer, @NotNull Object[] row) throws IOException {
+            int cellCount = row.length / 2;
+            if (columnWidths.length < cellCount) {
+                columnWidths = Arrays.copyOf(columnWidths, cellCount);
+            }
+            writtenRowCount++;
+            writer.write("<row r=\"");
+            writer.write(Integer.toString(writtenRowCount));
+            writer.write("\">");
+            for (int i = 0; i < cellCount; i++) {
+                Object value = row[i * 2];
+                int style = (Integer) row[i * 2 + 1];
+                writer.write("<c r=\"");
+                writer.write(CellReference.convertNumToColString(i));
+                writer.write(Integer.toString(writtenRowCount));
+                writer.write("\" s=\"");
+                writer.write(Integer.toString(style));
+                if (value == null) {
+                    writer.write("\"/>");
+                    continue;
+                }
+                int width;
+                if (value instanceof Boolean bool) {
+                    writer.write("\" t=\"b\"><v>");
+                    writer.write(bool ? "1" : "0");
+                    writer.write("</v></c>");
+                    width = bool.toString().length();
+                } else if (value instanceof Date date) {
+                    writer.write("\"><v>");
+                    writer.write(Double.toString(DateUtil.getExcelDate(date)));
+                    writer.write("</v></c>");
+                    width = DATE_COLUMN_WIDTH;
+                } else if (value instanceof Number number && Double.isFinite(number.doubleValue())) {
+                    String text = value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ?
+                        Long.toString(number.longValue()) : Double.toString(number.doubleValue());
+                    writer.write("\"><v>");
+                    writer.write(text);
+                    writer.write("</v></c>");
+                    width = text.length();
+                } else {
+                    String text = value.toString();
+                    writer.write("\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                    writeEscaped(writer, text, false);
+                    writer.write("</t></is></c>");
+                    width = text.length();
+                }
+                columnWidths[i] = Math.max(columnWidths[i], width);
+            }
+            writer.write("</row>\n");
+        }
+
+        private void writePart(@NotNull Writer writer, @NotNull OutputStream out) throws IOException {
+            writer.write(XML_HEADER);
+            writer.write("<worksheet xmlns=\"" + SPREADSHEET_NS + "\">");
+            if (columnWidths.length > 0) {
+                writer.write("<cols>");
+                for (int i = 0; i < columnWidths.length; i++) {
+                    int width = Math.min(MAX_COLUMN_WIDTH, Math.max(MIN_COLUMN_WIDTH, columnWidths[i] + 2));
+                    writer.write("<col min=\"" + (i + 1) + "\" max=\"" + (i + 1) + "\" width=\"" + width + "\" customWidth=\"1\"/>");
+                }
+                writer.write("</cols>");
+            }
+            writer.write("<sheetData>");
+            writer.flush();
+            Files.copy(file, out);
+            writer.write("</sheetData></worksheet>");
+        }
+    }
+
+}
@@ -76,6 +76,7 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
     private Button ignoreErrorsCheck;
     private Button dumpQueryCheck;
     private Button autoCommitCheck;
+    private Spinner maxParallelQueriesSpinner;
     private TableViewer scriptsViewer;
     private TableViewer dataSourceViewer;
 
@@ -372,6 +373,14 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
             ignoreErrorsCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_ignore_errors, "", dtSettings.isIgnoreErrors(), 1);
             dumpQueryCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_dump_results, "", dtSettings.isDumpQueryResultsToLog(), 1);
             autoCommitCheck = UIUtils.createCheckbox(settingsGroup, DTMessages.sql_script_task_page_settings_option_auto_commit, "", dtSettings.isAutoCommit(), 1);
+            maxParallelQueriesSpinner = UIUtils.createLabelSpinner(
+                settingsGroup,
+                DTMessages.sql_script_task_page_settings_option_max_parallel_queries,
+                DTMessages.sql_script_task_page_settings_option_max_parallel_queries_tip,
+                dtSettings.getMaxParallelQueries(),
+                1,
+                64
+            );
         }
 
         getWizard().createVariablesEditButton(composite);
@@ -557,6 +566,9 @@ class SQLScriptTaskPageSettings extends ActiveWizardPage<SQLScriptTaskConfigurat
         if (autoCommitCheck != null) {
             settings.setAutoCommit(autoCommitCheck.getSelection());
         }
+        if (maxParallelQueriesSpinner != null) {
+            settings.setMaxParallelQueries(maxParallelQueriesSpinner.getSelection());
+        }
     }
 
 }
\ No newline at end of file
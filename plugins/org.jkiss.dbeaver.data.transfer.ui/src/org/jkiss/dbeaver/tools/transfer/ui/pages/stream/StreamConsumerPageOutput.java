@@ -42,6 +42,7 @@ import org.jkiss.dbeaver.tools.transfer.registry.DataTransferProcessorDescriptor
 import org.jkiss.dbeaver.tools.transfer.registry.DataTransferRegistry;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.BlobFileConflictBehavior;
+import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.CompressionFormat;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.DataFileConflictBehavior;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamConsumerSettings.LobExtractType;
 import org.jkiss.dbeaver.tools.transfer.stream.StreamTransferConsumer;
@@ -167,6 +168,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
     private Text directoryText;
     private Text fileNameText;
     private Button compressCheckbox;
+    private Combo compressionFormatCombo;
     private Button clipboardCheck;
     private Button singleFileCheck;
     private Button showFinalMessageCheckbox;
@@ -267,6 +269,16 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
                     updateControlsEnablement();
                 }
             });
+            compressionFormatCombo = UIUtils.createLabelCombo(generalSettings, DTMessages.data_transfer_wizard_output_label_compression_format, SWT.DROP_DOWN | SWT.READ_ONLY);
+            for (CompressionFormat format : CompressionFormat.values()) {
+                compressionFormatCombo.add(format.name());
+            }
+            compressionFormatCombo.addModifyListener(e -> {
+                int index = compressionFormatCombo.getSelectionIndex();
+                if (index >= 0) {
+                    settings.setCompressionFormat(CompressionFormat.values()[index]);
+                }
+            });
 
             {
                 Composite outFilesSettings = UIUtils.createComposite(generalSettings, 3);
@@ -420,6 +432,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         directoryText.setEnabled(!clipboard);
         fileNameText.setEnabled(!clipboard);
         compressCheckbox.setEnabled(!clipboard && !singleFileCheck.getSelection());
+        compressionFormatCombo.setEnabled(compressCheckbox.isEnabled() && compressCheckbox.getSelection());
         if (compressCheckbox.getSelection() && dataFileConflictBehaviorSelector.getValue().equals(DataFileConflictBehavior.APPEND)) {
             dataFileConflictBehaviorSelector.setValue(DataFileConflictBehavior.PATCHNAME);
         }
@@ -449,6 +462,7 @@ public class StreamConsumerPageOutput extends DataTransferPageNodeSettings {
         directoryText.setText(CommonUtils.toString(settings.getOutputFolder()));
         fileNameText.setText(CommonUtils.toString(settings.getOutputFilePattern()));
         compressCheckbox.setSelection(settings.isCompressResults());
+        compressionFormatCombo.select(settings.getCompressionFormat().ordinal());
         splitFilesCheckbox.setSelection(settings.isSplitOutFiles());
         maximumFileSizeText.setText(String.valueOf(settings.getMaxOutFileSize()));
         encodingCombo.setText(CommonUtils.toString(settings.getOutputEncoding()));
@@ -48,6 +48,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<Path> {
 
     private boolean ignoreErrors;
     private boolean dumpQueryResultsToLog;
+    private int maxParallelQueries = 1;
 
     public List<String> getScriptFiles() {
         return scriptFiles;
@@ -81,6 +82,14 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<Path> {
         this.dumpQueryResultsToLog = dumpQueryResultsToLog;
     }
 
+    public int getMaxParallelQueries() {
+        return maxParallelQueries;
+    }
+
+    public void setMaxParallelQueries(int maxParallelQueries) {
+        this.maxParallelQueries = maxParallelQueries;
+    }
+
     public boolean isAutoCommit() {
         return autoCommit;
     }
@@ -136,6 +145,7 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<Path> {
         dumpQueryResultsToLog = JSONUtils.getBoolean(config, "dumpQueryResultsToLog");
 
         autoCommit = JSONUtils.getBoolean(config, "autoCommit");
+        maxParallelQueries = Math.max(1, JSONUtils.getInteger(config, "maxParallelQueries", 1));
     }
 
     public void saveConfiguration(Map<String, Object> config) {
@@ -153,5 +163,6 @@ public class SQLScriptExecuteSettings implements DBTTaskSettings<Path> {
         config.put("dumpQueryResultsToLog", dumpQueryResultsToLog);
 
         config.put("autoCommit", autoCommit);
+        config.put("maxParallelQueries", maxParallelQueries);
     }
 }
@@ -30,6 +30,8 @@ import org.jkiss.dbeaver.model.fs.DBFUtils;
 import org.jkiss.dbeaver.model.rm.RMControllerProvider;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
+import org.jkiss.dbeaver.model.runtime.MonitorRunnableContext;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLScriptCommitType;
 import org.jkiss.dbeaver.model.sql.SQLScriptContext;
 import org.jkiss.dbeaver.model.sql.SQLScriptElement;
@@ -56,7 +58,7 @@ import java.util.Locale;
 /**
  * SQLScriptExecuteHandler
  */
-public class SQLScriptExecuteHandler implements DBTTaskHandler {
+public class SQLScriptExecuteHandler implements DBTTaskHandler, DBTTaskInfoCollector {
 
     private final DBCStatistics totalStatistics = new DBCStatistics();
 
@@ -76,6 +78,15 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
         return DBTTaskRunStatus.makeStatisticsStatus(totalStatistics);
     }
 
+    @Override
+    public void collectTaskInfo(@NotNull DBTTask task, @NotNull TaskInformation information) {
+        SQLScriptExecuteSettings settings = new SQLScriptExecuteSettings();
+        settings.loadConfiguration(new MonitorRunnableContext(new VoidProgressMonitor()), task);
+        for (DBPDataSourceContainer dataSource : settings.getDataSources()) {
+            information.addDataSource(dataSource);
+        }
+    }
+
     private void executeWithSettings(
         @NotNull DBRRunnableContext runnableContext,
         @NotNull DBTTask task,
@@ -159,6 +170,7 @@ public class SQLScriptExecuteHandler implements DBTTaskHandler {
 
         scriptProcessor.setCommitType(settings.isAutoCommit() ? SQLScriptCommitType.AUTOCOMMIT : SQLScriptCommitType.AT_END);
         scriptProcessor.setErrorHandling(settings.isIgnoreErrors() ? SQLScriptErrorHandling.IGNORE : SQLScriptErrorHandling.STOP_ROLLBACK);
+        scriptProcessor.setMaxParallelQueries(settings.getMaxParallelQueries());
         if (settings.isDumpQueryResultsToLog()) {
             dataReceiver.setDumpWriter(logWriter);
         }
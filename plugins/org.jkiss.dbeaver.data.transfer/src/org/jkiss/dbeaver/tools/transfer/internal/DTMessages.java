@@ -31,6 +31,7 @@ public class DTMessages extends NLS {
     public static String data_transfer_wizard_job_task_export_table_data;
     public static String data_transfer_wizard_job_task_retrieve;
     public static String data_transfer_wizard_output_checkbox_compress;
+    public static String data_transfer_wizard_output_label_compression_format;
     public static String data_transfer_wizard_output_checkbox_split_files;
     public static String data_transfer_wizard_output_checkbox_split_files_tip;
     public static String data_transfer_wizard_output_checkbox_new_connection;
@@ -130,6 +131,8 @@ public class DTMessages extends NLS {
     public static String sql_script_task_page_settings_option_ignore_errors;
     public static String sql_script_task_page_settings_option_dump_results;
     public static String sql_script_task_page_settings_option_auto_commit;
+    public static String sql_script_task_page_settings_option_max_parallel_queries;
+    public static String sql_script_task_page_settings_option_max_parallel_queries_tip;
     public static String database_consumer_settings_option_use_transactions;
     public static String database_consumer_settings_option_commit_after;
     public static String database_consumer_settings_option_use_multi_insert;
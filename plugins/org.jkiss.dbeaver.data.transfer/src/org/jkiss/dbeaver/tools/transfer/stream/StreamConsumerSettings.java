@@ -86,6 +86,19 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         NATIVE
     }
     
+    public enum CompressionFormat {
+        // Single entry zip archive
+        ZIP("zip"),
+        // Gzip stream, can be decompressed on the fly
+        GZIP("gz");
+
+        public final String extension;
+
+        CompressionFormat(String extension) {
+            this.extension = extension;
+        }
+    }
+
     public enum DataFileConflictBehavior {
         ASK(DTMessages.data_transfer_file_conflict_ask),
         APPEND(DTMessages.data_transfer_file_conflict_append),
@@ -135,6 +148,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
     private boolean outputClipboard = false;
     private boolean useSingleFile = false;
     private boolean compressResults = false;
+    private CompressionFormat compressionFormat = CompressionFormat.ZIP;
     private boolean splitOutFiles = false;
     private long maxOutFileSize = 10 * 1000 * 1000;
     private final Map<DBSDataContainer, StreamMappingContainer> dataMappings = new LinkedHashMap<>();
@@ -244,6 +258,15 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         this.compressResults = compressResults;
     }
 
+    @NotNull
+    public CompressionFormat getCompressionFormat() {
+        return compressionFormat;
+    }
+
+    public void setCompressionFormat(@NotNull CompressionFormat compressionFormat) {
+        this.compressionFormat = compressionFormat;
+    }
+
     public boolean isSplitOutFiles() {
         return splitOutFiles;
     }
@@ -329,6 +352,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         );
 
         compressResults = CommonUtils.getBoolean(settings.get("compressResults"), compressResults);
+        compressionFormat = CommonUtils.valueOf(CompressionFormat.class, CommonUtils.toString(settings.get("compressionFormat")), CompressionFormat.ZIP);
         splitOutFiles = CommonUtils.getBoolean(settings.get("splitOutFiles"), splitOutFiles);
         maxOutFileSize = CommonUtils.toLong(settings.get("maxOutFileSize"), maxOutFileSize);
 
@@ -416,6 +440,7 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         settings.put("useSingleFile", useSingleFile);
 
         settings.put("compressResults", compressResults);
+        settings.put("compressionFormat", compressionFormat.name());
         settings.put("splitOutFiles", splitOutFiles);
         settings.put("maxOutFileSize", maxOutFileSize);
 
@@ -459,6 +484,9 @@ public class StreamConsumerSettings implements IDataTransferConsumerSettings {
         }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_checkbox_compress, compressResults);
+        if (compressResults) {
+            DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_output_label_compression_format, compressionFormat);
+        }
 
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_binaries, lobExtractType);
         DTUtils.addSummary(summary, DTMessages.data_transfer_wizard_settings_label_encoding, lobEncoding);
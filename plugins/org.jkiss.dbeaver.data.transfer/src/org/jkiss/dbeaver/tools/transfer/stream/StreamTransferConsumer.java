@@ -31,6 +31,8 @@ import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.fs.DBFUtils;
 import org.jkiss.dbeaver.model.meta.DBSerializable;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
+import org.jkiss.dbeaver.model.qm.QMMetrics;
+import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.sql.SQLQueryContainer;
@@ -67,10 +69,10 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -132,6 +134,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private OutputStream outputStream;
     private ZipOutputStream zipStream;
+    private GZIPOutputStream gzipStream;
     private PrintWriter writer;
     private int multiFileNumber;
     private long bytesWritten = 0;
@@ -150,6 +153,12 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private final List<Path> outputFiles = new ArrayList<>();
     private StatOutputStream statStream;
+    // Bytes written to the previous files of the split output
+    private long splitFilesBytes;
+    // Transfer throughput metrics
+    private long fetchStartTime;
+    private long fetchStartBytes;
+    private long fetchRowCount;
     
     public StreamTransferConsumer() {
     }
@@ -192,6 +201,10 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
 
         initialized = true;
+
+        fetchStartTime = System.nanoTime();
+        fetchStartBytes = splitFilesBytes + getBytesWritten();
+        fetchRowCount = 0;
     }
 
     @Override
@@ -213,6 +226,8 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             Object[] srcRow = fetchRow(session, resultSet, columnMetas);
             Object[] targetRow;
             targetRow = new Object[columnBindings.length];
+            // Contents of local result sets are owned by the viewer, others are read once and may be streamed
+            boolean localContents = resultSet.getFeature(DBCResultSet.FEATURE_NAME_LOCAL) != null;
             for (int i = 0; i < columnBindings.length; i++) {
                 DBDAttributeBinding column = columnBindings[i];
                 Object value = DBUtils.getAttributeValue(column, columnMetas, srcRow);
@@ -226,11 +241,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
                                 break;
                             case INLINE:
                                 // Just pass content to exporter
+                                if (!localContents) {
+                                    ((DBDContent) value).enableStreaming();
+                                }
                                 break;
                             case FILES:
                                 if (!settings.isOutputClipboard()) {
                                     // Save content to file and pass file reference to exporter
-                                    value = saveContentToFile(session.getProgressMonitor(), (DBDContent) value);
+                                    value = saveContentToFile(session.getProgressMonitor(), (DBDContent) value, localContents);
                                 }
                                 break;
                         }
@@ -241,6 +259,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             // Export row
             processor.exportRow(session, resultSet, targetRow);
             firstRow = false;
+            fetchRowCount++;
         } catch (IOException e) {
             throw new DBCException("IO error", e);
         } catch (Throwable e) {
@@ -270,6 +289,15 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     @Override
     public void fetchEnd(@NotNull DBCSession session, @NotNull DBCResultSet resultSet) throws DBCException {
+        QMMetrics metrics = QMUtils.getMetrics();
+        if (metrics != null && fetchStartTime > 0) {
+            metrics.recordTransfer(
+                session.getDataSource().getContainer(),
+                (System.nanoTime() - fetchStartTime) / 1000,
+                fetchRowCount,
+                splitFilesBytes + getBytesWritten() - fetchStartBytes);
+            fetchStartTime = 0;
+        }
     }
 
     @Override
@@ -317,38 +345,48 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         return behavior == BlobFileConflictBehavior.OVERWRITE;
     }
 
-    private Path saveContentToFile(DBRProgressMonitor monitor, DBDContent content)
+    private Path saveContentToFile(DBRProgressMonitor monitor, DBDContent content, boolean localContent)
         throws IOException, DBException {
-        DBDContentStorage contents = content.getContents(monitor);
-        if (DBUtils.isNullValue(contents)) {
-            return null;
+        if (!localContent) {
+            content.enableStreaming();
         }
-        if (lobDirectory == null) {
-            lobDirectory = DBFUtils.resolvePathFromString(monitor, getProject(), getOutputFolder()).resolve(LOB_DIRECTORY_NAME);
-            if (!Files.exists(lobDirectory)) {
-                Files.createDirectory(lobDirectory);
+        try {
+            DBDContentStorage contents = content.getContents(monitor);
+            if (DBUtils.isNullValue(contents)) {
+                return null;
             }
-        }
-        lobCount++;
-        Boolean extractImages = (Boolean) processorProperties.get(StreamConsumerSettings.PROP_EXTRACT_IMAGES);
-        String fileExt = (extractImages != null && extractImages) ? ".jpg" : ".data";
-        Path lobFile = makeLobFileName(null, fileExt);
-        if (Files.isRegularFile(lobFile)) {
-            if (!resolveOverwriteBlobFileConflict(lobFile.getFileName().toString())) {
-                lobFile = makeLobFileName("-" + System.currentTimeMillis(), fileExt);
+            if (lobDirectory == null) {
+                lobDirectory = DBFUtils.resolvePathFromString(monitor, getProject(), getOutputFolder()).resolve(LOB_DIRECTORY_NAME);
+                if (!Files.exists(lobDirectory)) {
+                    Files.createDirectory(lobDirectory);
+                }
             }
-        }
-        
-        try (InputStream cs = contents.getContentStream()) {
-            Files.copy(cs, lobFile, StandardCopyOption.REPLACE_EXISTING);
-            // Check for cancel
-            if (monitor.isCanceled()) {
-                // Delete output file
-                Files.delete(lobFile);
+            lobCount++;
+            Boolean extractImages = (Boolean) processorProperties.get(StreamConsumerSettings.PROP_EXTRACT_IMAGES);
+            String fileExt = (extractImages != null && extractImages) ? ".jpg" : ".data";
+            Path lobFile = makeLobFileName(null, fileExt);
+            if (Files.isRegularFile(lobFile)) {
+                if (!resolveOverwriteBlobFileConflict(lobFile.getFileName().toString())) {
+                    lobFile = makeLobFileName("-" + System.currentTimeMillis(), fileExt);
+                }
             }
-        }
 
-        return lobFile;
+            try (InputStream cs = contents.getContentStream()) {
+                ContentUtils.copyStreamToFile(cs, contents.getContentLength(), lobFile, monitor);
+                // Check for cancel
+                if (monitor.isCanceled()) {
+                    // Delete output file
+                    Files.delete(lobFile);
+                }
+            }
+
+            return lobFile;
+        } finally {
+            if (!localContent) {
+                // Content is replaced with file reference, nobody else will release it
+                content.release();
+            }
+        }
     }
 
     private Path makeLobFileName(String suffix, String fileExt) {
@@ -515,10 +553,16 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         this.outputStream = this.statStream = new StatOutputStream(outputStream);
 
         if (settings.isCompressResults()) {
-            log.debug("\tUse ZIP compression");
-            this.zipStream = new ZipOutputStream(this.outputStream);
-            this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
-            this.outputStream = zipStream;
+            if (settings.getCompressionFormat() == StreamConsumerSettings.CompressionFormat.GZIP) {
+                log.debug("\tUse GZIP compression");
+                this.gzipStream = new GZIPOutputStream(this.outputStream, OUT_FILE_BUFFER_SIZE);
+                this.outputStream = gzipStream;
+            } else {
+                log.debug("\tUse ZIP compression");
+                this.zipStream = new ZipOutputStream(this.outputStream);
+                this.zipStream.putNextEntry(new ZipEntry(getOutputFileName()));
+                this.outputStream = zipStream;
+            }
         }
 
         // If we need to split files - use stream wrapper to calculate file size
@@ -563,6 +607,14 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
             }
             zipStream = null;
         }
+        if (gzipStream != null) {
+            try {
+                gzipStream.finish();
+            } catch (IOException e) {
+                log.debug(e);
+            }
+            gzipStream = null;
+        }
 
         if (outputStream != null) {
             try {
@@ -577,6 +629,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
 
     private void createNewOutFile(DBRProgressMonitor monitor) throws IOException {
         closeOutputStreams();
+        splitFilesBytes += getBytesWritten();
 
         bytesWritten = 0;
         multiFileNumber++;
@@ -802,7 +855,7 @@ public class StreamTransferConsumer implements IDataTransferConsumer<StreamConsu
         }
         String fileName = getOutputFileName(suffix);
         if (settings.isCompressResults()) {
-            fileName += ".zip";
+            fileName += "." + settings.getCompressionFormat().extension;
         }
         return dir.resolve(fileName);
     }
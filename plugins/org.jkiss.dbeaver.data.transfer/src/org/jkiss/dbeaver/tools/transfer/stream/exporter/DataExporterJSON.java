@@ -42,11 +42,15 @@ import org.jkiss.utils.CommonUtils;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.util.Date;
 import java.util.Locale;
 
 /**
- * JSON Exporter
+ * JSON Exporter.
+ * <p>
+ * Writes all rows as a single JSON array or, in JSON lines mode, each row as a separate single line object.
+ * Values are escaped directly into the output writer.
  */
 public class DataExporterJSON extends StreamExporterAbstract implements IDocumentDataExporter {
 
@@ -55,15 +59,20 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     public static final String PROP_EXPORT_JSON_VALUES = "exportJsonValues";
     public static final String PROP_EXPORT_JSON_VALUES_AS_STRING = "string";
     public static final String PROP_EXPORT_JSON_VALUES_AS_JSON = "json";
-
+    public static final String PROP_JSON_LINES = "jsonLines";
 
     private DBDAttributeBinding[] columns;
+    // Escaped column names with separators, written before each value
+    private String[] columnPrefixes;
     private String tableName;
     private int rowNum = 0;
 
     private boolean printTableName = true;
     private boolean formatDateISO = true;
     private String exportJsonAs = PROP_EXPORT_JSON_VALUES_AS_STRING;
+    private boolean jsonLines = false;
+
+    private final char[] valueBuffer = new char[8192];
 
     @Override
     public void init(IStreamDataExporterSite site) throws DBException {
@@ -71,6 +80,7 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
         formatDateISO = CommonUtils.getBoolean(site.getProperties().get(PROP_FORMAT_DATE_ISO), true);
         printTableName = CommonUtils.getBoolean(site.getProperties().get(PROP_PRINT_TABLE_NAME), true);
         exportJsonAs = (String) site.getProperties().getOrDefault(PROP_EXPORT_JSON_VALUES, PROP_EXPORT_JSON_VALUES_AS_STRING);
+        jsonLines = CommonUtils.getBoolean(site.getProperties().get(PROP_JSON_LINES), false);
     }
 
     @Override
@@ -82,42 +92,58 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     public void exportHeader(DBCSession session) throws DBException, IOException {
         columns = getSite().getAttributes();
         tableName = getSite().getSource().getName();
+        columnPrefixes = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            DBDAttributeBinding column = columns[i];
+            String columnName = CommonUtils.isEmpty(column.getLabel()) ? column.getName() : column.getLabel();
+            String prefix = "\"" + JSONUtils.escapeJsonString(columnName) + "\"";
+            if (jsonLines) {
+                columnPrefixes[i] = (i > 0 ? "," : "") + prefix + ":";
+            } else {
+                columnPrefixes[i] = (i > 0 ? ",\n" : "") + "\t\t" + prefix + " : ";
+            }
+        }
         printHeader();
     }
 
     private void printHeader() {
+        rowNum = 0;
+        if (jsonLines) {
+            // No enclosing array, each row is a standalone document
+            return;
+        }
         PrintWriter out = getWriter();
         if (printTableName) {
             out.write("{\n");
             out.write("\"" + JSONUtils.escapeJsonString(tableName) + "\": ");
         }
         out.write("[\n");
-        rowNum = 0;
     }
 
     @Override
     public void exportRow(DBCSession session, DBCResultSet resultSet, Object[] row) throws DBException, IOException {
         PrintWriter out = getWriter();
-        if (rowNum > 0) {
+        if (rowNum > 0 && !jsonLines) {
             out.write(",\n");
         }
         rowNum++;
         if (isJsonDocumentResults(row)) {
             writeDocument(session, (DBDDocument) row[0]);
         } else {
-            out.write("\t{\n");
+            out.write(jsonLines ? "{" : "\t{\n");
 
             for (int i = 0; i < columns.length; i++) {
                 DBDAttributeBinding column = columns[i];
-                String columnName = CommonUtils.isEmpty(column.getLabel()) ? column.getName() : column.getLabel();
-                out.write("\t\t\"" + JSONUtils.escapeJsonString(columnName) + "\" : ");
+                out.write(columnPrefixes[i]);
 
                 Object cellValue = row[i];
                 if (DBUtils.isNullValue(cellValue)) {
                     writeTextCell(null, true);
                 } else if (cellValue instanceof DBDContent content) {
                     writeContentValue(session, resultSet, content);
-                } else if (cellValue instanceof Number || cellValue instanceof Boolean) {
+                } else if (cellValue instanceof Number number) {
+                    writeNumber(number);
+                } else if (cellValue instanceof Boolean) {
                     out.write(cellValue.toString());
                 } else if (cellValue instanceof Date && formatDateISO) {
                     writeTextCell(JSONUtils.formatDate((Date) cellValue), true);
@@ -126,14 +152,11 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
                 } else {
                     writeTextCell(super.getValueDisplayString(column, cellValue), true);
                 }
-
-                if (i < columns.length - 1) {
-                    out.write(",");
-                }
-
-                out.write("\n");
             }
-            out.write("\t}");
+            out.write(jsonLines ? "}" : "\n\t}");
+        }
+        if (jsonLines) {
+            out.write("\n");
         }
     }
 
@@ -152,11 +175,21 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
     }
 
     private void writeDocument(DBCSession session, DBDDocument document) throws DBException, IOException {
-        document.serializeDocument(session.getProgressMonitor(), getWriter());
+        if (jsonLines) {
+            // Documents may be pretty printed
+            StringWriter buffer = new StringWriter();
+            document.serializeDocument(session.getProgressMonitor(), buffer);
+            writeRawJson(buffer.toString());
+        } else {
+            document.serializeDocument(session.getProgressMonitor(), getWriter());
+        }
     }
 
     @Override
     public void exportFooter(DBRProgressMonitor monitor) throws IOException {
+        if (jsonLines) {
+            return;
+        }
         PrintWriter out = getWriter();
         out.write("\n]");
         if (printTableName) {
@@ -165,16 +198,61 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
         out.write("\n");
     }
 
-    private void writeTextCell(@Nullable String value, boolean escape) {
+    private void writeTextCell(@Nullable String value, boolean escape) throws IOException {
+        PrintWriter out = getWriter();
         if (value == null) {
-            getWriter().write("null");
+            out.write("null");
         } else if (escape) {
-            getWriter().write("\"" + JSONUtils.escapeJsonString(value) + "\"");
+            out.write('"');
+            JSONUtils.writeEscapedJsonString(out, value);
+            out.write('"');
+        } else {
+            writeRawJson(value);
+        }
+    }
+
+    private void writeNumber(@NotNull Number value) throws IOException {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(value.longValue());
+        } else if ((value instanceof Double || value instanceof Float) && !Double.isFinite(value.doubleValue())) {
+            // NaN and infinity are not valid JSON numbers
+            writeTextCell(value.toString(), true);
         } else {
-            getWriter().write(value);
+            getWriter().write(value.toString());
         }
     }
 
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            getWriter().write(Long.toString(value));
+            return;
+        }
+        boolean negative = value < 0;
+        if (negative) {
+            value = -value;
+        }
+        int pos = valueBuffer.length;
+        do {
+            valueBuffer[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            valueBuffer[--pos] = '-';
+        }
+        getWriter().write(valueBuffer, pos, valueBuffer.length - pos);
+    }
+
+    /**
+     * Writes JSON value as is. In JSON lines mode line breaks are replaced with spaces,
+     * JSON strings can't contain raw line breaks so only formatting whitespaces are affected.
+     */
+    private void writeRawJson(@NotNull String value) {
+        if (jsonLines) {
+            value = value.replace('\n', ' ').replace('\r', ' ');
+        }
+        getWriter().write(value);
+    }
+
     private void writeContentValue(
         DBCSession session,
         DBCResultSet resultSet,
@@ -220,18 +298,25 @@ public class DataExporterJSON extends StreamExporterAbstract implements IDocumen
 
     private void writeCellValue(Reader reader, boolean escape) throws IOException {
         // Copy reader
-        char[] buffer = new char[2000];
+        PrintWriter out = getWriter();
+        char[] buffer = valueBuffer;
         while (true) {
             int count = reader.read(buffer);
             if (count <= 0) {
                 break;
             }
-
-            String chunk = new String(buffer, 0, count);
-
-            getWriter().write(
-                escape ? JSONUtils.escapeJsonString(chunk) : chunk
-            );
+            if (escape) {
+                JSONUtils.writeEscapedJsonString(out, buffer, 0, count);
+            } else {
+                if (jsonLines) {
+                    for (int i = 0; i < count; i++) {
+                        if (buffer[i] == '\n' || buffer[i] == '\r') {
+                            buffer[i] = ' ';
+                        }
+                    }
+                }
+                out.write(buffer, 0, count);
+            }
         }
     }
 
@@ -39,6 +39,9 @@ public class DiagramObjectCollector {
 
     private static final Log log = Log.getLog(DiagramObjectCollector.class);
 
+    // Minimal number of container entities which are loaded in bulk
+    private static final int BULK_LOAD_MIN_ENTITIES = 10;
+
     private final ERDDiagram diagram;
     private final List<ERDEntity> erdEntities = new ArrayList<>();
     private boolean showViews;
@@ -147,7 +150,11 @@ public class DiagramObjectCollector {
         throws DBException
     {
         Collection<DBSEntity> tables = collectTables(monitor, roots, settings, showViews);
+        cacheEntityStructure(monitor, tables);
         for (DBSEntity table : tables) {
+            if (monitor.isCanceled()) {
+                return;
+            }
             if (DBUtils.isHiddenObject(table)) {
                 // Skip hidden tables
                 continue;
@@ -157,10 +164,43 @@ public class DiagramObjectCollector {
 
         // Add new relations
         for (ERDEntity erdEntity : erdEntities) {
+            if (monitor.isCanceled()) {
+                return;
+            }
             erdEntity.addModelRelations(monitor, diagram, true, false);
         }
     }
 
+    /**
+     * Reads attributes and associations of all entities of the same container with one request
+     * instead of reading them for each entity separately.
+     * Containers with a few entities are not cached, they may contain many other entities.
+     */
+    private static void cacheEntityStructure(DBRProgressMonitor monitor, Collection<DBSEntity> tables) {
+        Map<DBSObjectContainer, Integer> containers = new LinkedHashMap<>();
+        for (DBSEntity table : tables) {
+            if (table.getParentObject() instanceof DBSObjectContainer container) {
+                containers.merge(container, 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<DBSObjectContainer, Integer> entry : containers.entrySet()) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            if (entry.getValue() < BULK_LOAD_MIN_ENTITIES) {
+                continue;
+            }
+            DBSObjectContainer container = entry.getKey();
+            monitor.subTask("Read '" + container.getName() + "' structure");
+            try {
+                container.cacheStructure(monitor, DBSObjectContainer.STRUCT_ATTRIBUTES | DBSObjectContainer.STRUCT_ASSOCIATIONS);
+            } catch (DBException e) {
+                // Not critical, entities will be read one by one
+                log.debug("Error caching '" + container.getName() + "' structure", e);
+            }
+        }
+    }
+
     private void addDiagramEntity(DBRProgressMonitor monitor, DBSEntity table)
     {
         if (diagram.containsTable(table) && !diagram.getContentProvider().allowEntityDuplicates()) {
@@ -25,11 +25,15 @@ import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gef.EditPolicy;
 import org.jkiss.dbeaver.erd.ui.internal.ERDUIMessages;
+import org.jkiss.dbeaver.erd.ui.layout.algorithm.force.ForceDirectedLayoutVisitor;
 import org.jkiss.dbeaver.erd.ui.model.EntityDiagram;
 import org.jkiss.dbeaver.erd.ui.part.DiagramPart;
+import org.jkiss.dbeaver.erd.ui.part.NodePart;
 import org.jkiss.dbeaver.erd.ui.policy.DiagramXYLayoutPolicy;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 
+import java.util.List;
+
 /**
  * Used to delegate between the GraphLayoutAuto and the GraphLayoutXY classes
  *
@@ -37,6 +41,9 @@ import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
  */
 public class DelegatingLayoutManager implements LayoutManager {
 
+    // New nodes are placed incrementally if there are not too many of them, otherwise the whole diagram is laid out
+    private static final double INCREMENTAL_LAYOUT_MAX_RATIO = 0.2;
+
     private DiagramPart diagram;
 
     private LayoutManager activeLayoutManager;
@@ -64,7 +71,7 @@ public class DelegatingLayoutManager implements LayoutManager {
             return;
         }
         monitor.beginTask(ERDUIMessages.erd_job_rearrange_diagram, 2);
-        graphLayoutManager.layout(container);
+        graphLayoutManager.layout(monitor, container);
         monitor.worked(1);
         xyLayoutManager.cleanupConstraints();
         monitor.worked(1);
@@ -80,9 +87,12 @@ public class DelegatingLayoutManager implements LayoutManager {
 
                 if (activeLayoutManager != xyLayoutManager) {
 
+                    List<NodePart> newNodes = diagram.getUnplacedNodes();
                     if (entityDiagram.isLayoutManualAllowed() && !entityDiagram.isNeedsAutoLayout()) {
 
                         //	yes we are okay to start populating the table bounds
+                        // nodes added after the layout was saved are placed next to related nodes
+                        placeNewNodes(newNodes);
                         setLayoutManager(container, xyLayoutManager);
                         activeLayoutManager.layout(container);
 
@@ -94,6 +104,10 @@ public class DelegatingLayoutManager implements LayoutManager {
                             // tables so we can start using xyLayout immediately
                             setLayoutManager(container, xyLayoutManager);
                             activeLayoutManager.layout(container);
+                        } else if (isIncrementalLayoutPossible(newNodes) && placeNewNodes(newNodes) && diagram.setTableFigureBounds(true)) {
+                            // only a few nodes have no bounds, other nodes keep their locations
+                            setLayoutManager(container, xyLayoutManager);
+                            activeLayoutManager.layout(container);
                         } else {
                             //we did not - we still need to run autolayout once
                             // before we can set xyLayout
@@ -179,6 +193,29 @@ public class DelegatingLayoutManager implements LayoutManager {
         }
     }
 
+    private boolean isIncrementalLayoutPossible(List<NodePart> newNodes) {
+        return !newNodes.isEmpty() && newNodes.size() <= diagram.getChildren().size() * INCREMENTAL_LAYOUT_MAX_RATIO;
+    }
+
+    /**
+     * Places nodes without location next to their related nodes. Other nodes are not moved.
+     */
+    private boolean placeNewNodes(List<NodePart> newNodes) {
+        if (newNodes.isEmpty()) {
+            return true;
+        }
+        ForceDirectedLayoutVisitor layoutVisitor = new ForceDirectedLayoutVisitor(diagram.getDiagram().getDecorator());
+        if (!layoutVisitor.layoutNodes(diagram.getDiagram().getMonitor(), diagram, newNodes)) {
+            return false;
+        }
+        for (NodePart node : newNodes) {
+            Rectangle bounds = node.getFigure().getBounds().getCopy();
+            node.setBounds(bounds);
+            setXYLayoutConstraint(node.getFigure(), new Rectangle(bounds.x, bounds.y, -1, -1));
+        }
+        return true;
+    }
+
     public LayoutManager getActiveLayoutManager()
     {
         return activeLayoutManager;
@@ -26,6 +26,7 @@ import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.jkiss.dbeaver.erd.ui.internal.ERDUIMessages;
 import org.jkiss.dbeaver.erd.ui.layout.algorithm.direct.DirectedGraphLayoutVisitor;
+import org.jkiss.dbeaver.erd.ui.layout.algorithm.force.ForceDirectedLayoutVisitor;
 import org.jkiss.dbeaver.erd.ui.part.DiagramPart;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.ui.UIUtils;
@@ -34,7 +35,8 @@ import java.util.List;
 
 
 /**
- * Uses the DirectedGraphLayoutVisitor to automatically lay out figures on diagram
+ * Uses the DirectedGraphLayoutVisitor to automatically lay out figures on diagram.
+ * Large diagrams are laid out with the ForceDirectedLayoutVisitor.
  * @author Serge Rider
  */
 public class GraphLayoutAuto extends AbstractLayout {
@@ -59,8 +61,18 @@ public class GraphLayoutAuto extends AbstractLayout {
 
     @Override
     public void layout(IFigure container) {
-        DBRProgressMonitor monitor = diagram.getDiagram().getMonitor();
+        layout(diagram.getDiagram().getMonitor(), container);
+    }
+
+    public void layout(DBRProgressMonitor monitor, IFigure container) {
         monitor.subTask(ERDUIMessages.erd_job_layout_diagram);
+        if (ForceDirectedLayoutVisitor.isLargeDiagram(diagram)) {
+            // Directed graph layout is too slow for large diagrams. Force-directed layout doesn't block UI thread when called from a job
+            if (new ForceDirectedLayoutVisitor(diagram.getDiagram().getDecorator()).layoutDiagram(monitor, diagram)) {
+                UIUtils.syncExec(() -> diagram.setTableModelBounds());
+            }
+            return;
+        }
         UIUtils.syncExec(() -> {
             new DirectedGraphLayoutVisitor(diagram.getDiagram().getDecorator()).layoutDiagram(diagram);
             diagram.setTableModelBounds();
@@ -0,0 +1,690 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.layout.algorithm.force;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.util.*;
+
+/**
+ * Force-directed (Fruchterman-Reingold) layout of rectangular nodes.
+ * Repulsion is approximated with Barnes-Hut quadtree, so iteration takes O(n*log(n)) instead of O(n^2).
+ * It is used for large diagrams where directed graph layout is too slow.
+ * <p>
+ * Nodes may be fixed. Fixed nodes repel and attract other nodes but keep their location,
+ * this allows to place a few new nodes in the existing diagram.
+ * <p>
+ * The layout doesn't use any UI resources and may be performed in any thread.
+ */
+public class ForceDirectedLayout {
+
+    // Barnes-Hut accuracy. Cell is approximated by its center of mass if cell size / distance < THETA
+    private static final double THETA = 0.8;
+    private static final int MAX_TREE_DEPTH = 20;
+    // Linear gravity, keeps layout compact and disconnected components together
+    private static final double GRAVITY = 3;
+    private static final int MAX_ITERATIONS = 400;
+    private static final int INCREMENTAL_ITERATIONS = 100;
+    private static final int OVERLAP_REMOVAL_PASSES = 30;
+    private static final int OVERLAP_REMOVAL_ROUNDS = 10;
+    private static final double OVERLAP_REMOVAL_SCALE = 1.1;
+
+    private final int nodeCount;
+    // Node centers
+    private final double[] x;
+    private final double[] y;
+    private final int[] width;
+    private final int[] height;
+    private final boolean[] fixed;
+    private final boolean[] placed;
+
+    private int[] edgeSources = new int[16];
+    private int[] edgeTargets = new int[16];
+    private int edgeCount;
+
+    private int spacing = 40;
+    private int iterations;
+
+    private final QuadTree tree = new QuadTree();
+
+    public ForceDirectedLayout(int nodeCount) {
+        this.nodeCount = nodeCount;
+        this.x = new double[nodeCount];
+        this.y = new double[nodeCount];
+        this.width = new int[nodeCount];
+        this.height = new int[nodeCount];
+        this.fixed = new boolean[nodeCount];
+        this.placed = new boolean[nodeCount];
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public void setNodeSize(int node, int width, int height) {
+        this.width[node] = Math.max(width, 1);
+        this.height[node] = Math.max(height, 1);
+    }
+
+    /**
+     * Sets initial location (top left corner) of the node.
+     * Nodes without location are placed next to their neighbours before the layout starts.
+     *
+     * @param fixed node keeps the location
+     */
+    public void setNodeLocation(int node, int x, int y, boolean fixed) {
+        this.x[node] = x + width[node] / 2.0;
+        this.y[node] = y + height[node] / 2.0;
+        this.placed[node] = true;
+        this.fixed[node] = fixed;
+    }
+
+    public int getNodeX(int node) {
+        return (int) Math.round(x[node] - width[node] / 2.0);
+    }
+
+    public int getNodeY(int node) {
+        return (int) Math.round(y[node] - height[node] / 2.0);
+    }
+
+    public void addEdge(int source, int target) {
+        if (source == target) {
+            return;
+        }
+        if (edgeCount == edgeSources.length) {
+            edgeSources = Arrays.copyOf(edgeSources, edgeCount * 2);
+            edgeTargets = Arrays.copyOf(edgeTargets, edgeCount * 2);
+        }
+        edgeSources[edgeCount] = source;
+        edgeTargets[edgeCount] = target;
+        edgeCount++;
+    }
+
+    /**
+     * Minimal distance between nodes
+     */
+    public void setSpacing(int spacing) {
+        this.spacing = spacing;
+    }
+
+    /**
+     * Number of layout iterations. Each iteration is reported to the progress monitor as one unit of work.
+     */
+    public int getIterations() {
+        if (iterations > 0) {
+            return iterations;
+        }
+        if (hasFixedNodes()) {
+            return INCREMENTAL_ITERATIONS;
+        }
+        return Math.min(MAX_ITERATIONS, 50 + (int) (Math.sqrt(nodeCount) * 8));
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Performs the layout.
+     *
+     * @return false if layout was canceled
+     */
+    public boolean layout(@NotNull DBRProgressMonitor monitor) {
+        if (nodeCount == 0) {
+            return true;
+        }
+        double idealDistance = getIdealDistance();
+        placeInitialNodes(idealDistance);
+
+        int movableCount = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (!fixed[i]) {
+                movableCount++;
+            }
+        }
+        if (movableCount == 0) {
+            return true;
+        }
+        boolean incremental = movableCount < nodeCount;
+        int iterationCount = getIterations();
+        double startTemperature = incremental ?
+            idealDistance :
+            Math.max(idealDistance, Math.sqrt(nodeCount) * idealDistance / 4);
+
+        double[] dx = new double[nodeCount];
+        double[] dy = new double[nodeCount];
+        double centerX = 0, centerY = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            centerX += x[i];
+            centerY += y[i];
+        }
+        centerX /= nodeCount;
+        centerY /= nodeCount;
+
+        double k2 = idealDistance * idealDistance;
+        for (int iteration = 0; iteration < iterationCount; iteration++) {
+            if (monitor.isCanceled()) {
+                return false;
+            }
+            Arrays.fill(dx, 0);
+            Arrays.fill(dy, 0);
+            tree.build(x, y, nodeCount);
+            for (int i = 0; i < nodeCount; i++) {
+                if (!fixed[i]) {
+                    tree.addRepulsion(i, x, y, k2, dx, dy);
+                    if (!incremental) {
+                        dx[i] += (centerX - x[i]) * GRAVITY;
+                        dy[i] += (centerY - y[i]) * GRAVITY;
+                    }
+                }
+            }
+            for (int e = 0; e < edgeCount; e++) {
+                int source = edgeSources[e], target = edgeTargets[e];
+                double ex = x[target] - x[source];
+                double ey = y[target] - y[source];
+                double distance = Math.sqrt(ex * ex + ey * ey);
+                if (distance < 1) {
+                    continue;
+                }
+                // Attraction force is distance^2 / idealDistance
+                double force = distance / idealDistance;
+                if (!fixed[source]) {
+                    dx[source] += ex * force;
+                    dy[source] += ey * force;
+                }
+                if (!fixed[target]) {
+                    dx[target] -= ex * force;
+                    dy[target] -= ey * force;
+                }
+            }
+            // Linear cooling
+            double temperature = startTemperature * (iterationCount - iteration) / iterationCount;
+            for (int i = 0; i < nodeCount; i++) {
+                if (fixed[i]) {
+                    continue;
+                }
+                double length = Math.sqrt(dx[i] * dx[i] + dy[i] * dy[i]);
+                if (length > temperature) {
+                    double scale = temperature / length;
+                    dx[i] *= scale;
+                    dy[i] *= scale;
+                }
+                x[i] += dx[i];
+                y[i] += dy[i];
+            }
+            monitor.worked(1);
+        }
+        if (monitor.isCanceled()) {
+            return false;
+        }
+        boolean overlapsRemoved = false;
+        for (int round = 0; round < OVERLAP_REMOVAL_ROUNDS && !overlapsRemoved; round++) {
+            overlapsRemoved = removeOverlaps();
+            if (!overlapsRemoved && !incremental) {
+                // Dense layout, give nodes more room
+                scaleLocation(OVERLAP_REMOVAL_SCALE);
+            }
+        }
+        if (!overlapsRemoved) {
+            moveOverlappingNodes(idealDistance);
+        }
+        if (!incremental) {
+            normalizeLocation();
+        }
+        return true;
+    }
+
+    private double getIdealDistance() {
+        double totalSize = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            totalSize += (width[i] + height[i]) / 2.0;
+        }
+        return totalSize / nodeCount + spacing;
+    }
+
+    /**
+     * Nodes without location are placed next to their placed neighbours.
+     * Nodes without placed neighbours are placed on a grid in breadth-first order, so connected nodes stay close.
+     */
+    private void placeInitialNodes(double idealDistance) {
+        int[][] adjacency = buildAdjacency();
+        boolean hasPlaced = false;
+        double maxRight = 0, minTop = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (placed[i]) {
+                if (!hasPlaced || x[i] + width[i] / 2.0 > maxRight) {
+                    maxRight = x[i] + width[i] / 2.0;
+                }
+                if (!hasPlaced || y[i] - height[i] / 2.0 < minTop) {
+                    minTop = y[i] - height[i] / 2.0;
+                }
+                hasPlaced = true;
+            }
+        }
+        if (hasPlaced) {
+            // Place nodes next to the centroid of their placed neighbours
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = 0; i < nodeCount; i++) {
+                    if (placed[i]) {
+                        continue;
+                    }
+                    double sumX = 0, sumY = 0;
+                    int count = 0;
+                    for (int neighbour : adjacency[i]) {
+                        if (placed[neighbour]) {
+                            sumX += x[neighbour];
+                            sumY += y[neighbour];
+                            count++;
+                        }
+                    }
+                    if (count > 0) {
+                        // Shift a bit so nodes with the same neighbours do not coincide
+                        double angle = i * 2.399963;
+                        x[i] = sumX / count + Math.cos(angle) * idealDistance;
+                        y[i] = sumY / count + Math.sin(angle) * idealDistance;
+                        placed[i] = true;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        // Place the rest on a grid (to the right of placed nodes)
+        int unplacedCount = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (!placed[i]) {
+                unplacedCount++;
+            }
+        }
+        if (unplacedCount == 0) {
+            return;
+        }
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(unplacedCount)));
+        double originX = hasPlaced ? maxRight + idealDistance : 0;
+        double originY = hasPlaced ? minTop : 0;
+        int gridIndex = 0;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int start = 0; start < nodeCount; start++) {
+            if (placed[start]) {
+                continue;
+            }
+            placed[start] = true;
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                x[node] = originX + (gridIndex % columns) * idealDistance;
+                y[node] = originY + (double) (gridIndex / columns) * idealDistance;
+                gridIndex++;
+                for (int neighbour : adjacency[node]) {
+                    if (!placed[neighbour]) {
+                        placed[neighbour] = true;
+                        queue.add(neighbour);
+                    }
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private int[][] buildAdjacency() {
+        int[] degree = new int[nodeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            degree[edgeSources[e]]++;
+            degree[edgeTargets[e]]++;
+        }
+        int[][] adjacency = new int[nodeCount][];
+        for (int i = 0; i < nodeCount; i++) {
+            adjacency[i] = new int[degree[i]];
+        }
+        Arrays.fill(degree, 0);
+        for (int e = 0; e < edgeCount; e++) {
+            int source = edgeSources[e], target = edgeTargets[e];
+            adjacency[source][degree[source]++] = target;
+            adjacency[target][degree[target]++] = source;
+        }
+        return adjacency;
+    }
+
+    /**
+     * Forces work with node centers and ignore node sizes, so some nodes may overlap.
+     * Overlapping nodes are pushed apart along the axis of the smallest overlap.
+     *
+     * @return true if all overlaps were removed
+     */
+    private boolean removeOverlaps() {
+        double gap = spacing / 2.0;
+        Integer[] order = new Integer[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            order[i] = i;
+        }
+        Comparator<Integer> byLeft = Comparator.comparingDouble(i -> x[i] - width[i] / 2.0);
+        for (int pass = 0; pass < OVERLAP_REMOVAL_PASSES; pass++) {
+            Arrays.sort(order, byLeft);
+            boolean hasOverlaps = false;
+            for (int i = 0; i < nodeCount; i++) {
+                int a = order[i];
+                for (int j = i + 1; j < nodeCount; j++) {
+                    int b = order[j];
+                    double overlapX = (width[a] + width[b]) / 2.0 + gap - Math.abs(x[a] - x[b]);
+                    if (x[b] - width[b] / 2.0 >= x[a] + width[a] / 2.0 + gap) {
+                        // Nodes are sorted by left side, the rest of nodes are farther
+                        break;
+                    }
+                    double overlapY = (height[a] + height[b]) / 2.0 + gap - Math.abs(y[a] - y[b]);
+                    if (overlapX <= 0 || overlapY <= 0 || (fixed[a] && fixed[b])) {
+                        continue;
+                    }
+                    hasOverlaps = true;
+                    double shareA = fixed[a] ? 0 : (fixed[b] ? 1 : 0.5);
+                    double shareB = 1 - shareA;
+                    if (overlapX < overlapY) {
+                        double sign = x[a] <= x[b] ? 1 : -1;
+                        x[a] -= sign * overlapX * shareA;
+                        x[b] += sign * overlapX * shareB;
+                    } else {
+                        double sign = y[a] <= y[b] ? 1 : -1;
+                        y[a] -= sign * overlapY * shareA;
+                        y[b] += sign * overlapY * shareB;
+                    }
+                }
+            }
+            if (!hasOverlaps) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves movable nodes which still overlap other nodes to the nearest free location.
+     * Fixed nodes may be packed too densely for pairwise pushing, so free location is searched in growing rings.
+     */
+    private void moveOverlappingNodes(double idealDistance) {
+        NodeGrid grid = new NodeGrid(idealDistance * 2);
+        for (int i = 0; i < nodeCount; i++) {
+            if (fixed[i]) {
+                grid.add(i);
+            }
+        }
+        double step = idealDistance / 2;
+        for (int i = 0; i < nodeCount; i++) {
+            if (fixed[i]) {
+                continue;
+            }
+            if (grid.overlaps(i)) {
+                double originX = x[i], originY = y[i];
+                boolean found = false;
+                for (int ring = 1; !found; ring++) {
+                    for (int side = -ring; side <= ring && !found; side++) {
+                        found = tryLocation(grid, i, originX + side * step, originY - ring * step) ||
+                            tryLocation(grid, i, originX + side * step, originY + ring * step) ||
+                            tryLocation(grid, i, originX - ring * step, originY + side * step) ||
+                            tryLocation(grid, i, originX + ring * step, originY + side * step);
+                    }
+                }
+            }
+            grid.add(i);
+        }
+    }
+
+    private boolean tryLocation(NodeGrid grid, int node, double nodeX, double nodeY) {
+        x[node] = nodeX;
+        y[node] = nodeY;
+        return !grid.overlaps(node);
+    }
+
+    private void scaleLocation(double scale) {
+        double centerX = 0, centerY = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            centerX += x[i];
+            centerY += y[i];
+        }
+        centerX /= nodeCount;
+        centerY /= nodeCount;
+        for (int i = 0; i < nodeCount; i++) {
+            x[i] = centerX + (x[i] - centerX) * scale;
+            y[i] = centerY + (y[i] - centerY) * scale;
+        }
+    }
+
+    private void normalizeLocation() {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        for (int i = 0; i < nodeCount; i++) {
+            minX = Math.min(minX, x[i] - width[i] / 2.0);
+            minY = Math.min(minY, y[i] - height[i] / 2.0);
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            x[i] += spacing - minX;
+            y[i] += spacing - minY;
+        }
+    }
+
+    private boolean hasFixedNodes() {
+        for (int i = 0; i < nodeCount; i++) {
+            if (fixed[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Uniform grid of node bounds, used for fast overlap lookup
+     */
+    private class NodeGrid {
+        private final double cellSize;
+        private final Map<Long, List<Integer>> cells = new HashMap<>();
+
+        NodeGrid(double cellSize) {
+            this.cellSize = cellSize;
+        }
+
+        void add(int node) {
+            double gap = spacing / 2.0;
+            int minCellX = getCell(x[node] - width[node] / 2.0 - gap), maxCellX = getCell(x[node] + width[node] / 2.0 + gap);
+            int minCellY = getCell(y[node] - height[node] / 2.0 - gap), maxCellY = getCell(y[node] + height[node] / 2.0 + gap);
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                    cells.computeIfAbsent(getKey(cellX, cellY), k -> new ArrayList<>()).add(node);
+                }
+            }
+        }
+
+        boolean overlaps(int node) {
+            double gap = spacing / 2.0;
+            int minCellX = getCell(x[node] - width[node] / 2.0 - gap), maxCellX = getCell(x[node] + width[node] / 2.0 + gap);
+            int minCellY = getCell(y[node] - height[node] / 2.0 - gap), maxCellY = getCell(y[node] + height[node] / 2.0 + gap);
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                    List<Integer> cellNodes = cells.get(getKey(cellX, cellY));
+                    if (cellNodes == null) {
+                        continue;
+                    }
+                    for (int other : cellNodes) {
+                        if (other != node &&
+                            Math.abs(x[node] - x[other]) < (width[node] + width[other]) / 2.0 + gap &&
+                            Math.abs(y[node] - y[other]) < (height[node] + height[other]) / 2.0 + gap) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private int getCell(double coordinate) {
+            return (int) Math.floor(coordinate / cellSize);
+        }
+
+        private long getKey(int cellX, int cellY) {
+            return ((long) cellX << 32) | (cellY & 0xffffffffL);
+        }
+    }
+
+    /**
+     * Barnes-Hut quadtree. Cells are stored in arrays which are reused between iterations.
+     */
+    private static class QuadTree {
+        private static final int NO_BODY = -1;
+
+        private int cellCount;
+        private double[] cellX = new double[64];
+        private double[] cellY = new double[64];
+        private double[] cellSize = new double[64];
+        private double[] massX = new double[64];
+        private double[] massY = new double[64];
+        private int[] mass = new int[64];
+        private int[] body = new int[64];
+        private int[] firstChild = new int[64];
+        private final int[] stack = new int[4 * MAX_TREE_DEPTH + 8];
+
+        void build(double[] x, double[] y, int count) {
+            double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+            cellCount = 0;
+            addCell(minX, minY, Math.max(Math.max(maxX - minX, maxY - minY), 1) + 1);
+            for (int i = 0; i < count; i++) {
+                insert(i, x[i], y[i]);
+            }
+        }
+
+        private void insert(int node, double nodeX, double nodeY) {
+            int cell = 0;
+            for (int depth = 0; ; depth++) {
+                if (mass[cell] == 0 && firstChild[cell] < 0) {
+                    body[cell] = node;
+                    mass[cell] = 1;
+                    massX[cell] = nodeX;
+                    massY[cell] = nodeY;
+                    return;
+                }
+                if (firstChild[cell] < 0) {
+                    if (depth >= MAX_TREE_DEPTH) {
+                        // Coincident nodes are merged into one leaf
+                        body[cell] = NO_BODY;
+                        mass[cell]++;
+                        massX[cell] += nodeX;
+                        massY[cell] += nodeY;
+                        return;
+                    }
+                    split(cell);
+                }
+                mass[cell]++;
+                massX[cell] += nodeX;
+                massY[cell] += nodeY;
+                cell = firstChild[cell] + getQuadrant(cell, nodeX, nodeY);
+            }
+        }
+
+        private void split(int cell) {
+            double half = cellSize[cell] / 2;
+            int child = addCell(cellX[cell], cellY[cell], half);
+            addCell(cellX[cell] + half, cellY[cell], half);
+            addCell(cellX[cell], cellY[cell] + half, half);
+            addCell(cellX[cell] + half, cellY[cell] + half, half);
+            firstChild[cell] = child;
+            // Move the body down. Leaf mass is a single body, so its mass center is the body location
+            int existing = body[cell];
+            body[cell] = NO_BODY;
+            int target = child + getQuadrant(cell, massX[cell], massY[cell]);
+            body[target] = existing;
+            mass[target] = 1;
+            massX[target] = massX[cell];
+            massY[target] = massY[cell];
+        }
+
+        private int getQuadrant(int cell, double pointX, double pointY) {
+            double half = cellSize[cell] / 2;
+            int quadrant = pointX >= cellX[cell] + half ? 1 : 0;
+            if (pointY >= cellY[cell] + half) {
+                quadrant += 2;
+            }
+            return quadrant;
+        }
+
+        private int addCell(double cx, double cy, double size) {
+            if (cellCount == mass.length) {
+                int capacity = cellCount * 2;
+                cellX = Arrays.copyOf(cellX, capacity);
+                cellY = Arrays.copyOf(cellY, capacity);
+                cellSize = Arrays.copyOf(cellSize, capacity);
+                massX = Arrays.copyOf(massX, capacity);
+                massY = Arrays.copyOf(massY, capacity);
+                mass = Arrays.copyOf(mass, capacity);
+                body = Arrays.copyOf(body, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+            }
+            int cell = cellCount++;
+            cellX[cell] = cx;
+            cellY[cell] = cy;
+            cellSize[cell] = size;
+            massX[cell] = 0;
+            massY[cell] = 0;
+            mass[cell] = 0;
+            body[cell] = NO_BODY;
+            firstChild[cell] = -1;
+            return cell;
+        }
+
+        /**
+         * Adds repulsion force (k^2 / distance) of all other nodes to the node displacement
+         */
+        void addRepulsion(int node, double[] x, double[] y, double k2, double[] dx, double[] dy) {
+            double nodeX = x[node], nodeY = y[node];
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int cell = stack[--top];
+                if (mass[cell] == 0 || body[cell] == node) {
+                    continue;
+                }
+                double centerX = massX[cell] / mass[cell];
+                double centerY = massY[cell] / mass[cell];
+                double distX = nodeX - centerX;
+                double distY = nodeY - centerY;
+                double distance2 = distX * distX + distY * distY;
+                if (firstChild[cell] < 0 || cellSize[cell] * cellSize[cell] < THETA * THETA * distance2) {
+                    if (distance2 < 1) {
+                        // Coincident nodes, push apart in a direction which depends on the node index
+                        double angle = node * 2.399963;
+                        dx[node] += Math.cos(angle) * Math.sqrt(k2);
+                        dy[node] += Math.sin(angle) * Math.sqrt(k2);
+                        continue;
+                    }
+                    double force = mass[cell] * k2 / distance2;
+                    dx[node] += distX * force;
+                    dy[node] += distY * force;
+                } else {
+                    int child = firstChild[cell];
+                    stack[top++] = child;
+                    stack[top++] = child + 1;
+                    stack[top++] = child + 2;
+                    stack[top++] = child + 3;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.erd.ui.layout.algorithm.force;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Insets;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.ConnectionEditPart;
+import org.eclipse.gef.EditPart;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.erd.ui.internal.ERDUIMessages;
+import org.jkiss.dbeaver.erd.ui.model.ERDDecorator;
+import org.jkiss.dbeaver.erd.ui.part.AttributePart;
+import org.jkiss.dbeaver.erd.ui.part.DiagramPart;
+import org.jkiss.dbeaver.erd.ui.part.NodePart;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.UIUtils;
+
+import java.util.*;
+
+/**
+ * Lays out diagram nodes with {@link ForceDirectedLayout}.
+ * Node sizes and connections are read in the UI thread, the layout itself is computed in the caller thread.
+ */
+public class ForceDirectedLayoutVisitor {
+
+    /**
+     * Diagrams with more nodes are laid out with force-directed layout. Directed graph layout is too slow for them.
+     */
+    public static final int LARGE_DIAGRAM_SIZE = Integer.getInteger("dbeaver.erd.layout.largeDiagramSize", 200);
+
+    private final ERDDecorator decorator;
+    private final List<NodePart> nodes = new ArrayList<>();
+    private final Set<NodePart> movableNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private ForceDirectedLayout layout;
+
+    public ForceDirectedLayoutVisitor(@NotNull ERDDecorator decorator) {
+        this.decorator = decorator;
+    }
+
+    public static boolean isLargeDiagram(@NotNull DiagramPart diagram) {
+        return diagram.getChildren().size() > LARGE_DIAGRAM_SIZE;
+    }
+
+    /**
+     * Lays out all diagram nodes
+     *
+     * @return false if layout was canceled
+     */
+    public boolean layoutDiagram(@NotNull DBRProgressMonitor monitor, @NotNull DiagramPart diagram) {
+        return layoutNodes(monitor, diagram, null);
+    }
+
+    /**
+     * Places given nodes next to their related nodes. Other nodes keep their locations.
+     *
+     * @param nodesToPlace nodes to place or null to lay out all nodes
+     * @return false if layout was canceled
+     */
+    public boolean layoutNodes(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DiagramPart diagram,
+        @Nullable Collection<? extends NodePart> nodesToPlace
+    ) {
+        UIUtils.syncExec(() -> readDiagram(diagram, nodesToPlace));
+        if (layout == null || monitor.isCanceled()) {
+            return false;
+        }
+        monitor.beginTask(ERDUIMessages.erd_job_layout_diagram, layout.getIterations());
+        try {
+            if (!layout.layout(monitor)) {
+                return false;
+            }
+        } finally {
+            monitor.done();
+        }
+        UIUtils.syncExec(this::applyResults);
+        return true;
+    }
+
+    private void readDiagram(@NotNull DiagramPart diagram, @Nullable Collection<? extends NodePart> nodesToPlace) {
+        Map<EditPart, Integer> nodeIndexes = new IdentityHashMap<>();
+        for (Object child : diagram.getChildren()) {
+            if (child instanceof NodePart nodePart && nodePart.getFigure() != null) {
+                nodeIndexes.put(nodePart, nodes.size());
+                nodes.add(nodePart);
+            }
+        }
+        if (nodesToPlace == null) {
+            movableNodes.addAll(nodes);
+        } else {
+            movableNodes.addAll(nodesToPlace);
+        }
+        Insets insets = decorator.getDefaultEntityInsets();
+        layout = new ForceDirectedLayout(nodes.size());
+        layout.setSpacing(Math.max(insets.getWidth(), insets.getHeight()));
+        for (int i = 0; i < nodes.size(); i++) {
+            NodePart nodePart = nodes.get(i);
+            IFigure figure = nodePart.getFigure();
+            Dimension preferredSize = figure.getPreferredSize();
+            layout.setNodeSize(i, preferredSize.width, preferredSize.height);
+            if (!movableNodes.contains(nodePart)) {
+                Rectangle bounds = figure.getBounds();
+                layout.setNodeLocation(i, bounds.x, bounds.y, true);
+            }
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            NodePart nodePart = nodes.get(i);
+            addEdges(nodeIndexes, i, nodePart.getSourceConnections());
+            for (Object child : nodePart.getChildren()) {
+                if (child instanceof AttributePart attributePart) {
+                    addEdges(nodeIndexes, i, attributePart.getSourceConnections());
+                }
+            }
+        }
+    }
+
+    private void addEdges(@NotNull Map<EditPart, Integer> nodeIndexes, int source, @NotNull List<?> connections) {
+        for (Object connection : connections) {
+            if (connection instanceof ConnectionEditPart connectionPart) {
+                EditPart target = connectionPart.getTarget();
+                Integer targetIndex = target == null ? null : nodeIndexes.get(target);
+                if (targetIndex == null && target != null) {
+                    // Attribute connection
+                    targetIndex = nodeIndexes.get(target.getParent());
+                }
+                if (targetIndex != null) {
+                    layout.addEdge(source, targetIndex);
+                }
+            }
+        }
+    }
+
+    private void applyResults() {
+        Dimension snapSize = decorator.getEntitySnapSize();
+        for (int i = 0; i < nodes.size(); i++) {
+            NodePart nodePart = nodes.get(i);
+            if (!movableNodes.contains(nodePart)) {
+                continue;
+            }
+            IFigure figure = nodePart.getFigure();
+            int x = layout.getNodeX(i);
+            int y = layout.getNodeY(i);
+            if (snapSize != null) {
+                x = x / snapSize.width * snapSize.width;
+                y = y / snapSize.height * snapSize.height;
+            }
+            Dimension preferredSize = figure.getPreferredSize();
+            figure.setBounds(new Rectangle(x, y, preferredSize.width, preferredSize.height));
+        }
+    }
+
+}
@@ -307,6 +307,24 @@ public class DiagramPart extends PropertyAwarePart {
 
     }
 
+    /**
+     * Returns entities which have neither bounds nor saved location.
+     * Usually these are entities added to the diagram after its layout was saved.
+     */
+    public List<NodePart> getUnplacedNodes()
+    {
+        List<NodePart> result = new ArrayList<>();
+        for (Object child : getChildren()) {
+            if (child instanceof EntityPart entityPart && entityPart.getBounds() == null) {
+                EntityDiagram.NodeVisualInfo visualInfo = getDiagram().getVisualInfo(entityPart.getEntity().getObject());
+                if (visualInfo == null || visualInfo.initBounds == null) {
+                    result.add(entityPart);
+                }
+            }
+        }
+        return result;
+    }
+
     public void changeLayout()
     {
         //Boolean layoutType = (Boolean) evt.getNewValue();
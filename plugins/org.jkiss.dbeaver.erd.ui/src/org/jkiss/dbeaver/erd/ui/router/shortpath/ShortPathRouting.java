@@ -27,11 +27,12 @@ import org.jkiss.dbeaver.erd.ui.figures.EntityFigure;
 import org.jkiss.dbeaver.erd.ui.router.ERDConnectionRouter;
 
 import java.util.*;
-import java.util.Map.Entry;
 
 public class ShortPathRouting extends ERDConnectionRouter {
 
     private static final int POINT_DISTANCE = 7;
+    private static final int MAX_ANCHOR_SHIFTS = 4;
+    private static final int INDEX_CELL_SIZE = 256;
     private double indentation = 30.0;
     private static final int RIGHT = 180;
     private static final int LEFT = 0;
@@ -226,6 +227,7 @@ public class ShortPathRouting extends ERDConnectionRouter {
             processStaleConnections();
             isDirty = false;
             List<Path> paths = computePaths();
+            ConnectionPointIndex pointIndex = new ConnectionPointIndex(getConnectionPoints().keySet());
             Connection current;
             for (Path path : paths) {
                 current = (Connection) path.data;
@@ -258,29 +260,18 @@ public class ShortPathRouting extends ERDConnectionRouter {
                 int dxTrgSrc = (int) (Math.cos(Math.toRadians(trgSrcAngel)) * indentation);
                 int dyTrgSrc = (int) (Math.sin(Math.toRadians(trgSrcAngel)) * indentation);
 
-                for (Entry<Connection, PointList> entry : getConnectionPoints().entrySet()) {
-                    if (entry.getKey().equals(current)) {
-                        continue;
-                    }
-                    for (int i = 0; i < entry.getKey().getPoints().size(); i++) {
-                        Point p = entry.getKey().getPoints().getPoint(i);
-                        int dxStart = Math.abs(start.x - p.x);
-                        int dyStart = Math.abs(start.y - p.y);
-                        int dxEnd = Math.abs(end.x - p.x);
-                        int dyEnd = Math.abs(end.y - p.y);
-                        if (dxStart == 0 && dyStart < POINT_DISTANCE) {
-                            start = new Point(start.x + dxSrcTrg, start.y - dySrcTrg);
-                            Point firstPoint = points.getPoint(0);
-                            firstPoint = new Point(firstPoint.x + dxSrcTrg, firstPoint.y - dySrcTrg);
-                            points.setPoint(firstPoint, 0);
-                        }
-                        if (dxEnd == 0 && dyEnd < POINT_DISTANCE) {
-                            end = new Point(end.x - dxTrgSrc, end.y - dyTrgSrc);
-                            Point endPoint = points.getPoint(points.size() - 1);
-                            endPoint = new Point(endPoint.x - dxTrgSrc, endPoint.y - dyTrgSrc);
-                            points.setPoint(endPoint, points.size() - 1);
-                        }
-                    }
+                // Shift anchors which are too close to points of other connections
+                for (int i = 0; i < MAX_ANCHOR_SHIFTS && pointIndex.hasPointNear(current, start, POINT_DISTANCE); i++) {
+                    start = new Point(start.x + dxSrcTrg, start.y - dySrcTrg);
+                    Point firstPoint = points.getPoint(0);
+                    firstPoint = new Point(firstPoint.x + dxSrcTrg, firstPoint.y - dySrcTrg);
+                    points.setPoint(firstPoint, 0);
+                }
+                for (int i = 0; i < MAX_ANCHOR_SHIFTS && pointIndex.hasPointNear(current, end, POINT_DISTANCE); i++) {
+                    end = new Point(end.x - dxTrgSrc, end.y - dyTrgSrc);
+                    Point endPoint = points.getPoint(points.size() - 1);
+                    endPoint = new Point(endPoint.x - dxTrgSrc, endPoint.y - dyTrgSrc);
+                    points.setPoint(endPoint, points.size() - 1);
                 }
                 // first
                 PointList modifiedPoints = new PointList();
@@ -314,7 +305,9 @@ public class ShortPathRouting extends ERDConnectionRouter {
                 modifiedPoints.addPoint(p2);
                 // end
                 modifiedPoints.addPoint(points.getLastPoint());
+                pointIndex.remove(current);
                 current.setPoints(modifiedPoints);
+                pointIndex.add(current);
             }
             ignoreInvalidate = false;
         }
@@ -323,8 +316,9 @@ public class ShortPathRouting extends ERDConnectionRouter {
     private List<Path> computePaths() {
         // this is a way to get List<Path> from algorithm
         List<Path> paths = algorithm.solve();
+        ObstacleIndex obstacleIndex = new ObstacleIndex(figuresToBounds.values());
         for (Path path : paths) {
-            removeOverlappingBendPoints(path);
+            removeOverlappingBendPoints(path, obstacleIndex);
         }
         // require to solve for new route calculation
         paths = algorithm.solve();
@@ -335,22 +329,15 @@ public class ShortPathRouting extends ERDConnectionRouter {
      * This method checks and remove bend point if it overlap entity
      *
      * @param path - path
+     * @param obstacleIndex - index of entity bounds
      */
-    private void removeOverlappingBendPoints(Path path) {
+    private void removeOverlappingBendPoints(Path path, ObstacleIndex obstacleIndex) {
         PointList bendPoints = path.getBendPoints();
         if (bendPoints != null) {
             PointList actualBendPoints = new PointList(bendPoints.size());
             for (int index = 0; index < bendPoints.size(); index++) {
                 Point bp = bendPoints.getPoint(index);
-                boolean requireToSkipp = false;
-                for (Entry<IFigure, Rectangle> entry : figuresToBounds.entrySet()) {
-                    Rectangle rectangle = entry.getValue();
-                    if (rectangle.contains(bp)) {
-                        requireToSkipp = true;
-                        break;
-                    }
-                }
-                if (requireToSkipp) {
+                if (obstacleIndex.contains(bp)) {
                     continue;
                 }
                 actualBendPoints.addPoint(bp);
@@ -482,4 +469,94 @@ public class ShortPathRouting extends ERDConnectionRouter {
         this.indentation = indentation;
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Uniform grid of obstacle bounds.
+     * Big diagrams have thousands of entities, so bend points are not checked against every entity.
+     */
+    private static class ObstacleIndex {
+        private final Map<Long, List<Rectangle>> cells = new HashMap<>();
+
+        ObstacleIndex(Collection<Rectangle> obstacles) {
+            for (Rectangle bounds : obstacles) {
+                for (int x = getCell(bounds.x); x <= getCell(bounds.right()); x++) {
+                    for (int y = getCell(bounds.y); y <= getCell(bounds.bottom()); y++) {
+                        cells.computeIfAbsent(getCellKey(x, y), k -> new ArrayList<>()).add(bounds);
+                    }
+                }
+            }
+        }
+
+        boolean contains(Point point) {
+            List<Rectangle> obstacles = cells.get(getCellKey(getCell(point.x), getCell(point.y)));
+            if (obstacles != null) {
+                for (Rectangle bounds : obstacles) {
+                    if (bounds.contains(point)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Points of routed connections grouped by x coordinate.
+     * Anchors are shifted only if other connection has a point on the same vertical line.
+     */
+    private static class ConnectionPointIndex {
+        private final Map<Integer, List<ConnectionPoint>> points = new HashMap<>();
+        private final Map<Connection, PointList> connectionPoints = new HashMap<>();
+
+        private record ConnectionPoint(Connection connection, int y) {
+        }
+
+        ConnectionPointIndex(Collection<Connection> connections) {
+            for (Connection connection : connections) {
+                add(connection);
+            }
+        }
+
+        void add(Connection connection) {
+            PointList pointList = connection.getPoints().getCopy();
+            connectionPoints.put(connection, pointList);
+            for (int i = 0; i < pointList.size(); i++) {
+                Point point = pointList.getPoint(i);
+                points.computeIfAbsent(point.x, k -> new ArrayList<>()).add(new ConnectionPoint(connection, point.y));
+            }
+        }
+
+        void remove(Connection connection) {
+            PointList pointList = connectionPoints.remove(connection);
+            if (pointList == null) {
+                return;
+            }
+            for (int i = 0; i < pointList.size(); i++) {
+                List<ConnectionPoint> linePoints = points.get(pointList.getPoint(i).x);
+                if (linePoints != null) {
+                    linePoints.removeIf(p -> p.connection == connection);
+                }
+            }
+        }
+
+        boolean hasPointNear(Connection connection, Point point, int distance) {
+            List<ConnectionPoint> linePoints = points.get(point.x);
+            if (linePoints != null) {
+                for (ConnectionPoint linePoint : linePoints) {
+                    if (linePoint.connection != connection && Math.abs(linePoint.y - point.y) < distance) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private static int getCell(int coordinate) {
+        return Math.floorDiv(coordinate, INDEX_CELL_SIZE);
+    }
+
+    private static long getCellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+}
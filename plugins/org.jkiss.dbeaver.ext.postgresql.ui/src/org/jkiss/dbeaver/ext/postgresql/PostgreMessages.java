@@ -38,6 +38,8 @@ public class PostgreMessages extends NLS {
     public static String wizard_backup_page_setting_group_setting;
     public static String wizard_backup_page_setting_label_format;
     public static String wizard_backup_page_setting_label_compression;
+    public static String wizard_backup_page_setting_label_parallel_jobs;
+    public static String wizard_backup_page_setting_label_parallel_jobs_tip;
     public static String wizard_backup_page_setting_label_encoding;
     public static String wizard_backup_page_setting_checkbox_use_insert;
     public static String wizard_backup_page_setting_checkbox_use_insert_tip;
@@ -63,6 +65,8 @@ public class PostgreMessages extends NLS {
     public static String wizard_backup_all_page_setting_title;
     public static String wizard_backup_all_page_setting_title_setting;
     public static String wizard_backup_all_page_setting_label_encoding;
+    public static String wizard_backup_all_page_setting_label_parallel_jobs;
+    public static String wizard_backup_all_page_setting_label_parallel_jobs_tip;
     public static String wizard_backup_all_page_setting_checkbox_only_metadata;
     public static String wizard_backup_all_page_setting_checkbox_only_metadata_tip;
     public static String wizard_backup_all_page_setting_checkbox_only_global;
@@ -91,6 +95,8 @@ public class PostgreMessages extends NLS {
     public static String wizard_restore_page_setting_label_backup_file;
     public static String wizard_restore_page_setting_label_choose_backup_file;
     public static String wizard_restore_page_setting_label_format;
+    public static String wizard_restore_page_setting_label_parallel_jobs;
+    public static String wizard_restore_page_setting_label_parallel_jobs_tip;
     public static String wizard_restore_page_setting_label_input;
     public static String wizard_restore_page_setting_label_setting;
     public static String wizard_restore_page_setting_title;
@@ -22,6 +22,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Spinner;
 import org.jkiss.dbeaver.ext.postgresql.PostgreMessages;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUIUtils;
 import org.jkiss.dbeaver.ext.postgresql.tasks.PostgreBackupAllSettings;
@@ -31,6 +32,7 @@ import org.jkiss.utils.CommonUtils;
 public class PostgreBackupAllWizardPageSettings extends PostgreToolWizardPageSettings<PostgreBackupAllWizard> {
 
     private Combo encodingCombo;
+    private Spinner parallelJobsSpinner;
     private Button metadataOnly;
     private Button globalsOnly;
     private Button rolesOnly;
@@ -61,6 +63,12 @@ public class PostgreBackupAllWizardPageSettings extends PostgreToolWizardPageSet
         PostgreBackupAllSettings settings = wizard.getSettings();
         encodingCombo.setText(settings.getEncoding());
 
+        parallelJobsSpinner = UIUtils.createLabelSpinner(formatGroup,
+            PostgreMessages.wizard_backup_all_page_setting_label_parallel_jobs,
+            PostgreMessages.wizard_backup_all_page_setting_label_parallel_jobs_tip,
+            settings.getParallelJobs(), 1, MAX_PARALLEL_JOBS);
+        parallelJobsSpinner.addSelectionListener(changeListener);
+
         metadataOnly = UIUtils.createCheckbox(formatGroup,
             PostgreMessages.wizard_backup_all_page_setting_checkbox_only_metadata,
             PostgreMessages.wizard_backup_all_page_setting_checkbox_only_metadata_tip,
@@ -152,6 +160,7 @@ public class PostgreBackupAllWizardPageSettings extends PostgreToolWizardPageSet
         settings.setOutputFilePattern(outputFileText.getText());
 
         settings.setEncoding(encodingCombo.getText());
+        settings.setParallelJobs(parallelJobsSpinner.getSelection());
         settings.setExportOnlyMetadata(metadataOnly.getSelection());
         settings.setExportOnlyGlobals(globalsOnly.getSelection());
         settings.setExportOnlyRoles(rolesOnly.getSelection());
@@ -25,6 +25,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Spinner;
 import org.jkiss.dbeaver.ext.postgresql.PostgreMessages;
 import org.jkiss.dbeaver.ext.postgresql.PostgreUIUtils;
 import org.jkiss.dbeaver.ext.postgresql.tasks.PostgreBackupRestoreSettings;
@@ -38,6 +39,7 @@ class PostgreBackupWizardPageSettings extends PostgreToolWizardPageSettings<Post
     private Combo formatCombo;
     private Combo compressCombo;
     private Combo encodingCombo;
+    private Spinner parallelJobsSpinner;
     private Button useInsertsCheck;
     private Button noPrivilegesCheck;
     private Button noOwnerCheck;
@@ -94,6 +96,12 @@ class PostgreBackupWizardPageSettings extends PostgreToolWizardPageSettings<Post
         }
         compressCombo.addSelectionListener(changeListener);
 
+        parallelJobsSpinner = UIUtils.createLabelSpinner(formatGroup,
+            PostgreMessages.wizard_backup_page_setting_label_parallel_jobs,
+            PostgreMessages.wizard_backup_page_setting_label_parallel_jobs_tip,
+            settings.getParallelJobs(), 1, MAX_PARALLEL_JOBS);
+        parallelJobsSpinner.addSelectionListener(changeListener);
+
         UIUtils.createControlLabel(formatGroup, PostgreMessages.wizard_backup_page_setting_label_encoding);
         encodingCombo = UIUtils.createEncodingCombo(formatGroup, null);
         encodingCombo.addSelectionListener(changeListener);
@@ -176,6 +184,7 @@ class PostgreBackupWizardPageSettings extends PostgreToolWizardPageSettings<Post
 
         settings.setFormat(getChosenExportFormat());
         settings.setCompression(compressCombo.getText());
+        settings.setParallelJobs(parallelJobsSpinner.getSelection());
         settings.setEncoding(encodingCombo.getText());
         settings.setUseInserts(useInsertsCheck.getSelection());
         settings.setNoPrivileges(noPrivilegesCheck.getSelection());
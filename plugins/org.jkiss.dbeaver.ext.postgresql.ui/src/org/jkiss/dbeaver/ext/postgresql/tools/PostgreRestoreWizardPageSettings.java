@@ -35,6 +35,7 @@ class PostgreRestoreWizardPageSettings extends PostgreToolWizardPageSettings<Pos
 
     private TextWithOpenFile inputFileText;
     private Combo formatCombo;
+    private Spinner parallelJobsSpinner;
     private Button cleanFirstButton;
     private Button noOwnerCheck;
     private Button createDatabase;
@@ -72,6 +73,12 @@ class PostgreRestoreWizardPageSettings extends PostgreToolWizardPageSettings<Pos
         formatCombo.select(settings.getFormat().ordinal());
         formatCombo.addListener(SWT.Selection, updateListener);
 
+        parallelJobsSpinner = UIUtils.createLabelSpinner(formatGroup,
+            PostgreMessages.wizard_restore_page_setting_label_parallel_jobs,
+            PostgreMessages.wizard_restore_page_setting_label_parallel_jobs_tip,
+            settings.getParallelJobs(), 1, MAX_PARALLEL_JOBS);
+        parallelJobsSpinner.addListener(SWT.Selection, updateListener);
+
         cleanFirstButton = UIUtils.createCheckbox(formatGroup,
         	PostgreMessages.wizard_restore_page_setting_btn_clean_first,
             PostgreMessages.wizard_restore_page_setting_btn_clean_first_tip,
@@ -148,6 +155,7 @@ class PostgreRestoreWizardPageSettings extends PostgreToolWizardPageSettings<Pos
     {
         PostgreDatabaseRestoreSettings settings = wizard.getSettings();
         settings.setFormat(PostgreDatabaseBackupSettings.ExportFormat.values()[formatCombo.getSelectionIndex()]);
+        settings.setParallelJobs(parallelJobsSpinner.getSelection());
         settings.setInputFile(inputFileText.getText());
         settings.setCleanFirst(cleanFirstButton.getSelection());
         settings.setCreateDatabase(createDatabase.getSelection());
@@ -39,6 +39,8 @@ import org.jkiss.utils.CommonUtils;
 public abstract class PostgreToolWizardPageSettings<WIZARD extends AbstractNativeToolWizard> extends AbstractNativeToolWizardPage<WIZARD>
 {
 
+    protected static final int MAX_PARALLEL_JOBS = 64;
+
     public PostgreToolWizardPageSettings(WIZARD wizard, String title)
     {
         super(wizard, title);
@@ -69,6 +69,7 @@ public class PostgreSchema implements
     DBPSystemObject,
     DBSProcedureContainer,
     DBPObjectStatisticsCollector,
+    DBPLazyPropertiesLoader,
     PostgreObject,
     PostgreScriptObject,
     PostgrePrivilegeOwner,
@@ -79,6 +80,9 @@ public class PostgreSchema implements
 
     private static final Log log = Log.getLog(PostgreSchema.class);
 
+    private static final String PROP_DISK_SPACE = "diskSpace"; //$NON-NLS-1$
+    private static final String PROP_RELATION_SIZE = "relationSize"; //$NON-NLS-1$
+
     private final PostgreDatabase database;
     protected long oid;
     protected String name;
@@ -701,6 +705,20 @@ public class PostgreSchema implements
         }
     }
 
+    @Override
+    public boolean loadLazyProperties(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String propertyId,
+        @NotNull Collection<? extends DBSObject> objects
+    ) throws DBException {
+        if (!PROP_DISK_SPACE.equals(propertyId) && !PROP_RELATION_SIZE.equals(propertyId)) {
+            return false;
+        }
+        // Sizes of all schema relations are read with one query
+        collectObjectStatistics(monitor, false, false);
+        return hasStatistics;
+    }
+
     @Override
     public boolean supportsObjectDefinitionOption(String option) {
         return DBPScriptObject.OPTION_INCLUDE_PERMISSIONS.equals(option) || DBPScriptObject.OPTION_INCLUDE_COMMENTS.equals(option)
@@ -16,7 +16,11 @@
  */
 package org.jkiss.dbeaver.ext.postgresql.model.session;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.admin.sessions.AbstractServerSession;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionActivity;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionHistory;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.meta.Property;
 import org.jkiss.utils.CommonUtils;
@@ -28,7 +32,7 @@ import java.util.Objects;
 /**
  * PostgreSQL session
  */
-public class PostgreSession extends AbstractServerSession {
+public class PostgreSession extends AbstractServerSession implements DBAServerSessionActivity {
     private static final String CAT_CLIENT = "Client";
     private static final String CAT_TIMING = "Timings";
 
@@ -44,6 +48,9 @@ public class PostgreSession extends AbstractServerSession {
     private Date stateChange;
     private String state;
     private String appName;
+    private String waitEventType;
+    private String waitEvent;
+    private DBAServerSessionHistory activityHistory;
 
     public PostgreSession(ResultSet dbResult) {
         this.pid = JDBCUtils.safeGetInt(dbResult, "pid");
@@ -63,6 +70,9 @@ public class PostgreSession extends AbstractServerSession {
 
         this.state = JDBCUtils.safeGetStringTrimmed(dbResult, "state");
         this.appName = JDBCUtils.safeGetStringTrimmed(dbResult, "application_name");
+        // Since 9.6
+        this.waitEventType = JDBCUtils.safeGetStringTrimmed(dbResult, "wait_event_type");
+        this.waitEvent = JDBCUtils.safeGetStringTrimmed(dbResult, "wait_event");
     }
 
     @Property(viewable = true, order = 1)
@@ -125,6 +135,44 @@ public class PostgreSession extends AbstractServerSession {
         return state;
     }
 
+    @Property(viewable = false, order = 8)
+    public String getWaitEventType() {
+        return waitEventType;
+    }
+
+    @Property(viewable = false, order = 9)
+    @Override
+    public String getWaitEvent() {
+        return waitEvent;
+    }
+
+    @Property(viewable = true, order = 10)
+    public String getActivityTrend() {
+        return activityHistory == null ? null : activityHistory.toSparkline();
+    }
+
+    @Nullable
+    @Override
+    public Date getStateChangeTime() {
+        return stateChange;
+    }
+
+    @NotNull
+    @Override
+    public DBAServerSessionHistory.State getActivityState() {
+        if (!"active".equals(state)) {
+            return DBAServerSessionHistory.State.IDLE;
+        }
+        // Activity wait events are reported by idle background processes
+        return waitEventType == null || "Activity".equals(waitEventType) ?
+            DBAServerSessionHistory.State.ACTIVE : DBAServerSessionHistory.State.WAITING;
+    }
+
+    @Override
+    public void setActivityHistory(@NotNull DBAServerSessionHistory history) {
+        this.activityHistory = history;
+    }
+
     @Property(viewable = true, order = 100)
     public String getBriefQuery() {
         if (query != null && query.length() > 500) {
@@ -17,11 +17,14 @@
 package org.jkiss.dbeaver.ext.postgresql.model.session;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBDatabaseException;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
 import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionChanges;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManagerIncremental;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManagerSQL;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCPreparedStatement;
@@ -29,16 +32,17 @@ import org.jkiss.dbeaver.model.exec.jdbc.JDBCResultSet;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.utils.CommonUtils;
 
+import java.sql.Array;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.sql.Timestamp;
+import java.util.*;
 
 /**
  * Postgre session manager
  */
-public class PostgreSessionManager implements DBAServerSessionManager<PostgreSession>, DBAServerSessionManagerSQL {
+public class PostgreSessionManager implements DBAServerSessionManager<PostgreSession>, DBAServerSessionManagerSQL,
+    DBAServerSessionManagerIncremental<PostgreSession> {
 
     public static final String PROP_KILL_QUERY = "killQuery";
     public static final String OPTION_SHOW_IDLE = "showIdle";
@@ -77,6 +81,84 @@ public class PostgreSessionManager implements DBAServerSessionManager<PostgreSes
         }
     }
 
+    @Override
+    public boolean supportsIncrementalRead() {
+        // state_change column was added in 9.2
+        return dataSource.isServerVersionAtLeast(9, 2);
+    }
+
+    @NotNull
+    @Override
+    public DBAServerSessionChanges<PostgreSession> getSessionChanges(
+        @NotNull DBCSession session,
+        @NotNull Map<String, Object> options,
+        @Nullable Object pollMark
+    ) throws DBException {
+        if (!(pollMark instanceof Timestamp lastPollTime)) {
+            // First read, take everything. Poll time is read first to not miss changes made during the read.
+            Timestamp pollTime = readPollTime((JDBCSession) session);
+            List<PostgreSession> sessions = getSessions(session, options);
+            Set<String> sessionIds = new HashSet<>();
+            for (PostgreSession pgSession : sessions) {
+                sessionIds.add(pgSession.getSessionId());
+            }
+            return new DBAServerSessionChanges<>(sessionIds, sessions, pollTime);
+        }
+        String filter = getSessionFilter(options);
+        try {
+            // Ids of all sessions and server time of this poll
+            Set<String> sessionIds = new HashSet<>();
+            Timestamp pollTime;
+            try (JDBCPreparedStatement dbStat = ((JDBCSession) session).prepareStatement(
+                "SELECT pg_catalog.clock_timestamp(),pg_catalog.array_agg(sa.pid) FROM pg_catalog.pg_stat_activity sa" +
+                    (filter == null ? "" : " WHERE " + filter))
+            ) {
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    if (!dbResult.next()) {
+                        return new DBAServerSessionChanges<>(Set.of(), List.of(), null);
+                    }
+                    pollTime = dbResult.getTimestamp(1);
+                    Array pids = dbResult.getArray(2);
+                    if (pids != null) {
+                        for (Object pid : (Object[]) pids.getArray()) {
+                            sessionIds.add(CommonUtils.toString(pid));
+                        }
+                    }
+                }
+            }
+            // Full rows of changed sessions only. Active sessions are always read because their wait events
+            // change without state change.
+            List<PostgreSession> changedSessions = new ArrayList<>();
+            try (JDBCPreparedStatement dbStat = ((JDBCSession) session).prepareStatement(
+                "SELECT sa.* FROM pg_catalog.pg_stat_activity sa WHERE " +
+                    (filter == null ? "" : "(" + filter + ") AND ") +
+                    "(sa.state_change IS NULL OR sa.state_change >= ? OR sa.backend_start >= ? OR sa.state = 'active')")
+            ) {
+                dbStat.setTimestamp(1, lastPollTime);
+                dbStat.setTimestamp(2, lastPollTime);
+                try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                    while (dbResult.next()) {
+                        changedSessions.add(new PostgreSession(dbResult));
+                    }
+                }
+            }
+            return new DBAServerSessionChanges<>(sessionIds, changedSessions, pollTime);
+        } catch (SQLException e) {
+            throw new DBDatabaseException(e, session.getDataSource());
+        }
+    }
+
+    @Nullable
+    private static Timestamp readPollTime(@NotNull JDBCSession session) throws DBException {
+        try (JDBCPreparedStatement dbStat = session.prepareStatement("SELECT pg_catalog.clock_timestamp()")) {
+            try (JDBCResultSet dbResult = dbStat.executeQuery()) {
+                return dbResult.next() ? dbResult.getTimestamp(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new DBDatabaseException(e, session.getDataSource());
+        }
+    }
+
     @Override
     public void alterSession(@NotNull DBCSession session, @NotNull String sessionId, @NotNull Map<String, Object> options) throws DBException
     {
@@ -109,11 +191,20 @@ public class PostgreSessionManager implements DBAServerSessionManager<PostgreSes
     @Override
     public String generateSessionReadQuery(@NotNull Map<String, Object> options) {
         StringBuilder sql =  new StringBuilder("SELECT sa.* FROM pg_catalog.pg_stat_activity sa");
-        
-        if (!CommonUtils.getOption(options, OPTION_SHOW_IDLE)) {
-            sql.append(" where sa.state is null or sa.state not like 'idle%'");
+
+        String filter = getSessionFilter(options);
+        if (filter != null) {
+            sql.append(" where ").append(filter);
         }
-        
+
         return sql.toString();
     }
+
+    @Nullable
+    private static String getSessionFilter(@NotNull Map<String, Object> options) {
+        if (!CommonUtils.getOption(options, OPTION_SHOW_IDLE)) {
+            return "sa.state is null or sa.state not like 'idle%'";
+        }
+        return null;
+    }
 }
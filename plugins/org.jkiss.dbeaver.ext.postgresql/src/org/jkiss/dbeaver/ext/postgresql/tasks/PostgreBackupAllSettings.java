@@ -50,6 +50,7 @@ public class PostgreBackupAllSettings extends AbstractImportExportSettings<DBSOb
     private static final String PROP_EXPORT_ALL_NO_PRIVILEGES = "pg.export.all.noPrivileges";
     private static final String PROP_EXPORT_ALL_NO_OWNER = "pg.export.all.noOwner";
     private static final String PROP_EXPORT_ALL_ADD_ROLES_PASSWORDS = "pg.export.all.addRolesPasswords";
+    private static final String PROP_EXPORT_ALL_PARALLEL_JOBS = "pg.export.all.parallelJobs";
     private static final String PROP_EXPORT_OBJECTS_ALL = "exportObjects.all";
     private static final String PROP_DATASOURCE = "datasource";
     private static final String PROP_DATABASES = "databases";
@@ -64,6 +65,7 @@ public class PostgreBackupAllSettings extends AbstractImportExportSettings<DBSOb
     private boolean noPrivileges;
     private boolean noOwner;
     private boolean addRolesPasswords;
+    private int parallelJobs = 1;
 
     public PostgreBackupAllSettings() {
     }
@@ -171,6 +173,17 @@ public class PostgreBackupAllSettings extends AbstractImportExportSettings<DBSOb
         this.addRolesPasswords = addRolesPasswords;
     }
 
+    /**
+     * Number of servers dumped in parallel
+     */
+    public int getParallelJobs() {
+        return parallelJobs;
+    }
+
+    public void setParallelJobs(int parallelJobs) {
+        this.parallelJobs = Math.max(1, parallelJobs);
+    }
+
     @Override
     public void fillExportObjectsFromInput() {
         PostgreDataSource dataSource = null;
@@ -198,6 +211,7 @@ public class PostgreBackupAllSettings extends AbstractImportExportSettings<DBSOb
         noPrivileges = store.getBoolean(PROP_EXPORT_ALL_NO_PRIVILEGES);
         noOwner = store.getBoolean(PROP_EXPORT_ALL_NO_OWNER);
         addRolesPasswords = store.getBoolean(PROP_EXPORT_ALL_ADD_ROLES_PASSWORDS);
+        parallelJobs = Math.max(1, store.getInt(PROP_EXPORT_ALL_PARALLEL_JOBS));
 
         super.loadSettings(runnableContext, store);
         if (store instanceof DBPPreferenceMap) {
@@ -270,6 +284,7 @@ public class PostgreBackupAllSettings extends AbstractImportExportSettings<DBSOb
         store.setValue(PROP_EXPORT_ALL_NO_PRIVILEGES, noPrivileges);
         store.setValue(PROP_EXPORT_ALL_NO_OWNER, noOwner);
         store.setValue(PROP_EXPORT_ALL_ADD_ROLES_PASSWORDS, addRolesPasswords);
+        store.setValue(PROP_EXPORT_ALL_PARALLEL_JOBS, parallelJobs);
 
         if (store instanceof DBPPreferenceMap && !CommonUtils.isEmpty(exportObjects)) {
             // Save input objects to task properties
@@ -58,6 +58,7 @@ public class PostgreBackupRestoreSettings extends AbstractImportExportSettings<D
     }
 
     private ExportFormat format = ExportFormat.CUSTOM;
+    private int parallelJobs = 1;
 
     public PostgreBackupRestoreSettings() {
     }
@@ -73,9 +74,22 @@ public class PostgreBackupRestoreSettings extends AbstractImportExportSettings<D
     public void setFormat(ExportFormat format) {
         this.format = format;
     }
+
+    /**
+     * Total number of parallel jobs. Applies to directory and custom archives only.
+     */
+    public int getParallelJobs() {
+        return parallelJobs;
+    }
+
+    public void setParallelJobs(int parallelJobs) {
+        this.parallelJobs = Math.max(1, parallelJobs);
+    }
+
     @Override
     public void loadSettings(DBRRunnableContext runnableContext, DBPPreferenceStore store) throws DBException {
         this.format = CommonUtils.valueOf(ExportFormat.class, store.getString("pg.format"), ExportFormat.CUSTOM);
+        this.parallelJobs = Math.max(1, store.getInt("pg.parallelJobs"));
         super.loadSettings(runnableContext, store);
     }
 
@@ -84,6 +98,7 @@ public class PostgreBackupRestoreSettings extends AbstractImportExportSettings<D
         super.saveSettings(runnableContext, store);
 
         store.setValue("pg.format", format == null ? null : format.name());
+        store.setValue("pg.parallelJobs", parallelJobs);
     }
 
 }
@@ -21,6 +21,7 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDataSource;
 import org.jkiss.dbeaver.ext.postgresql.model.PostgreDatabase;
 import org.jkiss.dbeaver.model.fs.DBFUtils;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -43,6 +44,25 @@ public class PostgreDatabaseBackupAllHandler
         return true;
     }
 
+    @Override
+    protected int getParallelJobsBudget(PostgreBackupAllSettings settings) {
+        // pg_dumpall writes a single script, so only different servers may be dumped in parallel
+        return settings.getParallelJobs();
+    }
+
+    @Override
+    protected long estimateProcessSize(DBRProgressMonitor monitor, PostgreBackupAllSettings settings, PostgreDatabaseBackupAllInfo arg) {
+        long totalSize = 0;
+        for (PostgreDatabase database : CommonUtils.safeCollection(arg.getDatabases())) {
+            long size = getDatabaseSize(monitor, database);
+            if (size < 0) {
+                return -1;
+            }
+            totalSize += size;
+        }
+        return totalSize > 0 ? totalSize : -1;
+    }
+
     @Override
     public Collection<PostgreDatabaseBackupAllInfo> getRunInfo(PostgreBackupAllSettings settings) {
         return settings.getExportObjects();
@@ -95,6 +95,22 @@ public class PostgreDatabaseBackupHandler extends PostgreNativeToolHandler<Postg
         return true;
     }
 
+    @Override
+    protected int getParallelJobsBudget(PostgreDatabaseBackupSettings settings) {
+        return settings.getParallelJobs();
+    }
+
+    @Override
+    protected boolean supportsProcessJobs(PostgreDatabaseBackupSettings settings, PostgreDatabaseBackupInfo arg) {
+        // pg_dump supports parallel dump only for directory archives
+        return settings.getFormat() == PostgreBackupRestoreSettings.ExportFormat.DIRECTORY;
+    }
+
+    @Override
+    protected long estimateProcessSize(DBRProgressMonitor monitor, PostgreDatabaseBackupSettings settings, PostgreDatabaseBackupInfo arg) {
+        return getDatabaseSize(monitor, arg.getDatabase());
+    }
+
     @Override
     public void fillProcessParameters(
         PostgreDatabaseBackupSettings settings,
@@ -104,6 +120,10 @@ public class PostgreDatabaseBackupHandler extends PostgreNativeToolHandler<Postg
         super.fillProcessParameters(settings, arg, cmd);
 
         cmd.add("--format=" + settings.getFormat().getId());
+        int jobs = getProcessJobs(arg);
+        if (jobs > 1 && settings.getFormat() == PostgreBackupRestoreSettings.ExportFormat.DIRECTORY) {
+            cmd.add("--jobs=" + jobs);
+        }
         if (!CommonUtils.isEmpty(settings.getCompression())) {
             cmd.add("--compress=" + settings.getCompression());
         }
@@ -108,6 +108,25 @@ public class PostgreDatabaseRestoreHandler extends PostgreNativeToolHandler<Post
         return false;
     }
 
+    @Override
+    protected int getParallelJobsBudget(PostgreDatabaseRestoreSettings settings) {
+        return settings.getParallelJobs();
+    }
+
+    @Override
+    protected boolean supportsProcessJobs(PostgreDatabaseRestoreSettings settings, PostgreDatabaseRestoreInfo arg) {
+        return isParallelRestoreSupported(settings);
+    }
+
+    // pg_restore can't run parallel jobs for plain scripts and for archives read from stdin
+    private boolean isParallelRestoreSupported(PostgreDatabaseRestoreSettings settings) {
+        PostgreBackupRestoreSettings.ExportFormat format = settings.getFormat();
+        if (format == PostgreBackupRestoreSettings.ExportFormat.DIRECTORY) {
+            return true;
+        }
+        return format == PostgreBackupRestoreSettings.ExportFormat.CUSTOM && !isUseStreamTransfer(settings.getInputFile());
+    }
+
     @Override
     protected List<String> getCommandLine(PostgreDatabaseRestoreSettings settings, PostgreDatabaseRestoreInfo arg) throws IOException {
         List<String> cmd = new ArrayList<>();
@@ -116,6 +135,10 @@ public class PostgreDatabaseRestoreHandler extends PostgreNativeToolHandler<Post
         if (settings.getFormat() != PostgreBackupRestoreSettings.ExportFormat.PLAIN) {
             cmd.add("--format=" + settings.getFormat().getId());
         }
+        int jobs = getProcessJobs(arg);
+        if (jobs > 1 && isParallelRestoreSupported(settings)) {
+            cmd.add("--jobs=" + jobs);
+        }
         cmd.add("--dbname=" + settings.getRestoreInfo().getDatabase()); // database name here can be used without quotes
         if (!isUseStreamTransfer(settings.getInputFile()) ||
             settings.getFormat() == PostgreBackupRestoreSettings.ExportFormat.DIRECTORY
@@ -16,7 +16,10 @@
  */
 package org.jkiss.dbeaver.ext.postgresql.tasks;
 
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ext.postgresql.PostgreConstants;
+import org.jkiss.dbeaver.ext.postgresql.model.PostgreDatabase;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
@@ -34,6 +37,8 @@ import java.util.List;
 public abstract class PostgreNativeToolHandler<SETTINGS extends AbstractNativeToolSettings<BASE_OBJECT>, BASE_OBJECT extends DBSObject, PROCESS_ARG>
     extends AbstractNativeToolHandler<SETTINGS, BASE_OBJECT, PROCESS_ARG> {
 
+    private static final Log log = Log.getLog(PostgreNativeToolHandler.class);
+
     public boolean isUseStreamTransfer(String targetFile) {
         return !IOUtils.isLocalFile(targetFile);
     }
@@ -77,6 +82,20 @@ public abstract class PostgreNativeToolHandler<SETTINGS extends AbstractNativeTo
         return false;
     }
 
+    /**
+     * Returns database size in bytes or -1 if server doesn't provide it
+     */
+    protected static long getDatabaseSize(DBRProgressMonitor monitor, PostgreDatabase database) {
+        if (database.getStatObjectSize() < 0) {
+            try {
+                database.getDataSource().collectObjectStatistics(monitor, true, false);
+            } catch (DBException e) {
+                log.debug("Error reading database '" + database.getName() + "' size: " + e.getMessage());
+            }
+        }
+        return database.getStatObjectSize();
+    }
+
     protected abstract boolean isExportWizard();
 
     public static String escapeCLIIdentifier(String name) {
@@ -65,7 +65,8 @@ public class AIAssistantImpl implements AIAssistant {
         String prompt = buildPrompt(
             monitor,
             engine,
-            request.context()
+            request.context(),
+            request.text()
         ).addGoals(
             "Translate natural language text to SQL."
         ).addOutputFormats(
@@ -118,7 +119,8 @@ public class AIAssistantImpl implements AIAssistant {
         String prompt = buildPrompt(
             monitor,
             engine,
-            request.context()
+            request.context(),
+            request.text()
         ).addGoals(
             "Translate natural language text to SQL."
         ).addOutputFormats(
@@ -270,6 +272,15 @@ public class AIAssistantImpl implements AIAssistant {
         @NotNull DBRProgressMonitor monitor,
         @NotNull DAICompletionEngine engine,
         @Nullable DAICompletionContext context
+    ) throws DBException {
+        return buildPrompt(monitor, engine, context, null);
+    }
+
+    protected PromptBuilder buildPrompt(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DAICompletionEngine engine,
+        @Nullable DAICompletionContext context,
+        @Nullable String userRequest
     ) throws DBException {
         PromptBuilder promptBuilder = PromptBuilder.createForDataSource(
             context != null ?
@@ -278,7 +289,7 @@ public class AIAssistantImpl implements AIAssistant {
             formatter()
         );
 
-        describeDatabaseMetadata(monitor, engine, context, promptBuilder);
+        describeDatabaseMetadata(monitor, engine, context, userRequest, promptBuilder);
 
         return promptBuilder;
     }
@@ -288,13 +299,24 @@ public class AIAssistantImpl implements AIAssistant {
         @NotNull DAICompletionEngine engine,
         @Nullable DAICompletionContext context,
         PromptBuilder promptBuilder
+    ) throws DBException {
+        describeDatabaseMetadata(monitor, engine, context, null, promptBuilder);
+    }
+
+    protected void describeDatabaseMetadata(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DAICompletionEngine engine,
+        @Nullable DAICompletionContext context,
+        @Nullable String userRequest,
+        PromptBuilder promptBuilder
     ) throws DBException {
         if (context != null) {
             String description = metadataProcessor.describeContext(
                 monitor,
                 context,
                 formatter(),
-                AIUtils.getMaxRequestTokens(engine, monitor)
+                AIUtils.getMaxRequestTokens(engine, monitor),
+                userRequest
             );
 
             promptBuilder.addDatabaseSnapshot(description);
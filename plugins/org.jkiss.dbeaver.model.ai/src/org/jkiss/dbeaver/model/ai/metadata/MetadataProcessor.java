@@ -23,16 +23,20 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBPNamedObject;
 import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.ai.AICompletionConstants;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionContext;
 import org.jkiss.dbeaver.model.ai.completion.DAICompletionScope;
 import org.jkiss.dbeaver.model.ai.format.IAIFormatter;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContextDefaults;
 import org.jkiss.dbeaver.model.navigator.DBNUtils;
+import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.struct.*;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
 import org.jkiss.dbeaver.model.struct.rdb.DBSTablePartition;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -50,6 +54,23 @@ public class MetadataProcessor {
         @NotNull IAIFormatter formatter,
         int maxRequestLength,
         boolean useFullyQualifiedName
+    ) throws DBException {
+        return generateObjectDescription(monitor, object, context, formatter, maxRequestLength, useFullyQualifiedName, null);
+    }
+
+    /**
+     * Generates object description.
+     * Container entities are taken from the schema digest and ordered by relevance to the user request,
+     * so the most relevant tables fit into the request length limit.
+     */
+    public String generateObjectDescription(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSObject object,
+        @Nullable DBCExecutionContext context,
+        @NotNull IAIFormatter formatter,
+        int maxRequestLength,
+        boolean useFullyQualifiedName,
+        @Nullable String userRequest
     ) throws DBException {
         if (DBNUtils.getNodeByObject(monitor, object, false) == null) {
             // Skip hidden objects
@@ -76,30 +97,90 @@ public class MetadataProcessor {
             }
 
         } else if (object instanceof DBSObjectContainer objectContainer) {
-            monitor.subTask("Load cache of " + object.getName());
-            objectContainer.cacheStructure(
+            description.append(describeContainer(monitor, objectContainer, context, formatter, maxRequestLength, userRequest));
+        }
+        return description.toString();
+    }
+
+    @NotNull
+    private String describeContainer(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSObjectContainer container,
+        @Nullable DBCExecutionContext context,
+        @NotNull IAIFormatter formatter,
+        int maxRequestLength,
+        @Nullable String userRequest
+    ) throws DBException {
+        SchemaDigest digest = SchemaDigestCache.getInstance().getDigest(container);
+        digest.checkFormat(getFormatKey(formatter));
+        boolean loadStructure = !digest.isStructureLoaded();
+
+        List<DBSEntity> entities = new ArrayList<>();
+        collectEntities(monitor, container, entities, loadStructure);
+        digest.setStructureLoaded(true);
+        digest.retainEntities(entities);
+
+        // Generate descriptions of new and changed entities only
+        Map<DBSEntity, String> descriptions = new HashMap<>();
+        for (DBSEntity entity : entities) {
+            boolean fullyQualified = isRequiresFullyQualifiedName(entity, context);
+            SchemaDigest.Entry entry = digest.getEntry(entity, fullyQualified);
+            if (entry == null) {
+                String entityText = generateObjectDescription(monitor, entity, context, formatter, maxRequestLength, fullyQualified);
+                entry = new SchemaDigest.Entry(entity.getName(), entityText, fullyQualified);
+                digest.putEntry(entity, entry);
+            }
+            descriptions.put(entity, entry.description);
+        }
+
+        // Most relevant entities go first, the rest keep natural order
+        Map<DBSEntity, Double> scores = digest.score(entities, userRequest);
+        if (!scores.isEmpty()) {
+            entities.sort(Comparator.comparingDouble((DBSEntity entity) -> scores.getOrDefault(entity, 0.0)).reversed());
+        }
+
+        StringBuilder description = new StringBuilder();
+        for (DBSEntity entity : entities) {
+            String entityText = descriptions.get(entity);
+            if (description.length() + entityText.length() > maxRequestLength * 3) {
+                log.debug("Trim AI metadata prompt  at table '" + entity.getName() + "' - too long request");
+                break;
+            }
+            description.append(entityText);
+        }
+        return description.toString();
+    }
+
+    private void collectEntities(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBSObjectContainer container,
+        @NotNull List<DBSEntity> entities,
+        boolean loadStructure
+    ) throws DBException {
+        if (loadStructure) {
+            monitor.subTask("Load cache of " + container.getName());
+            container.cacheStructure(
                 monitor,
                 DBSObjectContainer.STRUCT_ENTITIES | DBSObjectContainer.STRUCT_ATTRIBUTES);
-            for (DBSObject child : objectContainer.getChildren(monitor)) {
-                if (DBUtils.isSystemObject(child) || DBUtils.isHiddenObject(child) || child instanceof DBSTablePartition) {
-                    continue;
-                }
-                String childText = generateObjectDescription(
-                    monitor,
-                    child,
-                    context,
-                    formatter,
-                    maxRequestLength,
-                    isRequiresFullyQualifiedName(child, context)
-                );
-                if (description.length() + childText.length() > maxRequestLength * 3) {
-                    log.debug("Trim AI metadata prompt  at table '" + child.getName() + "' - too long request");
-                    break;
-                }
-                description.append(childText);
+        }
+        for (DBSObject child : CommonUtils.safeCollection(container.getChildren(monitor))) {
+            if (DBUtils.isSystemObject(child) || DBUtils.isHiddenObject(child) || child instanceof DBSTablePartition) {
+                continue;
+            }
+            if (child instanceof DBSEntity entity) {
+                entities.add(entity);
+            } else if (child instanceof DBSObjectContainer childContainer) {
+                collectEntities(monitor, childContainer, entities, loadStructure);
             }
         }
-        return description.toString();
+    }
+
+    @NotNull
+    private static String getFormatKey(@NotNull IAIFormatter formatter) {
+        DBPPreferenceStore store = DBWorkbench.getPlatform().getPreferenceStore();
+        return formatter.getClass().getName() +
+            ":" + store.getBoolean(AICompletionConstants.AI_SEND_TYPE_INFO) +
+            ":" + store.getBoolean(AICompletionConstants.AI_SEND_DESCRIPTION);
     }
 
     /**
@@ -111,6 +192,21 @@ public class MetadataProcessor {
         @NotNull DAICompletionContext context,
         @NotNull IAIFormatter formatter,
         int maxRequestTokens
+    ) throws DBException {
+        return describeContext(monitor, context, formatter, maxRequestTokens, null);
+    }
+
+    /**
+     * Creates a new message containing completion metadata for the request.
+     * Tables relevant to the user request are described first.
+     */
+    @NotNull
+    public String describeContext(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DAICompletionContext context,
+        @NotNull IAIFormatter formatter,
+        int maxRequestTokens,
+        @Nullable String userRequest
     ) throws DBException {
         DBSObjectContainer mainObject = context.getScopeObject();
 
@@ -134,7 +230,8 @@ public class MetadataProcessor {
                     executionContext,
                     formatter,
                     remainingRequestTokens,
-                    isRequiresFullyQualifiedName(entity, executionContext)
+                    isRequiresFullyQualifiedName(entity, executionContext),
+                    userRequest
                 ));
             }
         } else {
@@ -145,7 +242,8 @@ public class MetadataProcessor {
                 executionContext,
                 formatter,
                 remainingRequestTokens,
-                false
+                false,
+                userRequest
             ));
         }
 
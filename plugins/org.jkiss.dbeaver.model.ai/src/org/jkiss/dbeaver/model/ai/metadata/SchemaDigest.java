@@ -0,0 +1,227 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Cached metadata descriptions of container entities with a keyword index.
+ * Entity descriptions are generated once and then reused by subsequent prompts.
+ * Entities are ranked against the user request with BM25 scoring.
+ * <p>
+ * Entities are referenced weakly, so the digest doesn't prevent metadata refresh from releasing them.
+ */
+public class SchemaDigest {
+
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    // Entity name terms are more relevant than column names
+    private static final int NAME_TERM_WEIGHT = 3;
+    private static final int MIN_STEM_LENGTH = 4;
+
+    public static class Entry {
+        @NotNull
+        final String description;
+        final boolean fullyQualified;
+        @NotNull
+        final Map<String, Integer> termFrequencies;
+        final int length;
+
+        public Entry(@NotNull String name, @NotNull String description, boolean fullyQualified) {
+            this.description = description;
+            this.fullyQualified = fullyQualified;
+            this.termFrequencies = new HashMap<>();
+            int termCount = 0;
+            for (String term : tokenize(name)) {
+                termFrequencies.merge(term, NAME_TERM_WEIGHT, Integer::sum);
+                termCount += NAME_TERM_WEIGHT;
+            }
+            for (String term : tokenize(description)) {
+                termFrequencies.merge(term, 1, Integer::sum);
+                termCount++;
+            }
+            this.length = termCount;
+        }
+    }
+
+    private final Map<DBSEntity, Entry> entries = new WeakHashMap<>();
+    private final Set<DBSEntity> dirtyEntities = Collections.newSetFromMap(new WeakHashMap<>());
+    private volatile boolean structureLoaded;
+    // Descriptions depend on formatter settings
+    private String formatKey;
+    // Document frequencies, recalculated on demand
+    private Map<String, Integer> documentFrequencies;
+    private double averageLength;
+
+    boolean isStructureLoaded() {
+        return structureLoaded;
+    }
+
+    void setStructureLoaded(boolean structureLoaded) {
+        this.structureLoaded = structureLoaded;
+    }
+
+    /**
+     * Drops all descriptions if they were generated with different formatter settings
+     */
+    synchronized void checkFormat(@NotNull String formatKey) {
+        if (!formatKey.equals(this.formatKey)) {
+            this.formatKey = formatKey;
+            entries.clear();
+            dirtyEntities.clear();
+            documentFrequencies = null;
+        }
+    }
+
+    @Nullable
+    synchronized Entry getEntry(@NotNull DBSEntity entity, boolean fullyQualified) {
+        Entry entry = entries.get(entity);
+        if (entry == null || entry.fullyQualified != fullyQualified || dirtyEntities.contains(entity)) {
+            return null;
+        }
+        return entry;
+    }
+
+    public synchronized void putEntry(@NotNull DBSEntity entity, @NotNull Entry entry) {
+        entries.put(entity, entry);
+        dirtyEntities.remove(entity);
+        documentFrequencies = null;
+    }
+
+    /**
+     * Removes entities which are not present in the container anymore
+     */
+    synchronized void retainEntities(@NotNull Collection<DBSEntity> entities) {
+        if (entries.keySet().retainAll(entities)) {
+            documentFrequencies = null;
+        }
+    }
+
+    synchronized boolean containsEntity(@NotNull DBSEntity entity) {
+        return entries.containsKey(entity);
+    }
+
+    /**
+     * Marks entity description as outdated. It will be regenerated on next use.
+     */
+    synchronized void invalidateEntity(@NotNull DBSEntity entity) {
+        if (entries.containsKey(entity)) {
+            dirtyEntities.add(entity);
+        }
+    }
+
+    /**
+     * Returns relevance scores of the given entities.
+     * Entities not matching any request term get zero score.
+     */
+    @NotNull
+    public synchronized Map<DBSEntity, Double> score(@NotNull Collection<DBSEntity> entities, @Nullable String request) {
+        Map<DBSEntity, Double> scores = new HashMap<>();
+        Set<String> requestTerms = new LinkedHashSet<>(tokenize(request));
+        if (requestTerms.isEmpty() || entries.isEmpty()) {
+            return scores;
+        }
+        if (documentFrequencies == null) {
+            documentFrequencies = new HashMap<>();
+            long totalLength = 0;
+            for (Entry entry : entries.values()) {
+                for (String term : entry.termFrequencies.keySet()) {
+                    documentFrequencies.merge(term, 1, Integer::sum);
+                }
+                totalLength += entry.length;
+            }
+            averageLength = (double) totalLength / entries.size();
+        }
+        int documentCount = entries.size();
+        for (DBSEntity entity : entities) {
+            Entry entry = entries.get(entity);
+            if (entry == null) {
+                continue;
+            }
+            double score = 0;
+            for (String term : requestTerms) {
+                Integer frequency = entry.termFrequencies.get(term);
+                if (frequency == null) {
+                    continue;
+                }
+                int df = documentFrequencies.getOrDefault(term, 0);
+                double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                double norm = BM25_K1 * (1 - BM25_B + BM25_B * entry.length / averageLength);
+                score += idf * frequency * (BM25_K1 + 1) / (frequency + norm);
+            }
+            if (score > 0) {
+                scores.put(entity, score);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Splits text into lower case terms.
+     * Identifiers are split by underscores and camel case, the whole identifier is kept as a term too.
+     */
+    @NotNull
+    public static List<String> tokenize(@Nullable String text) {
+        if (CommonUtils.isEmpty(text)) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+                i++;
+            }
+            String word = text.substring(start, i);
+            int partCount = 0;
+            int partStart = 0;
+            for (int k = 1; k <= word.length(); k++) {
+                if (k == word.length() || word.charAt(k) == '_' ||
+                    (Character.isUpperCase(word.charAt(k)) && Character.isLowerCase(word.charAt(k - 1)))) {
+                    if (k > partStart) {
+                        addTerm(terms, word.substring(partStart, k));
+                        partCount++;
+                    }
+                    partStart = k < word.length() && word.charAt(k) == '_' ? k + 1 : k;
+                }
+            }
+            if (partCount > 1) {
+                addTerm(terms, word);
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(@NotNull List<String> terms, @NotNull String term) {
+        String lowerTerm = term.toLowerCase(Locale.ROOT);
+        // Very simple stemming: singular and plural forms must match
+        if (lowerTerm.length() >= MIN_STEM_LENGTH && lowerTerm.endsWith("s") && !lowerTerm.endsWith("ss")) {
+            lowerTerm = lowerTerm.substring(0, lowerTerm.length() - 1);
+        }
+        terms.add(lowerTerm);
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvent;
+import org.jkiss.dbeaver.model.DBPEventListener;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+
+import java.util.*;
+
+/**
+ * Schema digests of object containers.
+ * Digests are updated on metadata change events and dropped on data source reconnect.
+ * Cache listens to events of data source registries which have digests only.
+ */
+public class SchemaDigestCache implements DBPEventListener {
+
+    private static final SchemaDigestCache INSTANCE = new SchemaDigestCache();
+
+    private final Map<DBSObjectContainer, SchemaDigest> digests = new WeakHashMap<>();
+    private final Set<DBPDataSourceRegistry> registries = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public static SchemaDigestCache getInstance() {
+        return INSTANCE;
+    }
+
+    private SchemaDigestCache() {
+    }
+
+    @NotNull
+    public synchronized SchemaDigest getDigest(@NotNull DBSObjectContainer container) {
+        DBPDataSource dataSource = container.getDataSource();
+        if (dataSource != null) {
+            DBPDataSourceRegistry registry = dataSource.getContainer().getRegistry();
+            if (registries.add(registry)) {
+                registry.addDataSourceListener(this);
+            }
+        }
+        return digests.computeIfAbsent(container, c -> new SchemaDigest());
+    }
+
+    public synchronized void clear() {
+        digests.clear();
+        releaseUnusedRegistries();
+    }
+
+    @Override
+    public void handleDataSourceEvent(@NotNull DBPEvent event) {
+        DBSObject object = event.getObject();
+        if (object == null || event.getAction() == DBPEvent.Action.OBJECT_SELECT) {
+            return;
+        }
+        synchronized (this) {
+            if (digests.isEmpty()) {
+                return;
+            }
+            if (object instanceof DBPDataSourceContainer dataSourceContainer) {
+                // Connect, disconnect or configuration change
+                digests.keySet().removeIf(container -> {
+                    DBPDataSource dataSource = container.getDataSource();
+                    return dataSource == null || dataSource.getContainer() == dataSourceContainer;
+                });
+                releaseUnusedRegistries();
+                return;
+            }
+            DBSObject entity = object;
+            while (entity != null && !(entity instanceof DBSEntity)) {
+                entity = entity.getParentObject();
+            }
+            if (entity != null) {
+                // Table or column change - regenerate table description only
+                for (SchemaDigest digest : digests.values()) {
+                    digest.invalidateEntity((DBSEntity) entity);
+                }
+            } else {
+                // Container change - its structure must be reloaded
+                for (DBSObject parent = object; parent != null; parent = parent.getParentObject()) {
+                    if (parent instanceof DBSObjectContainer) {
+                        digests.remove(parent);
+                    }
+                }
+                releaseUnusedRegistries();
+            }
+        }
+    }
+
+    /**
+     * Removes listeners from registries which don't have digests anymore
+     */
+    private void releaseUnusedRegistries() {
+        Set<DBPDataSourceRegistry> usedRegistries = new HashSet<>();
+        for (DBSObjectContainer container : digests.keySet()) {
+            DBPDataSource dataSource = container.getDataSource();
+            if (dataSource != null) {
+                usedRegistries.add(dataSource.getContainer().getRegistry());
+            }
+        }
+        for (Iterator<DBPDataSourceRegistry> iterator = registries.iterator(); iterator.hasNext(); ) {
+            DBPDataSourceRegistry registry = iterator.next();
+            if (!usedRegistries.contains(registry)) {
+                iterator.remove();
+                registry.removeDataSourceListener(this);
+            }
+        }
+    }
+
+}
@@ -22,12 +22,14 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPAdaptable;
 import org.jkiss.dbeaver.model.DBPTransactionIsolation;
 import org.jkiss.dbeaver.model.exec.*;
 import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 import org.jkiss.dbeaver.model.impl.AbstractExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCSavepointImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.exec.JDBCStatementCache;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
@@ -65,6 +67,7 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
     private volatile Integer transactionIsolationLevel;
     private transient volatile boolean txnIsolationLevelReadInProgress;
     private final ReentrantLock queryExecutionLock;
+    private volatile JDBCStatementCache statementCache;
 
     public JDBCExecutionContext(@NotNull JDBCRemoteInstance instance, String purpose) {
         super(instance.getDataSource(), purpose);
@@ -205,6 +208,10 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         // [JDBC] Need sync here because real connection close could take some time
         // while UI may invoke callbacks to operate with connection
         synchronized (this) {
+            if (statementCache != null) {
+                statementCache.clear();
+                statementCache = null;
+            }
             // If we cannot determine if connection is in autocommit mode, assume that it is not
             if (connection != null && !dataSource.closeConnection(connection, purpose, !isAutoCommit(false))) {
                 log.debug("Connection close timeout");
@@ -240,6 +247,30 @@ public class JDBCExecutionContext extends AbstractExecutionContext<JDBCDataSourc
         return connection;
     }
 
+    /**
+     * Returns prepared statements cache of this context connection.
+     * Returns null if statements caching is disabled or context is not connected.
+     */
+    @Nullable
+    public JDBCStatementCache getStatementCache() {
+        int cacheSize = dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE);
+        synchronized (this) {
+            if (cacheSize <= 0 || connection == null) {
+                if (statementCache != null) {
+                    statementCache.clear();
+                    statementCache = null;
+                }
+                return null;
+            }
+            if (statementCache == null) {
+                statementCache = new JDBCStatementCache(cacheSize);
+            } else {
+                statementCache.setMaxSize(cacheSize);
+            }
+            return statementCache;
+        }
+    }
+
     @NotNull
     @Override
     public JDBCSession openSession(@NotNull DBRProgressMonitor monitor, @NotNull DBCExecutionPurpose purpose, @NotNull String taskTitle) {
@@ -26,6 +26,7 @@ import org.jkiss.dbeaver.model.data.DBDContentCached;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.data.DBDDisplayFormat;
 import org.jkiss.dbeaver.model.data.storage.BytesContentStorage;
+import org.jkiss.dbeaver.model.data.storage.StreamContentStorage;
 import org.jkiss.dbeaver.model.data.storage.TemporaryContentStorage;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
@@ -40,8 +41,6 @@ import org.jkiss.dbeaver.utils.MimeTypes;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Blob;
 import java.sql.SQLException;
@@ -58,6 +57,7 @@ public class JDBCContentBLOB extends JDBCContentLOB {
 
     private Blob blob;
     private InputStream tmpStream;
+    private boolean streaming;
 
     public JDBCContentBLOB(DBCExecutionContext dataSource, Blob blob) {
         super(dataSource);
@@ -83,10 +83,28 @@ public class JDBCContentBLOB extends JDBCContentLOB {
         return MimeTypes.OCTET_STREAM;
     }
 
+    @Override
+    public boolean enableStreaming() {
+        if (storage != null || blob == null) {
+            return false;
+        }
+        streaming = true;
+        return true;
+    }
+
     @Override
     public DBDContentStorage getContents(@NotNull DBRProgressMonitor monitor)
         throws DBCException
     {
+        if (storage == null && blob != null && streaming) {
+            // Read directly from the driver. Blob is freed on release, after the stream is consumed
+            try {
+                storage = new StreamContentStorage(blob.getBinaryStream(), blob.length(), getDefaultEncoding());
+            } catch (Throwable e) {
+                handleContentReadingException(new DBCException(e, executionContext));
+            }
+            return storage;
+        }
         if (storage == null && blob != null) {
             try {
                 long contentLength = getContentLength();
@@ -112,10 +130,8 @@ public class JDBCContentBLOB extends JDBCContentLOB {
                     } catch (IOException e) {
                         throw new DBCException("Can't create temporary file", e);
                     }
-                    try (OutputStream os = Files.newOutputStream(tempFile)) {
-                        try (InputStream bs = blob.getBinaryStream()) {
-                            ContentUtils.copyStreams(bs, contentLength, os, monitor);
-                        }
+                    try (InputStream bs = blob.getBinaryStream()) {
+                        ContentUtils.copyStreamToFile(bs, contentLength, tempFile, monitor);
                     } catch (IOException e) {
                         ContentUtils.deleteTempFile(tempFile);
                         throw new DBCException("IO error while copying stream", e);
@@ -138,8 +154,9 @@ public class JDBCContentBLOB extends JDBCContentLOB {
     public void release()
     {
         releaseTempStream();
-        releaseBlob();
+        // Close streamed content before the blob is freed
         super.release();
+        releaseBlob();
     }
 
     private void releaseBlob() {
@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.data.DBDValueHandler;
 import org.jkiss.dbeaver.model.exec.DBCException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContextDefaults;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSavepoint;
 import org.jkiss.dbeaver.model.exec.DBCStatementType;
@@ -34,6 +35,8 @@ import org.jkiss.dbeaver.model.impl.jdbc.JDBCUtils;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRBlockingObject;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.rdb.DBSCatalog;
+import org.jkiss.dbeaver.model.struct.rdb.DBSSchema;
 
 import java.sql.*;
 import java.util.Map;
@@ -193,11 +196,20 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
             } else {
                 JDBCPreparedStatement dbStat;
                 try {
-                    // Generic prepared statement
-                    dbStat = prepareStatement(
-                        sqlQuery,
-                        scrollable ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY,
-                        updatable ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY);
+                    JDBCStatementCache statementCache = type == DBCStatementType.QUERY && !updatable && isCacheablePurpose() ?
+                        context.getStatementCache() : null;
+                    if (statementCache != null) {
+                        dbStat = prepareCachedStatement(
+                            statementCache,
+                            sqlQuery,
+                            scrollable ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY);
+                    } else {
+                        // Generic prepared statement
+                        dbStat = prepareStatement(
+                            sqlQuery,
+                            scrollable ? ResultSet.TYPE_SCROLL_INSENSITIVE : ResultSet.TYPE_FORWARD_ONLY,
+                            updatable ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY);
+                    }
                 }
                 catch (SQLFeatureNotSupportedException | UnsupportedOperationException | IncompatibleClassChangeError e) {
                     dbStat =  prepareStatement(sqlQuery);
@@ -217,6 +229,33 @@ public class JDBCConnectionImpl extends AbstractSession implements JDBCSession,
         }
     }
 
+    private boolean isCacheablePurpose() {
+        DBCExecutionPurpose purpose = getPurpose();
+        return purpose == DBCExecutionPurpose.USER || purpose == DBCExecutionPurpose.USER_FILTERED;
+    }
+
+    @NotNull
+    private JDBCPreparedStatement prepareCachedStatement(
+        @NotNull JDBCStatementCache statementCache,
+        @NotNull String sqlQuery,
+        int resultSetType
+    ) throws SQLException {
+        DBCExecutionContextDefaults<?, ?> contextDefaults = context.getContextDefaults();
+        DBSCatalog defaultCatalog = contextDefaults == null ? null : contextDefaults.getDefaultCatalog();
+        DBSSchema defaultSchema = contextDefaults == null ? null : contextDefaults.getDefaultSchema();
+        JDBCStatementCache.Key key = statementCache.makeKey(
+            sqlQuery,
+            resultSetType,
+            defaultCatalog == null ? null : defaultCatalog.getName(),
+            defaultSchema == null ? null : defaultSchema.getName());
+        PreparedStatement original = statementCache.acquire(key);
+        if (original == null) {
+            original = getOriginal().prepareStatement(sqlQuery, resultSetType, ResultSet.CONCUR_READ_ONLY);
+            statementCache.register(original);
+        }
+        return new JDBCPreparedStatementCachedImpl(this, original, sqlQuery, !isLoggingEnabled(), statementCache, key);
+    }
+
     private static boolean isInternalDriverError(Throwable e) {
         return !(e instanceof SQLException) || JDBCUtils.isFeatureNotSupportedError(null, e);
     }
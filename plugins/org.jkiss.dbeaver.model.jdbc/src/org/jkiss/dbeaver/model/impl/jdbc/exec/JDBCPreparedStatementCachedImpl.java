@@ -16,20 +16,60 @@
  */
 package org.jkiss.dbeaver.model.impl.jdbc.exec;
 
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Prepared statement taken from the execution context statement cache.
+ * On close the original statement is returned to the cache instead of being closed.
+ * Statements which failed to execute are dropped.
+ */
 public class JDBCPreparedStatementCachedImpl extends JDBCPreparedStatementImpl {
 
-	public JDBCPreparedStatementCachedImpl(JDBCPreparedStatementImpl statment){
-		super(statment.getSession(), statment.original, statment.query, statment.disableLogging);
-	}
-
-	@Override
-	public void close() {
-		// For cached statement close() do nothing
-	}
-	
-	public void drop(){
-		super.close();
-	}
-	
+    @NotNull
+    private final JDBCStatementCache cache;
+    @NotNull
+    private final JDBCStatementCache.Key cacheKey;
+    private boolean failed;
+
+    public JDBCPreparedStatementCachedImpl(
+        @NotNull JDBCSession session,
+        @NotNull PreparedStatement original,
+        String query,
+        boolean disableLogging,
+        @NotNull JDBCStatementCache cache,
+        @NotNull JDBCStatementCache.Key cacheKey)
+    {
+        super(session, original, query, disableLogging);
+        this.cache = cache;
+        this.cacheKey = cacheKey;
+    }
+
+    @Override
+    protected SQLException handleExecuteError(Throwable ex) {
+        // Statement may become invalid (e.g. after DDL) - do not reuse it
+        failed = true;
+        return super.handleExecuteError(ex);
+    }
+
+    @Override
+    protected void closeOriginal() {
+        if (failed) {
+            cache.discard(getOriginal());
+        } else {
+            cache.release(cacheKey, getOriginal());
+        }
+    }
+
+    /**
+     * Closes original statement and removes it from the cache
+     */
+    public void drop() {
+        failed = true;
+        close();
+    }
+
 }
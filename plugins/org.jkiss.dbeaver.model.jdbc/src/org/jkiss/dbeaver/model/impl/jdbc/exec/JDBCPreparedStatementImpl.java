@@ -232,7 +232,7 @@ public class JDBCPreparedStatementImpl extends JDBCStatementImpl<PreparedStateme
         try {
             return createResultSetImpl(getOriginal().executeQuery());
         } catch (Throwable e) {
-            throw super.handleExecuteError(e);
+            throw this.handleExecuteError(e);
         } finally {
             super.afterExecute();
         }
@@ -246,7 +246,7 @@ public class JDBCPreparedStatementImpl extends JDBCStatementImpl<PreparedStateme
         try {
             return getOriginal().executeUpdate();
         } catch (Throwable e) {
-            throw super.handleExecuteError(e);
+            throw this.handleExecuteError(e);
         } finally {
             super.afterExecute();
         }
@@ -260,7 +260,7 @@ public class JDBCPreparedStatementImpl extends JDBCStatementImpl<PreparedStateme
         try {
             return getOriginal().execute();
         } catch (Throwable e) {
-            throw super.handleExecuteError(e);
+            throw this.handleExecuteError(e);
         } finally {
             super.afterExecute();
         }
@@ -0,0 +1,291 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU cache of prepared statements of a single JDBC connection.
+ *
+ * Statements are keyed by normalized query text, result set type and active catalog/schema.
+ * Statement is removed from the cache while it is in use, so the same statement is never
+ * shared between concurrent sessions.
+ */
+public class JDBCStatementCache {
+
+    private static final Log log = Log.getLog(JDBCStatementCache.class);
+
+    public record Key(@NotNull String query, int resultSetType, @Nullable String catalog, @Nullable String schema) {
+    }
+
+    private static class Entry {
+        final PreparedStatement statement;
+        final int fetchSize;
+        final int queryTimeout;
+
+        Entry(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+    }
+
+    private final LinkedHashMap<Key, Entry> statements = new LinkedHashMap<>(16, 0.75f, true);
+    // Default statement settings of checked out statements
+    private final Map<PreparedStatement, Entry> checkedOut = new LinkedHashMap<>();
+    private int maxSize;
+    private long hitCount;
+    private long missCount;
+
+    public JDBCStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        evictExcessive();
+    }
+
+    @NotNull
+    public Key makeKey(@NotNull String query, int resultSetType, @Nullable String catalog, @Nullable String schema) {
+        return new Key(normalizeQuery(query), resultSetType, catalog, schema);
+    }
+
+    /**
+     * Takes statement from the cache. Returns null if there is no cached statement for the key.
+     */
+    @Nullable
+    public synchronized PreparedStatement acquire(@NotNull Key key) {
+        Entry entry = statements.remove(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        checkedOut.put(entry.statement, entry);
+        return entry.statement;
+    }
+
+    /**
+     * Registers newly prepared statement. Its current settings are used as defaults on release.
+     */
+    public void register(@NotNull PreparedStatement statement) throws SQLException {
+        Entry entry = new Entry(statement);
+        synchronized (this) {
+            checkedOut.put(statement, entry);
+        }
+    }
+
+    /**
+     * Returns statement to the cache. Statement settings are reset to defaults.
+     * If statement can't be reused it is closed.
+     */
+    public void release(@NotNull Key key, @NotNull PreparedStatement statement) {
+        Entry entry;
+        synchronized (this) {
+            entry = checkedOut.remove(statement);
+        }
+        if (entry == null) {
+            // Not registered or cache was cleared
+            closeStatement(statement);
+            return;
+        }
+        try {
+            resetStatement(entry);
+        } catch (Throwable e) {
+            log.debug("Can't reset cached statement state", e);
+            closeStatement(statement);
+            return;
+        }
+        Entry oldEntry;
+        synchronized (this) {
+            oldEntry = statements.put(key, entry);
+        }
+        if (oldEntry != null && oldEntry.statement != statement) {
+            closeStatement(oldEntry.statement);
+        }
+        synchronized (this) {
+            evictExcessive();
+        }
+    }
+
+    /**
+     * Removes statement from the cache and closes it.
+     */
+    public void discard(@NotNull PreparedStatement statement) {
+        synchronized (this) {
+            checkedOut.remove(statement);
+        }
+        closeStatement(statement);
+    }
+
+    /**
+     * Closes all cached statements. Statements which are in use are closed on release.
+     */
+    public void clear() {
+        List<Entry> entries;
+        synchronized (this) {
+            entries = new ArrayList<>(statements.values());
+            statements.clear();
+            checkedOut.clear();
+        }
+        for (Entry entry : entries) {
+            closeStatement(entry.statement);
+        }
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private void evictExcessive() {
+        Iterator<Entry> iterator = statements.values().iterator();
+        while (statements.size() > maxSize && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            closeStatement(entry.statement);
+        }
+    }
+
+    private static void resetStatement(@NotNull Entry entry) throws SQLException {
+        PreparedStatement statement = entry.statement;
+        statement.clearParameters();
+        statement.clearWarnings();
+        if (statement.getMaxRows() != 0) {
+            statement.setMaxRows(0);
+        }
+        if (statement.getFetchSize() != entry.fetchSize) {
+            statement.setFetchSize(entry.fetchSize);
+        }
+        if (statement.getQueryTimeout() != entry.queryTimeout) {
+            statement.setQueryTimeout(entry.queryTimeout);
+        }
+    }
+
+    private static void closeStatement(@NotNull PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (Throwable e) {
+            log.debug("Error closing cached statement", e);
+        }
+    }
+
+    /**
+     * Collapses whitespaces outside of string literals, quoted identifiers and line comments.
+     * Queries which differ only in formatting share the same cache entry.
+     * Quoting rules differ between dialects, so queries with escapes, bracket or dollar quoting,
+     * block comments or other dialect-specific constructs are returned as is.
+     */
+    @NotNull
+    public static String normalizeQuery(@NotNull String query) {
+        if (!isNormalizable(query)) {
+            return query;
+        }
+        StringBuilder result = new StringBuilder(query.length());
+        char quote = 0;
+        boolean lineComment = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (lineComment) {
+                // Keep comment as is, line feed terminates it
+                result.append(c);
+                if (c == '\n' || c == '\r') {
+                    lineComment = false;
+                }
+                continue;
+            }
+            if (quote != 0) {
+                result.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '-' && i + 1 < query.length() && query.charAt(i + 1) == '-') {
+                if (pendingSpace && !result.isEmpty()) {
+                    result.append(' ');
+                }
+                pendingSpace = false;
+                lineComment = true;
+                result.append(c);
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && !result.isEmpty()) {
+                result.append(' ');
+            }
+            pendingSpace = false;
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Checks that query contains only quotes and comments with the same meaning in all dialects:
+     * '...' literals with doubled quotes, "..." and `...` identifiers and -- line comments.
+     */
+    private static boolean isNormalizable(@NotNull String query) {
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            switch (c) {
+                // Escapes, bracket identifiers, dollar quotes, MySQL comments or PostgreSQL operators
+                case '\\', '[', '$', '#':
+                    return false;
+                case '/':
+                    if (i + 1 < query.length() && query.charAt(i + 1) == '*') {
+                        return false;
+                    }
+                    break;
+                case '\'':
+                    // Oracle q'...' literals
+                    if (i > 0 && Character.toLowerCase(query.charAt(i - 1)) == 'q' &&
+                        (i == 1 || !Character.isJavaIdentifierPart(query.charAt(i - 2)))) {
+                        return false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+}
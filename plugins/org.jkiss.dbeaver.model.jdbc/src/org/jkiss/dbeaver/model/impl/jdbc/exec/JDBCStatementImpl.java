@@ -508,6 +508,10 @@ public class JDBCStatementImpl<STATEMENT extends Statement> extends AbstractStat
         }
 
         // Close statement
+        closeOriginal();
+    }
+
+    protected void closeOriginal() {
         try {
             getOriginal().close();
         }
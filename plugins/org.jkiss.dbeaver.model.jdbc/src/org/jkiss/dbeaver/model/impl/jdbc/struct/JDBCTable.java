@@ -29,9 +29,11 @@ import org.jkiss.dbeaver.model.impl.DBObjectNameCaseTransformer;
 import org.jkiss.dbeaver.model.impl.data.ExecuteBatchImpl;
 import org.jkiss.dbeaver.model.impl.data.ExecuteBatchWithMultipleInsert;
 import org.jkiss.dbeaver.model.impl.data.ExecuteInsertBatchImpl;
+import org.jkiss.dbeaver.model.impl.jdbc.JDBCExecutionContext;
 import org.jkiss.dbeaver.model.impl.jdbc.JDBCSQLDialect;
 import org.jkiss.dbeaver.model.impl.jdbc.cache.JDBCStructCache;
 import org.jkiss.dbeaver.model.impl.jdbc.data.handlers.JDBCStringValueHandler;
+import org.jkiss.dbeaver.model.impl.sql.StandardSQLDialectQueryGenerator;
 import org.jkiss.dbeaver.model.impl.struct.AbstractTable;
 import org.jkiss.dbeaver.model.messages.ModelMessages;
 import org.jkiss.dbeaver.model.meta.Property;
@@ -170,8 +172,23 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             query.append(" ").append(tableAlias); //$NON-NLS-1$
         }
         appendExtraSelectParameters(query);
+
+        // With statement cache enabled filter values are bound as parameters,
+        // so the same prepared statement can be reused for different values
+        boolean useStatementCache = session.getExecutionContext() instanceof JDBCExecutionContext jdbcContext &&
+            jdbcContext.getStatementCache() != null;
+        List<DBDAttributeValue> filterParameters = null;
+        if (useStatementCache && dataFilter != null && dataFilter.hasConditions() &&
+            dataSource.getSQLDialect().getQueryGenerator() == StandardSQLDialectQueryGenerator.INSTANCE) {
+            filterParameters = StandardSQLDialectQueryGenerator.getConditionParameters(dataFilter);
+        }
         try {
-            SQLUtils.appendQueryConditions(dataSource, query, tableAlias, dataFilter);
+            if (filterParameters != null) {
+                query.append("\nWHERE "); //$NON-NLS-1$
+                SQLUtils.appendConditionString(dataFilter, dataSource, tableAlias, query, false);
+            } else {
+                SQLUtils.appendQueryConditions(dataSource, query, tableAlias, dataFilter);
+            }
         } catch (DBException e) {
             throw new DBCException("Can't generate query conditions", e, session.getExecutionContext());
         }
@@ -185,7 +202,8 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
         try (DBCStatement dbStat = DBUtils.makeStatement(
             source,
             session,
-            DBCStatementType.SCRIPT,
+            // Bound parameters need a prepared statement, otherwise keep script statement as is
+            filterParameters != null ? DBCStatementType.QUERY : DBCStatementType.SCRIPT,
             sqlQuery,
             firstRow,
             maxRows))
@@ -193,6 +211,13 @@ public abstract class JDBCTable<DATASOURCE extends DBPDataSource, CONTAINER exte
             if (monitor.isCanceled()) {
                 return statistics;
             }
+            if (filterParameters != null) {
+                int paramIndex = 0;
+                for (DBDAttributeValue parameter : filterParameters) {
+                    DBDValueHandler valueHandler = DBUtils.findValueHandler(session, parameter.getAttribute());
+                    valueHandler.bindValueObject(session, dbStat, parameter.getAttribute(), paramIndex++, parameter.getValue());
+                }
+            }
             if (dbStat instanceof JDBCStatement && (fetchSize > 0 || maxRows > 0)) {
                 DBExecUtils.setStatementFetchSize(dbStat, firstRow, maxRows, fetchSize);
             }
@@ -0,0 +1,180 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql;
+
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPEvaluationContext;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.sql.parser.SQLSemanticProcessor;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a query which evaluates aggregate functions over the whole result of the source query.
+ * Source query is used as a subquery, so aggregation happens on the server side
+ * and doesn't depend on the number of rows fetched to the client.
+ * If dialect doesn't support subqueries (or breaks on ambiguous columns in them) then functions
+ * are injected into the source query itself, the same way as {@link org.jkiss.dbeaver.model.sql.transformers.SQLQueryTransformerCount} does.
+ */
+public class SQLAggregateQueryGenerator {
+
+    private static final Log log = Log.getLog(SQLAggregateQueryGenerator.class);
+
+    private static final String SUBQUERY_ALIAS = "src";
+
+    @NotNull
+    private final DBPDataSource dataSource;
+    @Nullable
+    private final DBSDataContainer container;
+    @NotNull
+    private final SQLDialect dialect;
+    @NotNull
+    private final SQLSyntaxManager syntaxManager;
+    private final boolean injectFunctions;
+
+    public SQLAggregateQueryGenerator(
+        @NotNull DBPDataSource dataSource,
+        @Nullable DBSDataContainer container,
+        @NotNull SQLDialect dialect,
+        @NotNull SQLSyntaxManager syntaxManager
+    ) {
+        this.dataSource = dataSource;
+        this.container = container;
+        this.dialect = dialect;
+        this.syntaxManager = syntaxManager;
+        this.injectFunctions = !dialect.supportsSubqueries() ||
+            (dialect instanceof SQLDialectRelational relational && relational.isAmbiguousCountBroken());
+    }
+
+    /**
+     * Returns aggregated value expression for the specified attribute.
+     * It may be used in function templates passed to {@link #generateAggregateQuery(String, List)}.
+     */
+    @NotNull
+    public String getValueExpression(@NotNull SQLGroupingAttribute attribute) {
+        return attribute.prepareSqlString(injectFunctions ? null : SUBQUERY_ALIAS);
+    }
+
+    /**
+     * Generates aggregation query. Result set contains single row, each column corresponds
+     * to the function expression with the same index.
+     *
+     * @param queryText source query text
+     * @param functions aggregate function expressions (e.g. {@code SUM(src.VALUE)})
+     */
+    @NotNull
+    public String generateAggregateQuery(@Nullable String queryText, @NotNull List<String> functions) throws DBException {
+        if (functions.isEmpty()) {
+            throw new DBException("No aggregate functions specified");
+        }
+        if (CommonUtils.isEmpty(queryText)) {
+            if (container != null) {
+                queryText = "SELECT * FROM " + DBUtils.getObjectFullName(container, DBPEvaluationContext.DML);
+            } else {
+                throw new DBException("Empty data container");
+            }
+        }
+        // Trim query delimiters (#2541)
+        queryText = SQLUtils.trimQueryStatement(syntaxManager, queryText, true);
+        Statement statement = null;
+        try {
+            statement = SQLSemanticProcessor.parseQuery(dialect, queryText);
+        } catch (Throwable e) {
+            log.debug("SQL parse error", e);
+        }
+        if (injectFunctions) {
+            return injectFunctions(queryText, statement, functions);
+        }
+        if (statement instanceof Select select && !CommonUtils.isEmpty(select.getWithItemsList())) {
+            // Many databases do not allow CTE in subqueries
+            throw new DBException("Queries with common table expressions can't be aggregated on the server side");
+        }
+        if (statement instanceof PlainSelect plainSelect && !CommonUtils.isEmpty(plainSelect.getOrderByElements()) && !isLimited(plainSelect)) {
+            // Ordering doesn't affect aggregates but some databases do not allow it in subqueries (#4652)
+            plainSelect.setOrderByElements(null);
+            queryText = plainSelect.toString();
+        }
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ");
+        for (int i = 0; i < functions.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(functions.get(i));
+            if (dialect.supportsAliasInSelect()) {
+                sql.append(" AS ").append(getFunctionAlias(i));
+            }
+        }
+        sql.append(" FROM (\n");
+        sql.append(queryText);
+        sql.append("\n) ");
+        if (dialect.supportsAsKeywordBeforeAliasInFromClause()) {
+            sql.append("AS ");
+        }
+        sql.append(SUBQUERY_ALIAS);
+        return sql.toString();
+    }
+
+    @NotNull
+    private String injectFunctions(
+        @NotNull String queryText,
+        @Nullable Statement statement,
+        @NotNull List<String> functions
+    ) throws DBException {
+        if (!(statement instanceof PlainSelect select)) {
+            throw new DBException("Query [" + queryText + "] can't be aggregated on the server side");
+        }
+        if (select.getDistinct() != null || select.getHaving() != null || isLimited(select) ||
+            (select.getGroupBy() != null && !CommonUtils.isEmpty(select.getGroupBy().getGroupByExpressionList()))
+        ) {
+            throw new DBException("Can't inject aggregate functions into query with DISTINCT, GROUP BY, HAVING or row limit");
+        }
+        List<SelectItem<?>> selectItems = new ArrayList<>();
+        for (int i = 0; i < functions.size(); i++) {
+            SelectItem<?> item = new SelectItem<>(SQLSemanticProcessor.parseExpression(functions.get(i)));
+            if (dialect.supportsAliasInSelect()) {
+                item.setAlias(new Alias(getFunctionAlias(i)));
+            }
+            selectItems.add(item);
+        }
+        select.setSelectItems(selectItems);
+        select.setOrderByElements(null);
+        return select.toString();
+    }
+
+    private static boolean isLimited(@NotNull PlainSelect select) {
+        return select.getLimit() != null || select.getOffset() != null || select.getFetch() != null || select.getTop() != null;
+    }
+
+    @NotNull
+    private static String getFunctionAlias(int index) {
+        return "agg_" + index;
+    }
+}
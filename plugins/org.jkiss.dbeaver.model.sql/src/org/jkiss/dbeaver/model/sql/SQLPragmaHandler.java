@@ -26,6 +26,12 @@ import java.util.Map;
 public interface SQLPragmaHandler {
     String PRAGMA_EXPORT = "export";
 
+    /**
+     * Marks the next query as independent from its neighbours, so it may be executed
+     * concurrently with them in parallel script execution mode
+     */
+    String PRAGMA_INDEPENDENT = "independent";
+
     /**
      * Whether the processed pragma should not be processed by following queries
      */
@@ -17,12 +17,14 @@
 package org.jkiss.dbeaver.model.sql.analyzer;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.lsm.LSMAnalyzer;
 import org.jkiss.dbeaver.model.lsm.LSMAnalyzerParameters;
 import org.jkiss.dbeaver.model.lsm.sql.dialect.LSMDialectRegistry;
 import org.jkiss.dbeaver.model.sql.SQLDialect;
 import org.jkiss.dbeaver.model.sql.SQLScriptElement;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
 import org.jkiss.dbeaver.model.sql.completion.SQLCompletionRequest;
 import org.jkiss.dbeaver.model.stm.*;
 import org.jkiss.utils.CommonUtils;
@@ -42,19 +44,49 @@ public class TableReferencesAnalyzerImpl implements TableReferencesAnalyzer {
     private static final Log log = Log.getLog(TableReferencesAnalyzerImpl.class);
 
     private Map<String, String> tableReferences;
+    @Nullable
     private final SQLCompletionRequest request;
+    @Nullable
+    private final SQLDialect dialect;
+    @Nullable
+    private final SQLSyntaxManager syntaxManager;
+    @Nullable
+    private final SQLScriptElement query;
 
     public TableReferencesAnalyzerImpl(@NotNull SQLCompletionRequest request) {
         this.request = request;
+        this.dialect = null;
+        this.syntaxManager = null;
+        this.query = null;
+    }
+
+    /**
+     * Creates analyzer for the standalone query (e.g. script element) outside of completion request
+     */
+    public TableReferencesAnalyzerImpl(
+        @NotNull SQLDialect dialect,
+        @NotNull SQLSyntaxManager syntaxManager,
+        @NotNull SQLScriptElement query
+    ) {
+        this.request = null;
+        this.dialect = dialect;
+        this.syntaxManager = syntaxManager;
+        this.query = query;
+    }
+
+    @Nullable
+    private SQLScriptElement getActiveQuery() {
+        return request != null ? request.getActiveQuery() : query;
     }
 
     private void prepareTableReferences() {
         try {
-            STMSource querySource = STMSource.fromReader(new StringReader(this.request.getActiveQuery().getText()));
+            STMSource querySource = STMSource.fromReader(new StringReader(this.getActiveQuery().getText()));
 
-            SQLDialect dialect = request.getContext().getDataSource().getSQLDialect();
+            SQLDialect dialect = request != null ? request.getContext().getDataSource().getSQLDialect() : this.dialect;
+            SQLSyntaxManager syntaxManager = request != null ? request.getContext().getSyntaxManager() : this.syntaxManager;
             LSMAnalyzer analyzer = LSMDialectRegistry.getInstance().getAnalyzerFactoryForDialect(dialect)
-                 .createAnalyzer(LSMAnalyzerParameters.forDialect(dialect, request.getContext().getSyntaxManager()));
+                 .createAnalyzer(LSMAnalyzerParameters.forDialect(dialect, syntaxManager));
             STMTreeRuleNode tree = analyzer.parseSqlQueryTree(querySource, new STMSkippingErrorListener());
             tableReferences = getTableAndAliasFromSources(tree);
         } catch (Exception e) {
@@ -65,7 +97,7 @@ public class TableReferencesAnalyzerImpl implements TableReferencesAnalyzer {
     
     private boolean prepareTableReferencesIfNeeded() {
         if (tableReferences == null || tableReferences.isEmpty()) {
-            final SQLScriptElement activeQuery = request.getActiveQuery();
+            final SQLScriptElement activeQuery = getActiveQuery();
             if (activeQuery == null) {
                 return false;
             }
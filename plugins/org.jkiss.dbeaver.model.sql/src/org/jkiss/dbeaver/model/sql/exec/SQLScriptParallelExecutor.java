@@ -0,0 +1,376 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.WorkerProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Executes independent script queries in a pool of isolated execution contexts.
+ * Each worker owns its own context and progress monitor, so parallel statements never share a connection or a monitor.
+ * Session statements (SET, USE) executed by the script are replayed on each context before its next query.
+ */
+public class SQLScriptParallelExecutor implements AutoCloseable {
+
+    private static final Log log = Log.getLog(SQLScriptParallelExecutor.class);
+
+    /**
+     * Statements which are considered independent by default (if they do not touch tables used by other
+     * pending parallel statements). All other statements must be marked with @independent command.
+     */
+    private static final String[] PARALLEL_STATEMENT_PREFIXES = {
+        "ANALYZE", "VACUUM", "REINDEX", "OPTIMIZE", "CREATE INDEX", "CREATE UNIQUE INDEX"
+    };
+    /**
+     * Statements which change session state. Parallel queries must see the same state as sequential ones.
+     */
+    private static final String[] SESSION_STATEMENT_PREFIXES = {
+        "SET", "RESET", "USE", "ALTER SESSION"
+    };
+    // Options of maintenance statements, they are not target objects
+    private static final Set<String> MAINTENANCE_OPTIONS = Set.of(
+        "TABLE", "TABLES", "INDEX", "ONLY", "FULL", "FREEZE", "VERBOSE", "ANALYZE", "SKIP_LOCKED",
+        "CONCURRENTLY", "NO_WRITE_TO_BINLOG", "LOCAL", "FINAL", "DEDUPLICATE"
+    );
+    // Maintenance of the whole schema or database touches all tables
+    private static final Set<String> MAINTENANCE_SCOPES = Set.of("DATABASE", "SCHEMA", "SYSTEM");
+    private static final Pattern INDEX_TABLE_PATTERN = Pattern.compile("\\sON\\s+(?:ONLY\\s+)?([^\\s(;]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern OPTIONS_PATTERN = Pattern.compile("\\([^)]*\\)");
+    private static final Pattern TOKEN_DELIMITER_PATTERN = Pattern.compile("[\\s,;]+");
+    private static final long CLOSE_TIMEOUT = 10;
+
+    /**
+     * Opens isolated execution context for a worker
+     */
+    @FunctionalInterface
+    public interface ContextOpener {
+        @NotNull
+        DBCExecutionContext openContext(@NotNull DBRProgressMonitor monitor) throws DBException;
+    }
+
+    /**
+     * Executes statement in the worker context
+     */
+    @FunctionalInterface
+    public interface StatementExecutor {
+        /**
+         * @param sessionReplay statement is a session statement replayed on the worker context,
+         *                      it must not be counted in script statistics
+         */
+        void executeStatement(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull DBCExecutionContext context,
+            @NotNull SQLQuery query,
+            boolean sessionReplay
+        ) throws Exception;
+    }
+
+    /**
+     * Results of pending queries
+     *
+     * @param executedCount number of queries which were executed (successfully or not)
+     * @param errors errors of failed queries in the order they happened
+     */
+    public record Result(int executedCount, @NotNull List<Throwable> errors) {
+    }
+
+    private static class WorkerContext {
+        final DBCExecutionContext context;
+        int appliedStatements;
+
+        WorkerContext(DBCExecutionContext context) {
+            this.context = context;
+        }
+    }
+
+    private final DBRProgressMonitor monitor;
+    private final boolean stopOnError;
+    private final ContextOpener contextOpener;
+    private final StatementExecutor statementExecutor;
+    private final ExecutorService executor;
+    private final BlockingQueue<WorkerContext> idleContexts = new LinkedBlockingQueue<>();
+    private final List<WorkerContext> openedContexts = new ArrayList<>();
+    private final Set<WorkerProgressMonitor> activeMonitors = ConcurrentHashMap.newKeySet();
+    private final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    private final List<SQLQuery> sessionStatements = new CopyOnWriteArrayList<>();
+    private final List<Future<Boolean>> pendingQueries = new ArrayList<>();
+    private final Set<String> pendingTables = new HashSet<>();
+    private volatile boolean failed;
+    private boolean closed;
+
+    /**
+     * @param stopOnError do not start new queries after the first failed query
+     */
+    public SQLScriptParallelExecutor(
+        @NotNull DBRProgressMonitor monitor,
+        int maxParallelQueries,
+        boolean stopOnError,
+        @NotNull ContextOpener contextOpener,
+        @NotNull StatementExecutor statementExecutor
+    ) {
+        this.monitor = monitor;
+        this.stopOnError = stopOnError;
+        this.contextOpener = contextOpener;
+        this.statementExecutor = statementExecutor;
+        this.executor = Executors.newFixedThreadPool(maxParallelQueries, runnable -> {
+            Thread thread = new Thread(runnable, "SQL script parallel worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Checks whether a query with the given target tables may be started now.
+     * Queries can't be started after the first failure (unless errors are ignored)
+     * or if they touch tables of pending queries.
+     */
+    public boolean canSubmit(@NotNull Set<String> tables) {
+        return !isStopped() && Collections.disjoint(tables, pendingTables);
+    }
+
+    /**
+     * Dispatches query to the worker pool. Query parameters must be already filled.
+     */
+    public void submit(@NotNull SQLQuery query, @NotNull Set<String> tables) {
+        pendingTables.addAll(tables);
+        pendingQueries.add(executor.submit(() -> executeQuery(query)));
+    }
+
+    /**
+     * Registers successfully executed session statement. It is replayed on each worker context before its next query.
+     * Must be called when there are no pending queries.
+     */
+    public void addSessionStatement(@NotNull SQLQuery query) {
+        sessionStatements.add(query);
+    }
+
+    /**
+     * Waits for all dispatched queries. Running statements are canceled if the monitor is canceled.
+     */
+    @NotNull
+    public Result awaitPending() {
+        int executedCount = 0;
+        for (Future<Boolean> future : pendingQueries) {
+            try {
+                if (waitForQuery(future)) {
+                    executedCount++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelWorkers();
+                break;
+            } catch (ExecutionException e) {
+                errors.add(e.getCause());
+                failed = true;
+            }
+        }
+        pendingQueries.clear();
+        pendingTables.clear();
+        List<Throwable> failed = new ArrayList<>();
+        for (Throwable error = errors.poll(); error != null; error = errors.poll()) {
+            failed.add(error);
+        }
+        return new Result(executedCount, failed);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        cancelWorkers();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                log.debug("Parallel script queries are still running, their contexts will be closed when they finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<WorkerContext> contextsToClose = new ArrayList<>();
+        synchronized (openedContexts) {
+            closed = true;
+            idleContexts.drainTo(contextsToClose);
+            openedContexts.removeAll(contextsToClose);
+        }
+        for (WorkerContext context : contextsToClose) {
+            closeContext(context);
+        }
+    }
+
+    private boolean waitForQuery(@NotNull Future<Boolean> future) throws InterruptedException, ExecutionException {
+        while (true) {
+            try {
+                return future.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (monitor.isCanceled()) {
+                    cancelWorkers();
+                }
+            }
+        }
+    }
+
+    private boolean isStopped() {
+        return monitor.isCanceled() || (stopOnError && failed);
+    }
+
+    private void cancelWorkers() {
+        for (WorkerProgressMonitor workerMonitor : activeMonitors) {
+            workerMonitor.cancel();
+        }
+    }
+
+    /**
+     * @return false if query was skipped
+     */
+    private boolean executeQuery(@NotNull SQLQuery query) {
+        if (isStopped()) {
+            return false;
+        }
+        WorkerProgressMonitor workerMonitor = new WorkerProgressMonitor(monitor);
+        activeMonitors.add(workerMonitor);
+        WorkerContext context = null;
+        try {
+            context = acquireContext(workerMonitor);
+            while (context.appliedStatements < sessionStatements.size()) {
+                statementExecutor.executeStatement(workerMonitor, context.context, sessionStatements.get(context.appliedStatements), true);
+                context.appliedStatements++;
+            }
+            statementExecutor.executeStatement(workerMonitor, context.context, query, false);
+        } catch (Throwable e) {
+            errors.add(e);
+            failed = true;
+        } finally {
+            activeMonitors.remove(workerMonitor);
+            if (context != null) {
+                releaseContext(context);
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    private WorkerContext acquireContext(@NotNull DBRProgressMonitor workerMonitor) throws DBException {
+        WorkerContext context = idleContexts.poll();
+        if (context != null) {
+            return context;
+        }
+        // There are never more workers than contexts, so we may open a new one here
+        context = new WorkerContext(contextOpener.openContext(workerMonitor));
+        synchronized (openedContexts) {
+            if (!closed) {
+                openedContexts.add(context);
+                return context;
+            }
+        }
+        closeContext(context);
+        throw new DBException("Parallel script execution is finished");
+    }
+
+    private void releaseContext(@NotNull WorkerContext context) {
+        synchronized (openedContexts) {
+            if (!closed) {
+                idleContexts.add(context);
+                return;
+            }
+            openedContexts.remove(context);
+        }
+        closeContext(context);
+    }
+
+    private static void closeContext(@NotNull WorkerContext context) {
+        try {
+            context.context.close();
+        } catch (Throwable e) {
+            log.debug("Error closing parallel execution context", e);
+        }
+    }
+
+    ///////////////////////////////////////////////////////
+    // Dependency analysis
+
+    /**
+     * Checks whether statement may be executed in parallel without explicit @independent command
+     */
+    public static boolean isParallelStatement(@NotNull String text) {
+        return getStatementPrefix(text, PARALLEL_STATEMENT_PREFIXES) != null;
+    }
+
+    /**
+     * Checks whether statement changes session state (current schema, session variables)
+     */
+    public static boolean isSessionStatement(@NotNull String text) {
+        return getStatementPrefix(text, SESSION_STATEMENT_PREFIXES) != null;
+    }
+
+    /**
+     * Extracts target objects of a maintenance statement which is not covered by the SQL grammar.
+     *
+     * @return target object names as written in the statement or empty set if statement has no explicit
+     * target or processes the whole schema or database. Such statements must be executed as barriers.
+     */
+    @NotNull
+    public static Set<String> getMaintenanceTargets(@NotNull String text) {
+        String statement = CommonUtils.compactWhiteSpaces(text.trim());
+        String prefix = getStatementPrefix(statement, PARALLEL_STATEMENT_PREFIXES);
+        if (prefix == null) {
+            return Collections.emptySet();
+        }
+        if (prefix.startsWith("CREATE")) {
+            Matcher matcher = INDEX_TABLE_PATTERN.matcher(statement);
+            return matcher.find() ? Collections.singleton(matcher.group(1)) : Collections.emptySet();
+        }
+        String arguments = OPTIONS_PATTERN.matcher(statement.substring(prefix.length())).replaceAll(" ");
+        Set<String> targets = new LinkedHashSet<>();
+        for (String token : TOKEN_DELIMITER_PATTERN.split(arguments)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            String word = token.toUpperCase(Locale.ENGLISH);
+            if (MAINTENANCE_SCOPES.contains(word)) {
+                return Collections.emptySet();
+            }
+            if (!MAINTENANCE_OPTIONS.contains(word)) {
+                targets.add(token);
+            }
+        }
+        return targets;
+    }
+
+    @Nullable
+    private static String getStatementPrefix(@NotNull String text, @NotNull String[] prefixes) {
+        String statement = CommonUtils.compactWhiteSpaces(text.trim()).toUpperCase(Locale.ENGLISH);
+        for (String prefix : prefixes) {
+            if (statement.startsWith(prefix) &&
+                (statement.length() == prefix.length() || !Character.isLetterOrDigit(statement.charAt(prefix.length())) && statement.charAt(prefix.length()) != '_')
+            ) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+}
@@ -17,9 +17,11 @@
 package org.jkiss.dbeaver.model.sql.exec;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBFetchProgress;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.data.DBDDataReceiver;
 import org.jkiss.dbeaver.model.exec.*;
@@ -27,11 +29,12 @@ import org.jkiss.dbeaver.model.impl.AbstractExecutionSource;
 import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.sql.*;
+import org.jkiss.dbeaver.model.sql.analyzer.TableReferencesAnalyzerImpl;
 import org.jkiss.dbeaver.model.sql.data.SQLQueryDataContainer;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.List;
+import java.util.*;
 
 /**
  * SQLScriptProcessor
@@ -54,6 +57,7 @@ public class SQLScriptProcessor {
     private long fetchFlags;
     private SQLScriptCommitType commitType = SQLScriptCommitType.AUTOCOMMIT;
     private SQLScriptErrorHandling errorHandling = SQLScriptErrorHandling.STOP_ROLLBACK;
+    private int maxParallelQueries = 1;
 
     public SQLScriptProcessor(
         @NotNull DBCExecutionContext executionContext,
@@ -92,6 +96,18 @@ public class SQLScriptProcessor {
         this.errorHandling = errorHandling;
     }
 
+    public int getMaxParallelQueries() {
+        return maxParallelQueries;
+    }
+
+    /**
+     * Sets the maximum number of independent queries executed simultaneously.
+     * Values greater than 1 enable parallel execution in isolated contexts (auto-commit mode only).
+     */
+    public void setMaxParallelQueries(int maxParallelQueries) {
+        this.maxParallelQueries = Math.max(1, maxParallelQueries);
+    }
+
     public void runScript(DBRProgressMonitor monitor) throws DBCException {
         RuntimeUtils.setThreadName("SQL script execution");
         statistics = new DBCStatistics();
@@ -111,26 +127,60 @@ public class SQLScriptProcessor {
 
                 monitor.beginTask("Execute queries (" + queries.size() + ")", queries.size());
 
-                for (SQLScriptElement query : queries) {
-                    if (monitor.isCanceled()) {
-                        break;
+                SQLScriptParallelExecutor parallelExecutor = null;
+                if (maxParallelQueries > 1) {
+                    if (commitType == SQLScriptCommitType.AUTOCOMMIT) {
+                        parallelExecutor = new SQLScriptParallelExecutor(
+                            monitor,
+                            maxParallelQueries,
+                            errorHandling != SQLScriptErrorHandling.IGNORE,
+                            workerMonitor -> executionContext.getOwnerInstance().openIsolatedContext(
+                                workerMonitor, "SQL script parallel worker", executionContext),
+                            this::executeParallelStatement);
+                    } else {
+                        log.debug("Parallel script execution is available in auto-commit mode only");
                     }
-                    // Execute query
-                    boolean runNext = executeSingleQuery(session, query);
-                    if (!runNext) {
-                        if (lastError == null) {
-                            // Execution cancel
+                }
+                try {
+                    for (SQLScriptElement query : queries) {
+                        if (monitor.isCanceled()) {
                             break;
                         }
-                        if (errorHandling != SQLScriptErrorHandling.IGNORE) {
-                            log.error(lastError);
+                        if (parallelExecutor != null && query instanceof SQLQuery sqlQuery) {
+                            Set<String> tables = getIndependentQueryTables(sqlQuery);
+                            if (tables != null && parallelExecutor.canSubmit(tables)) {
+                                scriptContext.fillQueryParameters(sqlQuery, () -> null, true);
+                                scriptContext.clearStatementContext();
+                                parallelExecutor.submit(sqlQuery, tables);
+                                continue;
+                            }
+                            // Dependent query or parallel query failed. Wait for all pending parallel queries.
+                            if (!finishParallelQueries(monitor, parallelExecutor)) {
+                                break;
+                            }
+                        }
+                        // Execute query
+                        boolean runNext = executeSingleQuery(session, query);
+                        if (!runNext && !continueAfterError()) {
                             break;
-                        } else {
-                            log.warn("Query failed: " + lastError.getMessage());
                         }
-                    }
+                        if (parallelExecutor != null && lastError == null && query instanceof SQLQuery sqlQuery &&
+                            SQLScriptParallelExecutor.isSessionStatement(sqlQuery.getText())
+                        ) {
+                            parallelExecutor.addSessionStatement(sqlQuery);
+                        }
 
-                    monitor.worked(1);
+                        monitor.worked(1);
+                    }
+                    if (parallelExecutor != null) {
+                        // Errors of the last parallel queries are stored in lastError like errors of sequential queries,
+                        // so they fail the script below unless errors are ignored
+                        finishParallelQueries(monitor, parallelExecutor);
+                    }
+                } finally {
+                    if (parallelExecutor != null) {
+                        parallelExecutor.close();
+                    }
                 }
                 monitor.done();
 
@@ -169,6 +219,47 @@ public class SQLScriptProcessor {
         }
     }
 
+    /**
+     * Handles the error of the last executed query
+     *
+     * @return false if script execution must be stopped
+     */
+    private boolean continueAfterError() {
+        if (lastError == null) {
+            // Execution cancel
+            return false;
+        }
+        if (errorHandling != SQLScriptErrorHandling.IGNORE) {
+            log.error(lastError);
+            return false;
+        }
+        log.warn("Query failed: " + lastError.getMessage());
+        return true;
+    }
+
+    /**
+     * Waits for pending parallel queries. Their errors are handled like errors of sequential queries.
+     *
+     * @return false if script execution must be stopped
+     */
+    private boolean finishParallelQueries(@NotNull DBRProgressMonitor monitor, @NotNull SQLScriptParallelExecutor parallelExecutor) {
+        SQLScriptParallelExecutor.Result result = parallelExecutor.awaitPending();
+        monitor.worked(result.executedCount());
+        boolean runNext = true;
+        for (Throwable error : result.errors()) {
+            if (!(error instanceof DBException)) {
+                log.error("Unexpected error while processing SQL", error);
+            }
+            if (runNext) {
+                lastError = error;
+                runNext = continueAfterError();
+            } else {
+                log.error(error);
+            }
+        }
+        return runNext && !monitor.isCanceled();
+    }
+
     private boolean executeSingleQuery(@NotNull DBCSession session, @NotNull SQLScriptElement element) {
         if (element instanceof SQLControlCommand controlCommand) {
             log.debug(STAT_LOG_PREFIX + "Execute command\n" + element.getText());
@@ -201,7 +292,7 @@ public class SQLScriptProcessor {
             DBExecUtils.tryExecuteRecover(session, session.getDataSource(), param -> {
                 try {
                     long execStartTime = System.currentTimeMillis();
-                    executeStatement(session, sqlQuery, execStartTime);
+                    executeStatement(session, sqlQuery, execStartTime, statistics, dataReceiver);
                 } catch (Throwable e) {
                     throw new InvocationTargetException(e);
                 }
@@ -218,7 +309,14 @@ public class SQLScriptProcessor {
         return lastError == null || errorHandling == SQLScriptErrorHandling.IGNORE;
     }
 
-    private void executeStatement(@NotNull DBCSession session, SQLQuery sqlQuery, long startTime) throws DBCException {
+    private void executeStatement(
+        @NotNull DBCSession session,
+        @NotNull SQLQuery sqlQuery,
+        long startTime,
+        @NotNull DBCStatistics statistics,
+        @Nullable DBDDataReceiver dataReceiver
+    ) throws DBCException {
+        DBCExecutionContext executionContext = session.getExecutionContext();
         SQLQueryDataContainer dataContainer = new SQLQueryDataContainer(() -> executionContext, sqlQuery, scriptContext, log);
         DBCExecutionSource source = new AbstractExecutionSource(dataContainer, session.getExecutionContext(), this, sqlQuery);
         final DBCStatement statement = DBUtils.makeStatement(
@@ -249,7 +347,7 @@ public class SQLScriptProcessor {
                             // Kind of bug in the driver. It says it has resultset but returns null
                             break;
                         } else {
-                            hasResultSet = fetchQueryData(session, resultSet, dataReceiver);
+                            hasResultSet = fetchQueryData(session, resultSet, dataReceiver, statistics);
                         }
                     }
                 }
@@ -309,11 +407,13 @@ public class SQLScriptProcessor {
                 (statistics.getRowsFetched() >= 0 ? ", fetched " + statistics.getRowsFetched() + " row(s)" : "") +
                 (statistics.getRowsUpdated() >= 0 ? ", updated " + statistics.getRowsUpdated() + " row(s)" : ""));
 
-            totalStatistics.accumulate(statistics);
+            synchronized (totalStatistics) {
+                totalStatistics.accumulate(statistics);
+            }
         }
     }
 
-    private boolean fetchQueryData(DBCSession session, DBCResultSet resultSet, DBDDataReceiver dataReceiver)
+    private boolean fetchQueryData(DBCSession session, DBCResultSet resultSet, DBDDataReceiver dataReceiver, DBCStatistics statistics)
         throws DBCException {
         if (dataReceiver == null) {
             // No data pump - skip fetching stage
@@ -361,4 +461,76 @@ public class SQLScriptProcessor {
         return totalStatistics;
     }
 
+    /**
+     * Returns target tables of an independent query.
+     * Queries marked with @independent command have no dependencies.
+     *
+     * @return null if query depends on the previous queries
+     */
+    @Nullable
+    private Set<String> getIndependentQueryTables(@NotNull SQLQuery query) {
+        if (scriptContext.getPragmas().containsKey(SQLPragmaHandler.PRAGMA_INDEPENDENT)) {
+            if (query.getType() == SQLQueryType.SELECT) {
+                // Parallel workers have no data receiver, results must be shown like results of other queries
+                log.warn("Query returns results, it is executed sequentially: " + query.getText());
+                return null;
+            }
+            return Collections.emptySet();
+        }
+        if (!SQLScriptParallelExecutor.isParallelStatement(query.getText())) {
+            return null;
+        }
+        DBPDataSource dataSource = executionContext.getDataSource();
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dataSource.getSQLDialect(), dataSource.getContainer().getPreferenceStore());
+        Set<String> tableNames = new HashSet<>(
+            new TableReferencesAnalyzerImpl(dataSource.getSQLDialect(), syntaxManager, query).getTableAliasesFromQuery().keySet());
+        if (tableNames.isEmpty()) {
+            // Maintenance statements are usually not covered by the grammar. Take the target tables from the text.
+            tableNames.addAll(SQLScriptParallelExecutor.getMaintenanceTargets(query.getText()));
+        }
+        if (tableNames.isEmpty()) {
+            // Statement without explicit target (e.g. bare ANALYZE) processes all tables
+            return null;
+        }
+        Set<String> tables = new HashSet<>();
+        for (String tableName : tableNames) {
+            tables.add(DBUtils.getUnQuotedIdentifier(dataSource, tableName).toLowerCase(Locale.ENGLISH));
+        }
+        return tables;
+    }
+
+    private void executeParallelStatement(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBCExecutionContext context,
+        @NotNull SQLQuery query,
+        boolean sessionReplay
+    ) throws DBException {
+        try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.USER_SCRIPT, "SQL Query")) {
+            DBExecUtils.tryExecuteRecover(session, session.getDataSource(), param -> {
+                try {
+                    if (sessionReplay) {
+                        replaySessionStatement(session, query);
+                    } else {
+                        DBCStatistics queryStatistics = new DBCStatistics();
+                        queryStatistics.setQueryText(query.getText());
+                        executeStatement(session, query, System.currentTimeMillis(), queryStatistics, null);
+                    }
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            });
+        }
+    }
+
+    private void replaySessionStatement(@NotNull DBCSession session, @NotNull SQLQuery query) throws DBCException {
+        log.debug(STAT_LOG_PREFIX + "Apply session statement\n" + query.getText());
+        DBCExecutionContext executionContext = session.getExecutionContext();
+        SQLQueryDataContainer dataContainer = new SQLQueryDataContainer(() -> executionContext, query, scriptContext, log);
+        DBCExecutionSource source = new AbstractExecutionSource(dataContainer, executionContext, this, query);
+        try (DBCStatement statement = DBUtils.makeStatement(source, session, DBCStatementType.SCRIPT, query, 0, 0)) {
+            statement.executeStatement();
+        }
+    }
+
 }
@@ -0,0 +1,121 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.impl.sql.BasicSQLDialect;
+import org.jkiss.dbeaver.model.qm.QMQueryFingerprint;
+import org.jkiss.dbeaver.model.qm.QMQueryNormalizer;
+import org.jkiss.dbeaver.model.sql.SQLDialect;
+import org.jkiss.dbeaver.model.sql.SQLSyntaxManager;
+import org.jkiss.dbeaver.model.sql.parser.tokens.SQLTokenType;
+import org.jkiss.dbeaver.model.text.parser.TPRuleBasedScanner;
+import org.jkiss.dbeaver.model.text.parser.TPToken;
+import org.jkiss.dbeaver.model.text.parser.TPTokenDefault;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Query fingerprint tokenizer.
+ * Uses the same rules as the script parser, so literals, comments and quoted identifiers are recognized
+ * according to the data source dialect.
+ */
+public class SQLQueryFingerprintTokenizer implements QMQueryNormalizer {
+
+    // Scanners are not thread-safe, each one is used under its own lock
+    private final Map<SQLDialect, TPRuleBasedScanner> scanners = new WeakHashMap<>();
+
+    @NotNull
+    @Override
+    public List<String> tokenize(@Nullable DBPDataSource dataSource, @NotNull String query) {
+        SQLDialect dialect = dataSource == null ? BasicSQLDialect.INSTANCE : dataSource.getSQLDialect();
+        TPRuleBasedScanner scanner = getScanner(dialect);
+        Document document = new Document(query);
+        List<String> tokens = new ArrayList<>();
+        synchronized (scanner) {
+            scanner.setRange(document, 0, query.length());
+            for (; ; ) {
+                TPToken token = scanner.nextToken();
+                if (token == null) {
+                    // No rule matched, single character
+                    addText(tokens, document, scanner, false);
+                    continue;
+                }
+                if (token.isEOF()) {
+                    break;
+                }
+                if (token.isWhitespace() || scanner.getTokenLength() == 0) {
+                    continue;
+                }
+                SQLTokenType tokenType = token instanceof TPTokenDefault tokenDefault &&
+                    tokenDefault.getData() instanceof SQLTokenType sqlTokenType ? sqlTokenType : SQLTokenType.T_OTHER;
+                switch (tokenType) {
+                    case T_COMMENT -> {
+                        // skip
+                    }
+                    case T_STRING, T_NUMBER, T_PARAMETER, T_VARIABLE -> tokens.add(QMQueryFingerprint.LITERAL_MARK);
+                    case T_QUOTED, T_DELIMITER, T_CONTROL -> addText(tokens, document, scanner, false);
+                    default -> addText(tokens, document, scanner, true);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static void addText(
+        @NotNull List<String> tokens,
+        @NotNull Document document,
+        @NotNull TPRuleBasedScanner scanner,
+        boolean lowerCase
+    ) {
+        try {
+            String text = document.get(scanner.getTokenOffset(), scanner.getTokenLength());
+            if (!text.isBlank()) {
+                tokens.add(lowerCase ? text.toLowerCase(Locale.ROOT) : text);
+            }
+        } catch (BadLocationException e) {
+            // Out of document bounds, ignore
+        }
+    }
+
+    @NotNull
+    private TPRuleBasedScanner getScanner(@NotNull SQLDialect dialect) {
+        synchronized (scanners) {
+            TPRuleBasedScanner scanner = scanners.get(dialect);
+            if (scanner == null) {
+                SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+                syntaxManager.init(dialect, DBWorkbench.getPlatform().getPreferenceStore());
+                SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+                ruleManager.loadRules();
+                scanner = new TPRuleBasedScanner();
+                scanner.setRules(ruleManager.getAllRules());
+                scanners.put(dialect, scanner);
+            }
+            return scanner;
+        }
+    }
+
+}
@@ -22,11 +22,13 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
 import org.jkiss.dbeaver.model.app.DBPProject;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPConnectionType;
 import org.jkiss.dbeaver.model.connection.DBPDriver;
 import org.jkiss.dbeaver.model.connection.DBPDriverSubstitutionDescriptor;
 import org.jkiss.dbeaver.model.connection.DBPNativeClientLocation;
 import org.jkiss.dbeaver.model.data.DBDFormatSettings;
 import org.jkiss.dbeaver.model.navigator.DBNBrowseSettings;
+import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
 import org.jkiss.dbeaver.model.net.DBWNetworkHandler;
 import org.jkiss.dbeaver.model.preferences.DBPPreferenceStore;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
@@ -84,6 +86,37 @@ public interface DBPDataSourceContainer extends
     @NotNull
     DBPConnectionConfiguration getActualConnectionConfiguration();
 
+    /**
+     * Connection type. Unlike {@link #getConnectionConfiguration()} doesn't require full connection configuration,
+     * so it may be used for rendering of not connected data sources.
+     */
+    @NotNull
+    default DBPConnectionType getConnectionType() {
+        return getConnectionConfiguration().getConnectionType();
+    }
+
+    /**
+     * Custom connection color or null if connection type color is used.
+     * Doesn't require full connection configuration.
+     */
+    @Nullable
+    default String getConnectionColor() {
+        return getConnectionConfiguration().getConnectionColor();
+    }
+
+    /**
+     * Checks whether connection uses enabled network handlers (tunnels, proxies, etc).
+     * Doesn't require full connection configuration.
+     */
+    default boolean hasNetworkHandlers() {
+        for (DBWHandlerConfiguration handler : getConnectionConfiguration().getHandlers()) {
+            if (handler.isEnabled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @NotNull
     DBNBrowseSettings getNavigatorSettings();
 
@@ -0,0 +1,45 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.struct.DBSObject;
+
+import java.util.Collection;
+
+/**
+ * Object container which reads lazy properties of many child objects at once.
+ * Object lists call it before reading lazy properties object by object.
+ */
+public interface DBPLazyPropertiesLoader {
+
+    /**
+     * Reads property of the given child objects and keeps values in these objects,
+     * so the property getters return them without additional queries.
+     *
+     * @param propertyId property id, the same as in the object property descriptor
+     * @return true if the property values were read
+     */
+    boolean loadLazyProperties(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull String propertyId,
+        @NotNull Collection<? extends DBSObject> objects
+    ) throws DBException;
+
+}
@@ -0,0 +1,47 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.Date;
+
+/**
+ * Server session which exposes its activity state.
+ * Activity state is used to detect changed sessions and to collect session activity history.
+ */
+public interface DBAServerSessionActivity extends DBAServerSession {
+
+    /**
+     * Time of the last session state change. Sessions with the same state change time are considered unchanged.
+     */
+    @Nullable
+    Date getStateChangeTime();
+
+    @NotNull
+    DBAServerSessionHistory.State getActivityState();
+
+    @Nullable
+    String getWaitEvent();
+
+    /**
+     * Sets history of the session. History is kept between session refreshes.
+     */
+    void setActivityHistory(@NotNull DBAServerSessionHistory history);
+
+}
@@ -0,0 +1,37 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Result of incremental sessions read.
+ *
+ * @param sessionIds ids of all sessions which currently exist on server
+ * @param changedSessions sessions changed since the previous read
+ * @param pollMark opaque mark of this read which must be passed to the next read
+ */
+public record DBAServerSessionChanges<SESSION_TYPE extends DBAServerSession>(
+    @NotNull Set<String> sessionIds,
+    @NotNull Collection<SESSION_TYPE> changedSessions,
+    @Nullable Object pollMark
+) {
+}
@@ -0,0 +1,112 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Session activity history. Keeps the last {@link #CAPACITY} samples in a ring buffer.
+ */
+public class DBAServerSessionHistory {
+
+    public static final int CAPACITY = 30;
+
+    public enum State {
+        IDLE('\u2581'),
+        ACTIVE('\u2584'),
+        WAITING('\u2588');
+
+        private final char mark;
+
+        State(char mark) {
+            this.mark = mark;
+        }
+
+        public char getMark() {
+            return mark;
+        }
+    }
+
+    private final long[] times = new long[CAPACITY];
+    private final State[] states = new State[CAPACITY];
+    private int position;
+    private int size;
+
+    public synchronized void record(long time, @NotNull State state) {
+        times[position] = time;
+        states[position] = state;
+        position = (position + 1) % CAPACITY;
+        if (size < CAPACITY) {
+            size++;
+        }
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns recorded states, oldest first
+     */
+    @NotNull
+    public synchronized State[] getStates() {
+        State[] result = new State[size];
+        int start = (position - size + CAPACITY) % CAPACITY;
+        for (int i = 0; i < size; i++) {
+            result[i] = states[(start + i) % CAPACITY];
+        }
+        return result;
+    }
+
+    /**
+     * Time of the last sample or 0 if history is empty
+     */
+    public synchronized long getLastTime() {
+        return size == 0 ? 0 : times[(position - 1 + CAPACITY) % CAPACITY];
+    }
+
+    /**
+     * Returns count of samples in the given state
+     */
+    public synchronized int getStateCount(@NotNull State state) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (states[i] == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Renders history as a text sparkline, one character per sample
+     */
+    @NotNull
+    public String toSparkline() {
+        State[] history = getStates();
+        StringBuilder result = new StringBuilder(history.length);
+        for (State state : history) {
+            result.append(state.getMark());
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toSparkline();
+    }
+}
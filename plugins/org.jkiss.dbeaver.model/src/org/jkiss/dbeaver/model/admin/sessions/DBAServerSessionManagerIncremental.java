@@ -0,0 +1,45 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCSession;
+
+import java.util.Map;
+
+/**
+ * Session manager which can read only sessions changed since the previous read
+ */
+public interface DBAServerSessionManagerIncremental<SESSION_TYPE extends DBAServerSession> {
+
+    boolean supportsIncrementalRead();
+
+    /**
+     * Reads sessions changed since the previous read.
+     *
+     * @param pollMark mark returned by the previous read or null for the first read. All sessions are returned for the first read.
+     */
+    @NotNull
+    DBAServerSessionChanges<SESSION_TYPE> getSessionChanges(
+        @NotNull DBCSession session,
+        @NotNull Map<String, Object> options,
+        @Nullable Object pollMark
+    ) throws DBException;
+
+}
@@ -0,0 +1,221 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Sessions list which tracks differences between refreshes.
+ * Sessions are identified by {@link DBAServerSession#getSessionId()}.
+ * Activity history is recorded for sessions implementing {@link DBAServerSessionActivity}.
+ */
+public class DBAServerSessionModel<SESSION_TYPE extends DBAServerSession> {
+
+    /**
+     * Changes made by the last refresh
+     *
+     * @param reset all sessions were replaced (e.g. sessions have no ids), differences are not available
+     * @param updated sessions with the changed state or activity history
+     */
+    public record Delta<SESSION_TYPE>(
+        boolean reset,
+        @NotNull List<SESSION_TYPE> added,
+        @NotNull List<SESSION_TYPE> removed,
+        @NotNull List<SESSION_TYPE> updated
+    ) {
+        public boolean isEmpty() {
+            return !reset && added.isEmpty() && removed.isEmpty() && updated.isEmpty();
+        }
+    }
+
+    private final Map<String, SESSION_TYPE> sessions = new LinkedHashMap<>();
+    private final Map<String, DBAServerSessionHistory> history = new HashMap<>();
+    @Nullable
+    private Object pollMark;
+    private boolean keyed;
+
+    @NotNull
+    public synchronized List<SESSION_TYPE> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    /**
+     * Mark of the last incremental read
+     */
+    @Nullable
+    public synchronized Object getPollMark() {
+        return pollMark;
+    }
+
+    /**
+     * Whether sessions can be refreshed incrementally
+     */
+    public synchronized boolean isKeyed() {
+        return keyed;
+    }
+
+    @Nullable
+    public synchronized DBAServerSessionHistory getHistory(@NotNull String sessionId) {
+        return history.get(sessionId);
+    }
+
+    public synchronized void clear() {
+        sessions.clear();
+        history.clear();
+        pollMark = null;
+        keyed = false;
+    }
+
+    /**
+     * Replaces all sessions
+     */
+    @NotNull
+    public synchronized Delta<SESSION_TYPE> update(@NotNull Collection<SESSION_TYPE> newSessions) {
+        long time = System.currentTimeMillis();
+        boolean wasKeyed = keyed && !sessions.isEmpty();
+        keyed = true;
+        for (SESSION_TYPE session : newSessions) {
+            if (session.getSessionId() == null) {
+                keyed = false;
+                break;
+            }
+        }
+        pollMark = null;
+        if (!keyed) {
+            sessions.clear();
+            history.clear();
+            for (SESSION_TYPE session : newSessions) {
+                sessions.put(String.valueOf(sessions.size()), session);
+            }
+            return new Delta<>(true, List.copyOf(newSessions), List.of(), List.of());
+        }
+
+        Map<String, SESSION_TYPE> oldSessions = new LinkedHashMap<>(sessions);
+        List<SESSION_TYPE> added = new ArrayList<>();
+        List<SESSION_TYPE> updated = new ArrayList<>();
+        sessions.clear();
+        for (SESSION_TYPE session : newSessions) {
+            String sessionId = session.getSessionId();
+            SESSION_TYPE oldSession = oldSessions.remove(sessionId);
+            if (oldSession == null) {
+                added.add(session);
+            } else if (oldSession != session && !isSameState(oldSession, session)) {
+                updated.add(session);
+            } else {
+                // Keep the old object, it is already shown
+                session = oldSession;
+            }
+            sessions.put(sessionId, session);
+            if (recordHistory(sessionId, session, time) && session == oldSession) {
+                // Activity trend of the shown object has changed
+                updated.add(session);
+            }
+        }
+        history.keySet().retainAll(sessions.keySet());
+        return new Delta<>(!wasKeyed, added, new ArrayList<>(oldSessions.values()), updated);
+    }
+
+    /**
+     * Applies results of the incremental read.
+     * Changed sessions replace existing ones, sessions which don't exist on server anymore are removed.
+     */
+    @NotNull
+    public synchronized Delta<SESSION_TYPE> update(@NotNull DBAServerSessionChanges<SESSION_TYPE> changes) {
+        if (!keyed) {
+            Delta<SESSION_TYPE> delta = update(changes.changedSessions());
+            pollMark = changes.pollMark();
+            return delta;
+        }
+        long time = System.currentTimeMillis();
+        List<SESSION_TYPE> added = new ArrayList<>();
+        List<SESSION_TYPE> removed = new ArrayList<>();
+        List<SESSION_TYPE> updated = new ArrayList<>();
+
+        Set<String> changedIds = new HashSet<>();
+        for (SESSION_TYPE session : changes.changedSessions()) {
+            String sessionId = session.getSessionId();
+            if (sessionId == null) {
+                continue;
+            }
+            changedIds.add(sessionId);
+            SESSION_TYPE oldSession = sessions.get(sessionId);
+            if (oldSession == null) {
+                added.add(session);
+            } else if (!isSameState(oldSession, session)) {
+                updated.add(session);
+            } else {
+                // Keep the old object, it is already shown
+                session = oldSession;
+            }
+            sessions.put(sessionId, session);
+            if (recordHistory(sessionId, session, time) && session == oldSession) {
+                // Activity trend of the shown object has changed
+                updated.add(session);
+            }
+        }
+        for (Iterator<Map.Entry<String, SESSION_TYPE>> iter = sessions.entrySet().iterator(); iter.hasNext(); ) {
+            Map.Entry<String, SESSION_TYPE> entry = iter.next();
+            String sessionId = entry.getKey();
+            if (!changes.sessionIds().contains(sessionId) && !changedIds.contains(sessionId)) {
+                removed.add(entry.getValue());
+                history.remove(sessionId);
+                iter.remove();
+            } else if (!changedIds.contains(sessionId)) {
+                // Unchanged session stays in the same state
+                if (recordHistory(sessionId, entry.getValue(), time)) {
+                    updated.add(entry.getValue());
+                }
+            }
+        }
+        pollMark = changes.pollMark();
+        return new Delta<>(false, added, removed, updated);
+    }
+
+    /**
+     * Records the current session state
+     *
+     * @return true if the rendered activity history has changed
+     */
+    private boolean recordHistory(@NotNull String sessionId, @NotNull SESSION_TYPE session, long time) {
+        if (!(session instanceof DBAServerSessionActivity activity)) {
+            return false;
+        }
+        DBAServerSessionHistory sessionHistory = history.computeIfAbsent(sessionId, id -> new DBAServerSessionHistory());
+        boolean changed = false;
+        if (sessionHistory.getLastTime() != time) {
+            String oldSparkline = sessionHistory.toSparkline();
+            sessionHistory.record(time, activity.getActivityState());
+            changed = !oldSparkline.equals(sessionHistory.toSparkline());
+        }
+        activity.setActivityHistory(sessionHistory);
+        return changed;
+    }
+
+    private static boolean isSameState(@NotNull DBAServerSession oldSession, @NotNull DBAServerSession newSession) {
+        if (oldSession instanceof DBAServerSessionActivity oldActivity && newSession instanceof DBAServerSessionActivity newActivity) {
+            return CommonUtils.equalObjects(oldActivity.getStateChangeTime(), newActivity.getStateChangeTime()) &&
+                oldActivity.getActivityState() == newActivity.getActivityState() &&
+                CommonUtils.equalObjects(oldActivity.getWaitEvent(), newActivity.getWaitEvent()) &&
+                CommonUtils.equalObjects(oldActivity.getActiveQuery(), newActivity.getActiveQuery());
+        }
+        return false;
+    }
+}
@@ -71,4 +71,15 @@ public interface DBDContent extends DBDValue {
      */
     void resetContents();
 
+    /**
+     * Makes subsequent {@link #getContents} read data directly from the source (e.g. driver LOB stream)
+     * instead of copying it into memory or into a temporary file.
+     * Such contents can be read only once, so streaming is used by one-pass consumers like data export.
+     *
+     * @return true if content supports streaming and wasn't read yet
+     */
+    default boolean enableStreaming() {
+        return false;
+    }
+
 }
@@ -16,29 +16,71 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
+
 import java.util.HashSet;
 import java.util.Set;
 
 /**
- * FunctionCountDistinct
+ * FunctionCountDistinct.
+ * Exact until the number of distinct values exceeds {@link #EXACT_VALUES_LIMIT},
+ * after that values are counted by HyperLogLog estimator.
  */
-public class FunctionCountDistinct implements IAggregateFunction {
+public class FunctionCountDistinct implements IMergeableAggregateFunction {
+
+    static final int EXACT_VALUES_LIMIT = 100000;
 
     private int count = 0;
     private Set<Object> cache = new HashSet<>();
+    private HyperLogLog sketch;
 
     @Override
     public boolean accumulate(Object value, boolean aggregateAsStrings) {
+        if (sketch != null) {
+            sketch.add(value);
+            return true;
+        }
         if (!cache.contains(value)) {
             count++;
             cache.add(value);
+            if (count > EXACT_VALUES_LIMIT) {
+                spillToSketch();
+            }
             return true;
         }
         return false;
     }
 
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        if (!(other instanceof FunctionCountDistinct countDistinct)) {
+            return;
+        }
+        if (countDistinct.sketch == null) {
+            for (Object value : countDistinct.cache) {
+                accumulate(value, false);
+            }
+        } else {
+            if (sketch == null) {
+                spillToSketch();
+            }
+            sketch.merge(countDistinct.sketch);
+        }
+    }
+
     @Override
     public Object getResult(int valueCount) {
+        if (sketch != null) {
+            return sketch.estimate();
+        }
         return count;
     }
+
+    private void spillToSketch() {
+        sketch = new HyperLogLog();
+        for (Object value : cache) {
+            sketch.add(value);
+        }
+        cache = null;
+    }
 }
@@ -16,32 +16,86 @@
  */
 package org.jkiss.dbeaver.model.data.aggregate;
 
+import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.Log;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Median
+ * Median.
+ * Exact for small value sets. Once the number of numeric values exceeds {@link #EXACT_VALUES_LIMIT}
+ * they are moved into a t-digest and the median becomes an estimate.
+ * Median of numeric values mixed with non-numeric values which came after that is undefined, so result is null.
  */
-public class FunctionMedian implements IAggregateFunction {
+public class FunctionMedian implements IMergeableAggregateFunction {
 
     private static final Log log = Log.getLog(FunctionMedian.class);
 
+    static final int EXACT_VALUES_LIMIT = 10000;
+
     private final List<Comparable<?>> cache = new ArrayList<>();
+    private boolean numericOnly = true;
+    private TDigest digest;
+    private boolean mixedWithDigest;
 
     @Override
     public boolean accumulate(Object value, boolean aggregateAsStrings) {
         value = FunctionNumeric.getComparable(value, aggregateAsStrings);
-        if (value != null) {
-            cache.add((Comparable<?>) value);
+        if (value == null) {
+            return false;
+        }
+        if (digest != null) {
+            if (value instanceof Number num) {
+                digest.add(num.doubleValue());
+                return true;
+            }
+            // Non-numeric values can't be mixed with the digest
+            mixedWithDigest = true;
             return true;
         }
-        return false;
+        cache.add((Comparable<?>) value);
+        if (!(value instanceof Number)) {
+            numericOnly = false;
+        } else if (numericOnly && cache.size() > EXACT_VALUES_LIMIT) {
+            spillToDigest();
+        }
+        return true;
+    }
+
+    @Override
+    public void merge(@NotNull IAggregateFunction other) {
+        if (!(other instanceof FunctionMedian median)) {
+            return;
+        }
+        for (Comparable<?> value : median.cache) {
+            // Values are already converted, so keep them as is
+            accumulate(value, true);
+        }
+        if (median.mixedWithDigest) {
+            mixedWithDigest = true;
+        }
+        if (median.digest != null) {
+            if (digest == null) {
+                if (!numericOnly) {
+                    mixedWithDigest = true;
+                    return;
+                }
+                spillToDigest();
+            }
+            digest.merge(median.digest);
+        }
     }
 
     @Override
     public Object getResult(int valueCount) {
+        if (mixedWithDigest) {
+            log.debug("Can't evaluate median of large numeric value set mixed with non-numeric values");
+            return null;
+        }
+        if (digest != null) {
+            return digest.quantile(0.5);
+        }
         try {
             cache.sort(AggregateUtils::compareValues);
         } catch (Exception e) {
@@ -50,6 +104,9 @@ public class FunctionMedian implements IAggregateFunction {
         }
 
         int size = cache.size();
+        if (size == 0) {
+            return null;
+        }
         int middle = size / 2;
         if (size % 2 == 1) {
             return cache.get(middle);
@@ -64,4 +121,12 @@ public class FunctionMedian implements IAggregateFunction {
             return val1;
         }
     }
+
+    private void spillToDigest() {
+        digest = new TDigest();
+        for (Comparable<?> value : cache) {
+            digest.add(((Number) value).doubleValue());
+        }
+        cache.clear();
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+/**
+ * HyperLogLog cardinality estimator.
+ * Uses fixed amount of memory (2^precision bytes) regardless of the number of accumulated values.
+ * Standard error is about 1.04 / sqrt(2^precision).
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("Precision must be in range 4..18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void add(@Nullable Object value) {
+        addHash(hash(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // Guard bit guarantees that rank never exceeds register capacity
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    public void merge(@NotNull HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Can't merge estimators with different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeroCount = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeroCount++;
+            }
+        }
+        double estimate = getAlpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeroCount > 0) {
+            // Small range correction (linear counting)
+            estimate = m * Math.log((double) m / zeroCount);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double getAlpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    private static long hash(@Nullable Object value) {
+        if (value == null) {
+            return 0x9E3779B97F4A7C15L;
+        }
+        long h;
+        if (value instanceof CharSequence str) {
+            // 64-bit FNV-1a, String.hashCode is too collision-prone for big sets
+            h = 0xcbf29ce484222325L;
+            for (int i = 0; i < str.length(); i++) {
+                h ^= str.charAt(i);
+                h *= 0x100000001b3L;
+            }
+        } else {
+            h = value.hashCode();
+        }
+        // MurmurHash3 finalizer
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Aggregate function which state can be combined with the state of another instance of the same function.
+ * Allows to aggregate huge value sets by parts and to merge partial results afterwards.
+ */
+public interface IMergeableAggregateFunction extends IAggregateFunction {
+
+    /**
+     * Merges accumulated state of the other function into this one.
+     * Functions of different types are ignored.
+     */
+    void merge(@NotNull IAggregateFunction other);
+
+}
@@ -0,0 +1,185 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.code.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest.
+ * Approximates quantiles of a numeric value stream using a bounded number of centroids.
+ * Accuracy is highest at the distribution tails and is about 1/compression in the middle.
+ */
+public class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 200;
+
+    private final double compression;
+
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+    private int centroidCount;
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int bufferSize;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        int bufferCapacity = (int) Math.ceil(compression) * 5;
+        this.bufferMeans = new double[bufferCapacity];
+        this.bufferWeights = new double[bufferCapacity];
+    }
+
+    public long size() {
+        return (long) (totalWeight + getBufferWeight());
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, double weight) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (bufferSize == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[bufferSize] = value;
+        bufferWeights[bufferSize] = weight;
+        bufferSize++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(@NotNull TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroidCount; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns estimated value at the specified quantile (0..1).
+     * Returns NaN if digest is empty.
+     */
+    public double quantile(double q) {
+        compress();
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (centroidCount == 1) {
+            return means[0];
+        }
+        double index = q * totalWeight;
+        if (index <= weights[0] / 2) {
+            return min + (means[0] - min) * (index / (weights[0] / 2));
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + step > index) {
+                double ratio = (index - cumulative) / step;
+                return means[i] + (means[i + 1] - means[i]) * ratio;
+            }
+            cumulative += step;
+        }
+        int last = centroidCount - 1;
+        double tail = weights[last] / 2;
+        double ratio = tail <= 0 ? 1 : Math.min(1, (index - cumulative) / tail);
+        return means[last] + (max - means[last]) * ratio;
+    }
+
+    private double getBufferWeight() {
+        double weight = 0;
+        for (int i = 0; i < bufferSize; i++) {
+            weight += bufferWeights[i];
+        }
+        return weight;
+    }
+
+    private void compress() {
+        if (bufferSize == 0) {
+            return;
+        }
+        int count = centroidCount + bufferSize;
+        double[] allMeans = Arrays.copyOf(means, count);
+        double[] allWeights = Arrays.copyOf(weights, count);
+        System.arraycopy(bufferMeans, 0, allMeans, centroidCount, bufferSize);
+        System.arraycopy(bufferWeights, 0, allWeights, centroidCount, bufferSize);
+        bufferSize = 0;
+
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (o1, o2) -> Double.compare(allMeans[o1], allMeans[o2]));
+
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += allWeights[i];
+        }
+
+        double[] newMeans = new double[count];
+        double[] newWeights = new double[count];
+        int newCount = 0;
+        double weightSoFar = 0;
+        double curMean = allMeans[order[0]];
+        double curWeight = allWeights[order[0]];
+        for (int i = 1; i < count; i++) {
+            double mean = allMeans[order[i]];
+            double weight = allWeights[order[i]];
+            double proposedWeight = curWeight + weight;
+            double q0 = weightSoFar / total;
+            double q2 = (weightSoFar + proposedWeight) / total;
+            // Centroid size limit is proportional to q*(1-q): small centroids at tails, big in the middle
+            double limit = 4 * total * Math.min(q0 * (1 - q0), q2 * (1 - q2)) / compression;
+            if (proposedWeight <= limit) {
+                curMean += (mean - curMean) * weight / proposedWeight;
+                curWeight = proposedWeight;
+            } else {
+                newMeans[newCount] = curMean;
+                newWeights[newCount] = curWeight;
+                newCount++;
+                weightSoFar += curWeight;
+                curMean = mean;
+                curWeight = weight;
+            }
+        }
+        newMeans[newCount] = curMean;
+        newWeights[newCount] = curWeight;
+        newCount++;
+
+        means = Arrays.copyOf(newMeans, newCount);
+        weights = Arrays.copyOf(newWeights, newCount);
+        centroidCount = newCount;
+        totalWeight = total;
+    }
+
+}
@@ -28,8 +28,10 @@ import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.net.URI;
+import java.nio.CharBuffer;
 import java.sql.Timestamp;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
@@ -52,6 +54,23 @@ public class JSONUtils {
     public static final Type MAP_TYPE_TOKEN = new TypeToken<Map<String, Object>>() {}.getType();
     public static final Gson GSON = new GsonBuilder().create();
 
+    // Escape sequences of ASCII characters, the same as in escapeJsonString
+    private static final String[] ESCAPE_SEQUENCES = new String[128];
+
+    static {
+        for (int i = 0; i < 32; i++) {
+            ESCAPE_SEQUENCES[i] = String.format("\\u%04x", i);
+        }
+        ESCAPE_SEQUENCES['\n'] = "\\n";
+        ESCAPE_SEQUENCES['\r'] = "\\r";
+        ESCAPE_SEQUENCES['\t'] = "\\t";
+        ESCAPE_SEQUENCES['\f'] = "\\f";
+        ESCAPE_SEQUENCES['\b'] = "\\b";
+        ESCAPE_SEQUENCES['"'] = "\\\"";
+        ESCAPE_SEQUENCES['\\'] = "\\\\";
+        ESCAPE_SEQUENCES['/'] = "\\/";
+    }
+
     public static String formatDate(Date date) {
         try {
             if (date instanceof java.sql.Time) {
@@ -92,30 +111,66 @@ public class JSONUtils {
         return "ISODate('" + formatDate(date) + "')";  //$NON-NLS-1$//$NON-NLS-2$
     }
 
+    /**
+     * Writes escaped string directly to the writer.
+     * Characters which do not need escaping are written in ranges, without intermediate strings.
+     */
+    public static void writeEscapedJsonString(@NotNull Writer writer, @NotNull String str) throws IOException {
+        escapeJson(str, 0, str.length(), writer, (start, length) -> writer.write(str, start, length));
+    }
+
+    /**
+     * Writes escaped characters directly to the writer.
+     */
+    public static void writeEscapedJsonString(@NotNull Writer writer, @NotNull char[] chars, int offset, int length) throws IOException {
+        escapeJson(CharBuffer.wrap(chars), offset, length, writer, (start, count) -> writer.write(chars, start, count));
+    }
+
     public static String escapeJsonString(String str) {
         if (str == null) {
             return null;
         }
         StringBuilder result = new StringBuilder(str.length());
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            switch (c) {
-                case '\n' -> result.append("\\n");
-                case '\r' -> result.append("\\r");
-                case '\t' -> result.append("\\t");
-                case '\f' -> result.append("\\f");
-                case '\b' -> result.append("\\b");
-                case '"', '\\', '/' -> result.append("\\").append(c);
-                default -> {
-                    if ((int) c < 32) {
-                        result.append(String.format("\\u%04x", (int) c));
-                    } else {
-                        result.append(c);
-                    }
+        try {
+            escapeJson(str, 0, str.length(), result, (start, length) -> result.append(str, start, start + length));
+        } catch (IOException e) {
+            // StringBuilder doesn't throw IO errors
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    @FunctionalInterface
+    private interface CharRangeWriter {
+        void write(int start, int length) throws IOException;
+    }
+
+    /**
+     * Escapes characters of the text range. Escape sequences are appended to the output,
+     * ranges of characters which do not need escaping are passed to the range writer as is.
+     */
+    private static void escapeJson(
+        @NotNull CharSequence text,
+        int offset,
+        int length,
+        @NotNull Appendable out,
+        @NotNull CharRangeWriter rangeWriter
+    ) throws IOException {
+        int end = offset + length;
+        int start = offset;
+        for (int i = offset; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < ESCAPE_SEQUENCES.length && ESCAPE_SEQUENCES[c] != null) {
+                if (i > start) {
+                    rangeWriter.write(start, i - start);
                 }
+                out.append(ESCAPE_SEQUENCES[c]);
+                start = i + 1;
             }
         }
-        return result.toString();
+        if (start < end) {
+            rangeWriter.write(start, end - start);
+        }
     }
 
     @NotNull
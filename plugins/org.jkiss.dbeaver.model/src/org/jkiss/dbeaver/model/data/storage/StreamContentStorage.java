@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.model.data.storage;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
 
 import java.io.IOException;
@@ -32,10 +33,22 @@ import java.io.Reader;
 public class StreamContentStorage implements DBDContentStorage {
 
     private final InputStream stream;
+    private final long contentLength;
+    private final String charset;
 
     public StreamContentStorage(InputStream stream)
+    {
+        this(stream, -1, GeneralUtils.DEFAULT_ENCODING);
+    }
+
+    /**
+     * @param contentLength stream length if it is known in advance, or -1
+     */
+    public StreamContentStorage(InputStream stream, long contentLength, String charset)
     {
         this.stream = stream;
+        this.contentLength = contentLength;
+        this.charset = CommonUtils.toString(charset, GeneralUtils.DEFAULT_ENCODING);
     }
 
     @Override
@@ -55,20 +68,20 @@ public class StreamContentStorage implements DBDContentStorage {
     @Override
     public long getContentLength()
     {
-        return -1;
+        return contentLength;
     }
 
     @Override
     public String getCharset()
     {
-        return GeneralUtils.DEFAULT_ENCODING;
+        return charset;
     }
 
     @Override
     public DBDContentStorage cloneStorage(DBRProgressMonitor monitor)
         throws IOException
     {
-        return new StreamContentStorage(stream);
+        return new StreamContentStorage(stream, contentLength, charset);
     }
 
     @Override
@@ -26,7 +26,6 @@ import org.jkiss.utils.CommonUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -81,11 +80,7 @@ public class TemporaryContentStorage implements DBDContentStorageLocal {
         // Create new local storage
         Path tempFile = ContentUtils.createTempContentFile(monitor, platform, "copy" + this.hashCode());
         try {
-            try (InputStream is = Files.newInputStream(file)) {
-                try (OutputStream os = Files.newOutputStream(tempFile)) {
-                    ContentUtils.copyStreams(is, Files.size(file), os, monitor);
-                }
-            }
+            ContentUtils.copyFile(file, tempFile, monitor);
         } catch (IOException e) {
             ContentUtils.deleteTempFile(tempFile);
             throw new IOException(e);
@@ -40,6 +40,7 @@ import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.secret.DBSSecretSubject;
 import org.jkiss.dbeaver.model.secret.DBSValueEncryptor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.StartupTracer;
 import org.jkiss.dbeaver.utils.ContentUtils;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
@@ -190,7 +191,9 @@ public abstract class BaseProjectImpl implements DBPProject, DBSSecretSubject {
                     synchronized (metadataSync) {
                         ensureOpen();
                         if (dataSourceRegistry == null) {
-                            dataSourceRegistry = createDataSourceRegistry();
+                            try (StartupTracer.Phase ignored = StartupTracer.startPhase(StartupTracer.PHASE_REGISTRY_LOAD)) {
+                                dataSourceRegistry = createDataSourceRegistry();
+                            }
                         }
                     }
                 }
@@ -0,0 +1,398 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import com.google.gson.*;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
+import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlannerConfiguration;
+import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlannerSerializable;
+import org.jkiss.dbeaver.model.qm.QMQueryFingerprint;
+import org.jkiss.dbeaver.utils.GeneralUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Cache of execution plans.
+ * Plans are keyed by data source, query fingerprint and planner configuration.
+ * The latest plan shape of each query is persisted in the workspace metadata, so the plan may be compared with plans
+ * of the previous runs to detect plan changes after statistics or index changes.
+ * Query texts are not persisted, only their hashes.
+ */
+public class ExecutionPlanCache {
+
+    private static final Log log = Log.getLog(ExecutionPlanCache.class);
+
+    public static final String CACHE_FOLDER = "plan-cache"; //$NON-NLS-1$
+
+    /**
+     * Cached plan of the same query text is reused during this period (in seconds).
+     * Zero (default) disables plan reuse, plan shapes are still stored and compared.
+     * Reuse is disabled by default because a cached plan becomes stale after DDL or statistics changes.
+     */
+    public static final long REUSE_PERIOD = Long.getLong("dbeaver.sql.plan.reusePeriod", 0);
+
+    private static final String FILE_EXT = ".json"; //$NON-NLS-1$
+    private static final String TEMP_FILE_EXT = ".tmp"; //$NON-NLS-1$
+    private static final int MAX_MEMORY_ENTRIES = 100;
+    private static final int MAX_FILES = 1000;
+
+    private static final String PROP_DATASOURCE = "dataSource"; //$NON-NLS-1$
+    private static final String PROP_FINGERPRINT = "fingerprint"; //$NON-NLS-1$
+    private static final String PROP_QUERY_HASH = "queryHash"; //$NON-NLS-1$
+    private static final String PROP_TIMESTAMP = "timestamp"; //$NON-NLS-1$
+    private static final String PROP_SHAPE = "shape"; //$NON-NLS-1$
+    private static final String PROP_COST = "cost"; //$NON-NLS-1$
+    private static final String PROP_PLAN = "plan"; //$NON-NLS-1$
+
+    private static final Gson gson = new GsonBuilder().create();
+
+    private static ExecutionPlanCache instance;
+
+    @NotNull
+    private final Path folder;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(MAX_MEMORY_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_MEMORY_ENTRIES;
+        }
+    };
+
+    /**
+     * Cached plan
+     */
+    public static final class Entry {
+        @NotNull
+        private final String dataSourceId;
+        @NotNull
+        private final String queryFingerprint;
+        @NotNull
+        private final String queryHash;
+        private final long timestamp;
+        @NotNull
+        private final ExecutionPlanShape shape;
+        @Nullable
+        private final String planData;
+        @Nullable
+        private DBCPlan plan;
+
+        Entry(
+            @NotNull String dataSourceId,
+            @NotNull String queryFingerprint,
+            @NotNull String queryHash,
+            long timestamp,
+            @NotNull ExecutionPlanShape shape,
+            @Nullable String planData
+        ) {
+            this.dataSourceId = dataSourceId;
+            this.queryFingerprint = queryFingerprint;
+            this.queryHash = queryHash;
+            this.timestamp = timestamp;
+            this.shape = shape;
+            this.planData = planData;
+        }
+
+        @NotNull
+        public String getDataSourceId() {
+            return dataSourceId;
+        }
+
+        @NotNull
+        public String getQueryFingerprint() {
+            return queryFingerprint;
+        }
+
+        /**
+         * Hash of the exact query text
+         */
+        @NotNull
+        public String getQueryHash() {
+            return queryHash;
+        }
+
+        /**
+         * Time when the plan was read from the database
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @NotNull
+        public ExecutionPlanShape getShape() {
+            return shape;
+        }
+    }
+
+    /**
+     * Difference between the previous and the current plan of the query
+     */
+    public record PlanChange(@NotNull Entry previous, @NotNull Entry current) {
+
+        public boolean isShapeChanged() {
+            return !previous.shape.getFingerprint().equals(current.shape.getFingerprint());
+        }
+
+        /**
+         * Relative cost change (0.5 means 50% more expensive) or null if costs are unknown
+         */
+        @Nullable
+        public Double getCostDelta() {
+            Double oldCost = previous.shape.getCost();
+            Double newCost = current.shape.getCost();
+            if (oldCost == null || newCost == null || oldCost <= 0) {
+                return null;
+            }
+            return (newCost - oldCost) / oldCost;
+        }
+
+        @NotNull
+        public List<String> getDiff() {
+            return previous.shape.diff(current.shape);
+        }
+    }
+
+    public ExecutionPlanCache(@NotNull Path folder) {
+        this.folder = folder;
+    }
+
+    @NotNull
+    public static synchronized ExecutionPlanCache getInstance() {
+        if (instance == null) {
+            instance = new ExecutionPlanCache(GeneralUtils.getMetadataFolder().resolve(CACHE_FOLDER));
+        }
+        return instance;
+    }
+
+    /**
+     * Makes cache key. Queries which differ only in literals have the same key.
+     */
+    @NotNull
+    public static String makeKey(
+        @NotNull DBPDataSource dataSource,
+        @NotNull String query,
+        @NotNull DBCQueryPlannerConfiguration configuration
+    ) {
+        return dataSource.getContainer().getId() + "\n" +
+            QMQueryFingerprint.of(dataSource, query).getId() + "\n" +
+            configuration.getParameters();
+    }
+
+    /**
+     * Returns the last plan of the query with the same key (maybe for different literals)
+     */
+    @Nullable
+    public synchronized Entry getEntry(@NotNull String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = readEntry(key);
+            if (entry != null) {
+                entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Returns cached plan of exactly the same query if it is not older than maxAge.
+     *
+     * @param maxAge maximum plan age in milliseconds
+     */
+    @Nullable
+    public synchronized DBCPlan getCachedPlan(@NotNull DBCQueryPlanner planner, @NotNull String key, @NotNull String query, long maxAge) {
+        Entry entry = getEntry(key);
+        if (entry == null || !entry.queryHash.equals(QMQueryFingerprint.hash(query)) ||
+            System.currentTimeMillis() - entry.timestamp > maxAge) {
+            return null;
+        }
+        if (entry.plan == null && entry.planData != null && planner instanceof DBCQueryPlannerSerializable serializable) {
+            try {
+                entry.plan = serializable.deserialize(new StringReader(entry.planData));
+            } catch (Exception e) {
+                log.debug("Error reading cached plan", e);
+            }
+        }
+        return entry.plan;
+    }
+
+    /**
+     * Stores the plan of the query.
+     *
+     * @return change since the previous plan of the query or null if there was no previous plan
+     */
+    @Nullable
+    public synchronized PlanChange putPlan(
+        @NotNull DBCQueryPlanner planner,
+        @NotNull String key,
+        @NotNull String query,
+        @NotNull DBCPlan plan
+    ) {
+        Entry previous = getEntry(key);
+        String planData = null;
+        // Serialized plan may contain query literals, keep it only if it can be reused
+        if (REUSE_PERIOD > 0 && planner instanceof DBCQueryPlannerSerializable serializable) {
+            try {
+                StringWriter writer = new StringWriter();
+                serializable.serialize(writer, plan);
+                planData = writer.toString();
+            } catch (Exception e) {
+                log.debug("Error serializing plan", e);
+            }
+        }
+        String[] keyParts = key.split("\n", 3);
+        Entry entry = new Entry(
+            keyParts[0],
+            keyParts.length > 1 ? keyParts[1] : "",
+            QMQueryFingerprint.hash(query),
+            System.currentTimeMillis(),
+            ExecutionPlanShape.of(plan),
+            planData);
+        entry.plan = plan;
+        entries.put(key, entry);
+        writeEntry(key, entry, previous == null);
+        return previous == null ? null : new PlanChange(previous, entry);
+    }
+
+    /**
+     * Removes all cached plans
+     */
+    public synchronized void clear() {
+        entries.clear();
+        if (!Files.exists(folder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            files.forEach(ExecutionPlanCache::deleteFile);
+        } catch (IOException e) {
+            log.debug("Error clearing plan cache", e);
+        }
+    }
+
+    @Nullable
+    private Entry readEntry(@NotNull String key) {
+        Path file = getEntryFile(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            JsonObject json = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+            List<String> lines = new ArrayList<>();
+            for (JsonElement line : json.getAsJsonArray(PROP_SHAPE)) {
+                lines.add(line.getAsString());
+            }
+            JsonElement cost = json.get(PROP_COST);
+            JsonElement planData = json.get(PROP_PLAN);
+            return new Entry(
+                json.get(PROP_DATASOURCE).getAsString(),
+                json.get(PROP_FINGERPRINT).getAsString(),
+                json.get(PROP_QUERY_HASH).getAsString(),
+                json.get(PROP_TIMESTAMP).getAsLong(),
+                new ExecutionPlanShape(lines, cost == null || cost.isJsonNull() ? null : cost.getAsDouble()),
+                planData == null || planData.isJsonNull() ? null : planData.getAsString());
+        } catch (Exception e) {
+            log.debug("Error reading cached plan '" + file + "'", e);
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    private void writeEntry(@NotNull String key, @NotNull Entry entry, boolean newFile) {
+        JsonObject json = new JsonObject();
+        json.addProperty(PROP_DATASOURCE, entry.dataSourceId);
+        json.addProperty(PROP_FINGERPRINT, entry.queryFingerprint);
+        json.addProperty(PROP_QUERY_HASH, entry.queryHash);
+        json.addProperty(PROP_TIMESTAMP, entry.timestamp);
+        JsonArray lines = new JsonArray();
+        for (String line : entry.shape.getLines()) {
+            lines.add(line);
+        }
+        json.add(PROP_SHAPE, lines);
+        if (entry.shape.getCost() != null) {
+            json.addProperty(PROP_COST, entry.shape.getCost());
+        }
+        if (entry.planData != null) {
+            json.addProperty(PROP_PLAN, entry.planData);
+        }
+        Path file = getEntryFile(key);
+        Path tempFile = file.resolveSibling(file.getFileName() + TEMP_FILE_EXT);
+        try {
+            Files.createDirectories(folder);
+            Files.writeString(tempFile, gson.toJson(json), StandardCharsets.UTF_8);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("Error saving plan to cache", e);
+            deleteFile(tempFile);
+            return;
+        }
+        if (newFile) {
+            removeOldFiles();
+        }
+    }
+
+    private void removeOldFiles() {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(folder)) {
+            files = list.filter(f -> f.getFileName().toString().endsWith(FILE_EXT)).toList();
+        } catch (IOException e) {
+            log.debug("Error reading plan cache folder", e);
+            return;
+        }
+        if (files.size() <= MAX_FILES) {
+            return;
+        }
+        Map<Path, Long> modifyTimes = new HashMap<>();
+        for (Path file : files) {
+            try {
+                modifyTimes.put(file, Files.getLastModifiedTime(file).toMillis());
+            } catch (IOException e) {
+                modifyTimes.put(file, 0L);
+            }
+        }
+        List<Path> sortedFiles = new ArrayList<>(files);
+        sortedFiles.sort(Comparator.comparing(modifyTimes::get));
+        // Remove 10% of the oldest plans at once, so the folder is not listed on each new plan
+        int removeCount = files.size() - MAX_FILES + MAX_FILES / 10;
+        for (int i = 0; i < removeCount && i < sortedFiles.size(); i++) {
+            deleteFile(sortedFiles.get(i));
+        }
+    }
+
+    @NotNull
+    private Path getEntryFile(@NotNull String key) {
+        return folder.resolve(QMQueryFingerprint.hash(key) + FILE_EXT);
+    }
+
+    private static void deleteFile(@NotNull Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Error deleting file '" + file + "'", e);
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanCostNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.dbeaver.model.qm.QMQueryFingerprint;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Execution plan shape: tree of node types and objects without costs, row counts and timings.
+ * Plans of the same query have the same shape until the database chooses another access path or join order.
+ */
+public final class ExecutionPlanShape {
+
+    public static final String DIFF_ADDED = "+ "; //$NON-NLS-1$
+    public static final String DIFF_REMOVED = "- "; //$NON-NLS-1$
+    public static final String DIFF_SAME = "  "; //$NON-NLS-1$
+
+    private static final String INDENT = "  "; //$NON-NLS-1$
+    // Larger plans are compared line by line without alignment
+    private static final int MAX_DIFF_LINES = 2000;
+
+    @NotNull
+    private final String fingerprint;
+    @NotNull
+    private final List<String> lines;
+    @Nullable
+    private final Double cost;
+
+    public ExecutionPlanShape(@NotNull List<String> lines, @Nullable Double cost) {
+        this.lines = List.copyOf(lines);
+        this.cost = cost;
+        this.fingerprint = hash(lines);
+    }
+
+    /**
+     * Shape fingerprint, hash of the node tree
+     */
+    @NotNull
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Plan nodes, one per line, nested nodes are indented
+     */
+    @NotNull
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Total cost of the plan or null if planner doesn't provide costs
+     */
+    @Nullable
+    public Double getCost() {
+        return cost;
+    }
+
+    /**
+     * Structural diff of plans. Each line starts with {@link #DIFF_ADDED}, {@link #DIFF_REMOVED} or {@link #DIFF_SAME}.
+     */
+    @NotNull
+    public List<String> diff(@NotNull ExecutionPlanShape newShape) {
+        List<String> oldLines = lines;
+        List<String> newLines = newShape.lines;
+        List<String> result = new ArrayList<>();
+        if (oldLines.size() > MAX_DIFF_LINES || newLines.size() > MAX_DIFF_LINES) {
+            for (String line : oldLines) {
+                result.add(DIFF_REMOVED + line);
+            }
+            for (String line : newLines) {
+                result.add(DIFF_ADDED + line);
+            }
+            return result;
+        }
+        // Longest common subsequence
+        int[][] common = new int[oldLines.size() + 1][newLines.size() + 1];
+        for (int i = oldLines.size() - 1; i >= 0; i--) {
+            for (int j = newLines.size() - 1; j >= 0; j--) {
+                common[i][j] = oldLines.get(i).equals(newLines.get(j)) ?
+                    common[i + 1][j + 1] + 1 :
+                    Math.max(common[i + 1][j], common[i][j + 1]);
+            }
+        }
+        int i = 0, j = 0;
+        while (i < oldLines.size() && j < newLines.size()) {
+            if (oldLines.get(i).equals(newLines.get(j))) {
+                result.add(DIFF_SAME + oldLines.get(i));
+                i++;
+                j++;
+            } else if (common[i + 1][j] >= common[i][j + 1]) {
+                result.add(DIFF_REMOVED + oldLines.get(i++));
+            } else {
+                result.add(DIFF_ADDED + newLines.get(j++));
+            }
+        }
+        while (i < oldLines.size()) {
+            result.add(DIFF_REMOVED + oldLines.get(i++));
+        }
+        while (j < newLines.size()) {
+            result.add(DIFF_ADDED + newLines.get(j++));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ExecutionPlanShape shape && fingerprint.equals(shape.fingerprint) && lines.equals(shape.lines);
+    }
+
+    @Override
+    public int hashCode() {
+        return fingerprint.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return fingerprint;
+    }
+
+    @NotNull
+    public static ExecutionPlanShape of(@NotNull DBCPlan plan) {
+        List<String> lines = new ArrayList<>();
+        double totalCost = 0;
+        boolean hasCost = false;
+        Collection<? extends DBCPlanNode> rootNodes = plan.getPlanNodes(null);
+        if (rootNodes != null) {
+            for (DBCPlanNode node : rootNodes) {
+                addNode(lines, node, 0);
+                if (node instanceof DBCPlanCostNode costNode && costNode.getNodeCost() != null) {
+                    totalCost += costNode.getNodeCost().doubleValue();
+                    hasCost = true;
+                }
+            }
+        }
+        return new ExecutionPlanShape(lines, hasCost ? totalCost : null);
+    }
+
+    private static void addNode(@NotNull List<String> lines, @NotNull DBCPlanNode node, int depth) {
+        StringBuilder line = new StringBuilder();
+        line.append(INDENT.repeat(depth));
+        String nodeType = CommonUtils.notEmpty(node.getNodeType()).trim();
+        String nodeName = CommonUtils.notEmpty(node.getNodeName()).trim();
+        line.append(nodeType);
+        if (!nodeName.isEmpty() && !nodeName.equals(nodeType)) {
+            line.append(nodeType.isEmpty() ? "" : " ").append(nodeName);
+        }
+        lines.add(line.toString());
+        Collection<? extends DBCPlanNode> nested = node.getNested();
+        if (nested != null) {
+            for (DBCPlanNode child : nested) {
+                addNode(lines, child, depth + 1);
+            }
+        }
+    }
+
+    @NotNull
+    private static String hash(@NotNull List<String> lines) {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        return QMQueryFingerprint.hash(text);
+    }
+
+}
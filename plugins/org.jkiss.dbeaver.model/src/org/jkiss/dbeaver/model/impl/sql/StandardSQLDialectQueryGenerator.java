@@ -22,6 +22,7 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPAttributeReferencePurpose;
+import org.jkiss.dbeaver.model.DBPDataKind;
 import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPEvaluationContext;
 import org.jkiss.dbeaver.model.DBUtils;
@@ -37,7 +38,10 @@ import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.Pair;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 public class StandardSQLDialectQueryGenerator implements SQLQueryGenerator {
@@ -51,6 +55,16 @@ public class StandardSQLDialectQueryGenerator implements SQLQueryGenerator {
         Pattern.CASE_INSENSITIVE
     );
 
+    private static final Set<DBCLogicalOperator> BINDABLE_OPERATORS = EnumSet.of(
+        DBCLogicalOperator.EQUALS,
+        DBCLogicalOperator.NOT_EQUALS,
+        DBCLogicalOperator.GREATER,
+        DBCLogicalOperator.GREATER_EQUALS,
+        DBCLogicalOperator.LESS,
+        DBCLogicalOperator.LESS_EQUALS,
+        DBCLogicalOperator.BETWEEN
+    );
+
 
     @Override
     public void appendQueryConditions(
@@ -490,6 +504,66 @@ public class StandardSQLDialectQueryGenerator implements SQLQueryGenerator {
         }
     }
 
+    /**
+     * Returns filter values in the order of parameter placeholders generated by
+     * {@link #appendConditionString} when criteria inlining is disabled.
+     * Returns null if filter conditions can't be fully expressed with bound parameters
+     * (custom criteria, pattern matching operators, manual WHERE clause, etc).
+     */
+    @Nullable
+    public static List<DBDAttributeValue> getConditionParameters(@NotNull DBDDataFilter filter) {
+        if (!CommonUtils.isEmpty(filter.getWhere()) || filter.isUseDisjunctiveNormalForm()) {
+            return null;
+        }
+        List<DBDAttributeValue> parameters = new ArrayList<>();
+        for (DBDAttributeConstraint constraint : filter.getConstraints()) {
+            if (constraint.getCriteria() == null && constraint.getOperator() == null) {
+                continue;
+            }
+            DBCLogicalOperator operator = constraint.getOperator();
+            DBSAttributeBase attribute = constraint.getAttribute();
+            if (!CommonUtils.isEmpty(constraint.getCriteria()) || operator == null || attribute == null) {
+                return null;
+            }
+            Object value = constraint.getValue();
+            if (DBUtils.isNullValue(value) || operator.getArgumentCount() == 0) {
+                continue;
+            }
+            if (operator.getArgumentCount() > 0) {
+                if (!BINDABLE_OPERATORS.contains(operator) || value instanceof Object[] || !isBindableValue(attribute, value)) {
+                    return null;
+                }
+                for (int i = 0; i < operator.getArgumentCount(); i++) {
+                    parameters.add(new DBDAttributeValue(attribute, value));
+                }
+            } else {
+                if (operator != DBCLogicalOperator.IN || !value.getClass().isArray()) {
+                    return null;
+                }
+                int valueCount = Array.getLength(value);
+                for (int i = 0; i < valueCount; i++) {
+                    Object itemValue = Array.get(value, i);
+                    if (DBUtils.isNullValue(itemValue)) {
+                        continue;
+                    }
+                    if (!isBindableValue(attribute, itemValue)) {
+                        return null;
+                    }
+                    parameters.add(new DBDAttributeValue(attribute, itemValue));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static boolean isBindableValue(@NotNull DBSAttributeBase attribute, @NotNull Object value) {
+        if (value instanceof DBDValue) {
+            return false;
+        }
+        // Strings typed in the filter for non-string columns are converted by the database
+        return !(value instanceof CharSequence) || attribute.getDataKind() == DBPDataKind.STRING;
+    }
+
     private StandardSQLDialectQueryGenerator() {
 
     }
@@ -42,6 +42,8 @@ import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -87,9 +89,10 @@ public class DBNModel {
     private final List<? extends DBPProject> modelProjects;
     private DBNRoot root;
     private final List<INavigatorListener> listeners = new ArrayList<>();
-    private transient INavigatorListener[] listenersCopy = null;
-    private final transient List<DBNEvent> eventCache = new ArrayList<>();
-    private final Map<DBSObject, Object> nodeMap = new HashMap<>();
+    private transient volatile INavigatorListener[] listenersCopy = null;
+    private final transient Queue<DBNEvent> eventCache = new ConcurrentLinkedQueue<>();
+    // Values are nodes or immutable lists of nodes. Lists are replaced on change, so readers don't need locks.
+    private final Map<DBSObject, Object> nodeMap = new ConcurrentHashMap<>();
     private final List<Function<DBNNode, Boolean>> nodeFilters = new ArrayList<>();
 
     private SMSessionContext modelAuthContext;
@@ -141,9 +144,7 @@ public class DBNModel {
 
         if (root != null) {
             this.root.dispose(false);
-            synchronized (nodeMap) {
-                this.nodeMap.clear();
-            }
+            this.nodeMap.clear();
             this.root = null;
         }
         synchronized (this.listeners) {
@@ -183,11 +184,11 @@ public class DBNModel {
             return (DBNDatabaseNode)object;
         }
         object = DBUtils.getPublicObjectContainer(object);
-
-        Object obj;
-        synchronized (nodeMap) {
-            obj = nodeMap.get(object);
+        if (object == null) {
+            return null;
         }
+
+        Object obj = nodeMap.get(object);
         if (obj == null) {
             return null;
         } else if (obj instanceof DBNDatabaseNode) {
@@ -470,24 +471,27 @@ public class DBNModel {
 
     void addNode(DBNDatabaseNode node, boolean reflect)
     {
-        synchronized (nodeMap) {
-            Object obj = nodeMap.get(node.getObject());
+        DBSObject object = node.getObject();
+        if (object == null) {
+            log.debug("Node '" + node.getNodeDisplayName() + "' has no object and can't be registered");
+            return;
+        }
+        nodeMap.compute(object, (key, obj) -> {
             if (obj == null) {
                 // New node
-                nodeMap.put(node.getObject(), node);
+                return node;
             } else if (obj instanceof DBNNode) {
                 // Second node - make a list
-                List<DBNNode> nodeList = new ArrayList<>(2);
-                nodeList.add((DBNNode)obj);
-                nodeList.add(node);
-                nodeMap.put(node.getObject(), nodeList);
-            } else if (obj instanceof List) {
+                return List.of(obj, node);
+            } else if (obj instanceof List<?> nodeList) {
                 // Multiple nodes
-                @SuppressWarnings("unchecked")
-                List<DBNNode> nodeList = (List<DBNNode>) obj;
-                nodeList.add(node);
+                List<Object> newList = new ArrayList<>(nodeList.size() + 1);
+                newList.addAll(nodeList);
+                newList.add(node);
+                return Collections.unmodifiableList(newList);
             }
-        }
+            return obj;
+        });
         if (reflect) {
             this.fireNodeEvent(new DBNEvent(this, DBNEvent.Action.ADD, DBNEvent.NodeChange.LOAD, node));
         }
@@ -495,30 +499,25 @@ public class DBNModel {
 
     void removeNode(DBNDatabaseNode node, boolean reflect)
     {
-        boolean badNode = false;
-        synchronized (nodeMap) {
-            Object obj = nodeMap.get(node.getObject());
-            if (obj == null) {
-                // No found
-                badNode = true;
-            } else if (obj instanceof DBNNode) {
-                // Just remove it
-                if (nodeMap.remove(node.getObject()) != node) {
-                    badNode = true;
-                }
-            } else if (obj instanceof List) {
-                // Multiple nodes
-                @SuppressWarnings("unchecked")
-                List<DBNNode> nodeList = (List<DBNNode>) obj;
-                if (!nodeList.remove(node)) {
-                    badNode = true;
-                }
-                if (nodeList.isEmpty()) {
-                    nodeMap.remove(node.getObject());
+        DBSObject object = node.getObject();
+        boolean[] badNode = new boolean[] { object == null };
+        if (object != null) {
+            nodeMap.compute(object, (key, obj) -> {
+                if (obj == node) {
+                    // Just remove it
+                    return null;
+                } else if (obj instanceof List<?> nodeList && nodeList.contains(node)) {
+                    // Multiple nodes
+                    List<Object> newList = new ArrayList<>(nodeList);
+                    newList.remove(node);
+                    return newList.isEmpty() ? null : newList.size() == 1 ? newList.get(0) : Collections.unmodifiableList(newList);
                 }
-            }
+                // Not found
+                badNode[0] = true;
+                return obj;
+            });
         }
-        if (badNode) {
+        if (badNode[0]) {
             log.warn("Remove unregistered meta node object " + node.getNodeDisplayName());
         } else {
             if (reflect) {
@@ -559,9 +558,7 @@ public class DBNModel {
         if (!isGlobal() || platform.isShuttingDown()) {
             return;
         }
-        synchronized (eventCache) {
-            eventCache.add(event);
-        }
+        eventCache.add(event);
     }
 
     public static synchronized DBPImage getStateOverlayImage(DBPImage image, DBSObjectState state)
@@ -627,27 +624,23 @@ public class DBNModel {
             Thread.currentThread().setName("Database navigator events processor");
             while (!platform.isShuttingDown()) {
                 RuntimeUtils.pause(100);
-                final INavigatorListener[] realListeners;
-                synchronized (listeners) {
-                    realListeners = listenersCopy;
-                }
-                if (realListeners == null || realListeners.length == 0) {
+                final INavigatorListener[] realListeners = listenersCopy;
+                if (realListeners == null || realListeners.length == 0 || eventCache.isEmpty()) {
                     continue;
                 }
-                final DBNEvent[] realEvents;
-                synchronized (eventCache) {
-                    if (eventCache.isEmpty()) {
-                        continue;
-                    }
-                    realEvents = eventCache.toArray(new DBNEvent[0]);
-                    eventCache.clear();
+                final List<DBNEvent> realEvents = new ArrayList<>();
+                for (DBNEvent event = eventCache.poll(); event != null; event = eventCache.poll()) {
+                    realEvents.add(event);
                 }
+                final List<DBNEvent> batch = Collections.unmodifiableList(realEvents);
 
                 try {
                     DBWorkbench.getPlatformUI().executeWithProgress(() -> {
-                        for (int i = 0; i < realEvents.length; i++) {
-                            for (INavigatorListener listener : listenersCopy) {
-                                listener.nodeChanged(realEvents[i]);
+                        // Refresh of a large folder produces an event per child, listeners process them at once
+                        final INavigatorListener[] currentListeners = listenersCopy;
+                        if (currentListeners != null) {
+                            for (INavigatorListener listener : currentListeners) {
+                                listener.nodesChanged(batch);
                             }
                         }
                     });
@@ -17,6 +17,10 @@
 
 package org.jkiss.dbeaver.model.navigator;
 
+import org.jkiss.code.NotNull;
+
+import java.util.List;
+
 /**
  * INavigatorListener
  */
@@ -26,4 +30,14 @@ public interface INavigatorListener
      * Called in UI thread
      */
     void nodeChanged(DBNEvent event);
+
+    /**
+     * Called in UI thread with all events fired since the previous notification.
+     * Listeners may override it to process many events of the same folder at once.
+     */
+    default void nodesChanged(@NotNull List<DBNEvent> events) {
+        for (DBNEvent event : events) {
+            nodeChanged(event);
+        }
+    }
 }
@@ -45,4 +45,12 @@ public interface DBWTunnel extends DBWNetworkHandler, DBWForwarder {
 
     void addCloseListener(@NotNull Runnable listener);
 
+    /**
+     * Returns tunnel traffic statistics or null if tunnel doesn't collect them
+     */
+    @Nullable
+    default DBWTunnelStatistics getStatistics() {
+        return null;
+    }
+
 }
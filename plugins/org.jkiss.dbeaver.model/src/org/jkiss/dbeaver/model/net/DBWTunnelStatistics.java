@@ -0,0 +1,60 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net;
+
+/**
+ * Traffic statistics of a network tunnel.
+ * Counters are cumulative since the tunnel was opened.
+ */
+public interface DBWTunnelStatistics {
+
+    /**
+     * Bytes sent from local clients through the tunnel
+     */
+    long getBytesSent();
+
+    /**
+     * Bytes received by local clients through the tunnel
+     */
+    long getBytesReceived();
+
+    /**
+     * Total number of forwarded connections
+     */
+    long getConnectionCount();
+
+    /**
+     * Number of currently open forwarded connections
+     */
+    int getActiveConnectionCount();
+
+    /**
+     * Time spent to establish the tunnel session (including authentication), in milliseconds
+     */
+    long getConnectTime();
+
+    /**
+     * Average time between request and the first byte of response, in milliseconds
+     */
+    double getAverageLatency();
+
+    /**
+     * Maximum time between request and the first byte of response, in milliseconds
+     */
+    long getMaxLatency();
+
+}
@@ -0,0 +1,144 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.code.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram with log-linear buckets (the same layout as HDR histogram).
+ * <p>
+ * Values are recorded in microseconds. Each power of two range is split into 16 linear sub-buckets,
+ * so the relative error of percentiles doesn't exceed 6.25%. Values up to 2^40 microseconds (~12 days) are tracked,
+ * larger values are put into the last bucket.
+ * Recording is lock-free, histogram may be read while values are recorded.
+ */
+public class QMLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalSum = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records value in microseconds
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(getBucketIndex(value));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(value);
+        if (value > maxValue.get()) {
+            maxValue.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Sum of all recorded values in microseconds
+     */
+    public long getSum() {
+        return totalSum.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalSum.get() / count;
+    }
+
+    /**
+     * Returns value at the given percentile. The value is the upper bound of the percentile bucket.
+     *
+     * @param percentile percentile in range 0..100
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += counts.get(i);
+            if (accumulated >= targetCount) {
+                return Math.min(getBucketUpperBound(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Adds all values of another histogram
+     */
+    public void add(@NotNull QMLatencyHistogram histogram) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = histogram.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(histogram.totalCount.get());
+        totalSum.addAndGet(histogram.totalSum.get());
+        maxValue.accumulateAndGet(histogram.maxValue.get(), Math::max);
+    }
+
+    @NotNull
+    public QMLatencyHistogram copy() {
+        QMLatencyHistogram copy = new QMLatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        if (value > MAX_VALUE) {
+            value = MAX_VALUE;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+}
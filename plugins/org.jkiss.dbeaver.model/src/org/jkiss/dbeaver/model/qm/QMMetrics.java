@@ -0,0 +1,59 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Client-side statement execution metrics.
+ * Metrics are aggregated per data source, per statement type and per query fingerprint.
+ */
+public interface QMMetrics {
+
+    /**
+     * Returns copies of all metric series of the given scope
+     */
+    @NotNull
+    List<QMMetricsSeries> getSeries(@NotNull QMMetricsSeries.Scope scope);
+
+    /**
+     * Returns copy of the data source metrics
+     */
+    @Nullable
+    QMMetricsSeries getDataSourceSeries(@NotNull String dataSourceId);
+
+    /**
+     * Records data transfer (export/import) throughput
+     *
+     * @param duration transfer duration in microseconds
+     */
+    void recordTransfer(@NotNull DBPDataSourceContainer dataSource, long duration, long rowCount, long byteCount);
+
+    /**
+     * Writes metrics in the Prometheus text exposition format
+     */
+    void writePrometheusMetrics(@NotNull Writer writer) throws IOException;
+
+    void reset();
+
+}
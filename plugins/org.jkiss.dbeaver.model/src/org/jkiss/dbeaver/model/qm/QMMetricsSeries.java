@@ -0,0 +1,208 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statement execution metrics of a data source, statement type or query fingerprint.
+ * Latencies are in microseconds.
+ */
+public class QMMetricsSeries {
+
+    public enum Scope {
+        DATASOURCE,
+        STATEMENT_TYPE,
+        FINGERPRINT
+    }
+
+    @NotNull
+    private final Scope scope;
+    @NotNull
+    private final String dataSourceId;
+    @Nullable
+    private final String dataSourceName;
+    @Nullable
+    private final String statementType;
+    @Nullable
+    private final QMQueryFingerprint fingerprint;
+
+    private final QMLatencyHistogram executeLatency = new QMLatencyHistogram();
+    private final QMLatencyHistogram fetchLatency = new QMLatencyHistogram();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder updatedRows = new LongAdder();
+    private final LongAdder fetchedRows = new LongAdder();
+    private final LongAdder fetchTime = new LongAdder();
+    private final LongAdder transferredRows = new LongAdder();
+    private final LongAdder transferredBytes = new LongAdder();
+    private final LongAdder transferTime = new LongAdder();
+
+    public QMMetricsSeries(
+        @NotNull Scope scope,
+        @NotNull String dataSourceId,
+        @Nullable String dataSourceName,
+        @Nullable String statementType,
+        @Nullable QMQueryFingerprint fingerprint
+    ) {
+        this.scope = scope;
+        this.dataSourceId = dataSourceId;
+        this.dataSourceName = dataSourceName;
+        this.statementType = statementType;
+        this.fingerprint = fingerprint;
+    }
+
+    @NotNull
+    public Scope getScope() {
+        return scope;
+    }
+
+    @NotNull
+    public String getDataSourceId() {
+        return dataSourceId;
+    }
+
+    @Nullable
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    @Nullable
+    public String getStatementType() {
+        return statementType;
+    }
+
+    @Nullable
+    public QMQueryFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    @NotNull
+    public QMLatencyHistogram getExecuteLatency() {
+        return executeLatency;
+    }
+
+    @NotNull
+    public QMLatencyHistogram getFetchLatency() {
+        return fetchLatency;
+    }
+
+    public long getExecuteCount() {
+        return executeLatency.getCount();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getUpdatedRows() {
+        return updatedRows.sum();
+    }
+
+    public long getFetchedRows() {
+        return fetchedRows.sum();
+    }
+
+    /**
+     * Total fetch time in microseconds
+     */
+    public long getFetchTime() {
+        return fetchTime.sum();
+    }
+
+    public double getFetchRowsPerSecond() {
+        return getRate(fetchedRows.sum(), fetchTime.sum());
+    }
+
+    public long getTransferredRows() {
+        return transferredRows.sum();
+    }
+
+    public long getTransferredBytes() {
+        return transferredBytes.sum();
+    }
+
+    /**
+     * Total data transfer time in microseconds
+     */
+    public long getTransferTime() {
+        return transferTime.sum();
+    }
+
+    public double getTransferRowsPerSecond() {
+        return getRate(transferredRows.sum(), transferTime.sum());
+    }
+
+    public double getTransferBytesPerSecond() {
+        return getRate(transferredBytes.sum(), transferTime.sum());
+    }
+
+    public void recordExecute(long latency, long updateCount, boolean error) {
+        executeLatency.record(latency);
+        if (updateCount > 0) {
+            updatedRows.add(updateCount);
+        }
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    public void recordFetch(long latency, long rowCount) {
+        fetchLatency.record(latency);
+        fetchTime.add(latency);
+        if (rowCount > 0) {
+            fetchedRows.add(rowCount);
+        }
+    }
+
+    public void recordTransfer(long duration, long rowCount, long byteCount) {
+        transferTime.add(duration);
+        transferredRows.add(rowCount);
+        transferredBytes.add(byteCount);
+    }
+
+    /**
+     * Returns copy of the series. Metrics recorded after the copy don't affect it.
+     */
+    @NotNull
+    public QMMetricsSeries copy() {
+        QMMetricsSeries copy = new QMMetricsSeries(scope, dataSourceId, dataSourceName, statementType, fingerprint);
+        copy.executeLatency.add(executeLatency);
+        copy.fetchLatency.add(fetchLatency);
+        copy.errorCount.add(errorCount.sum());
+        copy.updatedRows.add(updatedRows.sum());
+        copy.fetchedRows.add(fetchedRows.sum());
+        copy.fetchTime.add(fetchTime.sum());
+        copy.transferredRows.add(transferredRows.sum());
+        copy.transferredBytes.add(transferredBytes.sum());
+        copy.transferTime.add(transferTime.sum());
+        return copy;
+    }
+
+    private static double getRate(long count, long micros) {
+        return micros <= 0 ? 0 : count * 1000000.0 / micros;
+    }
+
+    @Override
+    public String toString() {
+        return scope + " " + dataSourceId +
+            (statementType == null ? "" : " " + statementType) +
+            (fingerprint == null ? "" : " " + fingerprint.getId());
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Query fingerprint.
+ * Queries which differ only in literal values, comments, whitespaces and keyword case have the same fingerprint.
+ * Lists of literals in IN predicates are collapsed, so the number of values doesn't matter either.
+ */
+public final class QMQueryFingerprint {
+
+    private static final Log log = Log.getLog(QMQueryFingerprint.class);
+
+    public static final String TYPE_OTHER = "OTHER"; //$NON-NLS-1$
+    /**
+     * Replacement of literals and parameters
+     */
+    public static final String LITERAL_MARK = "?"; //$NON-NLS-1$
+    /**
+     * Replacement of collapsed literal lists
+     */
+    public static final String LIST_MARK = "..."; //$NON-NLS-1$
+
+    // Normalized text is kept for display, very long queries are truncated
+    private static final int MAX_TEXT_LENGTH = 4000;
+    private static final int MAX_CACHED_QUERY_LENGTH = 10000;
+    private static final int MAX_CACHE_SIZE = 1000;
+
+    private static final QMQueryFingerprint EMPTY = of(List.of());
+
+    // Most queries are executed many times, cache recent fingerprints to avoid repeated tokenizing
+    private static final Map<CacheKey, QMQueryFingerprint> CACHE = new LinkedHashMap<>(MAX_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, QMQueryFingerprint> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    private record CacheKey(@Nullable Object dialect, @NotNull String query) {
+    }
+
+    private static volatile QMQueryNormalizer normalizer;
+
+    @NotNull
+    private final String id;
+    @NotNull
+    private final String text;
+    @NotNull
+    private final String statementType;
+
+    private QMQueryFingerprint(@NotNull String id, @NotNull String text, @NotNull String statementType) {
+        this.id = id;
+        this.text = text;
+        this.statementType = statementType;
+    }
+
+    /**
+     * Fingerprint id, hash of the normalized query text
+     */
+    @NotNull
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Normalized query text. Literals are replaced with '?'.
+     */
+    @NotNull
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Upper case first keyword of the query (SELECT, INSERT, etc.)
+     */
+    @NotNull
+    public String getStatementType() {
+        return statementType;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof QMQueryFingerprint fingerprint && id.equals(fingerprint.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return id + " " + text;
+    }
+
+    @NotNull
+    public static QMQueryFingerprint of(@Nullable String query) {
+        return of(null, query);
+    }
+
+    /**
+     * Makes fingerprint of the query. Query is tokenized according to the data source dialect rules.
+     */
+    @NotNull
+    public static QMQueryFingerprint of(@Nullable DBPDataSource dataSource, @Nullable String query) {
+        if (CommonUtils.isEmpty(query)) {
+            return EMPTY;
+        }
+        CacheKey cacheKey = null;
+        if (query.length() <= MAX_CACHED_QUERY_LENGTH) {
+            cacheKey = new CacheKey(dataSource == null ? null : dataSource.getSQLDialect(), query);
+            synchronized (CACHE) {
+                QMQueryFingerprint fingerprint = CACHE.get(cacheKey);
+                if (fingerprint != null) {
+                    return fingerprint;
+                }
+            }
+        }
+        QMQueryNormalizer normalizer = getNormalizer();
+        List<String> tokens = null;
+        if (normalizer != null) {
+            try {
+                tokens = normalizer.tokenize(dataSource, query);
+            } catch (Exception e) {
+                log.debug("Error tokenizing query: " + e.getMessage());
+            }
+        }
+        if (tokens == null) {
+            tokens = tokenize(query);
+        }
+        QMQueryFingerprint fingerprint = of(tokens);
+        if (cacheKey != null) {
+            synchronized (CACHE) {
+                CACHE.put(cacheKey, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    @NotNull
+    static QMQueryFingerprint of(@NotNull List<String> tokens) {
+        String normalized = joinTokens(collapseLists(tokens));
+        String text = normalized.length() > MAX_TEXT_LENGTH ? normalized.substring(0, MAX_TEXT_LENGTH) : normalized;
+        return new QMQueryFingerprint(hash(normalized), text, getStatementType(normalized));
+    }
+
+    @Nullable
+    private static QMQueryNormalizer getNormalizer() {
+        QMQueryNormalizer result = normalizer;
+        if (result == null) {
+            // Service may be not available yet (e.g. queries are executed during startup), so missing service is not cached
+            try {
+                result = DBWorkbench.getService(QMQueryNormalizer.class);
+            } catch (Exception e) {
+                // No platform, use simple tokenizer
+                log.debug("Query normalizer service is not available: " + e.getMessage());
+            }
+            normalizer = result;
+        }
+        return result;
+    }
+
+    /**
+     * Collapses lists of literals in IN predicates: {@code in (?, ?, ?)} becomes {@code in (...)}.
+     * Queries generated for a different number of values have the same fingerprint then.
+     */
+    @NotNull
+    static List<String> collapseLists(@NotNull List<String> tokens) {
+        List<String> result = null;
+        int size = tokens.size();
+        for (int i = 0; i < size; i++) {
+            String token = tokens.get(i);
+            if (result != null) {
+                result.add(token);
+            }
+            if (!"in".equals(token) || i + 2 >= size || !"(".equals(tokens.get(i + 1))) {
+                continue;
+            }
+            int listEnd = findLiteralListEnd(tokens, i + 1);
+            if (listEnd < 0) {
+                continue;
+            }
+            if (result == null) {
+                result = new ArrayList<>(tokens.subList(0, i + 1));
+            }
+            result.add("(");
+            result.add(LIST_MARK);
+            result.add(")");
+            i = listEnd;
+        }
+        return result == null ? tokens : result;
+    }
+
+    // Returns index of the closing parenthesis if the list contains literals only
+    private static int findLiteralListEnd(@NotNull List<String> tokens, int start) {
+        int depth = 0;
+        boolean hasLiterals = false;
+        for (int i = start; i < tokens.size(); i++) {
+            switch (tokens.get(i)) {
+                case "(" -> depth++;
+                case ")" -> {
+                    depth--;
+                    if (depth == 0) {
+                        return hasLiterals ? i : -1;
+                    }
+                }
+                case LITERAL_MARK -> hasLiterals = true;
+                case "," -> {
+                    // separator
+                }
+                default -> {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @NotNull
+    private static String joinTokens(@NotNull List<String> tokens) {
+        StringBuilder result = new StringBuilder(Math.min(tokens.size() * 8, MAX_TEXT_LENGTH));
+        String prevToken = null;
+        for (String token : tokens) {
+            if (prevToken != null && !"(".equals(prevToken) && !".".equals(prevToken) && !isSticky(token)) {
+                result.append(' ');
+            }
+            result.append(token);
+            prevToken = token;
+        }
+        return result.toString();
+    }
+
+    private static boolean isSticky(@NotNull String token) {
+        return token.length() == 1 && "(),.;".indexOf(token.charAt(0)) >= 0;
+    }
+
+    /**
+     * Simple dialect-independent tokenizer. It is used when SQL model is not available.
+     */
+    @NotNull
+    static List<String> tokenize(@NotNull String query) {
+        List<String> tokens = new ArrayList<>();
+        int length = query.length();
+        for (int i = 0; i < length; ) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int tokenEnd;
+            if (c == '-' && i + 1 < length && query.charAt(i + 1) == '-') {
+                tokenEnd = query.indexOf('\n', i);
+                i = tokenEnd < 0 ? length : tokenEnd + 1;
+                continue;
+            } else if (c == '/' && i + 1 < length && query.charAt(i + 1) == '*') {
+                tokenEnd = query.indexOf("*/", i + 2);
+                i = tokenEnd < 0 ? length : tokenEnd + 2;
+                continue;
+            } else if (c == '\'') {
+                tokenEnd = skipQuoted(query, i, '\'');
+                tokens.add(LITERAL_MARK);
+            } else if (c == '"' || c == '`') {
+                tokenEnd = skipQuoted(query, i, c);
+                tokens.add(query.substring(i, tokenEnd));
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(query.charAt(i + 1)))) {
+                tokenEnd = i + 1;
+                while (tokenEnd < length && (Character.isLetterOrDigit(query.charAt(tokenEnd)) || query.charAt(tokenEnd) == '.')) {
+                    tokenEnd++;
+                }
+                tokens.add(LITERAL_MARK);
+            } else if (Character.isLetter(c) || c == '_') {
+                tokenEnd = i + 1;
+                while (tokenEnd < length && isIdentifierPart(query.charAt(tokenEnd))) {
+                    tokenEnd++;
+                }
+                tokens.add(query.substring(i, tokenEnd).toLowerCase(Locale.ROOT));
+            } else {
+                tokenEnd = i + 1;
+                tokens.add(String.valueOf(c));
+            }
+            i = tokenEnd;
+        }
+        return tokens;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static int skipQuoted(@NotNull String query, int start, char quote) {
+        int length = query.length();
+        for (int i = start + 1; i < length; i++) {
+            if (query.charAt(i) == quote) {
+                if (i + 1 < length && query.charAt(i + 1) == quote) {
+                    // Escaped quote
+                    i++;
+                } else {
+                    return i + 1;
+                }
+            }
+        }
+        return length;
+    }
+
+    @NotNull
+    private static String getStatementType(@NotNull String normalized) {
+        int start = 0;
+        while (start < normalized.length() && !Character.isLetter(normalized.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < normalized.length() && Character.isLetter(normalized.charAt(end))) {
+            end++;
+        }
+        return end > start ? normalized.substring(start, end).toUpperCase(Locale.ROOT) : TYPE_OTHER;
+    }
+
+    /**
+     * Returns 64-bit FNV-1a hash of the text as a hex string.
+     * It is not a cryptographic hash, it only makes short stable ids.
+     */
+    @NotNull
+    public static String hash(@NotNull CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return String.format("%016x", hash);
+    }
+
+}
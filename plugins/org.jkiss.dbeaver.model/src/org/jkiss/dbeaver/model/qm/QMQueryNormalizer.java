@@ -0,0 +1,39 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.DBPDataSource;
+
+import java.util.List;
+
+/**
+ * Splits query text into fingerprint tokens.
+ * Implementation is provided as a service by the SQL model, tokens follow the data source dialect rules.
+ */
+public interface QMQueryNormalizer {
+
+    /**
+     * Returns query tokens without comments and whitespaces.
+     * Literals and parameters must be replaced with {@link QMQueryFingerprint#LITERAL_MARK},
+     * unquoted words are lower-cased.
+     */
+    @NotNull
+    List<String> tokenize(@Nullable DBPDataSource dataSource, @NotNull String query);
+
+}
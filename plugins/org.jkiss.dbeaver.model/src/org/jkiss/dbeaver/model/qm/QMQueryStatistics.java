@@ -0,0 +1,100 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.code.NotNull;
+
+/**
+ * Execution statistics of a query fingerprint.
+ * Times are in milliseconds.
+ */
+public class QMQueryStatistics {
+
+    @NotNull
+    private final QMQueryFingerprint fingerprint;
+    private final long overestimation;
+    private long count;
+    private long totalTime;
+    private long maxTime;
+    private long errorCount;
+
+    QMQueryStatistics(@NotNull QMQueryFingerprint fingerprint, long overestimation) {
+        this.fingerprint = fingerprint;
+        this.overestimation = overestimation;
+    }
+
+    QMQueryStatistics(@NotNull QMQueryStatistics source) {
+        this.fingerprint = source.fingerprint;
+        this.overestimation = source.overestimation;
+        this.count = source.count;
+        this.totalTime = source.totalTime;
+        this.maxTime = source.maxTime;
+        this.errorCount = source.errorCount;
+    }
+
+    void add(long duration, boolean error) {
+        count++;
+        totalTime += duration;
+        if (duration > maxTime) {
+            maxTime = duration;
+        }
+        if (error) {
+            errorCount++;
+        }
+    }
+
+    @NotNull
+    public QMQueryFingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Number of executions since the fingerprint was admitted to the statistics
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public long getMaxTime() {
+        return maxTime;
+    }
+
+    public double getMeanTime() {
+        return count == 0 ? 0 : (double) totalTime / count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Upper bound of the executions count (or total time) which could be missed before the fingerprint
+     * was admitted to the statistics. Zero means that statistics is exact.
+     */
+    public long getOverestimation() {
+        return overestimation;
+    }
+
+    @Override
+    public String toString() {
+        return fingerprint.getId() + " count=" + count + " total=" + totalTime + " max=" + maxTime;
+    }
+}
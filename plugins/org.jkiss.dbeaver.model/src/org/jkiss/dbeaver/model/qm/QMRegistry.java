@@ -17,6 +17,8 @@
 
 package org.jkiss.dbeaver.model.qm;
 
+import org.jkiss.code.Nullable;
+
 /**
  * Query manager controller
  */
@@ -36,4 +38,20 @@ public interface QMRegistry {
 
     void unregisterMetaListener(QMMetaListener metaListener);
 
+    /**
+     * Statement execution metrics or null if metrics collection is disabled
+     */
+    @Nullable
+    default QMMetrics getMetrics() {
+        return null;
+    }
+
+    /**
+     * Most frequent and slowest queries of the current session
+     */
+    @Nullable
+    default QMTopQueries getTopQueries() {
+        return null;
+    }
+
 }
@@ -0,0 +1,251 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBUtils;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMObject;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.CommonUtils;
+
+import java.util.*;
+
+/**
+ * Most frequent and slowest queries.
+ * <p>
+ * Statements are aggregated by query fingerprint in two bounded space-saving summaries:
+ * one is weighted by executions count, another by total execution time.
+ * Memory doesn't depend on the number of executions, each summary keeps at most {@code capacity} fingerprints.
+ * When a summary is full the lightest fingerprint is evicted and the new one inherits its weight as
+ * overestimation, so heavy fingerprints are never lost.
+ * <p>
+ * May be registered as a meta listener to collect statistics of a session or a task run.
+ * Statistics may be limited to queries of specific data sources.
+ */
+public class QMTopQueries implements QMMetaListener {
+
+    private static final Log log = Log.getLog(QMTopQueries.class);
+
+    public static final int DEFAULT_CAPACITY = 200;
+
+    private final Summary frequentQueries;
+    private final Summary slowQueries;
+    private final Map<String, DBPDataSourceContainer> dataSources = new HashMap<>();
+    @Nullable
+    private final Set<String> containerIds;
+    private long totalCount;
+    private long totalTime;
+
+    public QMTopQueries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public QMTopQueries(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param containerIds ids of data sources which queries are collected, null means all data sources
+     */
+    public QMTopQueries(int capacity, @Nullable Set<String> containerIds) {
+        this.frequentQueries = new Summary(capacity, false);
+        this.slowQueries = new Summary(capacity, true);
+        this.containerIds = containerIds == null ? null : Set.copyOf(containerIds);
+    }
+
+    @Override
+    public void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events) {
+        for (QMMetaEvent event : events) {
+            QMMObject object = event.getObject();
+            if (event.getAction() != QMEventAction.END || !(object instanceof QMMStatementExecuteInfo exec)) {
+                continue;
+            }
+            String query = exec.getQueryString();
+            if (CommonUtils.isEmpty(query) || query.isBlank()) {
+                continue;
+            }
+            if (containerIds != null && !containerIds.contains(exec.getConnection().getContainerId())) {
+                continue;
+            }
+            long duration = Math.max(exec.getCloseTime() - exec.getOpenTime(), 0);
+            record(getDataSource(exec.getConnection()), query, duration, exec.hasError());
+        }
+    }
+
+    /**
+     * Records query execution
+     *
+     * @param duration execution time in milliseconds
+     */
+    public void record(@Nullable DBPDataSource dataSource, @NotNull String query, long duration, boolean error) {
+        record(QMQueryFingerprint.of(dataSource, query), duration, error);
+    }
+
+    public synchronized void record(@NotNull QMQueryFingerprint fingerprint, long duration, boolean error) {
+        totalCount++;
+        totalTime += duration;
+        frequentQueries.record(fingerprint, duration, error);
+        slowQueries.record(fingerprint, duration, error);
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized long getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * Returns fingerprints with the highest executions count
+     */
+    @NotNull
+    public synchronized List<QMQueryStatistics> getMostFrequent(int maxResults) {
+        return frequentQueries.getTop(maxResults);
+    }
+
+    /**
+     * Returns fingerprints with the highest total execution time
+     */
+    @NotNull
+    public synchronized List<QMQueryStatistics> getSlowest(int maxResults) {
+        return slowQueries.getTop(maxResults);
+    }
+
+    public synchronized void reset() {
+        totalCount = 0;
+        totalTime = 0;
+        frequentQueries.clear();
+        slowQueries.clear();
+    }
+
+    /**
+     * Formats human-readable report of the slowest and most frequent queries
+     */
+    @NotNull
+    public String formatReport(int maxResults) {
+        StringBuilder report = new StringBuilder();
+        synchronized (this) {
+            report.append(String.format("Queries: %d, total time: %d ms%n", totalCount, totalTime));
+        }
+        formatSection(report, "Slowest queries (by total time)", getSlowest(maxResults));
+        formatSection(report, "Most frequent queries", getMostFrequent(maxResults));
+        return report.toString();
+    }
+
+    private static void formatSection(@NotNull StringBuilder report, @NotNull String title, @NotNull List<QMQueryStatistics> statistics) {
+        if (statistics.isEmpty()) {
+            return;
+        }
+        report.append(title).append(':').append(System.lineSeparator());
+        report.append(String.format("%10s %12s %10s %10s %8s  %s%n", "Count", "Total ms", "Mean ms", "Max ms", "Errors", "Query"));
+        for (QMQueryStatistics stat : statistics) {
+            report.append(String.format(
+                "%10d %12d %10.1f %10d %8d  %s%n",
+                stat.getCount(),
+                stat.getTotalTime(),
+                stat.getMeanTime(),
+                stat.getMaxTime(),
+                stat.getErrorCount(),
+                CommonUtils.truncateString(stat.getFingerprint().getText(), 200)));
+        }
+    }
+
+    @Nullable
+    private DBPDataSource getDataSource(@NotNull QMMConnectionInfo connection) {
+        String containerId = connection.getContainerId();
+        DBPDataSourceContainer container;
+        synchronized (dataSources) {
+            if (dataSources.containsKey(containerId)) {
+                container = dataSources.get(containerId);
+            } else {
+                try {
+                    container = DBUtils.findDataSource(
+                        connection.getProjectInfo() == null ? null : connection.getProjectInfo().getName(),
+                        containerId);
+                } catch (Exception e) {
+                    log.debug("Can't find data source '" + containerId + "': " + e.getMessage());
+                    container = null;
+                }
+                dataSources.put(containerId, container);
+            }
+        }
+        // Dialect rules are available for connected data sources only
+        return container == null ? null : container.getDataSource();
+    }
+
+    private static class Summary {
+        private final int capacity;
+        private final boolean byTime;
+        private final Map<String, QMQueryStatistics> entries = new HashMap<>();
+        private final TreeSet<QMQueryStatistics> order;
+
+        Summary(int capacity, boolean byTime) {
+            this.capacity = capacity;
+            this.byTime = byTime;
+            this.order = new TreeSet<>(
+                Comparator.comparingLong(this::getWeight)
+                    .thenComparing(stat -> stat.getFingerprint().getId()));
+        }
+
+        private long getWeight(@NotNull QMQueryStatistics stat) {
+            return (byTime ? stat.getTotalTime() : stat.getCount()) + stat.getOverestimation();
+        }
+
+        void record(@NotNull QMQueryFingerprint fingerprint, long duration, boolean error) {
+            QMQueryStatistics stat = entries.get(fingerprint.getId());
+            if (stat != null) {
+                // Weight changes, so entry must be re-inserted
+                order.remove(stat);
+            } else {
+                long overestimation = 0;
+                if (entries.size() >= capacity) {
+                    QMQueryStatistics lightest = order.pollFirst();
+                    if (lightest != null) {
+                        entries.remove(lightest.getFingerprint().getId());
+                        overestimation = getWeight(lightest);
+                    }
+                }
+                stat = new QMQueryStatistics(fingerprint, overestimation);
+                entries.put(fingerprint.getId(), stat);
+            }
+            stat.add(duration, error);
+            order.add(stat);
+        }
+
+        @NotNull
+        List<QMQueryStatistics> getTop(int maxResults) {
+            List<QMQueryStatistics> result = new ArrayList<>(Math.min(maxResults, entries.size()));
+            for (Iterator<QMQueryStatistics> iter = order.descendingIterator(); iter.hasNext() && result.size() < maxResults; ) {
+                result.add(new QMQueryStatistics(iter.next()));
+            }
+            return result;
+        }
+
+        void clear() {
+            entries.clear();
+            order.clear();
+        }
+    }
+
+}
@@ -90,6 +90,22 @@ public class QMUtils {
         return application.getQueryManager().getEventBrowser(currentSessionOnly);
     }
 
+    @Nullable
+    public static QMMetrics getMetrics() {
+        if (application == null) {
+            return null;
+        }
+        return application.getQueryManager().getMetrics();
+    }
+
+    @Nullable
+    public static QMTopQueries getTopQueries() {
+        if (application == null) {
+            return null;
+        }
+        return application.getQueryManager().getTopQueries();
+    }
+
     public static boolean isTransactionActive(DBCExecutionContext executionContext) {
         return isTransactionActive(executionContext, true);
     }
@@ -41,6 +41,13 @@ public class QMMTransactionInfo extends QMMObject {
         this.previous = null;
     }
 
+    public QMMTransactionInfo(QMMConnectionInfo connection, long openTime, long closeTime, boolean committed) {
+        super(QMMetaObjectType.TRANSACTION_INFO, openTime, closeTime);
+        this.connection = connection;
+        this.previous = null;
+        this.committed = committed;
+    }
+
     void commit() {
         this.committed = true;
         for (QMMTransactionSavepointInfo sp = savepointStack; sp != null; sp = sp.getPrevious()) {
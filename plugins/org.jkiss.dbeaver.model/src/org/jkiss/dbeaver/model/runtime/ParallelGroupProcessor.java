@@ -0,0 +1,117 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes groups of items on parallel workers.
+ * Items of one group are processed sequentially by the same worker (e.g. objects of the same connection),
+ * different groups are processed concurrently.
+ * Each worker uses its own {@link WorkerProgressMonitor}, the calling thread reports progress of processed items
+ * to the parent monitor and cancels workers when the parent monitor is canceled.
+ */
+public final class ParallelGroupProcessor {
+
+    private static final Log log = Log.getLog(ParallelGroupProcessor.class);
+
+    private static final long POLL_PERIOD = 100;
+
+    public interface ItemProcessor<T> {
+        void processItem(@NotNull DBRProgressMonitor monitor, @NotNull T item) throws Exception;
+    }
+
+    private ParallelGroupProcessor() {
+    }
+
+    /**
+     * Processes all groups and waits until workers are finished.
+     * Errors of item processing are logged, remaining items are processed anyway.
+     *
+     * @param workerCount maximum count of concurrent workers
+     * @return count of processed items
+     */
+    public static <T> int processGroups(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull ExecutorService executor,
+        int workerCount,
+        @NotNull Collection<? extends List<T>> groups,
+        @NotNull ItemProcessor<T> processor
+    ) {
+        final Queue<List<T>> queue = new ConcurrentLinkedQueue<>(groups);
+        final Set<WorkerProgressMonitor> workerMonitors = ConcurrentHashMap.newKeySet();
+        final AtomicInteger processedCount = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < Math.min(workerCount, groups.size()); i++) {
+            futures.add(executor.submit(() -> {
+                WorkerProgressMonitor workerMonitor = new WorkerProgressMonitor(monitor);
+                workerMonitors.add(workerMonitor);
+                try {
+                    for (List<T> group = queue.poll(); group != null; group = queue.poll()) {
+                        for (T item : group) {
+                            if (workerMonitor.isCanceled()) {
+                                return;
+                            }
+                            try {
+                                processor.processItem(workerMonitor, item);
+                            } catch (Throwable e) {
+                                log.debug("Error processing " + item, e);
+                            }
+                            processedCount.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    workerMonitors.remove(workerMonitor);
+                }
+            }));
+        }
+        int reportedCount = 0;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get(POLL_PERIOD, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    if (monitor.isCanceled()) {
+                        for (WorkerProgressMonitor workerMonitor : workerMonitors) {
+                            workerMonitor.cancel();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return processedCount.get();
+                } catch (Exception e) {
+                    log.debug("Parallel worker error", e);
+                    break;
+                } finally {
+                    int count = processedCount.get();
+                    if (count > reportedCount) {
+                        monitor.worked(count - reportedCount);
+                        reportedCount = count;
+                    }
+                }
+            }
+        }
+        return processedCount.get();
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress monitor of a parallel worker thread.
+ * Progress monitors are not thread-safe, so each worker gets its own monitor with its own task and blocking state.
+ * Worker monitor never modifies the parent monitor. It only reads the parent cancel state,
+ * the thread which owns the parent monitor reports progress and calls {@link #cancel()} when it is canceled.
+ */
+public class WorkerProgressMonitor extends BaseProgressMonitor {
+
+    private static final Log log = Log.getLog(WorkerProgressMonitor.class);
+
+    @NotNull
+    private final DBRProgressMonitor parent;
+    private final List<DBRBlockingObject> blocks = new ArrayList<>();
+    private volatile boolean canceled;
+
+    public WorkerProgressMonitor(@NotNull DBRProgressMonitor parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled || parent.isCanceled();
+    }
+
+    @Override
+    public boolean isForceCacheUsage() {
+        return parent.isForceCacheUsage();
+    }
+
+    @Override
+    public synchronized void startBlock(DBRBlockingObject object, String taskName) {
+        blocks.add(object);
+    }
+
+    @Override
+    public synchronized void endBlock() {
+        if (blocks.isEmpty()) {
+            log.warn("End block invoked while no blocking objects are in stack"); //$NON-NLS-1$
+            return;
+        }
+        blocks.remove(blocks.size() - 1);
+    }
+
+    @Override
+    public synchronized List<DBRBlockingObject> getActiveBlocks() {
+        return blocks.isEmpty() ? null : new ArrayList<>(blocks);
+    }
+
+    /**
+     * Marks worker as canceled and cancels its innermost active block (e.g. running statement)
+     */
+    public void cancel() {
+        if (canceled) {
+            return;
+        }
+        canceled = true;
+        DBRBlockingObject lastBlock;
+        synchronized (this) {
+            lastBlock = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        }
+        if (lastBlock != null) {
+            try {
+                BlockCanceler.cancelBlock(this, lastBlock);
+            } catch (DBException e) {
+                log.debug("Block cancel error", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects durations of application startup phases.
+ * <p>
+ * Phases with the same name are accumulated (e.g. registry load of each project).
+ * Report is written to the log once the workbench is started, after that phases are not tracked anymore.
+ */
+public final class StartupTracer {
+
+    private static final Log log = Log.getLog(StartupTracer.class);
+
+    public static final String PHASE_PLATFORM_INIT = "Platform initialization";
+    public static final String PHASE_APPLICATION_INIT = "Application initialization";
+    public static final String PHASE_REGISTRY_LOAD = "Data source registry load";
+    public static final String PHASE_CONFIG_PARSE = "Data source configuration parse";
+    public static final String PHASE_CREDENTIALS_READ = "Credentials decryption";
+    public static final String PHASE_DATASOURCE_HYDRATE = "Data source hydration";
+    public static final String PHASE_WORKBENCH_START = "Workbench start";
+
+    /**
+     * Running phase. Must be closed to record its duration.
+     */
+    public interface Phase extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Phase NO_PHASE = () -> {};
+
+    private static class PhaseStat {
+        int count;
+        long totalTime;
+        long maxTime;
+    }
+
+    private static final Map<String, PhaseStat> phases = new LinkedHashMap<>();
+    private static volatile boolean finished;
+
+    private StartupTracer() {
+    }
+
+    public static boolean isActive() {
+        return !finished;
+    }
+
+    /**
+     * Starts new phase. Use it in try-with-resources block.
+     */
+    @NotNull
+    public static Phase startPhase(@NotNull String name) {
+        if (finished) {
+            return NO_PHASE;
+        }
+        long startTime = System.nanoTime();
+        return () -> addPhase(name, System.nanoTime() - startTime);
+    }
+
+    public static void addPhase(@NotNull String name, long durationNanos) {
+        if (finished) {
+            return;
+        }
+        synchronized (phases) {
+            PhaseStat stat = phases.computeIfAbsent(name, n -> new PhaseStat());
+            stat.count++;
+            stat.totalTime += durationNanos;
+            stat.maxTime = Math.max(stat.maxTime, durationNanos);
+        }
+    }
+
+    /**
+     * Returns startup report. Each line contains phase name, total time and number of phase runs.
+     */
+    @NotNull
+    public static String getReport() {
+        StringBuilder report = new StringBuilder();
+        synchronized (phases) {
+            for (Map.Entry<String, PhaseStat> entry : phases.entrySet()) {
+                PhaseStat stat = entry.getValue();
+                report.append("\n\t").append(entry.getKey()).append(": ").append(stat.totalTime / 1000000).append("ms");
+                if (stat.count > 1) {
+                    report.append(" (").append(stat.count).append(" times, max ").append(stat.maxTime / 1000000).append("ms)");
+                }
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to the log and stops tracking
+     *
+     * @param totalTime time passed since application start
+     */
+    public static void finish(long totalTime) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        log.debug("Startup completed in " + totalTime + "ms:" + getReport());
+        synchronized (phases) {
+            phases.clear();
+        }
+    }
+
+}
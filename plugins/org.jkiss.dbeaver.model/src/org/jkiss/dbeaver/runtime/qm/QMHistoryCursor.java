@@ -0,0 +1,220 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.qm.QMEventCursor;
+import org.jkiss.dbeaver.model.qm.QMEventFilter;
+import org.jkiss.dbeaver.model.qm.QMMetaEventEntity;
+import org.jkiss.dbeaver.model.qm.meta.QMMObject;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * Query history store cursor.
+ * Events are read lazily, segment by segment. Index lookup is performed when cursor enters the segment.
+ * Compaction may close cursor segments, then the cursor continues in the segment which contains
+ * the next event now (e.g. the merged one) and skips events which were already read.
+ */
+class QMHistoryCursor implements QMEventCursor {
+
+    @NotNull
+    private final QMHistoryQuery query;
+    @Nullable
+    private final QMEventFilter filter;
+    // Segments in the cursor order
+    @NotNull
+    private final List<QMHistorySegment> segments;
+    // Finds the current segment of the event id
+    @NotNull
+    private final LongFunction<QMHistorySegment> segmentResolver;
+
+    private int segmentIndex = -1;
+    private QMHistorySegment segment;
+    private BitSet candidates;
+    private int ordinal;
+    private QMMetaEventEntity nextEvent;
+    // Id of the last read event or -1
+    private long lastEventId = -1;
+    private long totalSize = -1;
+
+    QMHistoryCursor(
+        @NotNull QMHistoryQuery query,
+        @Nullable QMEventFilter filter,
+        @NotNull List<QMHistorySegment> segments,
+        @NotNull LongFunction<QMHistorySegment> segmentResolver
+    ) {
+        this.query = query;
+        this.filter = filter;
+        this.segments = segments;
+        this.segmentResolver = segmentResolver;
+    }
+
+    /**
+     * Returns number of events matching the index.
+     * Search string and event filter are checked during the cursor scroll, so the actual number may be less.
+     */
+    @Override
+    public long getTotalSize() {
+        if (totalSize < 0) {
+            long size = 0;
+            Set<QMHistorySegment> countedSegments = new HashSet<>();
+            for (QMHistorySegment segment : segments) {
+                QMHistorySegment current = segment.isClosed() ? segmentResolver.apply(segment.getFirstEventId()) : segment;
+                if (current != null && countedSegments.add(current)) {
+                    size += current.findCandidates(query).cardinality();
+                }
+            }
+            totalSize = size;
+        }
+        return totalSize;
+    }
+
+    @Override
+    public void scroll(int position, DBRProgressMonitor monitor) throws DBException {
+        if (position < 0) {
+            throw new DBException("Position is out of range (" + position + ")");
+        }
+        segmentIndex = -1;
+        segment = null;
+        candidates = null;
+        nextEvent = null;
+        lastEventId = -1;
+        for (int i = 0; i < position; i++) {
+            if (!hasNextEvent(monitor)) {
+                throw new DBException("Position is out of range (" + position + ")");
+            }
+            nextEvent = null;
+        }
+    }
+
+    @Override
+    public boolean hasNextEvent(DBRProgressMonitor monitor) throws DBException {
+        if (nextEvent == null) {
+            nextEvent = fetchNextEvent(monitor);
+        }
+        return nextEvent != null;
+    }
+
+    @Override
+    public QMMetaEventEntity nextEvent(DBRProgressMonitor monitor) throws DBException {
+        if (!hasNextEvent(monitor)) {
+            throw new DBException("No more events in query history");
+        }
+        QMMetaEventEntity event = nextEvent;
+        nextEvent = null;
+        return event;
+    }
+
+    @Nullable
+    private QMMetaEventEntity fetchNextEvent(@NotNull DBRProgressMonitor monitor) throws DBException {
+        while (!monitor.isCanceled()) {
+            if (candidates == null || ordinal < 0) {
+                if (!nextSegment()) {
+                    return null;
+                }
+                continue;
+            }
+            int current = ordinal;
+            ordinal = query.desc ? candidates.previousSetBit(current - 1) : candidates.nextSetBit(current + 1);
+            QMHistoryRecord record;
+            try {
+                record = segment.readEvent(current);
+            } catch (IOException e) {
+                throw new DBException("Error reading query history", e);
+            }
+            if (record == null) {
+                // Segment was closed by compaction
+                enterSegment(segmentResolver.apply(segment.getFirstEventId() + current));
+                continue;
+            }
+            lastEventId = record.eventId;
+            QMHistoryRecord.Connection connection = segment.getConnection(record.connectionIndex);
+            if (!query.matchesText(record.getText(connection))) {
+                continue;
+            }
+            QMMObject object = record.createObject(connection);
+            QMMetaEventEntity event = new QMMetaEventEntity(object, record.action, record.eventId, record.sessionId, null);
+            if (filter != null && !filter.accept(event)) {
+                continue;
+            }
+            return event;
+        }
+        return null;
+    }
+
+    private boolean nextSegment() {
+        while (++segmentIndex < segments.size()) {
+            QMHistorySegment next = segments.get(segmentIndex);
+            if (next.isClosed()) {
+                // Merged or removed by compaction
+                next = segmentResolver.apply(next.getFirstEventId());
+            }
+            if (enterSegment(next)) {
+                return true;
+            }
+        }
+        segment = null;
+        candidates = null;
+        return false;
+    }
+
+    /**
+     * @return false if the segment has no unread candidates
+     */
+    private boolean enterSegment(@Nullable QMHistorySegment newSegment) {
+        segment = newSegment;
+        candidates = newSegment == null ? null : newSegment.findCandidates(query);
+        if (candidates == null) {
+            return false;
+        }
+        if (lastEventId >= 0) {
+            // Merged segment may contain events which were already read
+            int length = candidates.length();
+            long lastOrdinal = lastEventId - newSegment.getFirstEventId();
+            if (query.desc) {
+                if (lastOrdinal < length) {
+                    candidates.clear((int) Math.max(0, lastOrdinal), length);
+                }
+            } else if (lastOrdinal >= 0) {
+                candidates.clear(0, (int) Math.min(lastOrdinal + 1, length));
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = null;
+            return false;
+        }
+        ordinal = query.desc ? candidates.length() - 1 : candidates.nextSetBit(0);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        segment = null;
+        candidates = null;
+        nextEvent = null;
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.QMObjectType;
+import org.jkiss.dbeaver.model.qm.filters.QMDateRange;
+import org.jkiss.dbeaver.model.qm.filters.QMEventCriteria;
+import org.jkiss.dbeaver.model.qm.filters.QMEventStatus;
+import org.jkiss.dbeaver.model.qm.meta.QMMetaObjectType;
+import org.jkiss.utils.CommonUtils;
+
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Query history criteria prepared for the segment index lookup
+ */
+class QMHistoryQuery {
+
+    /**
+     * Alphanumeric part of the search string.
+     * Parts in the middle of the search string must match whole tokens,
+     * the first part may be a token suffix and the last one may be a token prefix.
+     */
+    static class SearchTerm {
+        @NotNull
+        final String text;
+        final boolean tokenStart;
+        final boolean tokenEnd;
+
+        SearchTerm(@NotNull String text, boolean tokenStart, boolean tokenEnd) {
+            this.text = text;
+            this.tokenStart = tokenStart;
+            this.tokenEnd = tokenEnd;
+        }
+
+        boolean isExact() {
+            return tokenStart && tokenEnd;
+        }
+
+        boolean matches(@NotNull String token) {
+            if (tokenStart) {
+                return tokenEnd ? token.equals(text) : token.startsWith(text);
+            } else {
+                return tokenEnd ? token.endsWith(text) : token.contains(text);
+            }
+        }
+    }
+
+    long fromTime = Long.MIN_VALUE;
+    long toTime = Long.MAX_VALUE;
+    // Event ids are used for paging
+    long minEventId = Long.MIN_VALUE;
+    long maxEventId = Long.MAX_VALUE;
+    final boolean desc;
+    @Nullable
+    private final boolean[] objectTypes;
+    @Nullable
+    private final boolean[] purposes;
+    @Nullable
+    private final Boolean failed;
+    private final boolean skipEmptyQueries;
+    @NotNull
+    private final Set<String> dataSourceIds;
+    @NotNull
+    private final Set<String> driverIds;
+    @NotNull
+    private final Set<String> projectIds;
+    @Nullable
+    final String searchString;
+    @NotNull
+    final List<SearchTerm> searchTerms;
+
+    QMHistoryQuery(@NotNull QMEventCriteria criteria) {
+        QMDateRange dateRange = criteria.getDateRange();
+        if (dateRange != null) {
+            if (dateRange.getFrom() != null) {
+                fromTime = dateRange.getFrom().toInstant(ZoneOffset.UTC).toEpochMilli();
+            }
+            if (dateRange.getTo() != null) {
+                toTime = dateRange.getTo().toInstant(ZoneOffset.UTC).toEpochMilli();
+            }
+        }
+        desc = criteria.isDesc();
+        if (criteria.hasLastEventId()) {
+            if (desc) {
+                maxEventId = criteria.getLastEventId() - 1;
+            } else {
+                minEventId = criteria.getLastEventId() + 1;
+            }
+        }
+
+        QMObjectType[] criteriaObjectTypes = criteria.getObjectTypes();
+        if (criteriaObjectTypes != null && criteriaObjectTypes.length > 0) {
+            objectTypes = new boolean[QMMetaObjectType.values().length];
+            for (QMObjectType type : criteriaObjectTypes) {
+                switch (type) {
+                    case session -> objectTypes[QMMetaObjectType.CONNECTION_INFO.ordinal()] = true;
+                    case txn -> {
+                        objectTypes[QMMetaObjectType.TRANSACTION_INFO.ordinal()] = true;
+                        objectTypes[QMMetaObjectType.TRANSACTION_SAVEPOINT_INFO.ordinal()] = true;
+                    }
+                    case query -> {
+                        objectTypes[QMMetaObjectType.STATEMENT_INFO.ordinal()] = true;
+                        objectTypes[QMMetaObjectType.STATEMENT_EXECUTE_INFO.ordinal()] = true;
+                    }
+                }
+            }
+        } else {
+            objectTypes = null;
+        }
+        DBCExecutionPurpose[] queryTypes = criteria.getQueryTypes();
+        if (queryTypes != null && queryTypes.length > 0) {
+            purposes = new boolean[DBCExecutionPurpose.values().length];
+            for (DBCExecutionPurpose purpose : queryTypes) {
+                purposes[purpose.ordinal()] = true;
+            }
+        } else {
+            purposes = null;
+        }
+        if (criteria.hasEventStatuses()) {
+            failed = criteria.getEventStatuses().contains(QMEventStatus.FAILED);
+        } else {
+            failed = null;
+        }
+        skipEmptyQueries = criteria.isSkipEmptyQueries();
+        dataSourceIds = criteria.getDataSourceIds();
+        driverIds = criteria.getDriverIds();
+        projectIds = criteria.getProjectIds();
+
+        if (CommonUtils.isEmpty(criteria.getSearchString())) {
+            searchString = null;
+            searchTerms = Collections.emptyList();
+        } else {
+            searchString = criteria.getSearchString().toLowerCase(Locale.ROOT);
+            searchTerms = parseSearchTerms(searchString);
+        }
+    }
+
+    @NotNull
+    private static List<SearchTerm> parseSearchTerms(@NotNull String searchString) {
+        List<SearchTerm> terms = new ArrayList<>();
+        int length = searchString.length();
+        for (int i = 0; i < length; ) {
+            if (!QMHistorySegment.isTokenChar(searchString.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && QMHistorySegment.isTokenChar(searchString.charAt(i))) {
+                i++;
+            }
+            terms.add(new SearchTerm(searchString.substring(start, i), start > 0, i < length));
+        }
+        return terms;
+    }
+
+    boolean hasSearchTerms() {
+        return !searchTerms.isEmpty();
+    }
+
+    boolean matchesEventIds(long firstEventId, long lastEventId) {
+        return lastEventId >= minEventId && firstEventId <= maxEventId;
+    }
+
+    boolean matchesConnection(@NotNull QMHistoryRecord.Connection connection) {
+        return (dataSourceIds.isEmpty() || dataSourceIds.contains(connection.containerId)) &&
+            (driverIds.isEmpty() || driverIds.contains(connection.driverId)) &&
+            (projectIds.isEmpty() || projectIds.contains(connection.projectId));
+    }
+
+    boolean matchesEvent(long eventId, long time, byte type, byte purpose, byte flags) {
+        if (eventId < minEventId || eventId > maxEventId || time < fromTime || time > toTime) {
+            return false;
+        }
+        if (objectTypes != null && !objectTypes[type]) {
+            return false;
+        }
+        if (type == QMMetaObjectType.STATEMENT_EXECUTE_INFO.ordinal()) {
+            if (purposes != null && purpose >= 0 && !purposes[purpose]) {
+                return false;
+            }
+            if (skipEmptyQueries && (flags & QMHistorySegment.FLAG_EMPTY_TEXT) != 0) {
+                return false;
+            }
+        }
+        if (failed != null && failed != ((flags & QMHistorySegment.FLAG_ERROR) != 0)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the whole search string as the index matches separate terms only
+     */
+    boolean matchesText(@NotNull String text) {
+        return searchString == null || text.toLowerCase(Locale.ROOT).contains(searchString);
+    }
+
+}
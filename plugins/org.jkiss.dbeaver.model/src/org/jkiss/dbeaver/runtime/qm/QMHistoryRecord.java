@@ -0,0 +1,357 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.QMEventAction;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.meta.*;
+import org.jkiss.utils.CommonUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Query history record.
+ * <p>
+ * Records are stored in history segments. Each segment record is prefixed with its length and kind.
+ * Connection records define connections of the segment, event records refer to them by the connection index.
+ */
+class QMHistoryRecord {
+
+    static final byte KIND_CONNECTION = 1;
+    static final byte KIND_EVENT = 2;
+    // Sanity limit, larger lengths mean broken segment
+    static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Connection (execution context) of history events
+     */
+    static class Connection {
+        String containerId;
+        String containerName;
+        String driverId;
+        String contextName;
+        String instanceId;
+        String projectId;
+        String projectName;
+        String projectPath;
+        String connectionUrl;
+        String userName;
+        boolean transactional;
+
+        private transient QMMConnectionInfo connectionInfo;
+
+        Connection() {
+        }
+
+        Connection(@NotNull QMMConnectionInfo info) {
+            containerId = info.getContainerId();
+            containerName = info.getContainerName();
+            driverId = info.getDriverId();
+            contextName = info.getContextName();
+            instanceId = info.getInstanceId();
+            QMMProjectInfo projectInfo = info.getProjectInfo();
+            if (projectInfo != null) {
+                projectId = projectInfo.getId();
+                projectName = projectInfo.getName();
+                projectPath = projectInfo.getPath();
+            }
+            connectionUrl = info.getConnectionUrl();
+            userName = info.getConnectionUserName();
+            transactional = info.isTransactional();
+        }
+
+        /**
+         * Connections with the same key share the same connection record in the segment
+         */
+        @NotNull
+        String getKey() {
+            return containerId + '\n' + contextName + '\n' + instanceId + '\n' + projectId + '\n' +
+                connectionUrl + '\n' + userName + '\n' + transactional;
+        }
+
+        @NotNull
+        String getText() {
+            return containerName + " - " + contextName;
+        }
+
+        @NotNull
+        synchronized QMMConnectionInfo getConnectionInfo() {
+            if (connectionInfo == null) {
+                connectionInfo = createConnectionInfo(0, 0);
+            }
+            return connectionInfo;
+        }
+
+        @NotNull
+        QMMConnectionInfo createConnectionInfo(long openTime, long closeTime) {
+            return QMMConnectionInfo.builder()
+                .setProjectInfo(QMMProjectInfo.builder()
+                    .setId(projectId)
+                    .setName(projectName)
+                    .setPath(projectPath)
+                    .build())
+                .setContainerId(containerId)
+                .setContainerName(containerName)
+                .setDriverId(driverId)
+                .setContextName(contextName)
+                .setInstanceId(instanceId)
+                .setConnectionUrl(connectionUrl)
+                .setConnectionUserName(userName)
+                .setTransactional(transactional)
+                .setOpenTime(openTime)
+                .setCloseTime(closeTime)
+                .build();
+        }
+
+        void write(@NotNull DataOutput out) throws IOException {
+            writeString(out, containerId);
+            writeString(out, containerName);
+            writeString(out, driverId);
+            writeString(out, contextName);
+            writeString(out, instanceId);
+            writeString(out, projectId);
+            writeString(out, projectName);
+            writeString(out, projectPath);
+            writeString(out, connectionUrl);
+            writeString(out, userName);
+            out.writeBoolean(transactional);
+        }
+
+        @NotNull
+        static Connection read(@NotNull DataInput in) throws IOException {
+            Connection connection = new Connection();
+            connection.containerId = readString(in);
+            connection.containerName = readString(in);
+            connection.driverId = readString(in);
+            connection.contextName = readString(in);
+            connection.instanceId = readString(in);
+            connection.projectId = readString(in);
+            connection.projectName = readString(in);
+            connection.projectPath = readString(in);
+            connection.connectionUrl = readString(in);
+            connection.userName = readString(in);
+            connection.transactional = in.readBoolean();
+            return connection;
+        }
+    }
+
+    long eventId;
+    QMMetaObjectType objectType;
+    QMEventAction action;
+    int connectionIndex;
+    long openTime;
+    long closeTime;
+    String sessionId;
+    // Transaction
+    boolean committed;
+    // Statement execution
+    DBCExecutionPurpose purpose;
+    String queryString;
+    long fetchRowCount;
+    int errorCode;
+    String errorMessage;
+    long fetchBeginTime;
+    long fetchEndTime;
+    boolean transactional;
+    String schema;
+    String catalog;
+
+    /**
+     * Only finished executions, transactions and sessions are stored.
+     * Statements and savepoints don't have own text and are not shown in the query log.
+     */
+    static boolean isStored(@NotNull QMMetaEvent event) {
+        QMMObject object = event.getObject();
+        if (object instanceof QMMStatementExecuteInfo) {
+            return event.getAction() == QMEventAction.END;
+        }
+        return object instanceof QMMConnectionInfo || object instanceof QMMTransactionInfo;
+    }
+
+    /**
+     * Creates record from the meta event. Meta objects are mutable, so the record must be created right after
+     * the event dispatch.
+     */
+    @NotNull
+    static QMHistoryRecord fromEvent(@NotNull QMMetaEvent event) {
+        QMHistoryRecord record = new QMHistoryRecord();
+        QMMObject object = event.getObject();
+        record.objectType = object.getObjectType();
+        record.action = event.getAction();
+        record.openTime = object.getOpenTime();
+        record.closeTime = object.getCloseTime();
+        record.sessionId = event.getSessionId();
+        if (object instanceof QMMTransactionInfo transactionInfo) {
+            record.committed = transactionInfo.isCommitted();
+        } else if (object instanceof QMMStatementExecuteInfo executeInfo) {
+            record.purpose = executeInfo.getStatement().getPurpose();
+            record.queryString = executeInfo.getQueryString();
+            record.fetchRowCount = executeInfo.getFetchRowCount();
+            record.errorCode = executeInfo.getErrorCode();
+            record.errorMessage = executeInfo.getErrorMessage();
+            record.fetchBeginTime = executeInfo.getFetchBeginTime();
+            record.fetchEndTime = executeInfo.getFetchEndTime();
+            record.transactional = executeInfo.isTransactional();
+            record.schema = executeInfo.getSchema();
+            record.catalog = executeInfo.getCatalog();
+        }
+        return record;
+    }
+
+    boolean isExecution() {
+        return objectType == QMMetaObjectType.STATEMENT_EXECUTE_INFO;
+    }
+
+    boolean hasError() {
+        return errorCode != 0 || errorMessage != null;
+    }
+
+    /**
+     * Returns the same text as {@link QMMObject#getText()} of the original object
+     */
+    @NotNull
+    String getText(@NotNull Connection connection) {
+        return isExecution() ? CommonUtils.notEmpty(queryString) : connection.getText();
+    }
+
+    @NotNull
+    QMMObject createObject(@NotNull Connection connection) {
+        switch (objectType) {
+            case STATEMENT_EXECUTE_INFO: {
+                QMMStatementInfo statementInfo = new QMMStatementInfo(
+                    openTime, closeTime, connection.getConnectionInfo(), purpose);
+                return new QMMStatementExecuteInfo(
+                    openTime,
+                    closeTime,
+                    statementInfo,
+                    queryString,
+                    fetchRowCount,
+                    errorCode,
+                    errorMessage,
+                    fetchBeginTime,
+                    fetchEndTime,
+                    transactional,
+                    schema,
+                    catalog);
+            }
+            case TRANSACTION_INFO:
+                return new QMMTransactionInfo(connection.getConnectionInfo(), openTime, closeTime, committed);
+            default:
+                return connection.createConnectionInfo(openTime, closeTime);
+        }
+    }
+
+    void write(@NotNull DataOutput out) throws IOException {
+        out.writeLong(eventId);
+        out.writeByte(objectType.ordinal());
+        out.writeByte(action.getId());
+        out.writeInt(connectionIndex);
+        out.writeLong(openTime);
+        out.writeLong(closeTime);
+        writeString(out, sessionId);
+        switch (objectType) {
+            case TRANSACTION_INFO:
+                out.writeBoolean(committed);
+                break;
+            case STATEMENT_EXECUTE_INFO:
+                out.writeByte(purpose == null ? -1 : purpose.ordinal());
+                writeString(out, queryString);
+                out.writeLong(fetchRowCount);
+                out.writeInt(errorCode);
+                writeString(out, errorMessage);
+                out.writeLong(fetchBeginTime);
+                out.writeLong(fetchEndTime);
+                out.writeBoolean(transactional);
+                writeString(out, schema);
+                writeString(out, catalog);
+                break;
+            default:
+                break;
+        }
+    }
+
+    @NotNull
+    static QMHistoryRecord read(@NotNull DataInput in) throws IOException {
+        QMHistoryRecord record = new QMHistoryRecord();
+        record.eventId = in.readLong();
+        int typeIndex = in.readByte();
+        QMMetaObjectType[] types = QMMetaObjectType.values();
+        if (typeIndex < 0 || typeIndex >= types.length) {
+            throw new IOException("Bad history record object type: " + typeIndex);
+        }
+        record.objectType = types[typeIndex];
+        record.action = QMEventAction.getById(in.readByte());
+        record.connectionIndex = in.readInt();
+        record.openTime = in.readLong();
+        record.closeTime = in.readLong();
+        record.sessionId = readString(in);
+        switch (record.objectType) {
+            case TRANSACTION_INFO:
+                record.committed = in.readBoolean();
+                break;
+            case STATEMENT_EXECUTE_INFO:
+                int purposeIndex = in.readByte();
+                DBCExecutionPurpose[] purposes = DBCExecutionPurpose.values();
+                record.purpose = purposeIndex >= 0 && purposeIndex < purposes.length ? purposes[purposeIndex] : DBCExecutionPurpose.USER;
+                record.queryString = readString(in);
+                record.fetchRowCount = in.readLong();
+                record.errorCode = in.readInt();
+                record.errorMessage = readString(in);
+                record.fetchBeginTime = in.readLong();
+                record.fetchEndTime = in.readLong();
+                record.transactional = in.readBoolean();
+                record.schema = readString(in);
+                record.catalog = readString(in);
+                break;
+            default:
+                break;
+        }
+        return record;
+    }
+
+    // Unlike DataOutput.writeUTF strings are not limited by 64K (query texts may be huge)
+    private static void writeString(@NotNull DataOutput out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readString(@NotNull DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_RECORD_SIZE) {
+            throw new IOException("Bad history string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
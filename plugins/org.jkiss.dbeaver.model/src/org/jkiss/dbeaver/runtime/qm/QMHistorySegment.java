@@ -0,0 +1,529 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Append-only query history segment.
+ * <p>
+ * Segment file contains a header and a sequence of records (see {@link QMHistoryRecord}).
+ * Event ids of the segment are contiguous, starting from the id in the header.
+ * Segment index is kept in memory and is rebuilt on segment open:
+ * <ul>
+ *     <li>per-event columns (offset, time, connection, type, purpose and status) are scanned without disk access</li>
+ *     <li>connections are dictionary encoded, so data source, driver and project filters check only the segment connections</li>
+ *     <li>event texts are split into tokens, each token refers to the list of events containing it</li>
+ * </ul>
+ * Disk is read only for candidate events matching the index.
+ */
+class QMHistorySegment {
+
+    private static final Log log = Log.getLog(QMHistorySegment.class);
+
+    static final String SEGMENT_FILE_PREFIX = "history-"; //$NON-NLS-1$
+    static final String SEGMENT_FILE_EXT = ".qmh"; //$NON-NLS-1$
+
+    private static final int SEGMENT_MAGIC = 0x514D4801; // QMH1
+    private static final int HEADER_SIZE = 12;
+    private static final int RECORD_HEADER_SIZE = 5;
+    // Long texts (e.g. scripts) are indexed partially, such events are always verified on search
+    private static final int MAX_INDEXED_TEXT_LENGTH = 16 * 1024;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    static final byte FLAG_ERROR = 1;
+    static final byte FLAG_EMPTY_TEXT = 2;
+    static final byte FLAG_NOT_INDEXED = 4;
+
+    /**
+     * Growable list of event ordinals
+     */
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addTo(@NotNull BitSet bitSet) {
+            for (int i = 0; i < size; i++) {
+                bitSet.set(values[i]);
+            }
+        }
+    }
+
+    @NotNull
+    private Path file;
+    private final long firstEventId;
+    private FileChannel channel;
+    private long size;
+
+    private final List<QMHistoryRecord.Connection> connections = new ArrayList<>();
+    private final Map<String, Integer> connectionIndexes = new HashMap<>();
+
+    private int eventCount;
+    private int[] offsets = new int[256];
+    private long[] times = new long[256];
+    private int[] eventConnections = new int[256];
+    private byte[] types = new byte[256];
+    private byte[] purposes = new byte[256];
+    private byte[] flags = new byte[256];
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+
+    private final Map<String, IntList> tokens = new HashMap<>();
+    private final IntList notIndexedEvents = new IntList();
+
+    private QMHistorySegment(@NotNull Path file, long firstEventId, @NotNull FileChannel channel) {
+        this.file = file;
+        this.firstEventId = firstEventId;
+        this.channel = channel;
+    }
+
+    @NotNull
+    static String getSegmentFileName(long firstEventId) {
+        return SEGMENT_FILE_PREFIX + String.format("%016d", firstEventId) + SEGMENT_FILE_EXT;
+    }
+
+    /**
+     * Creates new empty segment
+     */
+    @NotNull
+    static QMHistorySegment create(@NotNull Path file, long firstEventId) throws IOException {
+        FileChannel channel = FileChannel.open(
+            file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(SEGMENT_MAGIC).putLong(firstEventId).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        QMHistorySegment segment = new QMHistorySegment(file, firstEventId, channel);
+        segment.size = HEADER_SIZE;
+        return segment;
+    }
+
+    /**
+     * Opens existing segment and builds its index.
+     * Broken tail (e.g. after a crash during write) is truncated.
+     */
+    @NotNull
+    static QMHistorySegment open(@NotNull Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (fileSize < HEADER_SIZE || channel.read(header, 0) < HEADER_SIZE || header.getInt(0) != SEGMENT_MAGIC) {
+                throw new IOException("Bad query history segment header");
+            }
+            QMHistorySegment segment = new QMHistorySegment(file, header.getLong(4), channel);
+            segment.size = segment.loadRecords(fileSize);
+            if (segment.size < fileSize) {
+                log.debug("Truncate broken query history segment '" + file.getFileName() + "' tail (" + (fileSize - segment.size) + " bytes)");
+                channel.truncate(segment.size);
+            }
+            return segment;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private long loadRecords(long fileSize) throws IOException {
+        long position = HEADER_SIZE;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+            Files.newInputStream(file), 64 * 1024)))
+        {
+            in.skipNBytes(HEADER_SIZE);
+            while (position + RECORD_HEADER_SIZE <= fileSize) {
+                int length = in.readInt();
+                byte kind = in.readByte();
+                if (length < 0 || length > QMHistoryRecord.MAX_RECORD_SIZE || position + RECORD_HEADER_SIZE + length > fileSize) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                try {
+                    DataInputStream payloadStream = new DataInputStream(new ByteArrayInputStream(payload));
+                    if (kind == QMHistoryRecord.KIND_CONNECTION) {
+                        addConnection(QMHistoryRecord.Connection.read(payloadStream));
+                    } else if (kind == QMHistoryRecord.KIND_EVENT) {
+                        QMHistoryRecord record = QMHistoryRecord.read(payloadStream);
+                        if (record.eventId != getNextEventId() ||
+                            record.connectionIndex < 0 || record.connectionIndex >= connections.size())
+                        {
+                            break;
+                        }
+                        indexEvent(record, position);
+                    } else {
+                        break;
+                    }
+                } catch (IOException e) {
+                    log.debug("Broken query history record: " + e.getMessage());
+                    break;
+                }
+                position += RECORD_HEADER_SIZE + length;
+            }
+        } catch (EOFException e) {
+            // Incomplete record
+        }
+        return position;
+    }
+
+    @NotNull
+    synchronized Path getFile() {
+        return file;
+    }
+
+    /**
+     * Moves segment file, the target file is replaced. Segment stays open.
+     */
+    synchronized void moveTo(@NotNull Path target) throws IOException {
+        Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        file = target;
+    }
+
+    long getFirstEventId() {
+        return firstEventId;
+    }
+
+    synchronized long getNextEventId() {
+        return firstEventId + eventCount;
+    }
+
+    synchronized int getEventCount() {
+        return eventCount;
+    }
+
+    synchronized long getSize() {
+        return size;
+    }
+
+    synchronized long getMinTime() {
+        return minTime;
+    }
+
+    synchronized long getMaxTime() {
+        return maxTime;
+    }
+
+    synchronized boolean isClosed() {
+        return channel == null;
+    }
+
+    /**
+     * Appends records to the segment. Event ids must be assigned by the caller.
+     *
+     * @param records    event records
+     * @param connections connections of the event records
+     */
+    synchronized void append(
+        @NotNull List<QMHistoryRecord> records,
+        @NotNull List<QMHistoryRecord.Connection> connections
+    ) throws IOException {
+        if (channel == null) {
+            throw new IOException("Query history segment is closed");
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(records.size() * 256);
+        DataOutputStream out = new DataOutputStream(buffer);
+        ByteArrayOutputStream payloadBuffer = new ByteArrayOutputStream(1024);
+        DataOutputStream payload = new DataOutputStream(payloadBuffer);
+
+        // New connections are registered after the successful write only
+        Map<String, Integer> newConnections = new LinkedHashMap<>();
+        List<QMHistoryRecord.Connection> newConnectionList = new ArrayList<>();
+        int[] recordOffsets = new int[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            QMHistoryRecord record = records.get(i);
+            QMHistoryRecord.Connection connection = connections.get(i);
+            String key = connection.getKey();
+            Integer connectionIndex = connectionIndexes.get(key);
+            if (connectionIndex == null) {
+                connectionIndex = newConnections.get(key);
+            }
+            if (connectionIndex == null) {
+                connectionIndex = this.connections.size() + newConnectionList.size();
+                newConnections.put(key, connectionIndex);
+                newConnectionList.add(connection);
+                payloadBuffer.reset();
+                connection.write(payload);
+                writeRecord(out, QMHistoryRecord.KIND_CONNECTION, payloadBuffer);
+            }
+            record.connectionIndex = connectionIndex;
+            payloadBuffer.reset();
+            record.write(payload);
+            recordOffsets[i] = (int) (size + out.size());
+            writeRecord(out, QMHistoryRecord.KIND_EVENT, payloadBuffer);
+        }
+        out.flush();
+
+        ByteBuffer data = ByteBuffer.wrap(buffer.toByteArray());
+        long position = size;
+        try {
+            while (data.hasRemaining()) {
+                position += channel.write(data, position);
+            }
+        } catch (IOException e) {
+            // Drop partially written data
+            channel.truncate(size);
+            throw e;
+        }
+        size = position;
+
+        for (QMHistoryRecord.Connection connection : newConnectionList) {
+            addConnection(connection);
+        }
+        for (int i = 0; i < records.size(); i++) {
+            indexEvent(records.get(i), recordOffsets[i]);
+        }
+    }
+
+    private static void writeRecord(
+        @NotNull DataOutputStream out,
+        byte kind,
+        @NotNull ByteArrayOutputStream payload
+    ) throws IOException {
+        out.writeInt(payload.size());
+        out.writeByte(kind);
+        payload.writeTo(out);
+    }
+
+    private void addConnection(@NotNull QMHistoryRecord.Connection connection) {
+        connectionIndexes.put(connection.getKey(), connections.size());
+        connections.add(connection);
+    }
+
+    private void indexEvent(@NotNull QMHistoryRecord record, long offset) {
+        int ordinal = eventCount;
+        if (ordinal == offsets.length) {
+            int newSize = ordinal * 2;
+            offsets = Arrays.copyOf(offsets, newSize);
+            times = Arrays.copyOf(times, newSize);
+            eventConnections = Arrays.copyOf(eventConnections, newSize);
+            types = Arrays.copyOf(types, newSize);
+            purposes = Arrays.copyOf(purposes, newSize);
+            flags = Arrays.copyOf(flags, newSize);
+        }
+        offsets[ordinal] = (int) offset;
+        times[ordinal] = record.openTime;
+        eventConnections[ordinal] = record.connectionIndex;
+        types[ordinal] = (byte) record.objectType.ordinal();
+        purposes[ordinal] = (byte) (record.purpose == null ? -1 : record.purpose.ordinal());
+        byte eventFlags = 0;
+        if (record.hasError()) {
+            eventFlags |= FLAG_ERROR;
+        }
+        String text = record.getText(connections.get(record.connectionIndex));
+        if (text.isEmpty()) {
+            eventFlags |= FLAG_EMPTY_TEXT;
+        }
+        if (!indexText(ordinal, text)) {
+            eventFlags |= FLAG_NOT_INDEXED;
+            notIndexedEvents.add(ordinal);
+        }
+        flags[ordinal] = eventFlags;
+        minTime = Math.min(minTime, record.openTime);
+        maxTime = Math.max(maxTime, record.openTime);
+        eventCount++;
+    }
+
+    /**
+     * @return false if some text parts were not indexed
+     */
+    private boolean indexText(int ordinal, @NotNull String text) {
+        boolean complete = true;
+        if (text.length() > MAX_INDEXED_TEXT_LENGTH) {
+            text = text.substring(0, MAX_INDEXED_TEXT_LENGTH);
+            complete = false;
+        }
+        Set<String> eventTokens = new HashSet<>();
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        int length = lowerText.length();
+        for (int i = 0; i < length; ) {
+            if (!isTokenChar(lowerText.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && isTokenChar(lowerText.charAt(i))) {
+                i++;
+            }
+            if (i - start > MAX_TOKEN_LENGTH) {
+                complete = false;
+            } else {
+                eventTokens.add(lowerText.substring(start, i));
+            }
+        }
+        for (String token : eventTokens) {
+            tokens.computeIfAbsent(token, t -> new IntList()).add(ordinal);
+        }
+        return complete;
+    }
+
+    static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * Returns ordinals of events which match the query index criteria.
+     * Text search results must be verified as the index contains separate tokens only.
+     */
+    @NotNull
+    synchronized BitSet findCandidates(@NotNull QMHistoryQuery query) {
+        BitSet result = new BitSet();
+        if (eventCount == 0 || channel == null ||
+            maxTime < query.fromTime || minTime > query.toTime ||
+            !query.matchesEventIds(firstEventId, getNextEventId() - 1))
+        {
+            return result;
+        }
+        BitSet matchedConnections = new BitSet(connections.size());
+        for (int i = 0; i < connections.size(); i++) {
+            if (query.matchesConnection(connections.get(i))) {
+                matchedConnections.set(i);
+            }
+        }
+        if (matchedConnections.isEmpty()) {
+            return result;
+        }
+        BitSet textCandidates = query.hasSearchTerms() ? findTextCandidates(query) : null;
+        if (textCandidates != null && textCandidates.isEmpty()) {
+            return result;
+        }
+        for (int i = 0; i < eventCount; i++) {
+            if (textCandidates != null && !textCandidates.get(i)) {
+                continue;
+            }
+            if (matchedConnections.get(eventConnections[i]) &&
+                query.matchesEvent(firstEventId + i, times[i], types[i], purposes[i], flags[i]))
+            {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private BitSet findTextCandidates(@NotNull QMHistoryQuery query) {
+        BitSet result = null;
+        for (QMHistoryQuery.SearchTerm term : query.searchTerms) {
+            BitSet termEvents = new BitSet(eventCount);
+            if (term.isExact()) {
+                IntList events = tokens.get(term.text);
+                if (events != null) {
+                    events.addTo(termEvents);
+                }
+            } else {
+                for (Map.Entry<String, IntList> entry : tokens.entrySet()) {
+                    if (term.matches(entry.getKey())) {
+                        entry.getValue().addTo(termEvents);
+                    }
+                }
+            }
+            if (result == null) {
+                result = termEvents;
+            } else {
+                result.and(termEvents);
+            }
+        }
+        if (result == null) {
+            result = new BitSet(eventCount);
+            result.set(0, eventCount);
+        }
+        notIndexedEvents.addTo(result);
+        return result;
+    }
+
+    /**
+     * Reads event record
+     *
+     * @return record or null if segment was closed (e.g. by compaction)
+     */
+    @Nullable
+    synchronized QMHistoryRecord readEvent(int ordinal) throws IOException {
+        if (channel == null || ordinal >= eventCount) {
+            return null;
+        }
+        long offset = offsets[ordinal];
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(header, offset);
+        int length = header.getInt(0);
+        if (length < 0 || length > QMHistoryRecord.MAX_RECORD_SIZE || header.get(4) != QMHistoryRecord.KIND_EVENT) {
+            throw new IOException("Bad query history record at " + offset);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(payload, offset + RECORD_HEADER_SIZE);
+        return QMHistoryRecord.read(new DataInputStream(new ByteArrayInputStream(payload.array())));
+    }
+
+    private void readFully(@NotNull ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position + buffer.position());
+            if (count < 0) {
+                throw new EOFException("Unexpected end of query history segment");
+            }
+        }
+    }
+
+    @NotNull
+    synchronized QMHistoryRecord.Connection getConnection(int index) {
+        return connections.get(index);
+    }
+
+    synchronized void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Error closing query history segment: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Closes and deletes segment file
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(getFile());
+    }
+
+    @Override
+    public String toString() {
+        return getFile().getFileName().toString();
+    }
+}
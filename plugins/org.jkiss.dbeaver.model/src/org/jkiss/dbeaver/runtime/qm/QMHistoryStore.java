@@ -0,0 +1,476 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.qm.*;
+import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Persistent query history.
+ * <p>
+ * Finished executions, transactions and sessions are appended to history segments (see {@link QMHistorySegment}).
+ * Meta events are converted into records on the event dispatch and are written by a background job,
+ * so query execution never waits for the disk.
+ * The last segment is active, it is rolled over when it reaches the size limit.
+ * Compaction job removes segments older than the history retention period
+ * and merges small segments (e.g. left after crashes).
+ */
+public class QMHistoryStore implements QMMetaListener, QMEventBrowser {
+
+    private static final Log log = Log.getLog(QMHistoryStore.class);
+
+    /**
+     * Query history is persisted in the workspace metadata and is used by the query manager instead of in-memory history
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("dbeaver.qm.historyStore");
+
+    public static final String HISTORY_FOLDER = "qm-history"; //$NON-NLS-1$
+
+    private static final String TEMP_FILE_EXT = ".tmp"; //$NON-NLS-1$
+    private static final long MAX_SEGMENT_SIZE = 32 * 1024 * 1024;
+    private static final int MAX_SEGMENT_EVENTS = 200_000;
+    private static final long MIN_SEGMENT_SIZE = MAX_SEGMENT_SIZE / 4;
+    private static final int MAX_PENDING_EVENTS = 100_000;
+    private static final int MERGE_BATCH_SIZE = 1000;
+    private static final long WRITE_DELAY = 1000;
+    private static final long COMPACTION_DELAY = 60 * 1000;
+    private static final long COMPACTION_PERIOD = 60 * 60 * 1000;
+
+    private record PendingEvent(@NotNull QMHistoryRecord record, @NotNull QMHistoryRecord.Connection connection) {
+    }
+
+    @NotNull
+    private final Path folder;
+    private final int maxSegmentEvents;
+    // Segments ordered by event ids
+    private final List<QMHistorySegment> segments = new ArrayList<>();
+    private final Object writeLock = new Object();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private long nextEventId = 1;
+
+    private List<PendingEvent> pendingEvents = new ArrayList<>();
+    private boolean pendingOverflow;
+
+    private final WriterJob writerJob = new WriterJob();
+    private final CompactionJob compactionJob = new CompactionJob();
+    private volatile boolean disposed;
+
+    public QMHistoryStore(@NotNull Path folder) {
+        this(folder, MAX_SEGMENT_EVENTS);
+    }
+
+    /**
+     * @param maxSegmentEvents number of events after which the active segment is rolled over
+     */
+    public QMHistoryStore(@NotNull Path folder, int maxSegmentEvents) {
+        this.folder = folder;
+        this.maxSegmentEvents = maxSegmentEvents;
+        writerJob.schedule();
+    }
+
+    public void dispose() {
+        disposed = true;
+        compactionJob.cancel();
+        // Load is performed under the write lock, so it is either finished or won't be started
+        synchronized (writeLock) {
+            if (loaded.getCount() == 0) {
+                flushPendingEvents();
+            }
+            synchronized (segments) {
+                for (QMHistorySegment segment : segments) {
+                    segment.close();
+                }
+                segments.clear();
+            }
+        }
+    }
+
+    @Override
+    public void metaInfoChanged(@NotNull DBRProgressMonitor monitor, @NotNull List<QMMetaEvent> events) {
+        if (disposed) {
+            return;
+        }
+        List<PendingEvent> newEvents = new ArrayList<>();
+        for (QMMetaEvent event : events) {
+            if (!QMHistoryRecord.isStored(event)) {
+                continue;
+            }
+            QMMConnectionInfo connectionInfo = event.getObject().getConnection();
+            if (connectionInfo == null) {
+                continue;
+            }
+            newEvents.add(new PendingEvent(QMHistoryRecord.fromEvent(event), new QMHistoryRecord.Connection(connectionInfo)));
+        }
+        if (newEvents.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (pendingEvents.size() + newEvents.size() > MAX_PENDING_EVENTS) {
+                if (!pendingOverflow) {
+                    log.warn("Query history write queue overflow. Some events won't be saved.");
+                    pendingOverflow = true;
+                }
+                return;
+            }
+            pendingOverflow = false;
+            pendingEvents.addAll(newEvents);
+        }
+        writerJob.schedule(WRITE_DELAY);
+    }
+
+    @NotNull
+    @Override
+    public QMEventCursor getQueryHistoryCursor(@NotNull QMCursorFilter cursorFilter) throws DBException {
+        try {
+            loaded.await();
+        } catch (InterruptedException e) {
+            throw new DBException("Query history load interrupted", e);
+        }
+        // Make recent events visible
+        synchronized (writeLock) {
+            flushPendingEvents();
+        }
+        List<QMHistorySegment> cursorSegments;
+        synchronized (segments) {
+            cursorSegments = new ArrayList<>(segments);
+        }
+        QMHistoryQuery query = new QMHistoryQuery(cursorFilter.getCriteria());
+        if (query.desc) {
+            Collections.reverse(cursorSegments);
+        }
+        return new QMHistoryCursor(query, cursorFilter.getFilter(), cursorSegments, this::findSegment);
+    }
+
+    /**
+     * Returns open segment which contains the event
+     */
+    @Nullable
+    private QMHistorySegment findSegment(long eventId) {
+        synchronized (segments) {
+            for (QMHistorySegment segment : segments) {
+                if (eventId >= segment.getFirstEventId() && eventId < segment.getNextEventId() && !segment.isClosed()) {
+                    return segment;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void loadSegments() {
+        try {
+            if (!Files.exists(folder)) {
+                Files.createDirectories(folder);
+                return;
+            }
+            List<Path> segmentFiles = new ArrayList<>();
+            try (Stream<Path> list = Files.list(folder)) {
+                list.forEach(file -> {
+                    String fileName = file.getFileName().toString();
+                    if (fileName.endsWith(TEMP_FILE_EXT)) {
+                        // Interrupted compaction, source segments are still here
+                        deleteFile(file);
+                    } else if (fileName.startsWith(QMHistorySegment.SEGMENT_FILE_PREFIX) &&
+                        fileName.endsWith(QMHistorySegment.SEGMENT_FILE_EXT))
+                    {
+                        segmentFiles.add(file);
+                    }
+                });
+            }
+            Collections.sort(segmentFiles);
+            for (Path file : segmentFiles) {
+                QMHistorySegment segment;
+                try {
+                    segment = QMHistorySegment.open(file);
+                } catch (IOException e) {
+                    log.warn("Can't open query history segment '" + file.getFileName() + "': " + e.getMessage());
+                    continue;
+                }
+                if (segment.getFirstEventId() < nextEventId) {
+                    // Source of merged segment (compaction was interrupted before source delete)
+                    segment.delete();
+                    continue;
+                }
+                synchronized (segments) {
+                    segments.add(segment);
+                }
+                nextEventId = segment.getNextEventId();
+            }
+        } catch (IOException e) {
+            log.error("Error loading query history from '" + folder + "'", e);
+        }
+    }
+
+    private void flushPendingEvents() {
+        List<PendingEvent> events;
+        synchronized (this) {
+            if (pendingEvents.isEmpty()) {
+                return;
+            }
+            events = pendingEvents;
+            pendingEvents = new ArrayList<>();
+        }
+        try {
+            int start = 0;
+            while (start < events.size()) {
+                QMHistorySegment segment = getActiveSegment();
+                int count = Math.min(events.size() - start, maxSegmentEvents - segment.getEventCount());
+                List<QMHistoryRecord> records = new ArrayList<>(count);
+                List<QMHistoryRecord.Connection> connections = new ArrayList<>(count);
+                for (PendingEvent event : events.subList(start, start + count)) {
+                    event.record.eventId = nextEventId + records.size();
+                    records.add(event.record);
+                    connections.add(event.connection);
+                }
+                segment.append(records, connections);
+                nextEventId += count;
+                start += count;
+            }
+        } catch (IOException e) {
+            log.error("Error writing query history", e);
+        }
+    }
+
+    @NotNull
+    private QMHistorySegment getActiveSegment() throws IOException {
+        synchronized (segments) {
+            if (!segments.isEmpty()) {
+                QMHistorySegment segment = segments.get(segments.size() - 1);
+                if (segment.getSize() < MAX_SEGMENT_SIZE && segment.getEventCount() < maxSegmentEvents) {
+                    return segment;
+                }
+            }
+            QMHistorySegment segment = QMHistorySegment.create(
+                folder.resolve(QMHistorySegment.getSegmentFileName(nextEventId)), nextEventId);
+            segments.add(segment);
+            return segment;
+        }
+    }
+
+    /**
+     * Removes segments older than the history retention period and merges small segments.
+     * Sealed segments are never changed by the writer, so segments are merged without the write lock.
+     * Open cursors continue reading in the merged segment.
+     */
+    public void compactSegments(@NotNull DBRProgressMonitor monitor) {
+        if (loaded.getCount() > 0) {
+            return;
+        }
+        int historyDays = DBWorkbench.getPlatform().getPreferenceStore().getInt(QMConstants.PROP_HISTORY_DAYS);
+        long expirationTime = historyDays > 0 ? System.currentTimeMillis() - historyDays * 24L * 60 * 60 * 1000 : Long.MIN_VALUE;
+        List<QMHistorySegment> sealedSegments;
+        synchronized (segments) {
+            if (segments.size() < 2) {
+                return;
+            }
+            // The last segment is active
+            sealedSegments = new ArrayList<>(segments.subList(0, segments.size() - 1));
+        }
+        List<QMHistorySegment> mergeGroup = new ArrayList<>();
+        long mergeSize = 0;
+        for (QMHistorySegment segment : sealedSegments) {
+            if (monitor.isCanceled() || disposed) {
+                return;
+            }
+            if (segment.getEventCount() == 0 || segment.getMaxTime() < expirationTime) {
+                removeSegment(segment);
+                continue;
+            }
+            if (!mergeGroup.isEmpty() &&
+                (mergeSize + segment.getSize() > MAX_SEGMENT_SIZE || segment.getSize() >= MIN_SEGMENT_SIZE))
+            {
+                mergeSegments(mergeGroup);
+                mergeGroup.clear();
+                mergeSize = 0;
+            }
+            if (segment.getSize() < MIN_SEGMENT_SIZE) {
+                mergeGroup.add(segment);
+                mergeSize += segment.getSize();
+            }
+        }
+        mergeSegments(mergeGroup);
+    }
+
+    private void removeSegment(@NotNull QMHistorySegment segment) {
+        synchronized (segments) {
+            segments.remove(segment);
+        }
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            log.debug("Can't delete query history segment '" + segment + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Merges adjacent segments into one. Merged segment gets the name of the first segment.
+     * Merged segment is written and indexed aside, then it replaces the group under the lock.
+     */
+    private void mergeSegments(@NotNull List<QMHistorySegment> group) {
+        if (group.size() < 2) {
+            return;
+        }
+        QMHistorySegment first = group.get(0);
+        Path tempFile = first.getFile().resolveSibling(first.getFile().getFileName() + TEMP_FILE_EXT);
+        QMHistorySegment merged = null;
+        try {
+            merged = QMHistorySegment.create(tempFile, first.getFirstEventId());
+            List<QMHistoryRecord> records = new ArrayList<>(MERGE_BATCH_SIZE);
+            List<QMHistoryRecord.Connection> connections = new ArrayList<>(MERGE_BATCH_SIZE);
+            for (QMHistorySegment segment : group) {
+                int eventCount = segment.getEventCount();
+                for (int i = 0; i < eventCount; i++) {
+                    QMHistoryRecord record = segment.readEvent(i);
+                    if (record == null) {
+                        throw new IOException("Segment " + segment + " was closed");
+                    }
+                    records.add(record);
+                    connections.add(segment.getConnection(record.connectionIndex));
+                    if (records.size() >= MERGE_BATCH_SIZE) {
+                        merged.append(records, connections);
+                        records.clear();
+                        connections.clear();
+                    }
+                }
+            }
+            if (!records.isEmpty()) {
+                merged.append(records, connections);
+            }
+            // Replace the first segment, then remove others. Leftovers are cleaned up on load.
+            synchronized (writeLock) {
+                if (disposed) {
+                    merged.delete();
+                    return;
+                }
+                synchronized (segments) {
+                    first.close();
+                    merged.moveTo(first.getFile());
+                    int index = segments.indexOf(first);
+                    segments.set(index, merged);
+                    segments.removeAll(group.subList(1, group.size()));
+                }
+            }
+            for (QMHistorySegment segment : group.subList(1, group.size())) {
+                segment.delete();
+            }
+        } catch (IOException e) {
+            log.warn("Error merging query history segments", e);
+            if (merged != null) {
+                merged.close();
+            }
+            deleteFile(tempFile);
+            if (first.isClosed() && Files.exists(first.getFile())) {
+                reopenSegment(first);
+            }
+        }
+    }
+
+    private void reopenSegment(@NotNull QMHistorySegment segment) {
+        try {
+            QMHistorySegment reopened = QMHistorySegment.open(segment.getFile());
+            synchronized (segments) {
+                int index = segments.indexOf(segment);
+                if (index >= 0) {
+                    segments.set(index, reopened);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Can't reopen query history segment '" + segment + "'", e);
+            synchronized (segments) {
+                segments.remove(segment);
+            }
+        }
+    }
+
+    private static void deleteFile(@NotNull Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Can't delete file '" + file + "': " + e.getMessage());
+        }
+    }
+
+    private class WriterJob extends AbstractJob {
+
+        WriterJob() {
+            super("Query history writer");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            if (loaded.getCount() > 0) {
+                synchronized (writeLock) {
+                    if (!disposed) {
+                        loadSegments();
+                    }
+                }
+                loaded.countDown();
+                if (!disposed) {
+                    compactionJob.schedule(COMPACTION_DELAY);
+                }
+            }
+            if (!disposed) {
+                synchronized (writeLock) {
+                    flushPendingEvents();
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    private class CompactionJob extends AbstractJob {
+
+        CompactionJob() {
+            super("Query history compaction");
+            setUser(false);
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            if (disposed) {
+                return Status.OK_STATUS;
+            }
+            compactSegments(monitor);
+            if (!disposed) {
+                schedule(COMPACTION_PERIOD);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
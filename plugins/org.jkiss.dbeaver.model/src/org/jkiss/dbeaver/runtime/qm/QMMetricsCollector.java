@@ -0,0 +1,425 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.exec.DBCResultSet;
+import org.jkiss.dbeaver.model.exec.DBCStatement;
+import org.jkiss.dbeaver.model.qm.QMLatencyHistogram;
+import org.jkiss.dbeaver.model.qm.QMMetrics;
+import org.jkiss.dbeaver.model.qm.QMMetricsSeries;
+import org.jkiss.dbeaver.model.qm.QMQueryFingerprint;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects statement execution metrics from query manager callbacks.
+ * <p>
+ * Execute latency is measured between statement execute begin and end, fetch latency between result set open and close.
+ * Series are created once per data source, statement type and query fingerprint. The number of fingerprint series
+ * is limited, queries which don't fit are accounted in the data source and statement type series only.
+ * Query fingerprint is calculated (or taken from the fingerprint cache) on the executing thread when the statement
+ * is seen for the first time, so collection is disabled by default.
+ */
+public class QMMetricsCollector extends DefaultExecutionHandler implements QMMetrics {
+
+    private static final Log log = Log.getLog(QMMetricsCollector.class);
+
+    /**
+     * Metrics collection is enabled with -Ddbeaver.qm.metrics=true
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("dbeaver.qm.metrics");
+    /**
+     * Port of the local Prometheus metrics endpoint (headless mode only). Zero means no endpoint.
+     */
+    public static final int ENDPOINT_PORT = Integer.getInteger("dbeaver.qm.metrics.port", 0);
+
+    private static final String MBEAN_NAME = "org.jkiss.dbeaver:type=QueryMetrics"; //$NON-NLS-1$
+    private static final int MAX_FINGERPRINT_SERIES = 500;
+    // Statements which are never closed (driver errors) must not leak
+    private static final int MAX_ACTIVE_STATEMENTS = 10000;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private static class StatementState {
+        final QMMetricsSeries[] series;
+        volatile long executeStartTime;
+        volatile long fetchStartTime;
+
+        StatementState(QMMetricsSeries[] series) {
+            this.series = series;
+        }
+    }
+
+    private final Map<String, QMMetricsSeries> dataSourceSeries = new ConcurrentHashMap<>();
+    private final Map<String, QMMetricsSeries> typeSeries = new ConcurrentHashMap<>();
+    private final Map<String, QMMetricsSeries> fingerprintSeries = new ConcurrentHashMap<>();
+    private final Map<DBCStatement, StatementState> activeStatements = new ConcurrentHashMap<>();
+
+    private QMMetricsEndpoint endpoint;
+    private boolean mbeanRegistered;
+
+    @NotNull
+    @Override
+    public String getHandlerName() {
+        return "Metrics collector";
+    }
+
+    /**
+     * Registers JMX bean and starts Prometheus endpoint (if configured)
+     */
+    public void startEndpoints() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                new MetricsBean(), new javax.management.ObjectName(MBEAN_NAME));
+            mbeanRegistered = true;
+        } catch (Exception e) {
+            log.debug("Can't register query metrics MBean: " + e.getMessage());
+        }
+        if (ENDPOINT_PORT > 0) {
+            try {
+                endpoint = new QMMetricsEndpoint(this, ENDPOINT_PORT);
+                endpoint.start();
+                log.debug("Query metrics endpoint started at port " + ENDPOINT_PORT);
+            } catch (IOException e) {
+                log.error("Can't start query metrics endpoint at port " + ENDPOINT_PORT, e);
+                endpoint = null;
+            }
+        }
+    }
+
+    public void dispose() {
+        if (endpoint != null) {
+            endpoint.stop();
+            endpoint = null;
+        }
+        if (mbeanRegistered) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(new javax.management.ObjectName(MBEAN_NAME));
+            } catch (Exception e) {
+                log.debug("Can't unregister query metrics MBean: " + e.getMessage());
+            }
+            mbeanRegistered = false;
+        }
+        activeStatements.clear();
+    }
+
+    @Override
+    public void handleStatementExecuteBegin(@NotNull DBCStatement statement) {
+        getStatementState(statement).executeStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void handleStatementExecuteEnd(@NotNull DBCStatement statement, long rows, Throwable error) {
+        StatementState state = activeStatements.get(statement);
+        if (state == null || state.executeStartTime == 0) {
+            return;
+        }
+        long latency = (System.nanoTime() - state.executeStartTime) / 1000;
+        state.executeStartTime = 0;
+        for (QMMetricsSeries series : state.series) {
+            series.recordExecute(latency, rows, error != null);
+        }
+    }
+
+    @Override
+    public void handleResultSetOpen(@NotNull DBCResultSet resultSet) {
+        DBCStatement statement = resultSet.getSourceStatement();
+        if (statement != null) {
+            getStatementState(statement).fetchStartTime = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void handleResultSetClose(@NotNull DBCResultSet resultSet, long rowCount) {
+        DBCStatement statement = resultSet.getSourceStatement();
+        StatementState state = statement == null ? null : activeStatements.get(statement);
+        if (state == null || state.fetchStartTime == 0) {
+            return;
+        }
+        long latency = (System.nanoTime() - state.fetchStartTime) / 1000;
+        state.fetchStartTime = 0;
+        for (QMMetricsSeries series : state.series) {
+            series.recordFetch(latency, rowCount);
+        }
+    }
+
+    @Override
+    public void handleStatementClose(@NotNull DBCStatement statement, long rows) {
+        activeStatements.remove(statement);
+    }
+
+    @NotNull
+    private StatementState getStatementState(@NotNull DBCStatement statement) {
+        StatementState state = activeStatements.get(statement);
+        if (state == null) {
+            if (activeStatements.size() >= MAX_ACTIVE_STATEMENTS) {
+                log.debug("Too many active statements in query metrics collector, reset");
+                activeStatements.clear();
+            }
+            state = new StatementState(getStatementSeries(statement));
+            activeStatements.put(statement, state);
+        }
+        return state;
+    }
+
+    @NotNull
+    private QMMetricsSeries[] getStatementSeries(@NotNull DBCStatement statement) {
+        DBPDataSourceContainer container = statement.getSession().getDataSource().getContainer();
+        String dataSourceId = container.getId();
+        QMMetricsSeries dsSeries = getDataSourceSeries(container);
+        QMQueryFingerprint fingerprint = QMQueryFingerprint.of(statement.getSession().getDataSource(), statement.getQueryString());
+        String statementType = fingerprint.getStatementType();
+        QMMetricsSeries stSeries = typeSeries.computeIfAbsent(
+            dataSourceId + '\n' + statementType,
+            key -> new QMMetricsSeries(QMMetricsSeries.Scope.STATEMENT_TYPE, dataSourceId, container.getName(), statementType, null));
+        String fingerprintKey = dataSourceId + '\n' + fingerprint.getId();
+        QMMetricsSeries fpSeries = fingerprintSeries.get(fingerprintKey);
+        if (fpSeries == null && fingerprintSeries.size() < MAX_FINGERPRINT_SERIES) {
+            fpSeries = fingerprintSeries.computeIfAbsent(
+                fingerprintKey,
+                key -> new QMMetricsSeries(QMMetricsSeries.Scope.FINGERPRINT, dataSourceId, container.getName(), statementType, fingerprint));
+        }
+        return fpSeries == null ? new QMMetricsSeries[]{dsSeries, stSeries} : new QMMetricsSeries[]{dsSeries, stSeries, fpSeries};
+    }
+
+    @NotNull
+    private QMMetricsSeries getDataSourceSeries(@NotNull DBPDataSourceContainer container) {
+        return dataSourceSeries.computeIfAbsent(
+            container.getId(),
+            id -> new QMMetricsSeries(QMMetricsSeries.Scope.DATASOURCE, id, container.getName(), null, null));
+    }
+
+    @NotNull
+    @Override
+    public List<QMMetricsSeries> getSeries(@NotNull QMMetricsSeries.Scope scope) {
+        Map<String, QMMetricsSeries> seriesMap = switch (scope) {
+            case DATASOURCE -> dataSourceSeries;
+            case STATEMENT_TYPE -> typeSeries;
+            case FINGERPRINT -> fingerprintSeries;
+        };
+        List<QMMetricsSeries> result = new ArrayList<>(seriesMap.size());
+        for (QMMetricsSeries series : seriesMap.values()) {
+            result.add(series.copy());
+        }
+        result.sort(Comparator.comparing(QMMetricsSeries::getDataSourceId)
+            .thenComparing(s -> String.valueOf(s.getStatementType()))
+            .thenComparing(s -> s.getFingerprint() == null ? "" : s.getFingerprint().getId()));
+        return result;
+    }
+
+    @Nullable
+    @Override
+    public QMMetricsSeries getDataSourceSeries(@NotNull String dataSourceId) {
+        QMMetricsSeries series = dataSourceSeries.get(dataSourceId);
+        return series == null ? null : series.copy();
+    }
+
+    @Override
+    public void recordTransfer(@NotNull DBPDataSourceContainer dataSource, long duration, long rowCount, long byteCount) {
+        getDataSourceSeries(dataSource).recordTransfer(duration, rowCount, byteCount);
+    }
+
+    @Override
+    public void reset() {
+        dataSourceSeries.clear();
+        typeSeries.clear();
+        fingerprintSeries.clear();
+    }
+
+    @Override
+    public void writePrometheusMetrics(@NotNull Writer writer) throws IOException {
+        List<QMMetricsSeries> dsSeries = getSeries(QMMetricsSeries.Scope.DATASOURCE);
+        List<QMMetricsSeries> stSeries = getSeries(QMMetricsSeries.Scope.STATEMENT_TYPE);
+        List<QMMetricsSeries> fpSeries = getSeries(QMMetricsSeries.Scope.FINGERPRINT);
+
+        writeSummary(writer, "dbeaver_statement_execute_seconds", "Statement execute latency", dsSeries, false);
+        writeSummary(writer, "dbeaver_statement_fetch_seconds", "Result set fetch latency", dsSeries, true);
+        writeSummary(writer, "dbeaver_statement_type_execute_seconds", "Statement execute latency by statement type", stSeries, false);
+        writeSummary(writer, "dbeaver_statement_type_fetch_seconds", "Result set fetch latency by statement type", stSeries, true);
+        writeSummary(writer, "dbeaver_query_execute_seconds", "Statement execute latency by query fingerprint", fpSeries, false);
+        writeSummary(writer, "dbeaver_query_fetch_seconds", "Result set fetch latency by query fingerprint", fpSeries, true);
+
+        writeHeader(writer, "dbeaver_statement_errors_total", "Failed statement executions", "counter");
+        for (QMMetricsSeries series : dsSeries) {
+            writeValue(writer, "dbeaver_statement_errors_total", series, null, series.getErrorCount());
+        }
+        writeHeader(writer, "dbeaver_statement_updated_rows_total", "Rows updated by statements", "counter");
+        for (QMMetricsSeries series : dsSeries) {
+            writeValue(writer, "dbeaver_statement_updated_rows_total", series, null, series.getUpdatedRows());
+        }
+        writeHeader(writer, "dbeaver_fetched_rows_total", "Rows fetched from result sets", "counter");
+        for (QMMetricsSeries series : dsSeries) {
+            writeValue(writer, "dbeaver_fetched_rows_total", series, null, series.getFetchedRows());
+        }
+        writeHeader(writer, "dbeaver_fetch_rows_per_second", "Average fetch throughput", "gauge");
+        for (QMMetricsSeries series : dsSeries) {
+            writeValue(writer, "dbeaver_fetch_rows_per_second", series, null, series.getFetchRowsPerSecond());
+        }
+        writeHeader(writer, "dbeaver_transfer_rows_total", "Rows processed by data transfers", "counter");
+        for (QMMetricsSeries series : dsSeries) {
+            writeValue(writer, "dbeaver_transfer_rows_total", series, null, series.getTransferredRows());
+        }
+        writeHeader(writer, "dbeaver_transfer_bytes_total", "Bytes written by data transfers", "counter");
+        for (QMMetricsSeries series : dsSeries) {
+            writeValue(writer, "dbeaver_transfer_bytes_total", series, null, series.getTransferredBytes());
+        }
+        writeHeader(writer, "dbeaver_transfer_rows_per_second", "Average data transfer throughput (rows)", "gauge");
+        for (QMMetricsSeries series : dsSeries) {
+            writeValue(writer, "dbeaver_transfer_rows_per_second", series, null, series.getTransferRowsPerSecond());
+        }
+        writeHeader(writer, "dbeaver_transfer_bytes_per_second", "Average data transfer throughput (bytes)", "gauge");
+        for (QMMetricsSeries series : dsSeries) {
+            writeValue(writer, "dbeaver_transfer_bytes_per_second", series, null, series.getTransferBytesPerSecond());
+        }
+        writer.flush();
+    }
+
+    private static void writeSummary(
+        @NotNull Writer writer,
+        @NotNull String name,
+        @NotNull String help,
+        @NotNull List<QMMetricsSeries> seriesList,
+        boolean fetch
+    ) throws IOException {
+        writeHeader(writer, name, help, "summary");
+        for (QMMetricsSeries series : seriesList) {
+            QMLatencyHistogram histogram = fetch ? series.getFetchLatency() : series.getExecuteLatency();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            for (double quantile : QUANTILES) {
+                writeValue(writer, name, series, "quantile=\"" + quantile + "\"",
+                    histogram.getValueAtPercentile(quantile * 100) / 1000000.0);
+            }
+            writeValue(writer, name + "_sum", series, null, histogram.getSum() / 1000000.0);
+            writeValue(writer, name + "_count", series, null, histogram.getCount());
+        }
+    }
+
+    private static void writeHeader(@NotNull Writer writer, @NotNull String name, @NotNull String help, @NotNull String type) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void writeValue(
+        @NotNull Writer writer,
+        @NotNull String name,
+        @NotNull QMMetricsSeries series,
+        @Nullable String extraLabel,
+        double value
+    ) throws IOException {
+        StringBuilder line = new StringBuilder(128);
+        line.append(name).append("{datasource=\"").append(escapeLabel(series.getDataSourceId())).append('"');
+        if (series.getDataSourceName() != null) {
+            line.append(",datasource_name=\"").append(escapeLabel(series.getDataSourceName())).append('"');
+        }
+        if (series.getScope() == QMMetricsSeries.Scope.STATEMENT_TYPE && series.getStatementType() != null) {
+            line.append(",type=\"").append(escapeLabel(series.getStatementType())).append('"');
+        }
+        if (series.getFingerprint() != null) {
+            line.append(",fingerprint=\"").append(series.getFingerprint().getId()).append('"');
+        }
+        if (extraLabel != null) {
+            line.append(',').append(extraLabel);
+        }
+        line.append("} ");
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            line.append((long) value);
+        } else {
+            line.append(value);
+        }
+        line.append('\n');
+        writer.write(line.toString());
+    }
+
+    @NotNull
+    private static String escapeLabel(@NotNull String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private class MetricsBean implements QMMetricsMXBean {
+
+        @Override
+        public long getExecuteCount() {
+            long count = 0;
+            for (QMMetricsSeries series : dataSourceSeries.values()) {
+                count += series.getExecuteCount();
+            }
+            return count;
+        }
+
+        @Override
+        public long getErrorCount() {
+            long count = 0;
+            for (QMMetricsSeries series : dataSourceSeries.values()) {
+                count += series.getErrorCount();
+            }
+            return count;
+        }
+
+        @Override
+        public long getFetchedRowCount() {
+            long count = 0;
+            for (QMMetricsSeries series : dataSourceSeries.values()) {
+                count += series.getFetchedRows();
+            }
+            return count;
+        }
+
+        @Override
+        public String[] getDataSourceIds() {
+            return dataSourceSeries.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public double getExecuteLatencyMillis(String dataSourceId, double percentile) {
+            QMMetricsSeries series = dataSourceSeries.get(dataSourceId);
+            return series == null ? 0 : series.getExecuteLatency().getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        @Override
+        public double getFetchLatencyMillis(String dataSourceId, double percentile) {
+            QMMetricsSeries series = dataSourceSeries.get(dataSourceId);
+            return series == null ? 0 : series.getFetchLatency().getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        @Override
+        public String getPrometheusMetrics() {
+            StringWriter buffer = new StringWriter();
+            try {
+                writePrometheusMetrics(buffer);
+            } catch (IOException e) {
+                // String writer doesn't throw
+            }
+            return buffer.toString();
+        }
+
+        @Override
+        public void reset() {
+            QMMetricsCollector.this.reset();
+        }
+    }
+
+}
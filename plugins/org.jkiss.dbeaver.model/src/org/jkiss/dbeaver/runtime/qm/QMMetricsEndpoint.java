@@ -0,0 +1,119 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.qm.QMMetrics;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal HTTP endpoint which serves query metrics in the Prometheus text format.
+ * Listens on the loopback interface only and answers GET /metrics.
+ */
+class QMMetricsEndpoint {
+
+    private static final Log log = Log.getLog(QMMetricsEndpoint.class);
+
+    private static final String METRICS_PATH = "/metrics"; //$NON-NLS-1$
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8"; //$NON-NLS-1$
+    private static final int SOCKET_TIMEOUT = 10000;
+
+    private final QMMetrics metrics;
+    private final ServerSocket serverSocket;
+    private Thread acceptThread;
+    private volatile boolean running;
+
+    QMMetricsEndpoint(@NotNull QMMetrics metrics, int port) throws IOException {
+        this.metrics = metrics;
+        this.serverSocket = new ServerSocket(port, 10, InetAddress.getLoopbackAddress());
+    }
+
+    void start() {
+        running = true;
+        acceptThread = new Thread(this::acceptConnections, "Query metrics endpoint");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            log.debug(e);
+        }
+        acceptThread = null;
+    }
+
+    private void acceptConnections() {
+        while (running) {
+            try (Socket socket = serverSocket.accept()) {
+                socket.setSoTimeout(SOCKET_TIMEOUT);
+                handleRequest(socket);
+            } catch (SocketException e) {
+                // Socket closed
+                if (running) {
+                    log.debug("Metrics endpoint socket error: " + e.getMessage());
+                }
+            } catch (Exception e) {
+                log.debug("Error serving metrics request: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handleRequest(@NotNull Socket socket) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+        String requestLine = reader.readLine();
+        if (requestLine == null) {
+            return;
+        }
+        // Skip headers
+        for (String header = reader.readLine(); header != null && !header.isEmpty(); header = reader.readLine()) {
+            // ignore
+        }
+        String[] parts = requestLine.split(" ");
+        OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+        if (parts.length < 2 || !"GET".equals(parts[0])) {
+            writeResponse(out, "405 Method Not Allowed", "Method not allowed\n");
+        } else if (!parts[1].equals(METRICS_PATH) && !parts[1].startsWith(METRICS_PATH + "?")) {
+            writeResponse(out, "404 Not Found", "Not found\n");
+        } else {
+            StringWriter buffer = new StringWriter();
+            metrics.writePrometheusMetrics(buffer);
+            writeResponse(out, "200 OK", buffer.toString());
+        }
+        out.flush();
+    }
+
+    private static void writeResponse(@NotNull OutputStream out, @NotNull String status, @NotNull String body) throws IOException {
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        String headers = "HTTP/1.1 " + status + "\r\n" +
+            "Content-Type: " + CONTENT_TYPE + "\r\n" +
+            "Content-Length: " + content.length + "\r\n" +
+            "Connection: close\r\n\r\n";
+        out.write(headers.getBytes(StandardCharsets.ISO_8859_1));
+        out.write(content);
+    }
+
+}
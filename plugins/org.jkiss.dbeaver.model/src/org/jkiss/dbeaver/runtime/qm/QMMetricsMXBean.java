@@ -0,0 +1,41 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+/**
+ * JMX view of the query manager metrics.
+ * Latencies are in milliseconds, percentile is 0..100.
+ */
+public interface QMMetricsMXBean {
+
+    long getExecuteCount();
+
+    long getErrorCount();
+
+    long getFetchedRowCount();
+
+    String[] getDataSourceIds();
+
+    double getExecuteLatencyMillis(String dataSourceId, double percentile);
+
+    double getFetchLatencyMillis(String dataSourceId, double percentile);
+
+    String getPrometheusMetrics();
+
+    void reset();
+
+}
@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.runtime.qm;
 import org.jkiss.code.NotNull;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.impl.app.AbstractApplication;
 import org.jkiss.dbeaver.model.qm.*;
 import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
 import org.jkiss.dbeaver.model.qm.meta.*;
@@ -47,6 +48,9 @@ public class QMRegistryImpl implements QMRegistry {
     private final List<QMExecutionHandler> handlers = new ArrayList<>();
     private QMEventBrowser eventBrowser;
     private DefaultEventBrowser defaultEventBrowser = new DefaultEventBrowser();
+    private QMHistoryStore historyStore;
+    private QMMetricsCollector metricsCollector;
+    private QMTopQueries topQueries;
 
     public QMRegistryImpl() {
         defaultHandler = (QMExecutionHandler) Proxy.newProxyInstance(
@@ -56,11 +60,51 @@ public class QMRegistryImpl implements QMRegistry {
 
         metaHandler = new QMMCollectorImpl();
         registerHandler(metaHandler);
+
+        if (QMHistoryStore.ENABLED) {
+            historyStore = new QMHistoryStore(GeneralUtils.getMetadataFolder().resolve(QMHistoryStore.HISTORY_FOLDER));
+            metaHandler.addListener(historyStore);
+        }
+
+        if (QMMetricsCollector.ENABLED) {
+            topQueries = new QMTopQueries();
+            metaHandler.addListener(topQueries);
+
+            metricsCollector = new QMMetricsCollector();
+            registerHandler(metricsCollector);
+            if (isHeadlessMode()) {
+                metricsCollector.startEndpoints();
+            }
+        }
+    }
+
+    private static boolean isHeadlessMode() {
+        try {
+            return AbstractApplication.getInstance().isHeadlessMode();
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     public void dispose()
     {
+        if (topQueries != null) {
+            if (metaHandler != null) {
+                metaHandler.removeListener(topQueries);
+            }
+            topQueries = null;
+        }
+        if (metricsCollector != null) {
+            unregisterHandler(metricsCollector);
+            metricsCollector.dispose();
+            metricsCollector = null;
+        }
         if (metaHandler != null) {
+            if (historyStore != null) {
+                metaHandler.removeListener(historyStore);
+                historyStore.dispose();
+                historyStore = null;
+            }
             unregisterHandler(metaHandler);
             metaHandler.dispose();
             metaHandler = null;
@@ -81,6 +125,16 @@ public class QMRegistryImpl implements QMRegistry {
         return metaHandler;
     }
 
+    @Override
+    public QMMetrics getMetrics() {
+        return metricsCollector;
+    }
+
+    @Override
+    public QMTopQueries getTopQueries() {
+        return topQueries;
+    }
+
     @Override
     public QMExecutionHandler getDefaultHandler() {
         return defaultHandler;
@@ -94,8 +148,8 @@ public class QMRegistryImpl implements QMRegistry {
         if (eventBrowser == null) {
             eventBrowser = GeneralUtils.adapt(this, QMEventBrowser.class);
             if (eventBrowser == null) {
-                // Default browser
-                this.eventBrowser = defaultEventBrowser;
+                // Persistent history or default browser
+                this.eventBrowser = historyStore != null ? historyStore : defaultEventBrowser;
             }
         }
 
@@ -31,10 +31,15 @@ import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.text.NumberFormat;
 import java.util.Date;
 import java.util.List;
@@ -47,6 +52,7 @@ import java.util.stream.Stream;
 public class ContentUtils {
 
     static final int STREAM_COPY_BUFFER_SIZE = 10000;
+    private static final long FILE_TRANSFER_CHUNK_SIZE = 4 * 1024 * 1024;
     private static final String LOB_DIR = ".lob"; //$NON-NLS-1$
 
     private static final Log log = Log.getLog(ContentUtils.class);
@@ -142,6 +148,82 @@ public class ContentUtils {
         }
     }
 
+    /**
+     * Copies stream into the file using file channel transfer.
+     * Only file streams are transferred channel to channel. Other streams (e.g. LOB streams provided by drivers)
+     * are wrapped into a channel and still copied through intermediate buffers.
+     */
+    public static void copyStreamToFile(
+        @NotNull InputStream inputStream,
+        long contentLength,
+        @NotNull Path file,
+        @NotNull DBRProgressMonitor monitor)
+        throws IOException {
+        // Do not close source channel, stream is owned by the caller
+        ReadableByteChannel source = inputStream instanceof FileInputStream fis ? fis.getChannel() : Channels.newChannel(inputStream);
+        transferToFile(source, contentLength, file, monitor);
+    }
+
+    /**
+     * Copies file content using file channels
+     */
+    public static void copyFile(
+        @NotNull Path sourceFile,
+        @NotNull Path targetFile,
+        @NotNull DBRProgressMonitor monitor)
+        throws IOException {
+        try (FileChannel source = FileChannel.open(sourceFile, StandardOpenOption.READ)) {
+            transferToFile(source, source.size(), targetFile, monitor);
+        }
+    }
+
+    private static void transferToFile(
+        @NotNull ReadableByteChannel source,
+        long contentLength,
+        @NotNull Path file,
+        @NotNull DBRProgressMonitor monitor)
+        throws IOException {
+        monitor.beginTask("Copy binary content", contentLength <= 0 ? 1 : (int) Math.min(Integer.MAX_VALUE, contentLength / FILE_TRANSFER_CHUNK_SIZE + 1));
+        try (FileChannel target = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            NumberFormat nf = new ByteNumberFormat(ByteNumberFormat.BinaryPrefix.ISO);
+            String subtaskSuffix = " / " + nf.format(contentLength);
+            long position = 0;
+            while (!monitor.isCanceled()) {
+                long count = target.transferFrom(source, position, FILE_TRANSFER_CHUNK_SIZE);
+                if (count <= 0) {
+                    break;
+                }
+                position += count;
+                monitor.worked(1);
+                if (contentLength > 0) {
+                    monitor.subTask(nf.format(position) + subtaskSuffix);
+                }
+            }
+        } finally {
+            monitor.done();
+        }
+    }
+
+    /**
+     * Maps file into memory for reading. Mapped data isn't copied into the heap, pages are read on demand.
+     * Returns null if file is too large to be mapped in one buffer or if mapping isn't safe on this platform
+     * (Windows doesn't allow to delete mapped files, so temporary content files would stay locked).
+     */
+    @Nullable
+    public static ByteBuffer mapContentFile(@NotNull Path file) throws IOException {
+        if (RuntimeUtils.isWindows()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+            // Mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
     public static void copyStreams(
         Reader reader,
         long contentLength,
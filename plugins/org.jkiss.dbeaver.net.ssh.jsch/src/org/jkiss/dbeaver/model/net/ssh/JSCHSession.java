@@ -19,6 +19,7 @@ package org.jkiss.dbeaver.model.net.ssh;
 import com.jcraft.jsch.*;
 import org.eclipse.osgi.util.NLS;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
@@ -31,6 +32,7 @@ import java.io.OutputStream;
 
 public class JSCHSession extends AbstractSession {
     private final JSCHSessionController controller;
+    private final SSHTunnelStatistics statistics = new SSHTunnelStatistics();
     private Session session;
 
     public JSCHSession(@NotNull JSCHSessionController controller) {
@@ -43,7 +45,9 @@ public class JSCHSession extends AbstractSession {
         @NotNull SSHHostConfiguration destination,
         @NotNull DBWHandlerConfiguration configuration
     ) throws DBException {
+        final long startTime = System.currentTimeMillis();
         session = controller.createNewSession(monitor, configuration, destination);
+        statistics.setConnectTime(System.currentTimeMillis() - startTime);
     }
 
     @Override
@@ -65,7 +69,8 @@ public class JSCHSession extends AbstractSession {
                 configuration.localHost(),
                 configuration.localPort(),
                 configuration.remoteHost(),
-                configuration.remotePort()
+                configuration.remotePort(),
+                statistics::createServerSocket
             );
 
             return new SSHPortForwardConfiguration(
@@ -138,6 +143,12 @@ public class JSCHSession extends AbstractSession {
         return session.getServerVersion();
     }
 
+    @Nullable
+    @Override
+    public SSHTunnelStatistics getStatistics() {
+        return statistics;
+    }
+
     @NotNull
     private ChannelSftp openSftpChannel() throws IOException {
         final ChannelSftp channel;
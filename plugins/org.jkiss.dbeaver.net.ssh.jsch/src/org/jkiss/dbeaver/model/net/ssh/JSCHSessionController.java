@@ -40,6 +40,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -111,6 +115,8 @@ public class JSCHSessionController extends AbstractSessionController<JSCHSession
                 SSHConstants.DEFAULT_CONNECT_TIMEOUT));
             setupHostKeyVerification(jsch, session, configuration);
 
+            setupChannelParameters(session, configuration);
+
             if (auth instanceof SSHAuthConfiguration.Password) {
                 session.setConfig("PreferredAuthentications", "password,keyboard-interactive");
             } else {
@@ -125,6 +131,26 @@ public class JSCHSessionController extends AbstractSessionController<JSCHSession
         }
     }
 
+    /**
+     * JSch doesn't allow to change channel window and packet sizes, so only compression and ciphers are configured.
+     */
+    private static void setupChannelParameters(@NotNull Session session, @NotNull DBWHandlerConfiguration configuration) {
+        if (configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION)) {
+            session.setConfig("compression.s2c", "zlib@openssh.com,zlib,none");
+            session.setConfig("compression.c2s", "zlib@openssh.com,zlib,none");
+        }
+        final List<String> preferredCiphers = SSHUtils.getPreferredCiphers(configuration);
+        if (!preferredCiphers.isEmpty()) {
+            for (String property : new String[]{"cipher.s2c", "cipher.c2s"}) {
+                // Preferred ciphers go first, the rest are kept as a fallback
+                final Set<String> ciphers = new LinkedHashSet<>(preferredCiphers);
+                ciphers.addAll(Arrays.asList(CommonUtils.notEmpty(session.getConfig(property)).split(",")));
+                ciphers.remove("");
+                session.setConfig(property, String.join(",", ciphers));
+            }
+        }
+    }
+
     private void setupHostKeyVerification(
         @NotNull JSch jsch,
         @NotNull Session session,
@@ -23,6 +23,7 @@ import net.schmizz.sshj.sftp.SFTPClient;
 import net.schmizz.sshj.xfer.InMemoryDestFile;
 import net.schmizz.sshj.xfer.InMemorySourceFile;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
@@ -45,6 +46,7 @@ public class SSHJSession extends AbstractSession {
 
     private final Map<SSHPortForwardConfiguration, LocalPortListener> listeners = new ConcurrentHashMap<>();
     private final SSHJSessionController controller;
+    private final SSHTunnelStatistics statistics = new SSHTunnelStatistics();
 
     private SSHClient client;
 
@@ -58,7 +60,9 @@ public class SSHJSession extends AbstractSession {
         @NotNull SSHHostConfiguration destination,
         @NotNull DBWHandlerConfiguration configuration
     ) throws DBException {
+        final long startTime = System.currentTimeMillis();
         client = controller.createNewSession(monitor, configuration, destination);
+        statistics.setConnectTime(System.currentTimeMillis() - startTime);
     }
 
     @Override
@@ -82,7 +86,7 @@ public class SSHJSession extends AbstractSession {
     @Override
     public SSHPortForwardConfiguration setupPortForward(@NotNull SSHPortForwardConfiguration config) throws DBException {
         try {
-            final LocalPortListener listener = LocalPortListener.setup(client, config);
+            final LocalPortListener listener = LocalPortListener.setup(client, config, statistics);
             final SSHPortForwardConfiguration resolved = Objects.requireNonNull(listener.resolved);
 
             listeners.put(resolved, listener);
@@ -166,6 +170,12 @@ public class SSHJSession extends AbstractSession {
         return client.getTransport().getServerVersion();
     }
 
+    @Nullable
+    @Override
+    public SSHTunnelStatistics getStatistics() {
+        return statistics;
+    }
+
     @NotNull
     private SFTPClient openSftpClient() throws IOException {
         SFTPClient sftpClient = client.newSFTPClient();
@@ -176,22 +186,29 @@ public class SSHJSession extends AbstractSession {
     private static class LocalPortListener extends Thread {
         private final SSHClient client;
         private final SSHPortForwardConfiguration config;
+        private final SSHTunnelStatistics statistics;
         private final CountDownLatch started = new CountDownLatch(1);
 
         private volatile LocalPortForwarder forwarder;
         private volatile SSHPortForwardConfiguration resolved;
 
-        public LocalPortListener(@NotNull SSHClient client, @NotNull SSHPortForwardConfiguration config) {
+        public LocalPortListener(
+            @NotNull SSHClient client,
+            @NotNull SSHPortForwardConfiguration config,
+            @NotNull SSHTunnelStatistics statistics
+        ) {
             this.client = client;
             this.config = config;
+            this.statistics = statistics;
         }
 
         @NotNull
         public static LocalPortListener setup(
             @NotNull SSHClient client,
-            @NotNull SSHPortForwardConfiguration config
+            @NotNull SSHPortForwardConfiguration config,
+            @NotNull SSHTunnelStatistics statistics
         ) throws InterruptedException {
-            final LocalPortListener listener = new LocalPortListener(client, config);
+            final LocalPortListener listener = new LocalPortListener(client, config, statistics);
 
             listener.start();
             listener.await();
@@ -202,7 +219,7 @@ public class SSHJSession extends AbstractSession {
         @Override
         public void run() {
             try {
-                final ServerSocket socket = new ServerSocket(config.localPort(), 0, InetAddress.getByName(config.localHost()));
+                final ServerSocket socket = statistics.createServerSocket(config.localPort(), 0, InetAddress.getByName(config.localHost()));
                 final Parameters parameters = new Parameters(config.localHost(), socket.getLocalPort(), config.remoteHost(), config.remotePort());
 
                 forwarder = client.newLocalPortForwarder(parameters, socket);
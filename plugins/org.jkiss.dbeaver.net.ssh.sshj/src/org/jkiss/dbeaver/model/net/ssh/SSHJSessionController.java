@@ -17,8 +17,12 @@
 package org.jkiss.dbeaver.model.net.ssh;
 
 import com.jcraft.jsch.Identity;
+import net.schmizz.sshj.Config;
 import net.schmizz.sshj.SSHClient;
+import net.schmizz.sshj.common.Factory;
 import net.schmizz.sshj.common.LoggerFactory;
+import net.schmizz.sshj.transport.TransportException;
+import net.schmizz.sshj.transport.cipher.Cipher;
 import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
 import net.schmizz.sshj.userauth.method.AuthMethod;
 import net.schmizz.sshj.userauth.password.PasswordFinder;
@@ -37,6 +41,7 @@ import org.slf4j.helpers.NOPLogger;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -66,6 +71,7 @@ public class SSHJSessionController extends AbstractSessionController<SSHJSession
         client.setConnectTimeout(connectTimeout);
         client.getConnection().getKeepAlive().setKeepAliveInterval(keepAliveInterval);
         client.getTransport().getConfig().setLoggerFactory(new FilterLoggerFactory());
+        setupChannelParameters(client, configuration);
 
         try {
             setupHostKeyVerification(client, configuration, host);
@@ -105,6 +111,38 @@ public class SSHJSessionController extends AbstractSessionController<SSHJSession
         return client;
     }
 
+    private static void setupChannelParameters(
+        @NotNull SSHClient client,
+        @NotNull DBWHandlerConfiguration configuration
+    ) throws DBException {
+        final int windowSize = configuration.getIntProperty(SSHConstants.PROP_WINDOW_SIZE);
+        if (windowSize > 0) {
+            client.getConnection().setWindowSize(windowSize * 1024L);
+        }
+        final int packetSize = configuration.getIntProperty(SSHConstants.PROP_PACKET_SIZE);
+        if (packetSize > 0) {
+            client.getConnection().setMaxPacketSize(packetSize * 1024);
+        }
+        if (configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION)) {
+            try {
+                client.useCompression();
+            } catch (TransportException e) {
+                throw new DBException("Error enabling SSH compression", e);
+            }
+        }
+        final List<String> preferredCiphers = SSHUtils.getPreferredCiphers(configuration);
+        if (!preferredCiphers.isEmpty()) {
+            // Preferred ciphers go first, the rest are kept as a fallback
+            final Config config = client.getTransport().getConfig();
+            final List<Factory.Named<Cipher>> ciphers = new ArrayList<>(config.getCipherFactories());
+            ciphers.sort(Comparator.comparingInt(factory -> {
+                final int index = preferredCiphers.indexOf(factory.getName());
+                return index < 0 ? preferredCiphers.size() : index;
+            }));
+            config.setCipherFactories(ciphers);
+        }
+    }
+
     private static void setupHostKeyVerification(
         @NotNull SSHClient client,
         @NotNull DBWHandlerConfiguration configuration,
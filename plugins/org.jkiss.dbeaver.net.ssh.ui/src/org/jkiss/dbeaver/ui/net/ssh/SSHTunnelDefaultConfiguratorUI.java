@@ -93,6 +93,12 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
 
     private Text keepAliveText;
     private Text tunnelTimeout;
+
+    private Text windowSizeText;
+    private Text packetSizeText;
+    private Spinner sessionCountSpinner;
+    private Text ciphersText;
+    private Button compressionCheck;
     private VariablesHintLabel variablesHintLabel;
 
     @Override
@@ -299,6 +305,50 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
             );
             setNumberEditStyles(tunnelTimeout);
 
+            final Group performanceGroup = UIUtils.createControlGroup(
+                client,
+                SSHUIMessages.model_ssh_configurator_group_performance_text,
+                4,
+                GridData.FILL_HORIZONTAL,
+                0
+            );
+            ((GridData) performanceGroup.getLayoutData()).horizontalSpan = 2;
+            windowSizeText = UIUtils.createLabelText(
+                performanceGroup,
+                SSHUIMessages.model_ssh_configurator_label_window_size,
+                ""
+            );
+            windowSizeText.setToolTipText(SSHUIMessages.model_ssh_configurator_label_window_size_description);
+            setNumberEditStyles(windowSizeText);
+            packetSizeText = UIUtils.createLabelText(
+                performanceGroup,
+                SSHUIMessages.model_ssh_configurator_label_packet_size,
+                ""
+            );
+            packetSizeText.setToolTipText(SSHUIMessages.model_ssh_configurator_label_packet_size_description);
+            setNumberEditStyles(packetSizeText);
+            sessionCountSpinner = UIUtils.createLabelSpinner(
+                performanceGroup,
+                SSHUIMessages.model_ssh_configurator_label_session_count,
+                SSHUIMessages.model_ssh_configurator_label_session_count_description,
+                1,
+                1,
+                SSHConstants.MAX_SESSION_COUNT
+            );
+            ciphersText = UIUtils.createLabelText(
+                performanceGroup,
+                SSHUIMessages.model_ssh_configurator_label_ciphers,
+                ""
+            );
+            ciphersText.setToolTipText(SSHUIMessages.model_ssh_configurator_label_ciphers_description);
+            compressionCheck = UIUtils.createCheckbox(
+                performanceGroup,
+                SSHUIMessages.model_ssh_configurator_label_compression,
+                SSHUIMessages.model_ssh_configurator_label_compression_description,
+                false,
+                4
+            );
+
             final Group portForwardingGroup = UIUtils.createControlGroup(
                 client,
                 SSHUIMessages.model_ssh_configurator_group_port_forwarding_text,
@@ -547,6 +597,14 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
             tunnelTimeout.setText(String.valueOf(timeoutValue));
         }
 
+        int windowSize = configuration.getIntProperty(SSHConstants.PROP_WINDOW_SIZE);
+        windowSizeText.setText(windowSize > 0 ? String.valueOf(windowSize) : "");
+        int packetSize = configuration.getIntProperty(SSHConstants.PROP_PACKET_SIZE);
+        packetSizeText.setText(packetSize > 0 ? String.valueOf(packetSize) : "");
+        sessionCountSpinner.setSelection(SSHUtils.getSessionCount(configuration));
+        ciphersText.setText(CommonUtils.notEmpty(configuration.getStringProperty(SSHConstants.PROP_CIPHERS)));
+        compressionCheck.setSelection(configuration.getBooleanProperty(SSHConstants.PROP_COMPRESSION));
+
         savedConfiguration = new DBWHandlerConfiguration(configuration);
 
         DBPDataSourceContainer dataSource = savedConfiguration.getDataSource();
@@ -612,6 +670,16 @@ public class SSHTunnelDefaultConfiguratorUI implements IObjectPropertyConfigurat
         if (conTimeout != 0 && conTimeout != SSHConstants.DEFAULT_CONNECT_TIMEOUT) {
             configuration.setProperty(SSHConstants.PROP_CONNECT_TIMEOUT, conTimeout);
         }
+
+        int windowSize = CommonUtils.toInt(windowSizeText.getText());
+        configuration.setProperty(SSHConstants.PROP_WINDOW_SIZE, windowSize <= 0 ? null : windowSize);
+        int packetSize = CommonUtils.toInt(packetSizeText.getText());
+        configuration.setProperty(SSHConstants.PROP_PACKET_SIZE, packetSize <= 0 ? null : packetSize);
+        int sessionCount = sessionCountSpinner.getSelection();
+        configuration.setProperty(SSHConstants.PROP_SESSION_COUNT, sessionCount <= 1 ? null : sessionCount);
+        String ciphers = ciphersText.getText().trim();
+        configuration.setProperty(SSHConstants.PROP_CIPHERS, ciphers.isEmpty() ? null : ciphers);
+        configuration.setProperty(SSHConstants.PROP_COMPRESSION, compressionCheck.getSelection() ? true : null);
     }
 
     @Override
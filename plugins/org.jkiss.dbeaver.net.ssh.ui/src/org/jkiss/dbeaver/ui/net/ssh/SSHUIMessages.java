@@ -53,6 +53,17 @@ public class SSHUIMessages extends NLS {
     public static String model_ssh_configurator_combo_agent;
     public static String model_ssh_configurator_group_general_text;
     public static String model_ssh_configurator_group_timeouts_text;
+    public static String model_ssh_configurator_group_performance_text;
+    public static String model_ssh_configurator_label_window_size;
+    public static String model_ssh_configurator_label_window_size_description;
+    public static String model_ssh_configurator_label_packet_size;
+    public static String model_ssh_configurator_label_packet_size_description;
+    public static String model_ssh_configurator_label_session_count;
+    public static String model_ssh_configurator_label_session_count_description;
+    public static String model_ssh_configurator_label_ciphers;
+    public static String model_ssh_configurator_label_ciphers_description;
+    public static String model_ssh_configurator_label_compression;
+    public static String model_ssh_configurator_label_compression_description;
     public static String model_ssh_configurator_group_port_forwarding_text;
     public static String model_ssh_configurator_group_jump_server_settings_text;
     public static String model_ssh_configurator_variables_hint_label;
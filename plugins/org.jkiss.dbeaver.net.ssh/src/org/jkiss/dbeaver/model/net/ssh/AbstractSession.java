@@ -17,6 +17,7 @@
 package org.jkiss.dbeaver.model.net.ssh;
 
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
@@ -44,4 +45,10 @@ public abstract class AbstractSession implements SSHSession {
     public abstract void removePortForward(
         @NotNull SSHPortForwardConfiguration configuration
     ) throws DBException;
+
+    /**
+     * Returns traffic statistics of this session or null if session is not connected
+     */
+    @Nullable
+    public abstract SSHTunnelStatistics getStatistics();
 }
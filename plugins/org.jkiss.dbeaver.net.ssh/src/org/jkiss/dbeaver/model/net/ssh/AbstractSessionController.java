@@ -29,6 +29,7 @@ import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHPortForwardConfiguration;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.utils.ByteNumberFormat;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -199,9 +200,11 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
 
     protected static boolean canShareSessionForConfiguration(@NotNull DBWHandlerConfiguration configuration) {
         // Data source might be null if this tunnel is used for connection testing
+        // Tunnels with several sessions are never shared
         return !SSHUtils.DISABLE_SESSION_SHARING
             && configuration.getDataSource() != null
-            && configuration.getBooleanProperty(SSHConstants.PROP_SHARE_TUNNELS, true);
+            && configuration.getBooleanProperty(SSHConstants.PROP_SHARE_TUNNELS, true)
+            && SSHUtils.getSessionCount(configuration) == 1;
     }
 
     protected static class JumpSession<T extends AbstractSession> extends DelegateSession {
@@ -285,6 +288,12 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
             return jumpDestination;
         }
 
+        @Nullable
+        @Override
+        public SSHTunnelStatistics getStatistics() {
+            return jumpDestination == null ? null : jumpDestination.getStatistics();
+        }
+
         @NotNull
         @Override
         protected DBPDataSourceContainer[] getDataSources() {
@@ -414,6 +423,30 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
                 .collect(Collectors.joining(", "));
         }
 
+        @Property(viewable = true, order = 4, name = "Sent", formatter = ByteNumberFormat.class)
+        public long getBytesSent() {
+            final SSHTunnelStatistics statistics = getStatistics();
+            return statistics == null ? 0 : statistics.getBytesSent();
+        }
+
+        @Property(viewable = true, order = 5, name = "Received", formatter = ByteNumberFormat.class)
+        public long getBytesReceived() {
+            final SSHTunnelStatistics statistics = getStatistics();
+            return statistics == null ? 0 : statistics.getBytesReceived();
+        }
+
+        @Property(viewable = true, order = 6, name = "Connections")
+        public String getConnectionsInfo() {
+            final SSHTunnelStatistics statistics = getStatistics();
+            return statistics == null ? "" : "%d (%d)".formatted(statistics.getActiveConnectionCount(), statistics.getConnectionCount());
+        }
+
+        @Property(viewable = true, order = 7, name = "Latency")
+        public String getLatencyInfo() {
+            final SSHTunnelStatistics statistics = getStatistics();
+            return statistics == null ? "" : "%.1f ms (max %d ms)".formatted(statistics.getAverageLatency(), statistics.getMaxLatency());
+        }
+
         @Override
         public synchronized void connect(
             @NotNull DBRProgressMonitor monitor,
@@ -562,6 +595,12 @@ public abstract class AbstractSessionController<T extends AbstractSession> imple
             return getSession().getServerVersion();
         }
 
+        @Nullable
+        @Override
+        public SSHTunnelStatistics getStatistics() {
+            return getSession().getStatistics();
+        }
+
         @NotNull
         protected abstract AbstractSession getSession();
 
@@ -27,6 +27,7 @@ public class SSHConstants {
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final String DEFAULT_USER_NAME = System.getProperty(StandardConstants.ENV_USER_NAME);
     public static final int MAX_JUMP_SERVERS = 5;
+    public static final int MAX_SESSION_COUNT = 8;
 
     public static final String PROP_IMPLEMENTATION = "implementation";
     public static final String PROP_AUTH_TYPE = "authType";
@@ -42,6 +43,15 @@ public class SSHConstants {
     public static final String PROP_REMOTE_PORT = "remotePort";
     public static final String PROP_BYPASS_HOST_VERIFICATION = "bypassHostVerification";
     public static final String PROP_SHARE_TUNNELS = "shareTunnels";
+    // Channel window size in kilobytes
+    public static final String PROP_WINDOW_SIZE = "windowSize";
+    // Maximum channel packet size in kilobytes
+    public static final String PROP_PACKET_SIZE = "packetSize";
+    public static final String PROP_COMPRESSION = "compression";
+    // Comma-separated list of preferred ciphers
+    public static final String PROP_CIPHERS = "ciphers";
+    // Number of SSH sessions used by one tunnel
+    public static final String PROP_SESSION_COUNT = "sessionCount";
     //private static final int CONNECT_TIMEOUT = 10000;
 
     public enum AuthType {
@@ -0,0 +1,170 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.net.ssh.config.SSHPortForwardConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads local connections of a tunnel over several SSH sessions.
+ * <p>
+ * Each session forwards its own local port to the remote host.
+ * Balancer listens on the tunnel local port and relays every accepted connection
+ * to the session with the least number of active connections.
+ */
+class SSHSessionBalancer {
+
+    private static final Log log = Log.getLog(SSHSessionBalancer.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SSHPortForwardConfiguration listenConfiguration;
+    private final List<SSHPortForwardConfiguration> targets;
+    private final AtomicInteger[] targetConnections;
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+
+    SSHSessionBalancer(
+        @NotNull SSHPortForwardConfiguration listenConfiguration,
+        @NotNull List<SSHPortForwardConfiguration> targets
+    ) {
+        this.listenConfiguration = listenConfiguration;
+        this.targets = targets;
+        this.targetConnections = new AtomicInteger[targets.size()];
+        for (int i = 0; i < targetConnections.length; i++) {
+            targetConnections[i] = new AtomicInteger();
+        }
+    }
+
+    void start() throws IOException {
+        serverSocket = new ServerSocket(
+            listenConfiguration.localPort(),
+            0,
+            InetAddress.getByName(listenConfiguration.localHost()));
+        final Thread acceptThread = new Thread(this::acceptConnections, "SSH session balancer (" + listenConfiguration + ")");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    void stop() {
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                log.debug("Error closing balancer socket", e);
+            }
+            serverSocket = null;
+        }
+        for (Socket socket : sockets) {
+            closeSocket(socket);
+        }
+        sockets.clear();
+    }
+
+    private void acceptConnections() {
+        final ServerSocket server = serverSocket;
+        while (server != null && !server.isClosed()) {
+            final Socket client;
+            try {
+                client = server.accept();
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    log.debug("Error accepting tunnel connection", e);
+                }
+                break;
+            }
+            final int targetIndex = chooseTarget();
+            final SSHPortForwardConfiguration target = targets.get(targetIndex);
+            try {
+                final Socket upstream = new Socket(target.localHost(), target.localPort());
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                sockets.add(client);
+                sockets.add(upstream);
+                targetConnections[targetIndex].incrementAndGet();
+
+                final AtomicInteger openDirections = new AtomicInteger(2);
+                final Runnable onClose = () -> {
+                    if (openDirections.decrementAndGet() == 0) {
+                        targetConnections[targetIndex].decrementAndGet();
+                        sockets.remove(client);
+                        sockets.remove(upstream);
+                    }
+                };
+                startRelay(client, upstream, "request", onClose);
+                startRelay(upstream, client, "response", onClose);
+            } catch (IOException e) {
+                log.debug("Error connecting to session port " + target.localPort(), e);
+                closeSocket(client);
+            }
+        }
+    }
+
+    private int chooseTarget() {
+        int result = 0;
+        for (int i = 1; i < targetConnections.length; i++) {
+            if (targetConnections[i].get() < targetConnections[result].get()) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    private void startRelay(@NotNull Socket from, @NotNull Socket to, @NotNull String direction, @NotNull Runnable onClose) {
+        final Thread thread = new Thread(() -> {
+            try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                for (int count = in.read(buffer); count >= 0; count = in.read(buffer)) {
+                    out.write(buffer, 0, count);
+                    out.flush();
+                }
+            } catch (SocketException e) {
+                // Connection closed by either side
+            } catch (IOException e) {
+                log.debug("Error relaying tunnel " + direction, e);
+            } finally {
+                closeSocket(from);
+                closeSocket(to);
+                onClose.run();
+            }
+        }, "SSH session balancer " + direction + " (" + from.getPort() + ")");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void closeSocket(@NotNull Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("Error closing socket", e);
+        }
+    }
+
+}
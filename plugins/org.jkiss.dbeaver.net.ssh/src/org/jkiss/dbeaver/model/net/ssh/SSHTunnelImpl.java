@@ -22,11 +22,13 @@ import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.ModelPreferences;
 import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBConstants;
 import org.jkiss.dbeaver.model.DBPDataSourceContainer;
 import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
 import org.jkiss.dbeaver.model.exec.DBCInvalidatePhase;
 import org.jkiss.dbeaver.model.net.DBWHandlerConfiguration;
 import org.jkiss.dbeaver.model.net.DBWTunnel;
+import org.jkiss.dbeaver.model.net.DBWTunnelStatistics;
 import org.jkiss.dbeaver.model.net.DBWUtils;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHAuthConfiguration;
 import org.jkiss.dbeaver.model.net.ssh.config.SSHHostConfiguration;
@@ -52,6 +54,9 @@ public class SSHTunnelImpl implements DBWTunnel {
     private DBWHandlerConfiguration configuration;
     private SSHSessionController controller;
     private SSHSession session;
+    // All sessions of the tunnel, the first one is the main session
+    private final List<SSHSession> sessions = new ArrayList<>();
+    private SSHSessionBalancer balancer;
     private final List<Runnable> listeners = new ArrayList<>();
 
     @Nullable
@@ -141,13 +146,15 @@ public class SSHTunnelImpl implements DBWTunnel {
         }
         try {
             monitor.subTask("Invalidate SSH tunnel");
-            controller.invalidate(
-                monitor,
-                session,
-                phase,
-                configuration,
-                dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.CONNECTION_VALIDATION_TIMEOUT)
-            );
+            for (SSHSession tunnelSession : sessions) {
+                controller.invalidate(
+                    monitor,
+                    tunnelSession,
+                    phase,
+                    configuration,
+                    dataSource.getContainer().getPreferenceStore().getInt(ModelPreferences.CONNECTION_VALIDATION_TIMEOUT)
+                );
+            }
         } catch (DBException e) {
             log.debug("Error invalidating SSH tunnel. Closing.", e);
             try {
@@ -163,12 +170,22 @@ public class SSHTunnelImpl implements DBWTunnel {
 
     @Override
     public void closeTunnel(@NotNull DBRProgressMonitor monitor) throws DBException {
+        if (balancer != null) {
+            balancer.stop();
+            balancer = null;
+        }
         if (session != null) {
             final DBPDataSourceContainer container = configuration.getDataSource();
             final int timeout = container != null
                 ? container.getPreferenceStore().getInt(ModelPreferences.CONNECTION_VALIDATION_TIMEOUT)
                 : 0;
-            controller.release(monitor, session, configuration, timeout);
+            try {
+                for (SSHSession tunnelSession : sessions) {
+                    controller.release(monitor, tunnelSession, configuration, timeout);
+                }
+            } finally {
+                sessions.clear();
+            }
         }
         for (Runnable listener : this.listeners) {
             listener.run();
@@ -176,6 +193,24 @@ public class SSHTunnelImpl implements DBWTunnel {
         this.listeners.clear();
     }
 
+    @Nullable
+    @Override
+    public DBWTunnelStatistics getStatistics() {
+        if (controller == null || sessions.isEmpty()) {
+            return null;
+        }
+        if (sessions.size() == 1 && sessions.get(0) instanceof AbstractSession single) {
+            return single.getStatistics();
+        }
+        final SSHTunnelStatistics statistics = new SSHTunnelStatistics();
+        for (SSHSession tunnelSession : sessions) {
+            if (tunnelSession instanceof AbstractSession abstractSession && abstractSession.getStatistics() != null) {
+                statistics.add(abstractSession.getStatistics());
+            }
+        }
+        return statistics;
+    }
+
     @NotNull
     @Override
     public DBPDataSourceContainer[] getDependentDataSources() {
@@ -191,24 +226,61 @@ public class SSHTunnelImpl implements DBWTunnel {
     ) throws DBException {
         final SSHHostConfiguration[] hosts = SSHUtils.loadHostConfigurations(configuration, true);
         final SSHPortForwardConfiguration portForward = loadPortForwardConfiguration(configuration, connectionInfo);
-        final SSHSession[] sessions = new SSHSession[hosts.length];
+        final int sessionCount = SSHUtils.getSessionCount(configuration);
+
+        sessions.clear();
+        if (sessionCount == 1) {
+            sessions.add(acquireSessionChain(monitor, configuration, controller, hosts, portForward));
+        } else {
+            // Each session forwards its own port, connections to the tunnel port are spread over them
+            final List<SSHPortForwardConfiguration> sessionPortForwards = new ArrayList<>();
+            for (int i = 0; i < sessionCount; i++) {
+                final SSHPortForwardConfiguration sessionPortForward = new SSHPortForwardConfiguration(
+                    DBConstants.HOST_LOCALHOST_IP,
+                    SSHUtils.findFreePort(),
+                    portForward.remoteHost(),
+                    portForward.remotePort()
+                );
+                sessions.add(acquireSessionChain(monitor, configuration, controller, hosts, sessionPortForward));
+                sessionPortForwards.add(sessionPortForward);
+            }
+            balancer = new SSHSessionBalancer(portForward, sessionPortForwards);
+            try {
+                balancer.start();
+            } catch (IOException e) {
+                throw new DBException("Error starting SSH session balancer on port " + portForward.localPort(), e);
+            }
+        }
+
+        session = sessions.get(0);
+
+        connectionInfo = new DBPConnectionConfiguration(connectionInfo);
+        DBWUtils.updateConfigWithTunnelInfo(configuration, connectionInfo, portForward.localHost(), portForward.localPort());
+        return connectionInfo;
+    }
+
+    @NotNull
+    private static SSHSession acquireSessionChain(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBWHandlerConfiguration configuration,
+        @NotNull SSHSessionController controller,
+        @NotNull SSHHostConfiguration[] hosts,
+        @NotNull SSHPortForwardConfiguration portForward
+    ) throws DBException {
+        final SSHSession[] chain = new SSHSession[hosts.length];
 
         for (int index = 0; index < hosts.length; index++) {
             // NOTE: If acquireSession fails, all previously acquired sessions will not be released. Not sure if it's a problem.
-            sessions[index] = controller.acquireSession(
+            chain[index] = controller.acquireSession(
                 monitor,
                 configuration,
                 hosts[index],
-                index != 0 ? sessions[index - 1] : null,
+                index != 0 ? chain[index - 1] : null,
                 index == hosts.length - 1 ? portForward : null
             );
         }
 
-        session = sessions[sessions.length - 1];
-
-        connectionInfo = new DBPConnectionConfiguration(connectionInfo);
-        DBWUtils.updateConfigWithTunnelInfo(configuration, connectionInfo, portForward.localHost(), portForward.localPort());
-        return connectionInfo;
+        return chain[chain.length - 1];
     }
 
     @Nullable
@@ -0,0 +1,251 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.model.net.DBWTunnelStatistics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SSH session traffic counters.
+ * <p>
+ * Traffic is counted on local sockets accepted by port forwards, see {@link #createServerSocket(int, int, InetAddress)}.
+ * Latency is the time between the last chunk of data written by local client and the first chunk of response.
+ */
+public class SSHTunnelStatistics implements DBWTunnelStatistics {
+
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final AtomicInteger activeConnectionCount = new AtomicInteger();
+    private final AtomicLong latencyTotal = new AtomicLong();
+    private final AtomicLong latencyCount = new AtomicLong();
+    private final AtomicLong latencyMax = new AtomicLong();
+    private volatile long connectTime;
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    @Override
+    public long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public int getActiveConnectionCount() {
+        return activeConnectionCount.get();
+    }
+
+    @Override
+    public long getConnectTime() {
+        return connectTime;
+    }
+
+    public void setConnectTime(long connectTime) {
+        this.connectTime = connectTime;
+    }
+
+    @Override
+    public double getAverageLatency() {
+        long count = latencyCount.get();
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(latencyTotal.get()) / count / 1000;
+    }
+
+    @Override
+    public long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(latencyMax.get());
+    }
+
+    /**
+     * Adds counters of another session. Used to aggregate statistics of tunnels with several sessions.
+     */
+    public void add(@NotNull SSHTunnelStatistics other) {
+        bytesSent.addAndGet(other.bytesSent.get());
+        bytesReceived.addAndGet(other.bytesReceived.get());
+        connectionCount.addAndGet(other.connectionCount.get());
+        activeConnectionCount.addAndGet(other.activeConnectionCount.get());
+        latencyTotal.addAndGet(other.latencyTotal.get());
+        latencyCount.addAndGet(other.latencyCount.get());
+        latencyMax.accumulateAndGet(other.latencyMax.get(), Math::max);
+        connectTime = Math.max(connectTime, other.connectTime);
+    }
+
+    /**
+     * Creates server socket for a local port forward. Accepted sockets update counters of this session.
+     */
+    @NotNull
+    public ServerSocket createServerSocket(int port, int backlog, InetAddress bindAddress) throws IOException {
+        return new CountingServerSocket(port, backlog, bindAddress);
+    }
+
+    private void addLatency(long latency) {
+        latencyTotal.addAndGet(latency);
+        latencyCount.incrementAndGet();
+        latencyMax.accumulateAndGet(latency, Math::max);
+    }
+
+    private class CountingServerSocket extends ServerSocket {
+        CountingServerSocket(int port, int backlog, InetAddress bindAddress) throws IOException {
+            super(port, backlog, bindAddress);
+        }
+
+        @Override
+        public Socket accept() throws IOException {
+            if (isClosed()) {
+                throw new IOException("Socket is closed");
+            }
+            final CountingSocket socket = new CountingSocket();
+            implAccept(socket);
+            connectionCount.incrementAndGet();
+            activeConnectionCount.incrementAndGet();
+            return socket;
+        }
+    }
+
+    private class CountingSocket extends Socket {
+        // Time of the last write which wasn't answered yet
+        private volatile long requestTime;
+        private InputStream inputStream;
+        private OutputStream outputStream;
+        private boolean closed;
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new CountingInputStream(super.getInputStream());
+            }
+            return inputStream;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                activeConnectionCount.decrementAndGet();
+            }
+            super.close();
+        }
+
+        // Input stream of local socket reads client requests
+        private class CountingInputStream extends InputStream {
+            private final InputStream delegate;
+
+            CountingInputStream(@NotNull InputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public int read() throws IOException {
+                int b = delegate.read();
+                if (b >= 0) {
+                    countRequest(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(@NotNull byte[] b, int off, int len) throws IOException {
+                int count = delegate.read(b, off, len);
+                if (count > 0) {
+                    countRequest(count);
+                }
+                return count;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return delegate.available();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            private void countRequest(int count) {
+                bytesSent.addAndGet(count);
+                requestTime = System.nanoTime();
+            }
+        }
+
+        // Output stream of local socket writes server responses
+        private class CountingOutputStream extends OutputStream {
+            private final OutputStream delegate;
+
+            CountingOutputStream(@NotNull OutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                // Count before writing, so the bytes are counted by the time the client reads them
+                countResponse(1);
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(@NotNull byte[] b, int off, int len) throws IOException {
+                countResponse(len);
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            private void countResponse(int count) {
+                bytesReceived.addAndGet(count);
+                long start = requestTime;
+                if (start != 0) {
+                    requestTime = 0;
+                    addLatency(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+}
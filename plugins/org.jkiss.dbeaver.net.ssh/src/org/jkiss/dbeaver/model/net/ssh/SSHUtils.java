@@ -66,6 +66,29 @@ public class SSHUtils {
         return IOUtils.findFreePort(minPort, maxPort);
     }
 
+    /**
+     * Returns number of SSH sessions which tunnel spreads its connections over
+     */
+    public static int getSessionCount(@NotNull DBWHandlerConfiguration configuration) {
+        final int sessionCount = configuration.getIntProperty(SSHConstants.PROP_SESSION_COUNT);
+        return Math.max(1, Math.min(sessionCount, SSHConstants.MAX_SESSION_COUNT));
+    }
+
+    /**
+     * Returns preferred cipher names in order of preference. Empty list means implementation defaults.
+     */
+    @NotNull
+    public static List<String> getPreferredCiphers(@NotNull DBWHandlerConfiguration configuration) {
+        final List<String> ciphers = new ArrayList<>();
+        for (String cipher : CommonUtils.notEmpty(configuration.getStringProperty(SSHConstants.PROP_CIPHERS)).split(",")) {
+            cipher = cipher.trim();
+            if (!cipher.isEmpty() && !ciphers.contains(cipher)) {
+                ciphers.add(cipher);
+            }
+        }
+        return ciphers;
+    }
+
     public static boolean isKeyFileEncrypted(@NotNull Path privKeyPath) {
         return isKeyFileEncrypted(privKeyPath.toAbsolutePath().toString());
     }
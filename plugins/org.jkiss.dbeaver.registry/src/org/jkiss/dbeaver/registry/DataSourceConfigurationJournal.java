@@ -0,0 +1,246 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import com.google.gson.annotations.SerializedName;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of data source configuration changes.
+ * <p>
+ * Each journal record is a single line JSON document with the same sections as the main configuration file
+ * (connections, connection types, virtual models, etc.). Records are merged into the main configuration on load.
+ * The main configuration file contains the journal id, the first journal record contains the same id.
+ * Records with a different id are obsolete (e.g. left after an interrupted compaction) and are ignored.
+ * The journal is compacted (truncated) when the whole configuration is saved.
+ * Records appended by other processes after the saved configuration snapshot are moved into the new journal.
+ */
+public class DataSourceConfigurationJournal {
+
+    public static final String JOURNAL_FILE_EXT = ".journal"; //$NON-NLS-1$
+    public static final String ATTR_JOURNAL_ID = "journal-id"; //$NON-NLS-1$
+    public static final String ATTR_DELETED_CONNECTIONS = "deleted-connections"; //$NON-NLS-1$
+    public static final String ATTR_CREDENTIALS = "credentials"; //$NON-NLS-1$
+
+    private static final String SECTION_CONNECTIONS = "connections"; //$NON-NLS-1$
+
+    /**
+     * Journal line
+     *
+     * @param endOffset offset of the first byte after the line
+     */
+    public record Line(@NotNull String text, long endOffset) {
+    }
+
+    /**
+     * Credentials journal record. Records are encrypted with the project encryptor.
+     */
+    static class CredentialsRecord {
+        @SerializedName(ATTR_JOURNAL_ID)
+        String journalId;
+        @SerializedName(ATTR_CREDENTIALS)
+        Map<String, Map<String, Map<String, String>>> credentials;
+    }
+
+    @NotNull
+    private final String id;
+    // Size of the journal part which is already applied
+    private volatile long offset;
+    // Checksum of the main configuration the journal belongs to
+    private final long configurationChecksum;
+
+    DataSourceConfigurationJournal(@NotNull String id, long offset, long configurationChecksum) {
+        this.id = id;
+        this.offset = offset;
+        this.configurationChecksum = configurationChecksum;
+    }
+
+    @NotNull
+    String getId() {
+        return id;
+    }
+
+    long getOffset() {
+        return offset;
+    }
+
+    void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    long getConfigurationChecksum() {
+        return configurationChecksum;
+    }
+
+    /**
+     * Main configuration checksum. Journal records can't be applied if the main configuration was changed outside.
+     */
+    public static long getConfigurationChecksum(@NotNull String configuration) {
+        CRC32 crc = new CRC32();
+        crc.update(configuration.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    @NotNull
+    static String getJournalName(@NotNull String configurationName) {
+        return configurationName + JOURNAL_FILE_EXT;
+    }
+
+    /**
+     * Reads complete journal lines. The journal is small, it is limited by the compaction threshold.
+     * The last line may be incomplete if it is being written right now, it is skipped.
+     *
+     * @return journal lines or null if there is no journal
+     */
+    @Nullable
+    public static List<Line> readJournal(
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull String journalName
+    ) throws DBException, IOException {
+        InputStream is = configurationManager.readConfiguration(journalName, null);
+        if (is == null) {
+            return null;
+        }
+        byte[] data;
+        try (is) {
+            data = is.readAllBytes();
+        }
+        return parseJournal(data);
+    }
+
+    /**
+     * Splits journal content into complete lines, the incomplete last line is skipped.
+     */
+    @NotNull
+    static List<Line> parseJournal(@NotNull byte[] data) {
+        List<Line> lines = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == '\n') {
+                if (i > lineStart) {
+                    lines.add(new Line(new String(data, lineStart, i - lineStart, StandardCharsets.UTF_8), i + 1));
+                }
+                lineStart = i + 1;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Merges journal record into the configuration.
+     * Sections are merged by keys, deleted connections are removed from the connections section
+     * and collected in the deleted connections list.
+     */
+    @SuppressWarnings("unchecked")
+    public static void applyRecord(@NotNull Map<String, Object> configuration, @NotNull Map<String, Object> record) {
+        for (Map.Entry<String, Object> entry : record.entrySet()) {
+            String section = entry.getKey();
+            if (ATTR_JOURNAL_ID.equals(section)) {
+                continue;
+            }
+            if (ATTR_DELETED_CONNECTIONS.equals(section)) {
+                if (entry.getValue() instanceof Collection<?> deletedIds) {
+                    Object connections = configuration.get(SECTION_CONNECTIONS);
+                    List<Object> deletedList = (List<Object>) configuration.computeIfAbsent(
+                        ATTR_DELETED_CONNECTIONS, s -> new ArrayList<>());
+                    for (Object id : deletedIds) {
+                        if (connections instanceof Map<?, ?> connectionsMap) {
+                            connectionsMap.remove(id);
+                        }
+                        if (!deletedList.contains(id)) {
+                            deletedList.add(id);
+                        }
+                    }
+                }
+            } else if (entry.getValue() instanceof Map<?, ?> values) {
+                Object target = configuration.get(section);
+                if (!(target instanceof Map)) {
+                    target = new LinkedHashMap<String, Object>();
+                    configuration.put(section, target);
+                }
+                ((Map<Object, Object>) target).putAll(values);
+                if (SECTION_CONNECTIONS.equals(section) && configuration.get(ATTR_DELETED_CONNECTIONS) instanceof List<?> deletedList) {
+                    // Connection was recreated
+                    deletedList.removeAll(values.keySet());
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges credentials journal record into the credentials map. Empty credentials mean removal.
+     */
+    public static void applyCredentialsRecord(
+        @NotNull Map<String, Map<String, Map<String, String>>> credentials,
+        @NotNull Map<String, Map<String, Map<String, String>>> record
+    ) {
+        for (Map.Entry<String, Map<String, Map<String, String>>> entry : record.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                credentials.remove(entry.getKey());
+            } else {
+                credentials.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns ids of connections changed or deleted by the journal record
+     */
+    @NotNull
+    public static Set<String> getRecordDataSourceIds(@NotNull Map<String, Object> record) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (record.get(SECTION_CONNECTIONS) instanceof Map<?, ?> connections) {
+            for (Object id : connections.keySet()) {
+                ids.add(String.valueOf(id));
+            }
+        }
+        if (record.get(ATTR_DELETED_CONNECTIONS) instanceof Collection<?> deletedIds) {
+            for (Object id : deletedIds) {
+                ids.add(String.valueOf(id));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Moves journal record text to another journal. The journal id is always the first record field.
+     *
+     * @return record text with the new journal id or null if the record doesn't belong to the old journal
+     */
+    @Nullable
+    public static String replaceRecordJournalId(@NotNull String text, @NotNull String oldId, @NotNull String newId) {
+        String oldPrefix = getRecordPrefix(oldId);
+        if (!text.startsWith(oldPrefix)) {
+            return null;
+        }
+        return getRecordPrefix(newId) + text.substring(oldPrefix.length());
+    }
+
+    @NotNull
+    private static String getRecordPrefix(@NotNull String journalId) {
+        return "{\"" + ATTR_JOURNAL_ID + "\":\"" + journalId + "\""; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+}
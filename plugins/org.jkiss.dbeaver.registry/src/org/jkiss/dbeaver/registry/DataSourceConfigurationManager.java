@@ -47,4 +47,34 @@ public interface DataSourceConfigurationManager {
 
     void writeConfiguration(@NotNull String name, @Nullable byte[] data) throws DBException, IOException;
 
+    /**
+     * Configuration files can be appended (used for configuration change journals)
+     */
+    default boolean isAppendSupported() {
+        return false;
+    }
+
+    /**
+     * Appends data to the end of configuration file. Creates the file if it doesn't exist.
+     *
+     * @return new size of the file
+     */
+    default long appendConfiguration(@NotNull String name, @NotNull byte[] data) throws DBException, IOException {
+        throw new DBException("Configuration append is not supported");
+    }
+
+    /**
+     * Replaces content of appendable configuration file. The file is locked the same way as for append,
+     * so data appended by other processes can't be lost between read and write.
+     * Rewriter receives current content (empty if there is no file), the file is deleted if new content is empty.
+     */
+    default void rewriteConfiguration(@NotNull String name, @NotNull ConfigurationRewriter rewriter) throws DBException, IOException {
+        throw new DBException("Configuration rewrite is not supported");
+    }
+
+    interface ConfigurationRewriter {
+        @Nullable
+        byte[] rewrite(@NotNull byte[] data) throws DBException, IOException;
+    }
+
 }
@@ -18,6 +18,7 @@ package org.jkiss.dbeaver.registry;
 
 import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPDataSourceConfigurationStorage;
 import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
@@ -26,9 +27,14 @@ import org.jkiss.dbeaver.utils.ContentUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
@@ -140,4 +146,61 @@ public class DataSourceConfigurationManagerNIO implements DataSourceConfiguratio
             Files.write(configFile, data);
         }
     }
+
+    @Override
+    public boolean isAppendSupported() {
+        return true;
+    }
+
+    // Synchronized because file lock can't be acquired twice in the same process
+    @Override
+    public synchronized long appendConfiguration(@NotNull String name, @NotNull byte[] data) throws IOException {
+        Path configFile = getConfigurationPath(true).resolve(name);
+        try (FileChannel channel = FileChannel.open(
+            configFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+        ) {
+            // Lock to avoid interleaved records from different processes
+            try (FileLock ignored = channel.lock()) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                return channel.size();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void rewriteConfiguration(
+        @NotNull String name,
+        @NotNull ConfigurationRewriter rewriter
+    ) throws DBException, IOException {
+        Path configFile = getConfigurationPath(true).resolve(name);
+        byte[] newData;
+        try (FileChannel channel = FileChannel.open(
+            configFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+        ) {
+            try (FileLock ignored = channel.lock()) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                newData = rewriter.rewrite(Arrays.copyOf(buffer.array(), buffer.position()));
+                ByteBuffer output = ByteBuffer.wrap(newData == null ? new byte[0] : newData);
+                while (output.hasRemaining()) {
+                    channel.write(output, output.position());
+                }
+                channel.truncate(output.limit());
+            }
+        }
+        if (newData == null || newData.length == 0) {
+            try {
+                Files.deleteIfExists(configFile);
+            } catch (IOException e) {
+                log.debug("Error deleting file " + configFile.toAbsolutePath(), e);
+            }
+        }
+    }
 }
@@ -115,6 +115,13 @@ public class DataSourceDescriptor
     private DBPConnectionConfiguration connectionInfo;
     // Copy of connection info with resolved params (cache)
     private DBPConnectionConfiguration resolvedConnectionInfo;
+    // Loads connection configuration and filters on first access (lazy registry mode)
+    @Nullable
+    private volatile transient Runnable configurationLoader;
+    private transient boolean configurationLoading;
+    private final transient Object configurationLoadLock = new Object();
+    // Presence of enabled network handlers until configuration is loaded
+    private transient boolean lazyNetworkHandlers;
 
     @NotNull
     private String id;
@@ -263,6 +270,7 @@ public class DataSourceDescriptor
 
         this.connectionModifyRestrictions = source.connectionModifyRestrictions == null ? null : new ArrayList<>(source.connectionModifyRestrictions);
 
+        source.loadConfigurationIfNeeded();
         this.connectionInfo = new DBPConnectionConfiguration(source.connectionInfo);
         for (Map.Entry<String, FilterMapping> fe : source.filterMap.entrySet()) {
             this.filterMap.put(fe.getKey(), new FilterMapping(fe.getValue()));
@@ -381,17 +389,88 @@ public class DataSourceDescriptor
     @NotNull
     @Override
     public DBPConnectionConfiguration getConnectionConfiguration() {
+        loadConfigurationIfNeeded();
         return connectionInfo;
     }
 
     public void setConnectionInfo(@NotNull DBPConnectionConfiguration connectionInfo) {
+        loadConfigurationIfNeeded();
         this.connectionInfo = connectionInfo;
     }
 
+    /**
+     * Sets loader of connection configuration and object filters.
+     * Loader runs on the first access to the configuration, until that the descriptor contains only basic properties.
+     */
+    void setConfigurationLoader(@Nullable Runnable configurationLoader) {
+        this.configurationLoader = configurationLoader;
+    }
+
+    public boolean isConfigurationLoaded() {
+        return configurationLoader == null;
+    }
+
+    /**
+     * Sets connection type, color and network handlers presence. Used before the rest of configuration is loaded,
+     * so data source can be rendered without loading of its configuration.
+     */
+    void setConnectionAppearance(
+        @NotNull DBPConnectionType connectionType,
+        @Nullable String connectionColor,
+        boolean hasNetworkHandlers
+    ) {
+        connectionInfo.setConnectionType(connectionType);
+        connectionInfo.setConnectionColor(connectionColor);
+        this.lazyNetworkHandlers = hasNetworkHandlers;
+    }
+
+    @NotNull
+    @Override
+    public DBPConnectionType getConnectionType() {
+        // Available before configuration load
+        return connectionInfo.getConnectionType();
+    }
+
+    @Nullable
+    @Override
+    public String getConnectionColor() {
+        return connectionInfo.getConnectionColor();
+    }
+
+    @Override
+    public boolean hasNetworkHandlers() {
+        if (!isConfigurationLoaded()) {
+            return lazyNetworkHandlers;
+        }
+        return DBPDataSourceContainer.super.hasNetworkHandlers();
+    }
+
+    private void loadConfigurationIfNeeded() {
+        if (configurationLoader == null) {
+            return;
+        }
+        synchronized (configurationLoadLock) {
+            Runnable loader = configurationLoader;
+            if (loader == null || configurationLoading) {
+                // Already loaded or loader accesses the configuration itself
+                return;
+            }
+            configurationLoading = true;
+            try {
+                loader.run();
+            } catch (Throwable e) {
+                log.error("Error loading configuration of data source '" + id + "'", e);
+            } finally {
+                configurationLoader = null;
+                configurationLoading = false;
+            }
+        }
+    }
+
     @NotNull
     @Override
     public DBPConnectionConfiguration getActualConnectionConfiguration() {
-        return this.resolvedConnectionInfo != null ? this.resolvedConnectionInfo : this.connectionInfo;
+        return this.resolvedConnectionInfo != null ? this.resolvedConnectionInfo : getConnectionConfiguration();
     }
 
     @NotNull
@@ -486,7 +565,7 @@ public class DataSourceDescriptor
             return false;
         }
         if (CommonUtils.isEmpty(connectionModifyRestrictions)) {
-            return getConnectionConfiguration().getConnectionType().hasModifyPermission(permission);
+            return getConnectionType().hasModifyPermission(permission);
         } else {
             return !connectionModifyRestrictions.contains(permission);
         }
@@ -512,6 +591,7 @@ public class DataSourceDescriptor
 
     @Override
     public boolean isDefaultAutoCommit() {
+        loadConfigurationIfNeeded();
         if (connectionInfo.getBootstrap().getDefaultAutoCommit() != null) {
             return connectionInfo.getBootstrap().getDefaultAutoCommit();
         } else {
@@ -521,6 +601,7 @@ public class DataSourceDescriptor
 
     @Override
     public void setDefaultAutoCommit(final boolean autoCommit) {
+        loadConfigurationIfNeeded();
         // Save in preferences
         if (autoCommit == getConnectionConfiguration().getConnectionType().isAutocommit()) {
             connectionInfo.getBootstrap().setDefaultAutoCommit(null);
@@ -530,6 +611,7 @@ public class DataSourceDescriptor
     }
 
     public void resetAllSecrets() {
+        loadConfigurationIfNeeded();
         this.secretsResolved = false;
         this.secretsContainsDatabaseCreds = false;
         this.availableSharedCredentials = null;
@@ -563,11 +645,13 @@ public class DataSourceDescriptor
 
     @Override
     public Integer getDefaultTransactionsIsolation() {
+        loadConfigurationIfNeeded();
         return connectionInfo.getBootstrap().getDefaultTransactionIsolation();
     }
 
     @Override
     public void setDefaultTransactionsIsolation(@Nullable final DBPTransactionIsolation isolationLevel) {
+        loadConfigurationIfNeeded();
         if (isolationLevel == null) {
             connectionInfo.getBootstrap().setDefaultTransactionIsolation(null);
         } else {
@@ -581,6 +665,7 @@ public class DataSourceDescriptor
     }
 
     public Collection<FilterMapping> getObjectFilters() {
+        loadConfigurationIfNeeded();
         return filterMap.values();
     }
 
@@ -596,6 +681,7 @@ public class DataSourceDescriptor
 
     @Nullable
     private FilterMapping getFilterMapping(@NotNull Class<?> type, @Nullable DBSObject parentObject, boolean firstMatch) {
+        loadConfigurationIfNeeded();
         if (filterMap.isEmpty()) {
             return null;
         }
@@ -666,10 +752,13 @@ public class DataSourceDescriptor
     }
 
     void clearFilters() {
+        // Filters which are not loaded yet would be restored by configuration loader
+        loadConfigurationIfNeeded();
         filterMap.clear();
     }
 
     void updateObjectFilter(String typeName, @Nullable String objectID, DBSObjectFilter filter) {
+        loadConfigurationIfNeeded();
         FilterMapping filterMapping = filterMap.get(typeName);
         if (filterMapping == null) {
             filterMapping = new FilterMapping(typeName);
@@ -708,6 +797,7 @@ public class DataSourceDescriptor
 
     @Override
     public DBPNativeClientLocation getClientHome() {
+        loadConfigurationIfNeeded();
         if (clientHome == null && !CommonUtils.isEmpty(connectionInfo.getClientHomeId())) {
             this.clientHome = DBUtils.findObject(driver.getNativeClientLocations(), connectionInfo.getClientHomeId());
         }
@@ -1156,7 +1246,7 @@ public class DataSourceDescriptor
             }
         }
 
-        resolvedConnectionInfo = new DBPConnectionConfiguration(connectionInfo);
+        resolvedConnectionInfo = new DBPConnectionConfiguration(getConnectionConfiguration());
         // Update auth properties if possible
         lastConnectionError = null;
         try {
@@ -1775,6 +1865,7 @@ public class DataSourceDescriptor
 
     @Override
     public void resetPassword() {
+        loadConfigurationIfNeeded();
         connectionInfo.setUserPassword(null);
         ObjectPropertyDescriptor.extractAnnotations(
                 null,
@@ -1855,6 +1946,7 @@ public class DataSourceDescriptor
 
     @Property(order = 30, category = CATEGORY_SERVER)
     public String getPropertyAddress() {
+        loadConfigurationIfNeeded();
         StringBuilder addr = new StringBuilder();
         if (!CommonUtils.isEmpty(connectionInfo.getHostName())) {
             addr.append(connectionInfo.getHostName());
@@ -1867,11 +1959,13 @@ public class DataSourceDescriptor
 
     @Property(order = 31, category = CATEGORY_SERVER)
     public String getPropertyDatabase() {
+        loadConfigurationIfNeeded();
         return connectionInfo.getDatabaseName();
     }
 
     @Property(order = 32, category = CATEGORY_SERVER)
     public String getPropertyURL() {
+        loadConfigurationIfNeeded();
         return connectionInfo.getUrl();
     }
 
@@ -1921,6 +2015,7 @@ public class DataSourceDescriptor
 
     @Property(order = 9)
     public String getPropertyConnectType() {
+        loadConfigurationIfNeeded();
         return connectionInfo.getConnectionType().getName();
     }
 
@@ -1932,6 +2027,7 @@ public class DataSourceDescriptor
 
     public void copyFrom(DataSourceDescriptor descriptor) {
         this.origin = descriptor.origin;
+        loadConfigurationIfNeeded();
         this.filterMap.clear();
         for (FilterMapping mapping : descriptor.getObjectFilters()) {
             this.filterMap.put(mapping.typeName, new FilterMapping(mapping));
@@ -1966,6 +2062,8 @@ public class DataSourceDescriptor
     }
 
     public boolean equalConfiguration(DataSourceDescriptor source) {
+        this.loadConfigurationIfNeeded();
+        source.loadConfigurationIfNeeded();
         return
             CommonUtils.equalObjects(this.savePassword, source.savePassword) &&
                 CommonUtils.equalObjects(this.sharedCredentials, source.sharedCredentials) &&
@@ -2179,6 +2277,7 @@ public class DataSourceDescriptor
     @Nullable
     //TODO move out?
     public String saveToSecret() {
+        loadConfigurationIfNeeded();
         Map<String, Object> props = new LinkedHashMap<>();
 
         if (isSavePassword()) {
@@ -2239,6 +2338,7 @@ public class DataSourceDescriptor
     }
 
     public void loadFromSecret(@Nullable String secretValue) {
+        loadConfigurationIfNeeded();
         if (secretValue == null) {
             if (DBWorkbench.isDistributed()) {
                 // In distributed mode we reset saved password in case of null secret
@@ -2319,6 +2419,7 @@ public class DataSourceDescriptor
     }
 
     private void loadFromLegacySecret(DBSSecretController secretController) {
+        loadConfigurationIfNeeded();
         if (!(secretController instanceof DBSSecretBrowser sBrowser)) {
             return;
         }
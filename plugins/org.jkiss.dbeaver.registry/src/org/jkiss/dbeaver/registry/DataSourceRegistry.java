@@ -45,6 +45,7 @@ import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
 import org.jkiss.dbeaver.model.virtual.DBVModel;
 import org.jkiss.dbeaver.registry.driver.DriverDescriptor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.StartupTracer;
 import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 
@@ -52,6 +53,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -62,6 +64,19 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
 
     private static final long DISCONNECT_ALL_TIMEOUT = 5000;
 
+    /**
+     * Lazy configuration load mode. Data source descriptors are created with basic properties only,
+     * connection settings are parsed and credentials are decrypted on the first access.
+     */
+    public static final boolean LAZY_CONFIGURATION_LOAD = Boolean.getBoolean("dbeaver.registry.lazyLoad");
+    /**
+     * Changes of individual data sources are appended to the configuration journal instead of the whole
+     * configuration rewrite. The journal is compacted into the main configuration file by full saves.
+     */
+    public static final boolean CONFIGURATION_JOURNAL = Boolean.getBoolean("dbeaver.registry.configJournal");
+    // Journal is compacted once it exceeds this size
+    private static final long MAX_CONFIGURATION_JOURNAL_SIZE = 1024 * 1024;
+
     private final DBPProject project;
     private final DataSourceConfigurationManager configurationManager;
     @NotNull
@@ -74,6 +89,8 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     private final List<DBSObjectFilter> savedFilters = new ArrayList<>();
     private final List<DBWNetworkProfile> networkProfiles = new ArrayList<>();
     private final Map<String, DBAAuthProfile> authProfiles = new LinkedHashMap<>();
+    // Active configuration journals by storage name
+    private final Map<String, DataSourceConfigurationJournal> configurationJournals = new ConcurrentHashMap<>();
     private volatile boolean saveInProgress = false;
 
     private final DBVModel.ModelChangeListener modelChangeListener = new DBVModel.ModelChangeListener();
@@ -107,6 +124,29 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         return DBWorkbench.getPlatform().getApplication().isMultiuser();
     }
 
+    public boolean isLazyConfigurationLoad() {
+        return LAZY_CONFIGURATION_LOAD && !isMultiUser();
+    }
+
+    public boolean isConfigurationJournalEnabled() {
+        // Configuration journal records are not encrypted (unlike credentials journal records),
+        // so encrypted configuration can't be journaled
+        return CONFIGURATION_JOURNAL && !isMultiUser() && configurationManager.isAppendSupported() && !project.isEncryptedProject();
+    }
+
+    @Nullable
+    DataSourceConfigurationJournal getConfigurationJournal(@NotNull String storageName) {
+        return configurationJournals.get(storageName);
+    }
+
+    void setConfigurationJournal(@NotNull String storageName, @Nullable DataSourceConfigurationJournal journal) {
+        if (journal == null) {
+            configurationJournals.remove(storageName);
+        } else {
+            configurationJournals.put(storageName, journal);
+        }
+    }
+
     @Override
     public void dispose() {
         if (!isMultiUser()) {
@@ -646,7 +686,9 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     }
 
     protected void persistDataSourceUpdate(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        if (!journalDataSourceChange(container, false)) {
+            saveDataSources();
+        }
     }
 
     protected void persistDataFolderDelete(@NotNull String folderPath, boolean dropContents) {
@@ -654,7 +696,54 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
     }
 
     protected void persistDataSourceDelete(@NotNull DBPDataSourceContainer container) {
-        saveDataSources();
+        if (!journalDataSourceChange(container, true)) {
+            saveDataSources();
+        }
+    }
+
+    /**
+     * Appends data source change to the configuration journal.
+     *
+     * @return false if the change was not journaled and the whole configuration must be saved
+     */
+    private boolean journalDataSourceChange(@NotNull DBPDataSourceContainer container, boolean deleted) {
+        if (project.isInMemory() || !isConfigurationJournalEnabled() || !(container instanceof DataSourceDescriptor)) {
+            return false;
+        }
+        final T dataSource = (T) container;
+        final DBPDataSourceConfigurationStorage storage = dataSource.getStorage();
+        if (storage instanceof DataSourceFileStorage fileStorage && fileStorage.isLegacy()) {
+            return false;
+        }
+        final long journalSize;
+        synchronized (this) {
+            DataSourceConfigurationJournal journal = configurationJournals.get(storage.getStorageName());
+            if (journal == null || !(createModernSerializer() instanceof DataSourceSerializerModern<T> serializer)) {
+                // Configuration was saved without journal
+                return false;
+            }
+            saveInProgress = true;
+            try {
+                journalSize = serializer.saveDataSourceChange(
+                    new VoidProgressMonitor(), configurationManager, storage, journal, dataSource, deleted);
+                if (project.isUseSecretStorage() && !configurationManager.isSecure()) {
+                    DBSSecretController
+                        .getProjectSecretController(project)
+                        .flushChanges();
+                }
+                lastError = null;
+            } catch (Exception e) {
+                log.debug("Error writing configuration journal, save the whole configuration", e);
+                return false;
+            } finally {
+                saveInProgress = false;
+            }
+        }
+        if (journalSize > MAX_CONFIGURATION_JOURNAL_SIZE) {
+            // Compact journal into the main configuration
+            flushConfig();
+        }
+        return true;
     }
 
     @Override
@@ -680,6 +769,10 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         if (saveInProgress) {
             return;
         }
+        if (refreshConfigFromJournal()) {
+            // Only new journal records were applied
+            return;
+        }
         loadDataSources(
             configurationManager.getConfigurationStorages(),
             configurationManager,
@@ -688,6 +781,51 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
             false);
     }
 
+    /**
+     * Applies configuration journal records appended since the last configuration load.
+     *
+     * @return false if journal is not active or was compacted, then the whole configuration must be reloaded
+     */
+    private boolean refreshConfigFromJournal() {
+        if (!isConfigurationJournalEnabled() || !project.isOpen() || project.isInMemory()) {
+            return false;
+        }
+        List<DBPDataSourceConfigurationStorage> storageList;
+        synchronized (dataSources) {
+            storageList = new ArrayList<>(storages);
+        }
+        ParseResults parseResults = new ParseResults();
+        for (DBPDataSourceConfigurationStorage storage : storageList) {
+            DataSourceConfigurationJournal journal = configurationJournals.get(storage.getStorageName());
+            if (journal == null || !(createModernSerializer() instanceof DataSourceSerializerModern<T> serializer)) {
+                return false;
+            }
+            try {
+                if (!serializer.parseConfigurationJournal(storage, configurationManager, journal, parseResults)) {
+                    return false;
+                }
+            } catch (Exception e) {
+                log.debug("Error reading configuration journal of " + storage.getStorageId(), e);
+                return false;
+            }
+        }
+
+        for (DBPDataSourceContainer ds : parseResults.updatedDataSources) {
+            fireDataSourceEvent(DBPEvent.Action.OBJECT_UPDATE, ds);
+        }
+        for (DBPDataSourceContainer ds : parseResults.addedDataSources) {
+            addDataSourceToList(ds);
+            fireDataSourceEvent(DBPEvent.Action.OBJECT_ADD, ds);
+        }
+        for (DBPDataSourceFolder folder : parseResults.addedFolders) {
+            addDataSourceFolder((DataSourceFolder) folder);
+        }
+        for (DBPDataSourceContainer ds : parseResults.removedDataSources) {
+            removeDataSourceFromList(ds);
+        }
+        return true;
+    }
+
     @Nullable
     @Override
     public Throwable getLastError() {
@@ -886,7 +1024,9 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
             } else {
                 serializer = createModernSerializer();
             }
-            configChanged = serializer.parseDataSources(storage, manager, parseResults, dataSourceIds);
+            try (StartupTracer.Phase ignored = StartupTracer.startPhase(StartupTracer.PHASE_CONFIG_PARSE)) {
+                configChanged = serializer.parseDataSources(storage, manager, parseResults, dataSourceIds);
+            }
 
             lastError = null;
         } catch (Exception ex) {
@@ -911,42 +1051,46 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
             return;
         }
 
-        updateProjectNature();
-        saveInProgress = true;
-        try {
-            for (DBPDataSourceConfigurationStorage storage : storages) {
-                if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
-                    // Legacy storage. We must save it in the modern format
-                    ((DataSourceFileStorage) storage).convertToModern(project);
-                }
+        // Journal records are appended under the same lock. Otherwise journal compaction may truncate a record
+        // which was appended after the configuration was serialized.
+        synchronized (this) {
+            updateProjectNature();
+            saveInProgress = true;
+            try {
+                for (DBPDataSourceConfigurationStorage storage : storages) {
+                    if (storage instanceof DataSourceFileStorage && ((DataSourceFileStorage) storage).isLegacy()) {
+                        // Legacy storage. We must save it in the modern format
+                        ((DataSourceFileStorage) storage).convertToModern(project);
+                    }
 
-                List<T> localDataSources = getDataSources(storage);
+                    List<T> localDataSources = getDataSources(storage);
 
-                try {
-                    DataSourceSerializer<T> serializer = createModernSerializer();
-                    serializer.saveDataSources(
-                        monitor,
-                        configurationManager,
-                        storage,
-                        localDataSources);
                     try {
-                        if (project.isUseSecretStorage() && !configurationManager.isSecure()) {
-                            DBSSecretController
-                                .getProjectSecretController(project)
-                                .flushChanges();
+                        DataSourceSerializer<T> serializer = createModernSerializer();
+                        serializer.saveDataSources(
+                            monitor,
+                            configurationManager,
+                            storage,
+                            localDataSources);
+                        try {
+                            if (project.isUseSecretStorage() && !configurationManager.isSecure()) {
+                                DBSSecretController
+                                    .getProjectSecretController(project)
+                                    .flushChanges();
+                            }
+                            lastError = null;
+                        } catch (Throwable e) {
+                            log.error("Error saving secured preferences", e);
+                            lastError = e;
                         }
-                        lastError = null;
-                    } catch (Throwable e) {
-                        log.error("Error saving secured preferences", e);
-                        lastError = e;
+                    } catch (Exception ex) {
+                        log.error("Error saving datasources configuration", ex);
+                        lastError = ex;
                     }
-                } catch (Exception ex) {
-                    log.error("Error saving datasources configuration", ex);
-                    lastError = ex;
                 }
+            } finally {
+                saveInProgress = false;
             }
-        } finally {
-            saveInProgress = false;
         }
     }
 
@@ -1070,6 +1214,7 @@ public class DataSourceRegistry<T extends DataSourceDescriptor> implements DBPDa
         public Set<DBPDataSourceContainer> addedDataSources = new LinkedHashSet<>();
         public Set<DBPDataSourceFolder> addedFolders = new LinkedHashSet<>();
         public Set<DBPDataSourceFolder> updatedFolders = new LinkedHashSet<>();
+        public Set<DBPDataSourceContainer> removedDataSources = new LinkedHashSet<>();
     }
 
     private class DisconnectTask implements DBRRunnableWithProgress {
@@ -47,6 +47,7 @@ import org.jkiss.dbeaver.registry.network.NetworkHandlerDescriptor;
 import org.jkiss.dbeaver.registry.network.NetworkHandlerRegistry;
 import org.jkiss.dbeaver.runtime.DBInterruptedException;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.StartupTracer;
 import org.jkiss.utils.ArrayUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
@@ -92,6 +93,14 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
     //  1 level: object type (connection or handler id)
     //  2 level: map of secured properties
     private final Map<String, Map<String, Map<String, String>>> secureProperties = new LinkedHashMap<>();
+    // Source of secure properties which were not read yet (lazy configuration load)
+    private DBPDataSourceConfigurationStorage credentialsStorage;
+    private DataSourceConfigurationManager credentialsManager;
+    private Collection<String> credentialsDataSourceIds;
+    // Id of the configuration journal, its records are merged into the loaded configuration
+    private String journalId;
+    // Checksum of the loaded or saved main configuration
+    private long configurationChecksum;
     private final boolean isDetachedProcess = DBWorkbench.getPlatform().getApplication().isDetachedProcess();
 
    protected DataSourceSerializerModern(@NotNull DataSourceRegistry<T> registry) {
@@ -105,12 +114,22 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         DBPDataSourceConfigurationStorage configurationStorage,
         List<T> localDataSources
     ) throws DBException, IOException {
+        // Journal records appended by other processes after this offset are not in the saved configuration
+        DataSourceConfigurationJournal previousJournal = registry.getConfigurationJournal(configurationStorage.getStorageName());
+        long previousOffset = previousJournal == null ? 0 : previousJournal.getOffset();
+
         ByteArrayOutputStream dsConfigBuffer = new ByteArrayOutputStream(10000);
         try (OutputStreamWriter osw = new OutputStreamWriter(dsConfigBuffer, StandardCharsets.UTF_8)) {
             try (JsonWriter jsonWriter = CONFIG_GSON.newJsonWriter(osw)) {
                 jsonWriter.setIndent(JSONUtils.DEFAULT_INDENT);
                 jsonWriter.beginObject();
 
+                if (isConfigurationJournalEnabled(configurationManager)) {
+                    // New journal. Records of the previous one are already in this configuration
+                    journalId = UUID.randomUUID().toString();
+                    JSONUtils.field(jsonWriter, DataSourceConfigurationJournal.ATTR_JOURNAL_ID, journalId);
+                }
+
                 // Save folders
                 if (configurationStorage.isDefault()) {
                     jsonWriter.name(CONFIGURATION_FOLDERS);
@@ -157,13 +176,7 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                 if (configurationStorage.isDefault()) {
                     if (!virtualModels.isEmpty()) {
                         // Save virtual models
-                        jsonWriter.name("virtual-models");
-                        jsonWriter.beginObject();
-                        jsonWriter.setIndent(JSONUtils.EMPTY_INDENT);
-                        for (DBVModel model : virtualModels.values()) {
-                            model.serialize(monitor, jsonWriter);
-                        }
-                        jsonWriter.endObject();
+                        saveVirtualModels(monitor, jsonWriter, virtualModels.values());
                         jsonWriter.setIndent(JSONUtils.DEFAULT_INDENT);
                     }
                     // Network profiles
@@ -190,55 +203,16 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                     }
                     // Connection types
                     if (!CommonUtils.isEmpty(connectionTypes)) {
-                        jsonWriter.name("connection-types");
-                        jsonWriter.beginObject();
-                        for (DBPConnectionType ct : connectionTypes.values()) {
-                            jsonWriter.name(ct.getId());
-                            jsonWriter.beginObject();
-                            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_NAME, ct.getName());
-                            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_COLOR, ct.getColor());
-                            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_DESCRIPTION, ct.getDescription());
-                            JSONUtils.field(jsonWriter, "auto-commit", ct.isAutocommit());
-                            JSONUtils.field(jsonWriter, "confirm-execute", ct.isConfirmExecute());
-                            JSONUtils.field(jsonWriter, "confirm-data-change", ct.isConfirmDataChange());
-                            JSONUtils.field(jsonWriter, "smart-commit", ct.isSmartCommit());
-                            JSONUtils.field(jsonWriter, "smart-commit-recover", ct.isSmartCommitRecover());
-                            JSONUtils.field(jsonWriter, "auto-close-transactions", ct.isAutoCloseTransactions());
-                            JSONUtils.field(jsonWriter, "close-transactions-period", ct.getCloseIdleTransactionPeriod());
-                            JSONUtils.field(jsonWriter, "auto-close-connections", ct.isAutoCloseConnections());
-                            JSONUtils.field(jsonWriter, "close-connections-period", ct.getCloseIdleConnectionPeriod());
-                            serializeModifyPermissions(jsonWriter, ct);
-                            jsonWriter.endObject();
-                        }
-                        jsonWriter.endObject();
+                        saveConnectionTypes(jsonWriter, connectionTypes.values());
                     }
 
                     // Drivers
                     if (!CommonUtils.isEmpty(drivers)) {
-                        jsonWriter.name("drivers");
-                        jsonWriter.beginObject();
-                        for (Map.Entry<String, Map<String, DBPDriver>> dmap : drivers.entrySet()) {
-                            jsonWriter.name(dmap.getKey());
-                            jsonWriter.beginObject();
-                            for (DBPDriver driver : dmap.getValue().values()) {
-                                new DriverDescriptorSerializerModern().serializeDriver(
-                                    jsonWriter, (DriverDescriptor) driver, true);
-                            }
-                            jsonWriter.endObject();
-                        }
-                        jsonWriter.endObject();
+                        saveDrivers(jsonWriter, drivers);
                     }
 
                     // External configurations
-                    if (!DBWorkbench.isDistributed() && !DBWorkbench.getPlatform().getApplication().isMultiuser() && !CommonUtils.isEmpty(externalConfigurations)) {
-                        jsonWriter.name("external-configurations");
-                        jsonWriter.beginObject();
-                        for (Map.Entry<String, DBPExternalConfiguration> ecfg : externalConfigurations.entrySet()) {
-                            jsonWriter.name(ecfg.getKey());
-                            JSONUtils.serializeMap(jsonWriter, ecfg.getValue().getProperties());
-                        }
-                        jsonWriter.endObject();
-                    }
+                    saveExternalConfigurations(jsonWriter, externalConfigurations);
                 }
 
                 jsonWriter.endObject();
@@ -249,6 +223,7 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         }
 
         String jsonString = dsConfigBuffer.toString(StandardCharsets.UTF_8);
+        configurationChecksum = DataSourceConfigurationJournal.getConfigurationChecksum(jsonString);
         saveConfigFile(
             configurationManager,
             configurationStorage.getStorageName(),
@@ -258,6 +233,247 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         if (!configurationManager.isSecure()) {
             saveSecureCredentialsFile(configurationManager, configurationStorage);
         }
+        if (configurationManager == registry.getConfigurationManager() && configurationManager.isAppendSupported()) {
+            compactConfigurationJournal(configurationManager, configurationStorage, previousJournal, previousOffset);
+        }
+    }
+
+    private void saveVirtualModels(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull JsonWriter jsonWriter,
+        @NotNull Collection<DBVModel> virtualModels
+    ) throws IOException, DBException {
+        jsonWriter.name("virtual-models");
+        jsonWriter.beginObject();
+        jsonWriter.setIndent(JSONUtils.EMPTY_INDENT);
+        for (DBVModel model : virtualModels) {
+            model.serialize(monitor, jsonWriter);
+        }
+        jsonWriter.endObject();
+    }
+
+    private void saveConnectionTypes(@NotNull JsonWriter jsonWriter, @NotNull Collection<DBPConnectionType> connectionTypes) throws IOException {
+        jsonWriter.name("connection-types");
+        jsonWriter.beginObject();
+        for (DBPConnectionType ct : connectionTypes) {
+            jsonWriter.name(ct.getId());
+            jsonWriter.beginObject();
+            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_NAME, ct.getName());
+            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_COLOR, ct.getColor());
+            JSONUtils.fieldNE(jsonWriter, RegistryConstants.ATTR_DESCRIPTION, ct.getDescription());
+            JSONUtils.field(jsonWriter, "auto-commit", ct.isAutocommit());
+            JSONUtils.field(jsonWriter, "confirm-execute", ct.isConfirmExecute());
+            JSONUtils.field(jsonWriter, "confirm-data-change", ct.isConfirmDataChange());
+            JSONUtils.field(jsonWriter, "smart-commit", ct.isSmartCommit());
+            JSONUtils.field(jsonWriter, "smart-commit-recover", ct.isSmartCommitRecover());
+            JSONUtils.field(jsonWriter, "auto-close-transactions", ct.isAutoCloseTransactions());
+            JSONUtils.field(jsonWriter, "close-transactions-period", ct.getCloseIdleTransactionPeriod());
+            JSONUtils.field(jsonWriter, "auto-close-connections", ct.isAutoCloseConnections());
+            JSONUtils.field(jsonWriter, "close-connections-period", ct.getCloseIdleConnectionPeriod());
+            serializeModifyPermissions(jsonWriter, ct);
+            jsonWriter.endObject();
+        }
+        jsonWriter.endObject();
+    }
+
+    private void saveDrivers(@NotNull JsonWriter jsonWriter, @NotNull Map<String, Map<String, DBPDriver>> drivers) throws IOException {
+        jsonWriter.name("drivers");
+        jsonWriter.beginObject();
+        for (Map.Entry<String, Map<String, DBPDriver>> dmap : drivers.entrySet()) {
+            jsonWriter.name(dmap.getKey());
+            jsonWriter.beginObject();
+            for (DBPDriver driver : dmap.getValue().values()) {
+                new DriverDescriptorSerializerModern().serializeDriver(
+                    jsonWriter, (DriverDescriptor) driver, true);
+            }
+            jsonWriter.endObject();
+        }
+        jsonWriter.endObject();
+    }
+
+    private void saveExternalConfigurations(
+        @NotNull JsonWriter jsonWriter,
+        @NotNull Map<String, DBPExternalConfiguration> externalConfigurations
+    ) throws IOException {
+        if (!DBWorkbench.isDistributed() && !DBWorkbench.getPlatform().getApplication().isMultiuser() && !CommonUtils.isEmpty(externalConfigurations)) {
+            jsonWriter.name("external-configurations");
+            jsonWriter.beginObject();
+            for (Map.Entry<String, DBPExternalConfiguration> ecfg : externalConfigurations.entrySet()) {
+                jsonWriter.name(ecfg.getKey());
+                JSONUtils.serializeMap(jsonWriter, ecfg.getValue().getProperties());
+            }
+            jsonWriter.endObject();
+        }
+    }
+
+    private boolean isConfigurationJournalEnabled(@NotNull DataSourceConfigurationManager configurationManager) {
+        return configurationManager == registry.getConfigurationManager() && registry.isConfigurationJournalEnabled();
+    }
+
+    /**
+     * Starts a new configuration journal after the whole configuration save.
+     * Records appended by other processes after the configuration snapshot are moved into the new journal,
+     * other records are already in the saved configuration.
+     * Journal is removed if it is disabled.
+     * Journal is locked until it is rewritten, so records appended by other processes meanwhile can't be lost.
+     */
+    private void compactConfigurationJournal(
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @Nullable DataSourceConfigurationJournal previousJournal,
+        long previousOffset
+    ) {
+        String storageName = configurationStorage.getStorageName();
+        String journalName = DataSourceConfigurationJournal.getJournalName(storageName);
+        String credentialsJournalName = DataSourceConfigurationJournal.getJournalName(getCredentialsFileName(configurationStorage));
+        try {
+            if (journalId == null) {
+                configurationManager.rewriteConfiguration(journalName, data -> {
+                    configurationManager.rewriteConfiguration(credentialsJournalName, credentials -> null);
+                    registry.setConfigurationJournal(storageName, null);
+                    return null;
+                });
+                return;
+            }
+            byte[] header = (CONFIG_GSON.toJson(Map.of(DataSourceConfigurationJournal.ATTR_JOURNAL_ID, journalId)) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+            configurationManager.rewriteConfiguration(journalName, data -> {
+                ByteArrayOutputStream journalBuffer = new ByteArrayOutputStream();
+                journalBuffer.writeBytes(header);
+                Set<String> movedDataSourceIds = new HashSet<>();
+                if (previousJournal != null) {
+                    for (DataSourceConfigurationJournal.Line line : DataSourceConfigurationJournal.parseJournal(data)) {
+                        if (line.endOffset() <= previousOffset) {
+                            continue;
+                        }
+                        Map<String, Object> record = parseJournalRecord(line.text());
+                        String movedRecord = DataSourceConfigurationJournal.replaceRecordJournalId(
+                            line.text(), previousJournal.getId(), journalId);
+                        if (record != null && movedRecord != null) {
+                            movedDataSourceIds.addAll(DataSourceConfigurationJournal.getRecordDataSourceIds(record));
+                            journalBuffer.writeBytes((movedRecord + "\n").getBytes(StandardCharsets.UTF_8));
+                        }
+                    }
+                }
+                // Credentials are appended before the journal record, so they are already in the credentials journal
+                configurationManager.rewriteConfiguration(
+                    credentialsJournalName,
+                    credentials -> movedDataSourceIds.isEmpty() || previousJournal == null ? null :
+                        moveCredentialsJournal(credentials, previousJournal.getId(), movedDataSourceIds));
+                return journalBuffer.toByteArray();
+            });
+            // Moved records are applied on the next refresh
+            registry.setConfigurationJournal(
+                storageName, new DataSourceConfigurationJournal(journalId, header.length, configurationChecksum));
+        } catch (Exception e) {
+            // Records of the previous journal will be ignored anyway
+            registry.setConfigurationJournal(storageName, null);
+            log.error("Error resetting configuration journal", e);
+        }
+    }
+
+    /**
+     * Moves credentials journal records of the specified data sources into the new journal
+     *
+     * @return new credentials journal or null if there are no records to move
+     */
+    @Nullable
+    private byte[] moveCredentialsJournal(
+        @NotNull byte[] credentialsJournal,
+        @NotNull String previousJournalId,
+        @NotNull Set<String> dataSourceIds
+    ) throws DBException, IOException {
+        List<DataSourceConfigurationJournal.Line> lines = DataSourceConfigurationJournal.parseJournal(credentialsJournal);
+        DBSValueEncryptor encryptor = registry.getProject().getValueEncryptor();
+        StringBuilder journal = new StringBuilder();
+        for (DataSourceConfigurationJournal.Line line : lines) {
+            DataSourceConfigurationJournal.CredentialsRecord record = readCredentialsRecord(encryptor, line);
+            if (record == null || !previousJournalId.equals(record.journalId) || record.credentials == null) {
+                continue;
+            }
+            record.credentials.keySet().retainAll(dataSourceIds);
+            if (record.credentials.isEmpty()) {
+                continue;
+            }
+            record.journalId = journalId;
+            try {
+                byte[] encrypted = encryptor.encryptValue(CONFIG_GSON.toJson(record).getBytes(StandardCharsets.UTF_8));
+                journal.append(Base64.getEncoder().encodeToString(encrypted)).append("\n");
+            } catch (Exception e) {
+                throw new IOException("Error encrypting credentials journal record", e);
+            }
+        }
+        return journal.isEmpty() ? null : journal.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends data source change to the configuration journal.
+     * Connection type, custom driver and virtual model of the data source are saved in the same record.
+     *
+     * @return new journal size
+     */
+    long saveDataSourceChange(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull DataSourceConfigurationJournal journal,
+        @NotNull T dataSource,
+        boolean deleted
+    ) throws DBException, IOException {
+        StringWriter recordBuffer = new StringWriter();
+        try (JsonWriter jsonWriter = CONFIG_GSON.newJsonWriter(recordBuffer)) {
+            jsonWriter.beginObject();
+            JSONUtils.field(jsonWriter, DataSourceConfigurationJournal.ATTR_JOURNAL_ID, journal.getId());
+            if (deleted) {
+                jsonWriter.name(DataSourceConfigurationJournal.ATTR_DELETED_CONNECTIONS);
+                jsonWriter.beginArray();
+                jsonWriter.value(dataSource.getId());
+                jsonWriter.endArray();
+            } else {
+                // Folders are not saved, missing folders are created by connection folder path
+                Map<String, DBPExternalConfiguration> externalConfigurations = new LinkedHashMap<>();
+                jsonWriter.name("connections");
+                jsonWriter.beginObject();
+                saveDataSource(configurationManager, jsonWriter, dataSource, externalConfigurations);
+                jsonWriter.endObject();
+
+                if (configurationStorage.isDefault()) {
+                    if (dataSource.getVirtualModel().hasValuableData()) {
+                        saveVirtualModels(monitor, jsonWriter, List.of(dataSource.getVirtualModel()));
+                    }
+                    saveConnectionTypes(jsonWriter, List.of(dataSource.getConnectionConfiguration().getConnectionType()));
+                    DBPDriver driver = dataSource.getDriver();
+                    if (driver.isCustom() && !driver.getProviderDescriptor().isTemporary()) {
+                        saveDrivers(jsonWriter, Map.of(driver.getProviderId(), Map.of(driver.getId(), driver)));
+                    }
+                    saveExternalConfigurations(jsonWriter, externalConfigurations);
+                }
+            }
+            jsonWriter.endObject();
+        }
+
+        if (!configurationManager.isSecure() && !registry.getProject().isUseSecretStorage()) {
+            // Credentials are written first, so configuration record never refers to missing credentials
+            DataSourceConfigurationJournal.CredentialsRecord credentialsRecord = new DataSourceConfigurationJournal.CredentialsRecord();
+            credentialsRecord.journalId = journal.getId();
+            credentialsRecord.credentials = new LinkedHashMap<>();
+            Map<String, Map<String, String>> credentials = deleted ? null : secureProperties.get(dataSource.getId());
+            credentialsRecord.credentials.put(dataSource.getId(), credentials == null ? Map.of() : credentials);
+            byte[] encrypted = registry.getProject().getValueEncryptor().encryptValue(
+                CONFIG_GSON.toJson(credentialsRecord).getBytes(StandardCharsets.UTF_8));
+            configurationManager.appendConfiguration(
+                DataSourceConfigurationJournal.getJournalName(getCredentialsFileName(configurationStorage)),
+                (Base64.getEncoder().encodeToString(encrypted) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] record = (recordBuffer + "\n").getBytes(StandardCharsets.UTF_8);
+        long journalSize = configurationManager.appendConfiguration(
+            DataSourceConfigurationJournal.getJournalName(configurationStorage.getStorageName()), record);
+        if (journalSize == journal.getOffset() + record.length) {
+            // Nobody else wrote to the journal, so there is nothing to apply on refresh
+            journal.setOffset(journalSize);
+        }
+        return journalSize;
     }
 
     private void saveNetworkProfiles(DataSourceConfigurationManager configurationManager, JsonWriter jsonWriter, List<DBWNetworkProfile> profiles) throws IOException {
@@ -350,8 +566,13 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         configurationManager.writeConfiguration(name, binaryContents);
     }
 
+    @NotNull
+    private static String getCredentialsFileName(@NotNull DBPDataSourceConfigurationStorage storage) {
+        return DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_PREFIX + storage.getStorageSubId() + DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_EXT;
+    }
+
     private void saveSecureCredentialsFile(DataSourceConfigurationManager configurationManager, DBPDataSourceConfigurationStorage storage) {
-        String credFile = DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_PREFIX + storage.getStorageSubId() + DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_EXT;
+        String credFile = getCredentialsFileName(storage);
         try {
             if (secureProperties.isEmpty()) {
                 saveConfigFile(configurationManager, credFile, null, true);
@@ -375,7 +596,6 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         var connectionConfigurationChanged = false;
 
         // Read in this particular order to handle configuration reading errors first, but process in reverse order later
-        Map<String, Map<String, Map<String, String>>> secureCredentialsMap = null;
         Map<String, Object> configurationMap = null;
 
         // process projectConfiguration
@@ -396,6 +616,9 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         } catch (DBException e) {
             log.error(e);
         }
+        if (configurationMap != null) {
+            readConfigurationJournal(configurationStorage, configurationManager, configurationMap);
+        }
         // process project credential
         if (!DBWorkbench.getPlatform().getApplication().isHeadlessMode()
             && DBWorkbench.getPlatform().getApplication().isCommunity() &&
@@ -419,426 +642,616 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
                 throw new DBInterruptedException("Project secure credentials read canceled by user.");
             }
         }
-        try {
-            secureCredentialsMap = readSecureCredentials(configurationStorage, configurationManager, dataSourceIds);
-        } catch (DBInterruptedException e) {
-            throw e;
-        } catch (DBException e) {
-            log.error(e);
-        }
-        if (secureCredentialsMap != null) {
-            secureProperties.putAll(secureCredentialsMap);
-        }
+        readCredentials(configurationStorage, configurationManager, dataSourceIds);
 
         if (configurationMap != null) {
-            // Folders
-            for (Map.Entry<String, Map<String, Object>> folderMap : JSONUtils.getNestedObjects(configurationMap, CONFIGURATION_FOLDERS)) {
-                String name = folderMap.getKey();
-                String description = JSONUtils.getObjectProperty(folderMap.getValue(), RegistryConstants.ATTR_DESCRIPTION);
-                String parentFolder = JSONUtils.getObjectProperty(folderMap.getValue(), RegistryConstants.ATTR_PARENT);
-                DataSourceFolder parent = parentFolder == null ? null : registry.findFolderByPath(parentFolder, true, parseResults);
-                DataSourceFolder folder = parent == null ? registry.findFolderByPath(name, true, parseResults) : parent.getChild(name);
-                if (folder == null) {
-                    folder = new DataSourceFolder(registry, parent, name, description);
-                    parseResults.addedFolders.add(folder);
-                } else {
-                    folder.setDescription(description);
-                    parseResults.updatedFolders.add(folder);
-                }
-            }
+            connectionConfigurationChanged = parseConfiguration(
+                configurationStorage, configurationManager, parseResults, configurationMap, false);
+        }
+        return connectionConfigurationChanged;
+    }
 
-            // Connection types
-            for (Map.Entry<String, Map<String, Object>> ctMap : JSONUtils.getNestedObjects(configurationMap, "connection-types")) {
-                String id = ctMap.getKey();
-                Map<String, Object> ctConfig = ctMap.getValue();
-                String name = JSONUtils.getObjectProperty(ctConfig, RegistryConstants.ATTR_NAME);
-                String description = JSONUtils.getObjectProperty(ctConfig, RegistryConstants.ATTR_DESCRIPTION);
-                String color = JSONUtils.getObjectProperty(ctConfig, RegistryConstants.ATTR_COLOR);
-                Boolean autoCommit = JSONUtils.getObjectProperty(ctConfig, "auto-commit");
-                Boolean confirmExecute = JSONUtils.getObjectProperty(ctConfig, "confirm-execute");
-                Boolean confirmDataChange = JSONUtils.getObjectProperty(ctConfig, "confirm-data-change");
-                Boolean smartCommit = JSONUtils.getObjectProperty(ctConfig, "smart-commit");
-                Boolean smartCommitRecover = JSONUtils.getObjectProperty(ctConfig, "smart-commit-recover");
-                Boolean autoCloseTransactions = JSONUtils.getObjectProperty(ctConfig, "auto-close-transactions");
-                Object closeTransactionsPeriod = JSONUtils.getObjectProperty(ctConfig, "close-transactions-period");
-                Boolean autoCloseConnections = JSONUtils.getObjectProperty(ctConfig, "auto-close-connections");
-                Object closeConnectionsPeriod = JSONUtils.getObjectProperty(ctConfig, "close-connections-period");
-                DBPConnectionType ct = DBWorkbench.getPlatform().getDataSourceProviderRegistry().getConnectionType(id, null);
-                if (ct == null) {
-                    ct = new DBPConnectionType(
-                        id,
-                        name,
-                        color,
-                        description,
-                        CommonUtils.toBoolean(autoCommit),
-                        CommonUtils.toBoolean(confirmExecute),
-                        CommonUtils.toBoolean(confirmDataChange),
-                        CommonUtils.toBoolean(smartCommit),
-                        CommonUtils.toBoolean(smartCommitRecover),
-                        CommonUtils.toBoolean(autoCloseTransactions),
-                        CommonUtils.toInt(closeTransactionsPeriod),
-                        CommonUtils.toBoolean(autoCloseConnections),
-                        CommonUtils.toInt(closeConnectionsPeriod));
-                    DBWorkbench.getPlatform().getDataSourceProviderRegistry().addConnectionType(ct);
+    private void readCredentials(
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @Nullable Collection<String> dataSourceIds
+    ) throws DBException {
+        if (registry.isLazyConfigurationLoad()) {
+            // Credentials will be decrypted when needed
+            this.credentialsStorage = configurationStorage;
+            this.credentialsManager = configurationManager;
+            this.credentialsDataSourceIds = dataSourceIds;
+        } else {
+            try {
+                Map<String, Map<String, Map<String, String>>> secureCredentialsMap =
+                    readSecureCredentials(configurationStorage, configurationManager, dataSourceIds);
+                if (secureCredentialsMap != null) {
+                    secureProperties.putAll(secureCredentialsMap);
                 }
-                deserializeModifyPermissions(ctConfig, ct);
+            } catch (DBInterruptedException e) {
+                throw e;
+            } catch (DBException e) {
+                log.error(e);
             }
+        }
+    }
 
-            // Drivers
-            // TODO: load drivers config
+    /**
+     * Parses configuration sections.
+     *
+     * @param partial configuration contains only changed connections (journal records)
+     */
+    private boolean parseConfiguration(
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull DataSourceRegistry.ParseResults parseResults,
+        @NotNull Map<String, Object> configurationMap,
+        boolean partial
+    ) throws DBException, IOException {
+        boolean connectionConfigurationChanged = false;
+        // Folders
+        for (Map.Entry<String, Map<String, Object>> folderMap : JSONUtils.getNestedObjects(configurationMap, CONFIGURATION_FOLDERS)) {
+            String name = folderMap.getKey();
+            String description = JSONUtils.getObjectProperty(folderMap.getValue(), RegistryConstants.ATTR_DESCRIPTION);
+            String parentFolder = JSONUtils.getObjectProperty(folderMap.getValue(), RegistryConstants.ATTR_PARENT);
+            DataSourceFolder parent = parentFolder == null ? null : registry.findFolderByPath(parentFolder, true, parseResults);
+            DataSourceFolder folder = parent == null ? registry.findFolderByPath(name, true, parseResults) : parent.getChild(name);
+            if (folder == null) {
+                folder = new DataSourceFolder(registry, parent, name, description);
+                parseResults.addedFolders.add(folder);
+            } else {
+                folder.setDescription(description);
+                parseResults.updatedFolders.add(folder);
+            }
+        }
 
-            // External configurations
-            Map<String, DBPExternalConfiguration> externalConfigurations = new LinkedHashMap<>();
-            if (!DBWorkbench.isDistributed()) {
-                // External configurations not used in distributed mode
-                for (Map.Entry<String, Map<String, Object>> ctMap : JSONUtils.getNestedObjects(configurationMap, "external-configurations")) {
-                    String id = ctMap.getKey();
-                    Map<String, Object> configMap = ctMap.getValue();
-                    externalConfigurations.put(id, new DBPExternalConfiguration(id, () -> configMap));
-                }
+        // Connection types
+        for (Map.Entry<String, Map<String, Object>> ctMap : JSONUtils.getNestedObjects(configurationMap, "connection-types")) {
+            String id = ctMap.getKey();
+            Map<String, Object> ctConfig = ctMap.getValue();
+            String name = JSONUtils.getObjectProperty(ctConfig, RegistryConstants.ATTR_NAME);
+            String description = JSONUtils.getObjectProperty(ctConfig, RegistryConstants.ATTR_DESCRIPTION);
+            String color = JSONUtils.getObjectProperty(ctConfig, RegistryConstants.ATTR_COLOR);
+            Boolean autoCommit = JSONUtils.getObjectProperty(ctConfig, "auto-commit");
+            Boolean confirmExecute = JSONUtils.getObjectProperty(ctConfig, "confirm-execute");
+            Boolean confirmDataChange = JSONUtils.getObjectProperty(ctConfig, "confirm-data-change");
+            Boolean smartCommit = JSONUtils.getObjectProperty(ctConfig, "smart-commit");
+            Boolean smartCommitRecover = JSONUtils.getObjectProperty(ctConfig, "smart-commit-recover");
+            Boolean autoCloseTransactions = JSONUtils.getObjectProperty(ctConfig, "auto-close-transactions");
+            Object closeTransactionsPeriod = JSONUtils.getObjectProperty(ctConfig, "close-transactions-period");
+            Boolean autoCloseConnections = JSONUtils.getObjectProperty(ctConfig, "auto-close-connections");
+            Object closeConnectionsPeriod = JSONUtils.getObjectProperty(ctConfig, "close-connections-period");
+            DBPConnectionType ct = DBWorkbench.getPlatform().getDataSourceProviderRegistry().getConnectionType(id, null);
+            if (ct == null) {
+                ct = new DBPConnectionType(
+                    id,
+                    name,
+                    color,
+                    description,
+                    CommonUtils.toBoolean(autoCommit),
+                    CommonUtils.toBoolean(confirmExecute),
+                    CommonUtils.toBoolean(confirmDataChange),
+                    CommonUtils.toBoolean(smartCommit),
+                    CommonUtils.toBoolean(smartCommitRecover),
+                    CommonUtils.toBoolean(autoCloseTransactions),
+                    CommonUtils.toInt(closeTransactionsPeriod),
+                    CommonUtils.toBoolean(autoCloseConnections),
+                    CommonUtils.toInt(closeConnectionsPeriod));
+                DBWorkbench.getPlatform().getDataSourceProviderRegistry().addConnectionType(ct);
             }
+            deserializeModifyPermissions(ctConfig, ct);
+        }
+
+        // Drivers
+        // TODO: load drivers config
 
-            // Virtual models
-            Map<String, DBVModel> modelMap = new LinkedHashMap<>();
-            for (Map.Entry<String, Map<String, Object>> vmMap : JSONUtils.getNestedObjects(configurationMap, "virtual-models")) {
-                String id = vmMap.getKey();
-                DBVModel model = new DBVModel(id, vmMap.getValue());
-                modelMap.put(id, model);
+        // External configurations
+        Map<String, DBPExternalConfiguration> externalConfigurations = new LinkedHashMap<>();
+        if (!DBWorkbench.isDistributed()) {
+            // External configurations not used in distributed mode
+            for (Map.Entry<String, Map<String, Object>> ctMap : JSONUtils.getNestedObjects(configurationMap, "external-configurations")) {
+                String id = ctMap.getKey();
+                Map<String, Object> configMap = ctMap.getValue();
+                externalConfigurations.put(id, new DBPExternalConfiguration(id, () -> configMap));
             }
+        }
 
-            // Network profiles
-            for (Map.Entry<String, Map<String, Object>> vmMap : JSONUtils.getNestedObjects(configurationMap, "network-profiles")) {
-                String profileId = vmMap.getKey();
-                Map<String, Object> profileMap = vmMap.getValue();
-                DBWNetworkProfile profile = new DBWNetworkProfile(registry.getProject());
-                profile.setProfileName(profileId);
-                profile.setProfileName(profileId);
-                profile.setProperties(JSONUtils.deserializeStringMap(profileMap, "properties"));
+        // Virtual models
+        Map<String, DBVModel> modelMap = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Object>> vmMap : JSONUtils.getNestedObjects(configurationMap, "virtual-models")) {
+            String id = vmMap.getKey();
+            DBVModel model = new DBVModel(id, vmMap.getValue());
+            modelMap.put(id, model);
+        }
 
-                for (Map.Entry<String, Map<String, Object>> handlerMap : JSONUtils.getNestedObjects(profileMap, "handlers")) {
-                    DBWHandlerConfiguration configuration = parseNetworkHandlerConfig(configurationManager, null, profile, handlerMap);
-                    if (configuration != null) {
-                        profile.updateConfiguration(configuration);
-                    }
+        // Network profiles
+        for (Map.Entry<String, Map<String, Object>> vmMap : JSONUtils.getNestedObjects(configurationMap, "network-profiles")) {
+            String profileId = vmMap.getKey();
+            Map<String, Object> profileMap = vmMap.getValue();
+            DBWNetworkProfile profile = new DBWNetworkProfile(registry.getProject());
+            profile.setProfileName(profileId);
+            profile.setProfileName(profileId);
+            profile.setProperties(JSONUtils.deserializeStringMap(profileMap, "properties"));
+
+            for (Map.Entry<String, Map<String, Object>> handlerMap : JSONUtils.getNestedObjects(profileMap, "handlers")) {
+                DBWHandlerConfiguration configuration = parseNetworkHandlerConfig(configurationManager, null, profile, handlerMap);
+                if (configuration != null) {
+                    profile.updateConfiguration(configuration);
                 }
-
-                registry.updateNetworkProfile(profile);
             }
 
-            // Auth profiles
-            List<DBAAuthProfile> profiles = new ArrayList<>();
-            for (Map.Entry<String, Map<String, Object>> vmMap : JSONUtils.getNestedObjects(configurationMap, "auth-profiles")) {
-                String profileId = vmMap.getKey();
-                Map<String, Object> profileMap = vmMap.getValue();
-                DBAAuthProfile profile = new DBAAuthProfile(registry.getProject());
-                profile.setProfileId(profileId);
-                profile.setProfileName(JSONUtils.getString(profileMap, RegistryConstants.ATTR_NAME));
-                profile.setAuthModelId(JSONUtils.getString(profileMap, RegistryConstants.ATTR_AUTH_MODEL));
-                profile.setSavePassword(JSONUtils.getBoolean(profileMap, RegistryConstants.ATTR_SAVE_PASSWORD));
+            registry.updateNetworkProfile(profile);
+        }
 
-                SecureCredentials authCreds = configurationManager.isSecure() ?
-                    readPlainCredentials(profileMap) :
-                    readSecuredCredentials(null, profile, null);
-                profile.setUserName(authCreds.getUserName());
-                profile.setUserPassword(authCreds.getUserPassword());
-                profile.setProperties(authCreds.getProperties());
-                profiles.add(profile);
-            }
+        // Auth profiles
+        List<DBAAuthProfile> profiles = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> vmMap : JSONUtils.getNestedObjects(configurationMap, "auth-profiles")) {
+            String profileId = vmMap.getKey();
+            Map<String, Object> profileMap = vmMap.getValue();
+            DBAAuthProfile profile = new DBAAuthProfile(registry.getProject());
+            profile.setProfileId(profileId);
+            profile.setProfileName(JSONUtils.getString(profileMap, RegistryConstants.ATTR_NAME));
+            profile.setAuthModelId(JSONUtils.getString(profileMap, RegistryConstants.ATTR_AUTH_MODEL));
+            profile.setSavePassword(JSONUtils.getBoolean(profileMap, RegistryConstants.ATTR_SAVE_PASSWORD));
+
+            SecureCredentials authCreds = configurationManager.isSecure() ?
+                readPlainCredentials(profileMap) :
+                readSecuredCredentials(null, profile, null);
+            profile.setUserName(authCreds.getUserName());
+            profile.setUserPassword(authCreds.getUserPassword());
+            profile.setProperties(authCreds.getProperties());
+            profiles.add(profile);
+        }
+        if (!partial) {
             registry.setAuthProfiles(profiles);
+        }
 
-            // Connections
-            for (Map.Entry<String, Map<String, Object>> conMap : JSONUtils.getNestedObjects(configurationMap, "connections")) {
-                String id = conMap.getKey();
-                Map<String, Object> conObject = conMap.getValue();
+        // Connections
+        for (Map.Entry<String, Map<String, Object>> conMap : JSONUtils.getNestedObjects(configurationMap, "connections")) {
+            String id = conMap.getKey();
+            Map<String, Object> conObject = conMap.getValue();
 
-                final String originalProviderId = CommonUtils.toString(conObject.get(ATTR_ORIGINAL_PROVIDER));
-                final String originalDriverId = CommonUtils.toString(conObject.get(ATTR_ORIGINAL_DRIVER));
-                final String substitutedProviderId = CommonUtils.toString(conObject.get(RegistryConstants.ATTR_PROVIDER));
-                final String substitutedDriverId = CommonUtils.toString(conObject.get(RegistryConstants.ATTR_DRIVER));
+            final String originalProviderId = CommonUtils.toString(conObject.get(ATTR_ORIGINAL_PROVIDER));
+            final String originalDriverId = CommonUtils.toString(conObject.get(ATTR_ORIGINAL_DRIVER));
+            final String substitutedProviderId = CommonUtils.toString(conObject.get(RegistryConstants.ATTR_PROVIDER));
+            final String substitutedDriverId = CommonUtils.toString(conObject.get(RegistryConstants.ATTR_DRIVER));
 
-                DriverDescriptor originalDriver;
-                DriverDescriptor substitutedDriver;
+            DriverDescriptor originalDriver;
+            DriverDescriptor substitutedDriver;
 
-                if (CommonUtils.isEmpty(originalProviderId) || CommonUtils.isEmpty(originalDriverId)) {
-                    originalDriver = parseDriver(id, substitutedProviderId, substitutedDriverId, !isDetachedProcess);
-                    substitutedDriver = originalDriver;
+            if (CommonUtils.isEmpty(originalProviderId) || CommonUtils.isEmpty(originalDriverId)) {
+                originalDriver = parseDriver(id, substitutedProviderId, substitutedDriverId, !isDetachedProcess);
+                substitutedDriver = originalDriver;
+            } else {
+                originalDriver = parseDriver(id, originalProviderId, originalDriverId, !isDetachedProcess);
+                substitutedDriver = parseDriver(id, substitutedProviderId, substitutedDriverId, false);
+            }
+            if (originalDriver == null) {
+                continue;
+            }
+            if (substitutedDriver == null || substitutedDriver.isTemporary()) {
+                substitutedDriver = originalDriver;
+            }
+
+            if (getReplacementDriver(substitutedDriver) == originalDriver) {
+                final DriverDescriptor original = originalDriver;
+                originalDriver = substitutedDriver;
+                substitutedDriver = original;
+            }
+
+            substitutedDriver = getReplacementDriver(substitutedDriver);
+
+            T dataSource = registry.getDataSource(id);
+            boolean newDataSource = (dataSource == null);
+            T oldDataSource = null;
+            if (newDataSource) {
+                DBPDataSourceOrigin origin;
+                Map<String, Object> originProperties = JSONUtils.deserializeProperties(conObject, TAG_ORIGIN);
+                if (CommonUtils.isEmpty(originProperties) || !originProperties.containsKey(ATTR_ORIGIN_TYPE)) {
+                    origin = DataSourceOriginLocal.INSTANCE;
                 } else {
-                    originalDriver = parseDriver(id, originalProviderId, originalDriverId, !isDetachedProcess);
-                    substitutedDriver = parseDriver(id, substitutedProviderId, substitutedDriverId, false);
+                    String originID = CommonUtils.toString(originProperties.remove(ATTR_ORIGIN_TYPE));
+                    String extConfigID = CommonUtils.toString(originProperties.remove(ATTR_ORIGIN_CONFIGURATION));
+                    DBPExternalConfiguration extConfig = null;
+                    if (!CommonUtils.isEmpty(extConfigID)) {
+                        extConfig = externalConfigurations.get(extConfigID);
+                    }
+                    origin = new DataSourceOriginLazy(originID, originProperties, extConfig);
                 }
-                if (originalDriver == null) {
-                    continue;
+                dataSource = (T) registry.createDataSource(
+                    configurationStorage.isVirtual() ? registry.getDefaultStorage() : configurationStorage,
+                    origin,
+                    id,
+                    originalDriver,
+                    substitutedDriver,
+                    new DBPConnectionConfiguration());
+            } else {
+                oldDataSource = (T) registry.createDataSource(dataSource);
+                oldDataSource.setId(id);
+                // Clean settings - they have to be loaded later by parser
+                dataSource.getConnectionConfiguration().setProperties(Collections.emptyMap());
+                dataSource.getConnectionConfiguration().setHandlers(Collections.emptyList());
+                dataSource.clearFilters();
+            }
+            dataSource.setName(JSONUtils.getString(conObject, RegistryConstants.ATTR_NAME));
+            dataSource.setDescription(JSONUtils.getString(conObject, RegistryConstants.TAG_DESCRIPTION));
+            dataSource.forceSetSharedCredentials(JSONUtils.getBoolean(conObject,
+                RegistryConstants.ATTR_SHARED_CREDENTIALS));
+            dataSource.setSavePassword(JSONUtils.getBoolean(conObject, RegistryConstants.ATTR_SAVE_PASSWORD));
+            dataSource.setDriverSubstitution(DataSourceProviderRegistry.getInstance()
+                .getDriverSubstitution(CommonUtils.notEmpty(JSONUtils.getString(conObject, ATTR_DRIVER_SUBSTITUTION))));
+            dataSource.setDetachedProcessEnabled(JSONUtils.getBoolean(conObject, ATTR_DPI_ENABLED));
+
+            DataSourceNavigatorSettings navSettings = dataSource.getNavigatorSettings();
+            navSettings.setShowSystemObjects(JSONUtils.getBoolean(conObject,
+                DataSourceSerializerModern.ATTR_NAVIGATOR_SHOW_SYSTEM_OBJECTS));
+            navSettings.setShowUtilityObjects(JSONUtils.getBoolean(conObject,
+                DataSourceSerializerModern.ATTR_NAVIGATOR_SHOW_UTIL_OBJECTS));
+            navSettings.setShowOnlyEntities(JSONUtils.getBoolean(conObject,
+                DataSourceSerializerModern.ATTR_NAVIGATOR_SHOW_ONLY_ENTITIES));
+            navSettings.setHideFolders(JSONUtils.getBoolean(conObject, DataSourceSerializerModern.ATTR_NAVIGATOR_HIDE_FOLDERS));
+            navSettings.setHideSchemas(JSONUtils.getBoolean(conObject, DataSourceSerializerModern.ATTR_NAVIGATOR_HIDE_SCHEMAS));
+            navSettings.setHideVirtualModel(JSONUtils.getBoolean(conObject, DataSourceSerializerModern.ATTR_NAVIGATOR_HIDE_VIRTUAL));
+            navSettings.setMergeEntities(JSONUtils.getBoolean(conObject, DataSourceSerializerModern.ATTR_NAVIGATOR_MERGE_ENTITIES));
+
+            dataSource.setConnectionReadOnly(JSONUtils.getBoolean(conObject, RegistryConstants.ATTR_READ_ONLY));
+            final String folderPath = JSONUtils.getString(conObject, RegistryConstants.ATTR_FOLDER);
+            dataSource.setFolder(folderPath == null ? null : registry.findFolderByPath(folderPath, true, parseResults));
+            dataSource.setLockPasswordHash(CommonUtils.toString(conObject.get(RegistryConstants.ATTR_LOCK_PASSWORD)));
+
+            // Connection settings and filters
+            Map<String, Object> cfgObject = JSONUtils.getObject(conObject, "configuration");
+            List<Map<String, Object>> filterObjects = JSONUtils.getObjectList(conObject, RegistryConstants.TAG_FILTERS);
+            if (newDataSource && registry.isLazyConfigurationLoad()) {
+                // Connection type and color are needed to render the data source.
+                // The rest is loaded (and credentials are decrypted) on connect or edit.
+                boolean hasNetworkHandlers = false;
+                for (Map.Entry<String, Map<String, Object>> handlerObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_HANDLERS)) {
+                    if (JSONUtils.getBoolean(handlerObject.getValue(), RegistryConstants.ATTR_ENABLED)) {
+                        hasNetworkHandlers = true;
+                        break;
+                    }
                 }
-                if (substitutedDriver == null || substitutedDriver.isTemporary()) {
-                    substitutedDriver = originalDriver;
+                dataSource.setConnectionAppearance(
+                    parseConnectionType(cfgObject),
+                    CommonUtils.nullIfEmpty(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_COLOR)),
+                    hasNetworkHandlers);
+                final T lazyDataSource = dataSource;
+                final DriverDescriptor lazyOriginalDriver = originalDriver;
+                final DriverDescriptor lazySubstitutedDriver = substitutedDriver;
+                dataSource.setConfigurationLoader(() -> {
+                    try (StartupTracer.Phase ignored = StartupTracer.startPhase(StartupTracer.PHASE_DATASOURCE_HYDRATE)) {
+                        parseConnectionConfiguration(
+                            configurationManager, lazyDataSource, cfgObject, filterObjects, lazyOriginalDriver, lazySubstitutedDriver);
+                    }
+                });
+            } else {
+                parseConnectionConfiguration(configurationManager, dataSource, cfgObject, filterObjects, originalDriver, substitutedDriver);
+            }
+
+            // Permissions
+            {
+                deserializeModifyPermissions(conObject, dataSource);
+            }
+
+            {
+                // Extensions
+                if (conObject.containsKey(RegistryConstants.TAG_PROPERTIES)) {
+                    // Backward compatibility
+                    dataSource.setExtensions(
+                        JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_PROPERTIES));
+                } else {
+                    dataSource.setExtensions(
+                        JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_EXTENSIONS));
                 }
+            }
+            dataSource.setTags(
+                JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_TAGS));
+
+            // Preferences
+            Map<String, String> preferenceProperties = dataSource.getPreferenceStore().getProperties();
+            preferenceProperties.clear();
+            preferenceProperties.putAll(
+                JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_CUSTOM_PROPERTIES)
+            );
+
+            // Virtual model
+            String vmID = CommonUtils.toString(conObject.get("virtual-model-id"), id);
+            DBVModel dbvModel = modelMap.get(vmID);
+            if (dbvModel != null) {
+                dataSource.setVirtualModel(dbvModel);
+            }
 
-                if (getReplacementDriver(substitutedDriver) == originalDriver) {
-                    final DriverDescriptor original = originalDriver;
-                    originalDriver = substitutedDriver;
-                    substitutedDriver = original;
+            deserializeAdditionalProperties(dataSource, conObject);
+            // Add to the list
+            if (newDataSource) {
+                parseResults.addedDataSources.add(dataSource);
+                connectionConfigurationChanged = true;
+            } else {
+                parseResults.updatedDataSources.add(dataSource);
+                if (!dataSource.equalSettings(oldDataSource)) {
+                    connectionConfigurationChanged = true;
                 }
+            }
+        }
 
-                substitutedDriver = getReplacementDriver(substitutedDriver);
-
-                T dataSource = registry.getDataSource(id);
-                boolean newDataSource = (dataSource == null);
-                T oldDataSource = null;
-                if (newDataSource) {
-                    DBPDataSourceOrigin origin;
-                    Map<String, Object> originProperties = JSONUtils.deserializeProperties(conObject, TAG_ORIGIN);
-                    if (CommonUtils.isEmpty(originProperties) || !originProperties.containsKey(ATTR_ORIGIN_TYPE)) {
-                        origin = DataSourceOriginLocal.INSTANCE;
-                    } else {
-                        String originID = CommonUtils.toString(originProperties.remove(ATTR_ORIGIN_TYPE));
-                        String extConfigID = CommonUtils.toString(originProperties.remove(ATTR_ORIGIN_CONFIGURATION));
-                        DBPExternalConfiguration extConfig = null;
-                        if (!CommonUtils.isEmpty(extConfigID)) {
-                            extConfig = externalConfigurations.get(extConfigID);
-                        }
-                        origin = new DataSourceOriginLazy(originID, originProperties, extConfig);
-                    }
-                    dataSource = (T) registry.createDataSource(
-                        configurationStorage.isVirtual() ? registry.getDefaultStorage() : configurationStorage,
-                        origin,
-                        id,
-                        originalDriver,
-                        substitutedDriver,
-                        new DBPConnectionConfiguration());
-                } else {
-                    oldDataSource = (T) registry.createDataSource(dataSource);
-                    oldDataSource.setId(id);
-                    // Clean settings - they have to be loaded later by parser
-                    dataSource.getConnectionConfiguration().setProperties(Collections.emptyMap());
-                    dataSource.getConnectionConfiguration().setHandlers(Collections.emptyList());
-                    dataSource.clearFilters();
+        if (partial && configurationMap.get(DataSourceConfigurationJournal.ATTR_DELETED_CONNECTIONS) instanceof Collection<?> deletedIds) {
+            // In the whole configuration load deleted connections are purged by registry
+            for (Object id : deletedIds) {
+                T dataSource = registry.getDataSource(CommonUtils.toString(id));
+                if (dataSource != null) {
+                    parseResults.removedDataSources.add(dataSource);
+                    connectionConfigurationChanged = true;
                 }
-                dataSource.setName(JSONUtils.getString(conObject, RegistryConstants.ATTR_NAME));
-                dataSource.setDescription(JSONUtils.getString(conObject, RegistryConstants.TAG_DESCRIPTION));
-                dataSource.forceSetSharedCredentials(JSONUtils.getBoolean(conObject,
-                    RegistryConstants.ATTR_SHARED_CREDENTIALS));
-                dataSource.setSavePassword(JSONUtils.getBoolean(conObject, RegistryConstants.ATTR_SAVE_PASSWORD));
-                dataSource.setDriverSubstitution(DataSourceProviderRegistry.getInstance()
-                    .getDriverSubstitution(CommonUtils.notEmpty(JSONUtils.getString(conObject, ATTR_DRIVER_SUBSTITUTION))));
-                dataSource.setDetachedProcessEnabled(JSONUtils.getBoolean(conObject, ATTR_DPI_ENABLED));
-
-                DataSourceNavigatorSettings navSettings = dataSource.getNavigatorSettings();
-                navSettings.setShowSystemObjects(JSONUtils.getBoolean(conObject,
-                    DataSourceSerializerModern.ATTR_NAVIGATOR_SHOW_SYSTEM_OBJECTS));
-                navSettings.setShowUtilityObjects(JSONUtils.getBoolean(conObject,
-                    DataSourceSerializerModern.ATTR_NAVIGATOR_SHOW_UTIL_OBJECTS));
-                navSettings.setShowOnlyEntities(JSONUtils.getBoolean(conObject,
-                    DataSourceSerializerModern.ATTR_NAVIGATOR_SHOW_ONLY_ENTITIES));
-                navSettings.setHideFolders(JSONUtils.getBoolean(conObject, DataSourceSerializerModern.ATTR_NAVIGATOR_HIDE_FOLDERS));
-                navSettings.setHideSchemas(JSONUtils.getBoolean(conObject, DataSourceSerializerModern.ATTR_NAVIGATOR_HIDE_SCHEMAS));
-                navSettings.setHideVirtualModel(JSONUtils.getBoolean(conObject, DataSourceSerializerModern.ATTR_NAVIGATOR_HIDE_VIRTUAL));
-                navSettings.setMergeEntities(JSONUtils.getBoolean(conObject, DataSourceSerializerModern.ATTR_NAVIGATOR_MERGE_ENTITIES));
-
-                dataSource.setConnectionReadOnly(JSONUtils.getBoolean(conObject, RegistryConstants.ATTR_READ_ONLY));
-                final String folderPath = JSONUtils.getString(conObject, RegistryConstants.ATTR_FOLDER);
-                dataSource.setFolder(folderPath == null ? null : registry.findFolderByPath(folderPath, true, parseResults));
-                dataSource.setLockPasswordHash(CommonUtils.toString(conObject.get(RegistryConstants.ATTR_LOCK_PASSWORD)));
-
-                // Connection settings
-                {
-                    Map<String, Object> cfgObject = JSONUtils.getObject(conObject, "configuration");
-                    DBPConnectionConfiguration config = dataSource.getConnectionConfiguration();
-                    config.setHostName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_HOST));
-                    config.setHostPort(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_PORT));
-                    config.setServerName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_SERVER));
-                    config.setDatabaseName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_DATABASE));
-                    config.setUrl(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_URL));
-                    {
-                        final SecureCredentials creds = configurationManager.isSecure() ?
-                            readPlainCredentials(cfgObject) :
-                            readSecuredCredentials(dataSource, null, null);
-                        config.setUserName(creds.getUserName());
-                        if (dataSource.isSavePassword() || !CommonUtils.isEmpty(creds.getUserPassword())) {
-                            config.setUserPassword(creds.getUserPassword());
-                        } else {
-                            config.setUserPassword(null);
-                        }
-                        boolean savePasswordApplicable = (!dataSource.getProject()
-                            .isUseSecretStorage() || dataSource.isSharedCredentials());
-                        if (savePasswordApplicable && !CommonUtils.isEmpty(creds.getUserPassword())) {
-                            dataSource.setSavePassword(true);
-                        }
-                        dataSource.getConnectionConfiguration().setAuthProperties(creds.getProperties());
-                        dataSource.resetAllSecrets();
-                    }
-                    {
-                        // Still try to read credentials directly from configuration (#6564)
-                        String userName = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_USER);
-                        if (!CommonUtils.isEmpty(userName)) config.setUserName(userName);
-                        String userPassword = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_PASSWORD);
-                        if (!CommonUtils.isEmpty(userPassword)) config.setUserPassword(userPassword);
-                    }
+            }
+        }
 
-                    config.setClientHomeId(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_HOME));
-                    config.setConfigProfileSource(JSONUtils.getString(cfgObject, "config-profile-source"));
-                    config.setConfigProfileName(JSONUtils.getString(cfgObject, "config-profile"));
-                    config.setConnectionType(
-                        DataSourceProviderRegistry.getInstance().getConnectionType(
-                            JSONUtils.getString(cfgObject, RegistryConstants.ATTR_TYPE), DBPConnectionType.DEFAULT_TYPE));
-                    String configurationType = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_CONFIGURATION_TYPE);
-                    if (!CommonUtils.isEmpty(configurationType)) {
-                        config.setConfigurationType(CommonUtils.valueOf(DBPDriverConfigurationType.class, configurationType, DBPDriverConfigurationType.MANUAL));
-                    }
-                    String colorValue = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_COLOR);
-                    if (!CommonUtils.isEmpty(colorValue)) {
-                        config.setConnectionColor(colorValue);
-                    }
-                    int keepAlive = JSONUtils.getInteger(cfgObject, RegistryConstants.ATTR_KEEP_ALIVE);
-                    if (keepAlive > 0) {
-                        config.setKeepAliveInterval(keepAlive);
-                    }
-                    boolean closeIdleEnabled = JSONUtils.getBoolean(cfgObject, RegistryConstants.ATTR_CLOSE_IDLE_ENABLED);
-                    config.setCloseIdleConnection(closeIdleEnabled);
-                    int closeIdle = JSONUtils.getInteger(cfgObject, RegistryConstants.ATTR_CLOSE_IDLE);
-                    if (closeIdle > 0) {
-                        config.setCloseIdleInterval(closeIdle);
-                    }
+        // Saved filters
+        for (Map<String, Object> ctMap : JSONUtils.getObjectList(configurationMap, "saved-filters")) {
+            DBSObjectFilter filter = readObjectFiler(ctMap);
+            registry.addSavedFilter(filter);
+        }
+        return connectionConfigurationChanged;
+    }
 
-                    config.setProperties(JSONUtils.deserializeStringMap(cfgObject, RegistryConstants.TAG_PROPERTIES));
-                    config.setProviderProperties(JSONUtils.deserializeStringMap(cfgObject, RegistryConstants.TAG_PROVIDER_PROPERTIES));
-                    config.setAuthModelId(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_AUTH_MODEL));
-                    //backward compatibility
-                    //in the current version the configuration should not contain auth-properties, they should be in secrets
-                    if (cfgObject.containsKey(RegistryConstants.TAG_AUTH_PROPERTIES)) {
-                        config.setAuthProperties(JSONUtils.deserializeStringMapOrNull(cfgObject, RegistryConstants.TAG_AUTH_PROPERTIES));
+    /**
+     * Merges configuration journal records into the loaded configuration
+     */
+    private void readConfigurationJournal(
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull Map<String, Object> configurationMap
+    ) {
+        if (configurationStorage instanceof DataSourceMemoryStorage ||
+            configurationManager != registry.getConfigurationManager() || !configurationManager.isAppendSupported()
+        ) {
+            return;
+        }
+        String storageName = configurationStorage.getStorageName();
+        journalId = JSONUtils.getString(configurationMap, DataSourceConfigurationJournal.ATTR_JOURNAL_ID);
+        if (journalId == null) {
+            registry.setConfigurationJournal(storageName, null);
+            return;
+        }
+        try {
+            List<DataSourceConfigurationJournal.Line> lines = DataSourceConfigurationJournal.readJournal(
+                configurationManager, DataSourceConfigurationJournal.getJournalName(storageName));
+            long offset = 0;
+            if (lines != null) {
+                for (DataSourceConfigurationJournal.Line line : lines) {
+                    Map<String, Object> record = parseJournalRecord(line.text());
+                    if (record != null && journalId.equals(record.get(DataSourceConfigurationJournal.ATTR_JOURNAL_ID))) {
+                        DataSourceConfigurationJournal.applyRecord(configurationMap, record);
                     }
+                    offset = line.endOffset();
+                }
+            }
+            registry.setConfigurationJournal(
+                storageName, new DataSourceConfigurationJournal(journalId, offset, configurationChecksum));
+        } catch (Exception e) {
+            registry.setConfigurationJournal(storageName, null);
+            log.error("Error reading configuration journal", e);
+        }
+    }
 
-                    // Events
-                    for (Map.Entry<String, Map<String, Object>> eventObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_EVENTS)) {
-                        DBPConnectionEventType eventType = CommonUtils.valueOf(DBPConnectionEventType.class, eventObject.getKey(), DBPConnectionEventType.BEFORE_CONNECT);
-                        Map<String, Object> eventCfg = eventObject.getValue();
-                        DBRShellCommand command = new DBRShellCommand("");
-                        command.setEnabled(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_ENABLED));
-                        command.setShowProcessPanel(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_SHOW_PANEL));
-                        command.setWaitProcessFinish(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_WAIT_PROCESS));
-                        if (command.isWaitProcessFinish()) {
-                            command.setWaitProcessTimeoutMs(JSONUtils.getInteger(eventCfg, RegistryConstants.ATTR_WAIT_PROCESS_TIMEOUT));
-                        }
-                        command.setTerminateAtDisconnect(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_TERMINATE_AT_DISCONNECT));
-                        command.setPauseAfterExecute(JSONUtils.getInteger(eventCfg, RegistryConstants.ATTR_PAUSE_AFTER_EXECUTE));
-                        command.setWorkingDirectory(JSONUtils.getString(eventCfg, RegistryConstants.ATTR_WORKING_DIRECTORY));
-                        command.setCommand(JSONUtils.getString(eventCfg, RegistryConstants.ATTR_COMMAND));
+    /**
+     * Parses configuration journal records appended after the last configuration load.
+     *
+     * @return false if the journal was compacted or replaced, then the whole configuration must be reloaded
+     */
+    boolean parseConfigurationJournal(
+        @NotNull DBPDataSourceConfigurationStorage configurationStorage,
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull DataSourceConfigurationJournal journal,
+        @NotNull DataSourceRegistry.ParseResults parseResults
+    ) throws DBException, IOException {
+        try (InputStream is = configurationManager.readConfiguration(configurationStorage.getStorageName(), null)) {
+            if (is == null || journal.getConfigurationChecksum() !=
+                DataSourceConfigurationJournal.getConfigurationChecksum(loadConfigFile(is, false))
+            ) {
+                // Main configuration was changed outside (e.g. edited manually or replaced by VCS)
+                return false;
+            }
+        }
+        List<DataSourceConfigurationJournal.Line> lines = DataSourceConfigurationJournal.readJournal(
+            configurationManager, DataSourceConfigurationJournal.getJournalName(configurationStorage.getStorageName()));
+        if (lines == null || lines.isEmpty()) {
+            return false;
+        }
+        // The first record is the journal header
+        Map<String, Object> header = parseJournalRecord(lines.get(0).text());
+        if (header == null || !journal.getId().equals(header.get(DataSourceConfigurationJournal.ATTR_JOURNAL_ID))) {
+            return false;
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        long offset = journal.getOffset();
+        for (DataSourceConfigurationJournal.Line line : lines) {
+            if (line.endOffset() <= journal.getOffset()) {
+                continue;
+            }
+            Map<String, Object> record = parseJournalRecord(line.text());
+            if (record != null && journal.getId().equals(record.get(DataSourceConfigurationJournal.ATTR_JOURNAL_ID))) {
+                DataSourceConfigurationJournal.applyRecord(changes, record);
+            }
+            offset = line.endOffset();
+        }
+        if (!changes.isEmpty()) {
+            journalId = journal.getId();
+            readCredentials(configurationStorage, configurationManager, null);
+            parseConfiguration(configurationStorage, configurationManager, parseResults, changes, true);
+        }
+        journal.setOffset(offset);
+        return true;
+    }
 
-                        config.setEvent(eventType, command);
-                    }
+    @Nullable
+    private static Map<String, Object> parseJournalRecord(@NotNull String text) {
+        try {
+            return JSONUtils.parseMap(CONFIG_GSON, new StringReader(text));
+        } catch (Exception e) {
+            // Incomplete record of an interrupted write
+            log.debug("Skip invalid configuration journal record: " + e.getMessage());
+            return null;
+        }
+    }
 
-                    // Handlers
-                    for (Map.Entry<String, Map<String, Object>> handlerObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_HANDLERS)) {
-                        DBWHandlerConfiguration configuration = parseNetworkHandlerConfig(configurationManager, dataSource, null, handlerObject);
-                        if (configuration != null) {
-                            dataSource.getConnectionConfiguration().updateHandler(configuration);
-                        }
-                    }
+    /**
+     * Parses connection settings and object filters
+     */
+    private void parseConnectionConfiguration(
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull T dataSource,
+        @NotNull Map<String, Object> cfgObject,
+        @NotNull List<Map<String, Object>> filterObjects,
+        @NotNull DriverDescriptor originalDriver,
+        @NotNull DriverDescriptor substitutedDriver
+    ) {
+        String id = dataSource.getId();
+        DBPConnectionConfiguration config = dataSource.getConnectionConfiguration();
+        config.setHostName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_HOST));
+        config.setHostPort(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_PORT));
+        config.setServerName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_SERVER));
+        config.setDatabaseName(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_DATABASE));
+        config.setUrl(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_URL));
+        {
+            final SecureCredentials creds = configurationManager.isSecure() ?
+                readPlainCredentials(cfgObject) :
+                readSecuredCredentials(dataSource, null, null);
+            config.setUserName(creds.getUserName());
+            if (dataSource.isSavePassword() || !CommonUtils.isEmpty(creds.getUserPassword())) {
+                config.setUserPassword(creds.getUserPassword());
+            } else {
+                config.setUserPassword(null);
+            }
+            boolean savePasswordApplicable = (!dataSource.getProject()
+                .isUseSecretStorage() || dataSource.isSharedCredentials());
+            if (savePasswordApplicable && !CommonUtils.isEmpty(creds.getUserPassword())) {
+                dataSource.setSavePassword(true);
+            }
+            dataSource.getConnectionConfiguration().setAuthProperties(creds.getProperties());
+            dataSource.resetAllSecrets();
+        }
+        {
+            // Still try to read credentials directly from configuration (#6564)
+            String userName = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_USER);
+            if (!CommonUtils.isEmpty(userName)) config.setUserName(userName);
+            String userPassword = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_PASSWORD);
+            if (!CommonUtils.isEmpty(userPassword)) config.setUserPassword(userPassword);
+        }
 
-                    // Bootstrap
-                    Map<String, Object> bootstrapCfg = JSONUtils.getObject(cfgObject, RegistryConstants.TAG_BOOTSTRAP);
-                    DBPConnectionBootstrap bootstrap = config.getBootstrap();
-                    if (bootstrapCfg.containsKey(RegistryConstants.ATTR_AUTOCOMMIT)) {
-                        bootstrap.setDefaultAutoCommit(JSONUtils.getBoolean(bootstrapCfg, RegistryConstants.ATTR_AUTOCOMMIT));
-                    }
-                    if (bootstrapCfg.containsKey(RegistryConstants.ATTR_TXN_ISOLATION)) {
-                        bootstrap.setDefaultTransactionIsolation(JSONUtils.getInteger(bootstrapCfg, RegistryConstants.ATTR_TXN_ISOLATION));
-                    }
-                    bootstrap.setDefaultCatalogName(JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_CATALOG));
-                    bootstrap.setDefaultSchemaName(JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_SCHEMA));
-                    String defObjectName = JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_OBJECT);
-                    if (!CommonUtils.isEmpty(defObjectName) && CommonUtils.isEmpty(bootstrap.getDefaultSchemaName())) {
-                        bootstrap.setDefaultSchemaName(JSONUtils.getString(bootstrapCfg, defObjectName));
-                    }
+        config.setClientHomeId(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_HOME));
+        config.setConfigProfileSource(JSONUtils.getString(cfgObject, "config-profile-source"));
+        config.setConfigProfileName(JSONUtils.getString(cfgObject, "config-profile"));
+        config.setConnectionType(parseConnectionType(cfgObject));
+        String configurationType = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_CONFIGURATION_TYPE);
+        if (!CommonUtils.isEmpty(configurationType)) {
+            config.setConfigurationType(CommonUtils.valueOf(DBPDriverConfigurationType.class, configurationType, DBPDriverConfigurationType.MANUAL));
+        }
+        String colorValue = JSONUtils.getString(cfgObject, RegistryConstants.ATTR_COLOR);
+        if (!CommonUtils.isEmpty(colorValue)) {
+            config.setConnectionColor(colorValue);
+        }
+        int keepAlive = JSONUtils.getInteger(cfgObject, RegistryConstants.ATTR_KEEP_ALIVE);
+        if (keepAlive > 0) {
+            config.setKeepAliveInterval(keepAlive);
+        }
+        boolean closeIdleEnabled = JSONUtils.getBoolean(cfgObject, RegistryConstants.ATTR_CLOSE_IDLE_ENABLED);
+        config.setCloseIdleConnection(closeIdleEnabled);
+        int closeIdle = JSONUtils.getInteger(cfgObject, RegistryConstants.ATTR_CLOSE_IDLE);
+        if (closeIdle > 0) {
+            config.setCloseIdleInterval(closeIdle);
+        }
 
-                    if (bootstrapCfg.containsKey(RegistryConstants.ATTR_IGNORE_ERRORS)) {
-                        bootstrap.setIgnoreErrors(JSONUtils.getBoolean(bootstrapCfg, RegistryConstants.ATTR_IGNORE_ERRORS));
-                    }
-                    bootstrap.setInitQueries(JSONUtils.deserializeStringList(bootstrapCfg, RegistryConstants.TAG_QUERY));
-
-                    if (originalDriver != substitutedDriver) {
-                        if (substitutedDriver.getProviderDescriptor().supportsDriverMigration()) {
-                            final DBPDataSourceProvider dataSourceProvider = substitutedDriver.getDataSourceProvider();
-                            if (dataSourceProvider instanceof DBPConnectionConfigurationMigrator migrator) {
-                                if (migrator.migrationRequired(config)) {
-                                    final DBPConnectionConfiguration migrated = new DBPConnectionConfiguration(config);
-                                    try {
-                                        migrator.migrateConfiguration(config, migrated);
-                                        dataSource.setConnectionInfo(migrated);
-                                        log.debug("Connection configuration for data source '" + id + "' was migrated successfully");
-                                    } catch (DBException e) {
-                                        log.error("Unable to migrate connection configuration for data source '" + id + "'", e);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+        config.setProperties(JSONUtils.deserializeStringMap(cfgObject, RegistryConstants.TAG_PROPERTIES));
+        config.setProviderProperties(JSONUtils.deserializeStringMap(cfgObject, RegistryConstants.TAG_PROVIDER_PROPERTIES));
+        config.setAuthModelId(JSONUtils.getString(cfgObject, RegistryConstants.ATTR_AUTH_MODEL));
+        //backward compatibility
+        //in the current version the configuration should not contain auth-properties, they should be in secrets
+        if (cfgObject.containsKey(RegistryConstants.TAG_AUTH_PROPERTIES)) {
+            config.setAuthProperties(JSONUtils.deserializeStringMapOrNull(cfgObject, RegistryConstants.TAG_AUTH_PROPERTIES));
+        }
 
-                // Permissions
-                {
-                    deserializeModifyPermissions(conObject, dataSource);
-                }
+        // Events
+        for (Map.Entry<String, Map<String, Object>> eventObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_EVENTS)) {
+            DBPConnectionEventType eventType = CommonUtils.valueOf(DBPConnectionEventType.class, eventObject.getKey(), DBPConnectionEventType.BEFORE_CONNECT);
+            Map<String, Object> eventCfg = eventObject.getValue();
+            DBRShellCommand command = new DBRShellCommand("");
+            command.setEnabled(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_ENABLED));
+            command.setShowProcessPanel(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_SHOW_PANEL));
+            command.setWaitProcessFinish(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_WAIT_PROCESS));
+            if (command.isWaitProcessFinish()) {
+                command.setWaitProcessTimeoutMs(JSONUtils.getInteger(eventCfg, RegistryConstants.ATTR_WAIT_PROCESS_TIMEOUT));
+            }
+            command.setTerminateAtDisconnect(JSONUtils.getBoolean(eventCfg, RegistryConstants.ATTR_TERMINATE_AT_DISCONNECT));
+            command.setPauseAfterExecute(JSONUtils.getInteger(eventCfg, RegistryConstants.ATTR_PAUSE_AFTER_EXECUTE));
+            command.setWorkingDirectory(JSONUtils.getString(eventCfg, RegistryConstants.ATTR_WORKING_DIRECTORY));
+            command.setCommand(JSONUtils.getString(eventCfg, RegistryConstants.ATTR_COMMAND));
 
-                // Filters
-                for (Map<String, Object> filterCfg : JSONUtils.getObjectList(conObject, RegistryConstants.TAG_FILTERS)) {
-                    String typeName = JSONUtils.getString(filterCfg, RegistryConstants.ATTR_TYPE);
-                    String objectID = JSONUtils.getString(filterCfg, RegistryConstants.ATTR_ID);
-                    if (!CommonUtils.isEmpty(typeName)) {
-                        DBSObjectFilter filter = readObjectFiler(filterCfg);
-                        dataSource.updateObjectFilter(typeName, objectID, filter);
-                    }
-                }
+            config.setEvent(eventType, command);
+        }
 
-                {
-                    // Extensions
-                    if (conObject.containsKey(RegistryConstants.TAG_PROPERTIES)) {
-                        // Backward compatibility
-                        dataSource.setExtensions(
-                            JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_PROPERTIES));
-                    } else {
-                        dataSource.setExtensions(
-                            JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_EXTENSIONS));
-                    }
-                }
-                dataSource.setTags(
-                    JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_TAGS));
-
-                // Preferences
-                Map<String, String> preferenceProperties = dataSource.getPreferenceStore().getProperties();
-                preferenceProperties.clear();
-                preferenceProperties.putAll(
-                    JSONUtils.deserializeStringMap(conObject, RegistryConstants.TAG_CUSTOM_PROPERTIES)
-                );
-
-                // Virtual model
-                String vmID = CommonUtils.toString(conObject.get("virtual-model-id"), id);
-                DBVModel dbvModel = modelMap.get(vmID);
-                if (dbvModel != null) {
-                    dataSource.setVirtualModel(dbvModel);
-                }
+        // Handlers
+        for (Map.Entry<String, Map<String, Object>> handlerObject : JSONUtils.getNestedObjects(cfgObject, RegistryConstants.TAG_HANDLERS)) {
+            DBWHandlerConfiguration configuration = parseNetworkHandlerConfig(configurationManager, dataSource, null, handlerObject);
+            if (configuration != null) {
+                dataSource.getConnectionConfiguration().updateHandler(configuration);
+            }
+        }
 
-                deserializeAdditionalProperties(dataSource, conObject);
-                // Add to the list
-                if (newDataSource) {
-                    parseResults.addedDataSources.add(dataSource);
-                    connectionConfigurationChanged = true;
-                } else {
-                    parseResults.updatedDataSources.add(dataSource);
-                    if (!dataSource.equalSettings(oldDataSource)) {
-                        connectionConfigurationChanged = true;
+        // Bootstrap
+        Map<String, Object> bootstrapCfg = JSONUtils.getObject(cfgObject, RegistryConstants.TAG_BOOTSTRAP);
+        DBPConnectionBootstrap bootstrap = config.getBootstrap();
+        if (bootstrapCfg.containsKey(RegistryConstants.ATTR_AUTOCOMMIT)) {
+            bootstrap.setDefaultAutoCommit(JSONUtils.getBoolean(bootstrapCfg, RegistryConstants.ATTR_AUTOCOMMIT));
+        }
+        if (bootstrapCfg.containsKey(RegistryConstants.ATTR_TXN_ISOLATION)) {
+            bootstrap.setDefaultTransactionIsolation(JSONUtils.getInteger(bootstrapCfg, RegistryConstants.ATTR_TXN_ISOLATION));
+        }
+        bootstrap.setDefaultCatalogName(JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_CATALOG));
+        bootstrap.setDefaultSchemaName(JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_SCHEMA));
+        String defObjectName = JSONUtils.getString(bootstrapCfg, RegistryConstants.ATTR_DEFAULT_OBJECT);
+        if (!CommonUtils.isEmpty(defObjectName) && CommonUtils.isEmpty(bootstrap.getDefaultSchemaName())) {
+            bootstrap.setDefaultSchemaName(JSONUtils.getString(bootstrapCfg, defObjectName));
+        }
+
+        if (bootstrapCfg.containsKey(RegistryConstants.ATTR_IGNORE_ERRORS)) {
+            bootstrap.setIgnoreErrors(JSONUtils.getBoolean(bootstrapCfg, RegistryConstants.ATTR_IGNORE_ERRORS));
+        }
+        bootstrap.setInitQueries(JSONUtils.deserializeStringList(bootstrapCfg, RegistryConstants.TAG_QUERY));
+
+        if (originalDriver != substitutedDriver) {
+            if (substitutedDriver.getProviderDescriptor().supportsDriverMigration()) {
+                final DBPDataSourceProvider dataSourceProvider = substitutedDriver.getDataSourceProvider();
+                if (dataSourceProvider instanceof DBPConnectionConfigurationMigrator migrator) {
+                    if (migrator.migrationRequired(config)) {
+                        final DBPConnectionConfiguration migrated = new DBPConnectionConfiguration(config);
+                        try {
+                            migrator.migrateConfiguration(config, migrated);
+                            dataSource.setConnectionInfo(migrated);
+                            log.debug("Connection configuration for data source '" + id + "' was migrated successfully");
+                        } catch (DBException e) {
+                            log.error("Unable to migrate connection configuration for data source '" + id + "'", e);
+                        }
                     }
                 }
             }
+        }
 
-            // Saved filters
-            for (Map<String, Object> ctMap : JSONUtils.getObjectList(configurationMap, "saved-filters")) {
-                DBSObjectFilter filter = readObjectFiler(ctMap);
-                registry.addSavedFilter(filter);
+        // Filters
+        for (Map<String, Object> filterCfg : filterObjects) {
+            String typeName = JSONUtils.getString(filterCfg, RegistryConstants.ATTR_TYPE);
+            String objectID = JSONUtils.getString(filterCfg, RegistryConstants.ATTR_ID);
+            if (!CommonUtils.isEmpty(typeName)) {
+                DBSObjectFilter filter = readObjectFiler(filterCfg);
+                dataSource.updateObjectFilter(typeName, objectID, filter);
             }
         }
-        return connectionConfigurationChanged;
+    }
 
+    @NotNull
+    private static DBPConnectionType parseConnectionType(@NotNull Map<String, Object> cfgObject) {
+        return DataSourceProviderRegistry.getInstance().getConnectionType(
+            JSONUtils.getString(cfgObject, RegistryConstants.ATTR_TYPE), DBPConnectionType.DEFAULT_TYPE);
     }
 
     /**
@@ -859,15 +1272,23 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         if (configurationManager.isSecure()) {
             return null;
         }
-        final String name = DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_PREFIX
-                + configurationStorage.getStorageSubId() + DBPDataSourceRegistry.CREDENTIALS_CONFIG_FILE_EXT;
-        try (InputStream is = configurationManager.readConfiguration(name, dataSourceIds)) {
-            if (is == null) {
-                return null;
+        final String name = getCredentialsFileName(configurationStorage);
+        try (StartupTracer.Phase ignored = StartupTracer.startPhase(StartupTracer.PHASE_CREDENTIALS_READ);
+             InputStream is = configurationManager.readConfiguration(name, dataSourceIds)
+        ) {
+            Map<String, Map<String, Map<String, String>>> credentials = null;
+            if (is != null) {
+                final String data = loadConfigFile(is, true);
+                credentials = CONFIG_GSON.fromJson(data, new TypeToken<Map<String, Map<String, Map<String, String>>>>() {
+                }.getType());
+            }
+            if (journalId != null) {
+                if (credentials == null) {
+                    credentials = new LinkedHashMap<>();
+                }
+                readCredentialsJournal(configurationManager, DataSourceConfigurationJournal.getJournalName(name), credentials);
             }
-            final String data = loadConfigFile(is, true);
-            return CONFIG_GSON.fromJson(data, new TypeToken<Map<String, Map<String, Map<String, String>>>>() {
-            }.getType());
+            return credentials;
         } catch (IOException e) {
             // here we catch any exceptions that happens for secure credential
             // reading
@@ -875,6 +1296,39 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         }
     }
 
+    private void readCredentialsJournal(
+        @NotNull DataSourceConfigurationManager configurationManager,
+        @NotNull String journalName,
+        @NotNull Map<String, Map<String, Map<String, String>>> credentials
+    ) throws DBException, IOException {
+        List<DataSourceConfigurationJournal.Line> lines = DataSourceConfigurationJournal.readJournal(configurationManager, journalName);
+        if (lines == null) {
+            return;
+        }
+        DBSValueEncryptor encryptor = registry.getProject().getValueEncryptor();
+        for (DataSourceConfigurationJournal.Line line : lines) {
+            DataSourceConfigurationJournal.CredentialsRecord record = readCredentialsRecord(encryptor, line);
+            if (record != null && journalId.equals(record.journalId) && record.credentials != null) {
+                DataSourceConfigurationJournal.applyCredentialsRecord(credentials, record.credentials);
+            }
+        }
+    }
+
+    @Nullable
+    private static DataSourceConfigurationJournal.CredentialsRecord readCredentialsRecord(
+        @NotNull DBSValueEncryptor encryptor,
+        @NotNull DataSourceConfigurationJournal.Line line
+    ) {
+        try {
+            byte[] data = encryptor.decryptValue(Base64.getDecoder().decode(line.text()));
+            return CONFIG_GSON.fromJson(
+                new String(data, StandardCharsets.UTF_8), DataSourceConfigurationJournal.CredentialsRecord.class);
+        } catch (Exception e) {
+            log.debug("Skip invalid credentials journal record: " + e.getMessage());
+            return null;
+        }
+    }
+
     @Nullable
     private Map<String, Object> readConfiguration(
         @NotNull DBPDataSourceConfigurationStorage configurationStorage,
@@ -892,6 +1346,7 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         }
         try (is) {
             final String data = loadConfigFile(is, CommonUtils.toBoolean(registry.getProject().isEncryptedProject()));
+            configurationChecksum = DataSourceConfigurationJournal.getConfigurationChecksum(data);
             return JSONUtils.parseMap(CONFIG_GSON, new StringReader(data));
         } catch (DBInterruptedException e) {
             // happens only if user cancelled entering password
@@ -1418,6 +1873,25 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         return creds;
     }
 
+    private synchronized void loadSecureCredentialsIfNeeded() {
+        if (credentialsStorage == null) {
+            return;
+        }
+        try {
+            Map<String, Map<String, Map<String, String>>> secureCredentialsMap = readSecureCredentials(
+                credentialsStorage, credentialsManager, credentialsDataSourceIds);
+            if (secureCredentialsMap != null) {
+                secureProperties.putAll(secureCredentialsMap);
+            }
+        } catch (DBException e) {
+            log.error(e);
+        } finally {
+            credentialsStorage = null;
+            credentialsManager = null;
+            credentialsDataSourceIds = null;
+        }
+    }
+
     private SecureCredentials readSecuredCredentials(
         @Nullable DataSourceDescriptor dataSource,
         @Nullable DBPConfigurationProfile profile,
@@ -1426,6 +1900,7 @@ public class DataSourceSerializerModern<T extends DataSourceDescriptor> implemen
         assert dataSource != null || profile != null;
 
         SecureCredentials creds = new SecureCredentials();
+        loadSecureCredentialsIfNeeded();
 
         String topNodeId = profile != null ? "profile:" + profile.getProfileId() : dataSource.getId();
         if (subNode == null) subNode = NODE_CONNECTION;
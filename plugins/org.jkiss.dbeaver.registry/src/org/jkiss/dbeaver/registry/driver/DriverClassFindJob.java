@@ -25,16 +25,14 @@ import org.jkiss.utils.CommonUtils;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.List;
+import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -44,6 +42,7 @@ public class DriverClassFindJob implements DBRRunnableWithProgress {
 
     public static final String OBJECT_CLASS_NAME = "java/lang/Object";
     public static final String CLASS_FILE_EXT = ".class";
+    private static final String SERVICES_PREFIX = "META-INF/services/";
     private List<String> driverClassNames = new ArrayList<>();
 
     private final DriverDescriptor driver;
@@ -66,35 +65,58 @@ public class DriverClassFindJob implements DBRRunnableWithProgress {
     }
 
     private void findDriverClasses(DBRProgressMonitor monitor) {
-        java.util.List<Path> libFiles = driver.getDefaultDriverLoader().getAllLibraryFiles(monitor);
-        java.util.List<URL> libURLs = new ArrayList<>();
-        for (Path libFile : libFiles) {
-            if (libFile != null && Files.exists(libFile) && !Files.isDirectory(libFile)) {
-                try {
-                    libURLs.add(libFile.toUri().toURL());
-                } catch (MalformedURLException e) {
-                    log.debug(e);
-                }
-            }
-        }
-        ClassLoader findCL = new URLClassLoader(libURLs.toArray(new URL[0]));
+        List<Path> libFiles = driver.getDefaultDriverLoader().getAllLibraryFiles(monitor);
+        DriverLibraryIndex index = DriverLibraryIndex.getInstance();
+        String lookupKey = (isInterface ? "implements:" : "extends:") + interfaceName;
+        String serviceName = interfaceName.replace('/', '.');
 
         for (Path libFile : libFiles) {
             if (monitor.isCanceled()) {
                 break;
             }
-            if (!Files.isDirectory(libFile)) {
-                findDriverClasses(monitor, findCL, libFile);
+            if (libFile == null || !Files.exists(libFile) || Files.isDirectory(libFile)) {
+                continue;
+            }
+            String jarName = libFile.getFileName().toString();
+            if (!jarName.endsWith(".jar") && !jarName.endsWith(".zip")) {
+                // Dummy file type validation
+                continue;
+            }
+            // Libraries are scanned only once, results are kept in the index by file hash
+            String libraryHash = index.getLibraryHash(libFile);
+            List<String> classNames = libraryHash == null ? null : index.getImplementors(libraryHash, lookupKey);
+            List<String> serviceClassNames;
+            if (classNames == null) {
+                Map<String, List<String>> services = new LinkedHashMap<>();
+                classNames = findDriverClasses(monitor, libFile, services);
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                if (libraryHash != null) {
+                    index.putLibraryInfo(libraryHash, lookupKey, classNames, services);
+                }
+                serviceClassNames = services.getOrDefault(serviceName, Collections.emptyList());
+            } else {
+                serviceClassNames = CommonUtils.notNull(index.getServices(libraryHash, serviceName), Collections.emptyList());
+            }
+            // Classes declared as services go first
+            for (String className : serviceClassNames) {
+                if (classNames.contains(className) && !driverClassNames.contains(className)) {
+                    driverClassNames.add(className);
+                }
+            }
+            for (String className : classNames) {
+                if (!driverClassNames.contains(className)) {
+                    driverClassNames.add(className);
+                }
             }
         }
+        index.save();
     }
 
-    private void findDriverClasses(DBRProgressMonitor monitor, ClassLoader findCL, Path libFile) {
+    private List<String> findDriverClasses(DBRProgressMonitor monitor, Path libFile, Map<String, List<String>> services) {
+        List<String> classNames = new ArrayList<>();
         String jarName = libFile.getFileName().toString();
-        if (!jarName.endsWith(".jar") && !jarName.endsWith(".zip")) {
-            // Dummy file type validation
-            return;
-        }
         try (JarFile currentFile = new JarFile(libFile.toFile(), false)) {
             monitor.beginTask(jarName, currentFile.size());
 
@@ -105,12 +127,14 @@ public class DriverClassFindJob implements DBRRunnableWithProgress {
                     }
                     JarEntry current = (JarEntry) e.nextElement();
                     String fileName = current.getName();
-                    if (fileName.endsWith(CLASS_FILE_EXT) && !fileName.contains("$")) { //$NON-NLS-1$ //$NON-NLS-2$
+                    if (fileName.startsWith(SERVICES_PREFIX) && !current.isDirectory()) {
+                        readServiceDeclaration(currentFile, current, services);
+                    } else if (fileName.endsWith(CLASS_FILE_EXT) && !fileName.contains("$")) { //$NON-NLS-1$ //$NON-NLS-2$
                         String className = fileName.replaceAll("/", ".").replace(CLASS_FILE_EXT, ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
                         monitor.subTask(className);
                         try {
                             if (implementsInterface(currentFile, current, 0)) {
-                                driverClassNames.add(className);
+                                classNames.add(className);
                             }
                         } catch (Throwable e1) {
                             // do nothing
@@ -123,6 +147,30 @@ public class DriverClassFindJob implements DBRRunnableWithProgress {
         } catch (IOException e) {
             log.debug(e);
         }
+        return classNames;
+    }
+
+    private static void readServiceDeclaration(JarFile jarFile, JarEntry entry, Map<String, List<String>> services) {
+        String serviceName = entry.getName().substring(SERVICES_PREFIX.length());
+        if (serviceName.isEmpty() || serviceName.contains("/")) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(jarFile.getInputStream(entry), StandardCharsets.UTF_8))) {
+            List<String> implementations = new ArrayList<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                int commentStart = line.indexOf('#');
+                if (commentStart >= 0) {
+                    line = line.substring(0, commentStart);
+                }
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    implementations.add(line);
+                }
+            }
+            services.put(serviceName, implementations);
+        } catch (IOException e) {
+            log.debug("Error reading service declaration " + entry.getName(), e);
+        }
     }
 
     private boolean implementsInterface(JarFile currentFile, JarEntry current, int depth) throws IOException {
@@ -39,6 +39,10 @@ public class DriverClassLoader extends URLClassLoader
         this.driverLoader = driverLoader;
     }
 
+    public DriverLoaderDescriptor getDriverLoader() {
+        return driverLoader;
+    }
+
     @Override
     protected String findLibrary(String libname)
     {
@@ -0,0 +1,199 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.driver;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Persistent index of driver library files.
+ * <p>
+ * Library contents are identified by CRC and size of the file, so the same jar used by different drivers
+ * (or downloaded to a different location) is scanned only once.
+ * For each library the index keeps {@code META-INF/services} declarations and results of class hierarchy lookups
+ * performed by {@link DriverClassFindJob}.
+ */
+public class DriverLibraryIndex {
+
+    private static final Log log = Log.getLog(DriverLibraryIndex.class);
+
+    private static final String INDEX_FILE_NAME = ".driver-index.json";
+    private static final Gson gson = new GsonBuilder().create();
+    private static final Type INDEX_TYPE = new TypeToken<IndexData>() {}.getType();
+
+    private static DriverLibraryIndex instance;
+
+    /**
+     * File state used to avoid CRC recalculation for unchanged files
+     */
+    static class FileState {
+        long size;
+        long modified;
+        String hash;
+    }
+
+    /**
+     * Indexed library contents
+     */
+    static class LibraryInfo {
+        // Service interface name -> implementation class names
+        Map<String, List<String>> services = new LinkedHashMap<>();
+        // Lookup key -> class names
+        Map<String, List<String>> implementors = new LinkedHashMap<>();
+    }
+
+    static class IndexData {
+        Map<String, FileState> files = new LinkedHashMap<>();
+        Map<String, LibraryInfo> libraries = new LinkedHashMap<>();
+    }
+
+    private final Path indexFile;
+    private IndexData data;
+    private boolean modified;
+
+    @NotNull
+    public static synchronized DriverLibraryIndex getInstance() {
+        if (instance == null) {
+            instance = new DriverLibraryIndex(DriverDescriptor.getCustomDriversHome().resolve(INDEX_FILE_NAME));
+        }
+        return instance;
+    }
+
+    public DriverLibraryIndex(@NotNull Path indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Returns content hash of the library file or null if file can't be read
+     */
+    @Nullable
+    public synchronized String getLibraryHash(@NotNull Path file) {
+        final IndexData index = getData();
+        final String fileKey = file.toAbsolutePath().toString();
+        final long size;
+        final long lastModified;
+        try {
+            size = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            log.debug("Can't read library file '" + file + "' attributes", e);
+            return null;
+        }
+        FileState state = index.files.get(fileKey);
+        if (state == null || state.size != size || state.modified != lastModified) {
+            final long crc = DriverUtils.calculateFileCRC(file);
+            if (crc == 0) {
+                return null;
+            }
+            state = new FileState();
+            state.size = size;
+            state.modified = lastModified;
+            state.hash = Long.toHexString(crc) + "-" + Long.toHexString(size);
+            index.files.put(fileKey, state);
+            modified = true;
+        }
+        return state.hash;
+    }
+
+    /**
+     * Returns cached result of class lookup in the library or null if library wasn't scanned for this key yet
+     */
+    @Nullable
+    public synchronized List<String> getImplementors(@NotNull String libraryHash, @NotNull String lookupKey) {
+        final LibraryInfo info = getData().libraries.get(libraryHash);
+        return info == null ? null : info.implementors.get(lookupKey);
+    }
+
+    /**
+     * Returns classes declared in {@code META-INF/services} of the library or null if library wasn't indexed yet
+     */
+    @Nullable
+    public synchronized List<String> getServices(@NotNull String libraryHash, @NotNull String serviceName) {
+        final LibraryInfo info = getData().libraries.get(libraryHash);
+        return info == null ? null : info.services.getOrDefault(serviceName, Collections.emptyList());
+    }
+
+    public synchronized void putLibraryInfo(
+        @NotNull String libraryHash,
+        @NotNull String lookupKey,
+        @NotNull List<String> implementors,
+        @NotNull Map<String, List<String>> services
+    ) {
+        final LibraryInfo info = getData().libraries.computeIfAbsent(libraryHash, h -> new LibraryInfo());
+        info.implementors.put(lookupKey, new ArrayList<>(implementors));
+        info.services.putAll(services);
+        modified = true;
+    }
+
+    /**
+     * Writes index changes to disk
+     */
+    public synchronized void save() {
+        if (!modified || data == null) {
+            return;
+        }
+        // Forget files which don't exist anymore
+        data.files.keySet().removeIf(path -> !Files.exists(Path.of(path)));
+        final Set<String> usedHashes = new HashSet<>();
+        for (FileState state : data.files.values()) {
+            usedHashes.add(state.hash);
+        }
+        data.libraries.keySet().retainAll(usedHashes);
+        try {
+            Files.createDirectories(indexFile.getParent());
+            final Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempFile)) {
+                gson.toJson(data, INDEX_TYPE, writer);
+            }
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (Exception e) {
+            log.debug("Error saving driver library index", e);
+        }
+    }
+
+    @NotNull
+    private IndexData getData() {
+        if (data == null) {
+            if (Files.exists(indexFile)) {
+                try (Reader reader = Files.newBufferedReader(indexFile)) {
+                    data = gson.fromJson(reader, INDEX_TYPE);
+                } catch (Exception e) {
+                    log.debug("Error reading driver library index, it will be rebuilt", e);
+                }
+            }
+            if (data == null || data.files == null || data.libraries == null) {
+                data = new IndexData();
+            }
+        }
+        return data;
+    }
+
+}
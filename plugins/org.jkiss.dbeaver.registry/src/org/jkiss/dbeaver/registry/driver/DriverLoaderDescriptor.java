@@ -40,6 +40,7 @@ import org.jkiss.utils.IOUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -70,6 +71,25 @@ public class DriverLoaderDescriptor implements DBPDriverLoader {
      * Initializes upon the initialization of the very first driver.
      */
     private static ClassLoader rootClassLoader;
+
+    /**
+     * Drivers with the same driver class and identical library sets share the same classloader.
+     * Classes of the same jars are loaded and verified only once.
+     * Drivers with native libraries never share classloaders, because native libraries are resolved by the driver.
+     */
+    public static final boolean DISABLE_CLASSLOADER_SHARING = Boolean.getBoolean("dbeaver.drivers.disableClassLoaderSharing");
+
+    private record SharedLoaderKey(
+        @NotNull ClassLoader parent,
+        @NotNull String loaderId,
+        @Nullable String driverClassName,
+        boolean customDriverLoader,
+        @NotNull List<String> libraries
+    ) {
+    }
+
+    private static final Map<SharedLoaderKey, WeakReference<DriverClassLoader>> sharedClassLoaders = new HashMap<>();
+
     private final String loaderId;
 
     private Class<?> driverClass;
@@ -222,10 +242,73 @@ public class DriverLoaderDescriptor implements DBPDriverLoader {
                 baseClassLoader = DBPDataSource.class.getClassLoader();
             }
         }
-        this.classLoader = new DriverClassLoader(
-            this,
-            libraryURLs.toArray(new URL[0]),
-            baseClassLoader);
+        if (DISABLE_CLASSLOADER_SHARING || libraryURLs.isEmpty() || hasNativeLibraries()) {
+            this.classLoader = new DriverClassLoader(
+                this,
+                libraryURLs.toArray(new URL[0]),
+                baseClassLoader);
+        } else {
+            this.classLoader = getSharedClassLoader(allLibraryFiles, libraryURLs, baseClassLoader);
+        }
+    }
+
+    @NotNull
+    private DriverClassLoader getSharedClassLoader(
+        @NotNull List<Path> libraryFiles,
+        @NotNull List<URL> libraryURLs,
+        @NotNull ClassLoader baseClassLoader
+    ) {
+        // Libraries are identified by real path, size and modification time.
+        // Content hash is not used here, it is too expensive to calculate on connect.
+        List<String> libraryKeys = new ArrayList<>(libraryFiles.size());
+        for (Path file : libraryFiles) {
+            libraryKeys.add(getLibraryKey(file));
+        }
+        SharedLoaderKey key = new SharedLoaderKey(
+            baseClassLoader,
+            loaderId,
+            driver.getDriverClassName(),
+            driver.isCustomDriverLoader(),
+            libraryKeys);
+        synchronized (sharedClassLoaders) {
+            sharedClassLoaders.values().removeIf(ref -> ref.get() == null);
+            WeakReference<DriverClassLoader> loaderRef = sharedClassLoaders.get(key);
+            DriverClassLoader sharedLoader = loaderRef == null ? null : loaderRef.get();
+            if (sharedLoader != null) {
+                log.debug("Driver '" + driver.getFullName() + "' reuses classloader of '" +
+                    sharedLoader.getDriverLoader().getDriver().getFullName() + "'");
+                return sharedLoader;
+            }
+            DriverClassLoader newLoader = new DriverClassLoader(
+                this,
+                libraryURLs.toArray(new URL[0]),
+                baseClassLoader);
+            sharedClassLoaders.put(key, new WeakReference<>(newLoader));
+            return newLoader;
+        }
+    }
+
+    private boolean hasNativeLibraries() {
+        for (DBPDriverLibrary library : driver.getDriverLibraries()) {
+            if (library.getType() == DBPDriverLibrary.FileType.lib && library.matchesCurrentPlatform()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private static String getLibraryKey(@NotNull Path file) {
+        try {
+            Path realPath = file.toRealPath();
+            if (Files.isDirectory(realPath)) {
+                return realPath.toString();
+            }
+            return realPath + ":" + Files.size(realPath) + ":" + Files.getLastModifiedTime(realPath).toMillis();
+        } catch (IOException e) {
+            log.debug("Can't read library file '" + file + "' attributes", e);
+            return file.toAbsolutePath().toString();
+        }
     }
 
     private static synchronized void loadGlobalLibraries() {
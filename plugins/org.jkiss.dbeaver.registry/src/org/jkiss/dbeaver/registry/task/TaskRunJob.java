@@ -22,12 +22,16 @@ import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.qm.QMTopQueries;
+import org.jkiss.dbeaver.model.qm.QMUtils;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableWithProgress;
 import org.jkiss.dbeaver.model.task.*;
 import org.jkiss.dbeaver.registry.timezone.TimezoneRegistry;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.utils.GeneralUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.StandardConstants;
@@ -41,10 +45,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
-import java.util.Objects;
-import java.util.TimeZone;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -55,6 +56,7 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
     private static final Log log = Log.getLog(TaskRunJob.class);
 
     private static final AtomicInteger taskNumber = new AtomicInteger(0);
+    private static final int MAX_REPORTED_QUERIES = 10;
 
     private final TaskImpl task;
     private final Locale locale;
@@ -100,6 +102,7 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
             Log.setLogWriter(logStream);
             taskLog.info(String.format("Task '%s' (%s) started", task.getName(), task.getId()));
             monitor.beginTask("Run task '" + task.getName() + " (" + task.getType().getName() + ")", 1);
+            QMTopQueries taskQueries = startQueryStatistics();
             try {
                 taskRunStatus = executeTask(new TaskLoggingProgressMonitor(monitor, task), logStream);
                 taskRun.setExtraMessage(taskRunStatus.getResultMessage());
@@ -108,6 +111,7 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
                 taskLog.error("Task fatal error", e);
             } finally {
                 monitor.done();
+                finishQueryStatistics(taskQueries);
              
                 taskRun.setRunDuration(elapsedTime);
                 if (activeMonitor.isCanceled() || monitor.isCanceled()) {
@@ -136,6 +140,47 @@ public class TaskRunJob extends AbstractJob implements DBRRunnableContext {
         return Status.OK_STATUS;
     }
 
+    /**
+     * Collects statistics of queries executed during the task run.
+     * Only queries of the task data sources are accounted (other connections may execute queries at the same time).
+     */
+    @Nullable
+    private QMTopQueries startQueryStatistics() {
+        if (QMUtils.getTopQueries() == null) {
+            // Metrics are disabled
+            return null;
+        }
+        Set<String> containerIds = new HashSet<>();
+        try {
+            if (task.getType().createHandler() instanceof DBTTaskInfoCollector infoCollector) {
+                DBTTaskInfoCollector.TaskInformation information = new DBTTaskInfoCollector.TaskInformation();
+                infoCollector.collectTaskInfo(task, information);
+                for (DBPDataSourceContainer dataSource : information.getDataSources()) {
+                    containerIds.add(dataSource.getId());
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Can't collect task data sources: " + e.getMessage());
+        }
+        if (containerIds.isEmpty()) {
+            // Task queries can't be distinguished from queries of other connections
+            return null;
+        }
+        QMTopQueries taskQueries = new QMTopQueries(QMTopQueries.DEFAULT_CAPACITY, containerIds);
+        DBWorkbench.getPlatform().getQueryManager().registerMetaListener(taskQueries);
+        return taskQueries;
+    }
+
+    private void finishQueryStatistics(@Nullable QMTopQueries taskQueries) {
+        if (taskQueries == null) {
+            return;
+        }
+        DBWorkbench.getPlatform().getQueryManager().unregisterMetaListener(taskQueries);
+        if (taskQueries.getTotalCount() > 0) {
+            taskLog.info("Task queries statistics:" + System.lineSeparator() + taskQueries.formatReport(MAX_REPORTED_QUERIES));
+        }
+    }
+
     private DBTTaskRunStatus executeTask(DBRProgressMonitor monitor, PrintStream logWriter) throws DBException, InterruptedException {
         activeMonitor = monitor;
         DBTaskUtils.confirmTaskOrThrow(task, taskLog, logWriter);
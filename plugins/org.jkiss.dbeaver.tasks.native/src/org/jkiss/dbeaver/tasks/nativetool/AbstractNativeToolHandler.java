@@ -35,6 +35,7 @@ import org.jkiss.dbeaver.model.impl.auth.AuthModelDatabaseNative;
 import org.jkiss.dbeaver.model.navigator.DBNDatabaseNode;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.DBRRunnableContext;
+import org.jkiss.dbeaver.model.runtime.ProxyProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.model.task.DBTTask;
 import org.jkiss.dbeaver.model.task.DBTTaskExecutionListener;
@@ -45,6 +46,7 @@ import org.jkiss.dbeaver.runtime.ProgressStreamReader;
 import org.jkiss.dbeaver.runtime.ui.UIServiceSystemAgent;
 import org.jkiss.dbeaver.tasks.nativetool.messages.NativeToolMessages;
 import org.jkiss.dbeaver.utils.GeneralUtils;
+import org.jkiss.dbeaver.utils.RuntimeUtils;
 import org.jkiss.utils.CommonUtils;
 import org.jkiss.utils.IOUtils;
 
@@ -54,10 +56,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.*;
 
 public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeToolSettings<BASE_OBJECT>, BASE_OBJECT extends DBSObject, PROCESS_ARG> implements DBTTaskHandler {
 
-    private String taskErrorMessage;
+    // Progress of parallel processes is reported with this interval
+    private static final long PROGRESS_UPDATE_INTERVAL = 500;
+
+    private volatile String taskErrorMessage;
+    private final Map<PROCESS_ARG, Integer> processJobs = new ConcurrentHashMap<>();
 
     @Override
     @NotNull
@@ -187,6 +194,40 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
         return true;
     }
 
+    /**
+     * Total number of jobs which may run at the same time.
+     * If it is greater than 1 then processes run in parallel. Each process consumes as many jobs
+     * as it was assigned (see {@link #getProcessJobs(Object)}).
+     */
+    protected int getParallelJobsBudget(SETTINGS settings) {
+        return 1;
+    }
+
+    /**
+     * Whether a single process can use several jobs (e.g. parallel dump of tables)
+     */
+    protected boolean supportsProcessJobs(SETTINGS settings, PROCESS_ARG arg) {
+        return false;
+    }
+
+    /**
+     * Estimates amount of process work (e.g. database size in bytes).
+     * Used to start the largest processes first, to split jobs budget and to estimate remaining time.
+     *
+     * @return estimated size or -1 if unknown
+     */
+    protected long estimateProcessSize(DBRProgressMonitor monitor, SETTINGS settings, PROCESS_ARG arg) {
+        return -1;
+    }
+
+    /**
+     * Number of jobs assigned to the process. Always 1 for sequential execution.
+     */
+    protected int getProcessJobs(PROCESS_ARG arg) {
+        Integer jobs = processJobs.get(arg);
+        return jobs == null ? 1 : jobs;
+    }
+
     protected void startProcessHandler(
         DBRProgressMonitor monitor,
         DBTTask task,
@@ -280,10 +321,16 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
 
         boolean isSuccess = true;
         try {
-            for (PROCESS_ARG arg : getRunInfo(settings)) {
-                if (monitor.isCanceled()) break;
-                if (!executeProcess(monitor, task, settings, arg, log)) {
-                    isSuccess = false;
+            Collection<PROCESS_ARG> runInfo = getRunInfo(settings);
+            int jobsBudget = getParallelJobsBudget(settings);
+            if (jobsBudget > 1 && !runInfo.isEmpty()) {
+                isSuccess = executeProcessesInParallel(monitor, task, settings, runInfo, jobsBudget, log);
+            } else {
+                for (PROCESS_ARG arg : runInfo) {
+                    if (monitor.isCanceled()) break;
+                    if (!executeProcess(monitor, task, settings, arg, log)) {
+                        isSuccess = false;
+                    }
                 }
             }
 
@@ -313,6 +360,185 @@ public abstract class AbstractNativeToolHandler<SETTINGS extends AbstractNativeT
         return isSuccess;
     }
 
+    private boolean executeProcessesInParallel(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBTTask task,
+        @NotNull SETTINGS settings,
+        @NotNull Collection<PROCESS_ARG> runInfo,
+        int jobsBudget,
+        @NotNull Log log
+    ) throws InterruptedException {
+        List<ProcessInfo<PROCESS_ARG>> processes = new ArrayList<>(runInfo.size());
+        for (PROCESS_ARG arg : runInfo) {
+            processes.add(new ProcessInfo<>(arg, estimateProcessSize(monitor, settings, arg)));
+        }
+        // Largest first, so small processes fill the gaps at the end
+        processes.sort(Comparator.comparingLong((ProcessInfo<PROCESS_ARG> process) -> process.size).reversed());
+        assignProcessJobs(settings, processes, jobsBudget);
+
+        settings.getLogWriter().println(NLS.bind(NativeToolMessages.native_tool_handler_parallel_start, processes.size(), jobsBudget));
+        ParallelProgress progress = new ParallelProgress(processes);
+        // Processes report progress through the shared monitor, so only cancellation is passed to them
+        DBRProgressMonitor processMonitor = new ProxyProgressMonitor(monitor) {
+            @Override
+            public void beginTask(String name, int totalWork) {
+            }
+
+            @Override
+            public void done() {
+            }
+
+            @Override
+            public void subTask(String name) {
+            }
+
+            @Override
+            public void worked(int work) {
+            }
+        };
+
+        Semaphore jobPermits = new Semaphore(jobsBudget);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(jobsBudget, processes.size()), runnable -> {
+            Thread thread = new Thread(runnable, task.getName() + " process");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (ProcessInfo<PROCESS_ARG> process : processes) {
+                while (!jobPermits.tryAcquire(process.jobs, PROGRESS_UPDATE_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    progress.update(monitor);
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                }
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                progress.started();
+                results.add(executor.submit(() -> {
+                    try {
+                        return executeProcess(processMonitor, task, settings, process.arg, log);
+                    } finally {
+                        progress.finished(process, settings.getLogWriter());
+                        jobPermits.release(process.jobs);
+                    }
+                }));
+            }
+
+            boolean isSuccess = true;
+            for (Future<Boolean> result : results) {
+                for (; ; ) {
+                    try {
+                        if (!result.get(PROGRESS_UPDATE_INTERVAL, TimeUnit.MILLISECONDS)) {
+                            isSuccess = false;
+                        }
+                        break;
+                    } catch (TimeoutException e) {
+                        progress.update(monitor);
+                    } catch (ExecutionException e) {
+                        log.error("Process execution error", e.getCause());
+                        isSuccess = false;
+                        break;
+                    }
+                }
+            }
+            progress.update(monitor);
+            return isSuccess;
+        } finally {
+            executor.shutdown();
+            processJobs.clear();
+        }
+    }
+
+    /**
+     * Splits jobs budget between processes proportionally to their size
+     */
+    private void assignProcessJobs(@NotNull SETTINGS settings, @NotNull List<ProcessInfo<PROCESS_ARG>> processes, int jobsBudget) {
+        long totalSize = 0;
+        for (ProcessInfo<PROCESS_ARG> process : processes) {
+            totalSize += Math.max(process.size, 0);
+        }
+        for (ProcessInfo<PROCESS_ARG> process : processes) {
+            if (!supportsProcessJobs(settings, process.arg)) {
+                process.jobs = 1;
+            } else if (totalSize > 0 && process.size > 0) {
+                long jobs = Math.round((double) jobsBudget * process.size / totalSize);
+                process.jobs = (int) Math.max(1, Math.min(jobs, jobsBudget));
+            } else {
+                process.jobs = Math.max(1, jobsBudget / processes.size());
+            }
+            processJobs.put(process.arg, process.jobs);
+        }
+    }
+
+    private static class ProcessInfo<ARG> {
+        final ARG arg;
+        final long size;
+        int jobs = 1;
+
+        ProcessInfo(ARG arg, long size) {
+            this.arg = arg;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Aggregated progress of parallel processes
+     */
+    private static class ParallelProgress {
+        private final int totalCount;
+        private final long totalSize;
+        private final long startTime = System.currentTimeMillis();
+        private int runningCount;
+        private int completedCount;
+        private long completedSize;
+
+        ParallelProgress(@NotNull List<? extends ProcessInfo<?>> processes) {
+            long size = 0;
+            for (ProcessInfo<?> process : processes) {
+                if (process.size <= 0) {
+                    // Unknown sizes, estimate by count
+                    size = 0;
+                    break;
+                }
+                size += process.size;
+            }
+            this.totalCount = processes.size();
+            this.totalSize = size;
+        }
+
+        synchronized void started() {
+            runningCount++;
+        }
+
+        synchronized void finished(@NotNull ProcessInfo<?> process, @NotNull PrintStream logWriter) {
+            runningCount--;
+            completedCount++;
+            completedSize += Math.max(process.size, 0);
+            logWriter.println(getStatusMessage());
+            logWriter.flush();
+        }
+
+        void update(@NotNull DBRProgressMonitor monitor) {
+            monitor.subTask(getStatusMessage());
+        }
+
+        @NotNull
+        private synchronized String getStatusMessage() {
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            double completedPart = totalSize > 0 ? (double) completedSize / totalSize : (double) completedCount / totalCount;
+            if (completedPart <= 0 || completedCount == totalCount) {
+                return NLS.bind(NativeToolMessages.native_tool_handler_parallel_progress, new Object[] {
+                    completedCount, totalCount, runningCount, RuntimeUtils.formatExecutionTime(elapsedTime)});
+            }
+            long remainingTime = (long) (elapsedTime * (1 - completedPart) / completedPart);
+            return NLS.bind(NativeToolMessages.native_tool_handler_parallel_progress_eta, new Object[] {
+                completedCount, totalCount, runningCount, RuntimeUtils.formatExecutionTime(elapsedTime),
+                RuntimeUtils.formatExecutionTime(remainingTime)});
+        }
+    }
+
     public static abstract class DumpJob extends Thread {
         protected DBRProgressMonitor monitor;
         protected InputStream input;
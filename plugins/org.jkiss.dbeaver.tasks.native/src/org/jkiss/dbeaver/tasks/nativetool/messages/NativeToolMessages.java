@@ -24,6 +24,9 @@ public class NativeToolMessages extends NLS {
 
     public static String native_tool_handler_log_task;
     public static String native_tool_handler_log_finished_task;
+    public static String native_tool_handler_parallel_start;
+    public static String native_tool_handler_parallel_progress;
+    public static String native_tool_handler_parallel_progress_eta;
 
     static {
         NLS.initializeMessages(BUNDLE_NAME, NativeToolMessages.class);
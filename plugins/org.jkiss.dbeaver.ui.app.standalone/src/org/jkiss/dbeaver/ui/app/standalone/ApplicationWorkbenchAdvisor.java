@@ -61,6 +61,7 @@ import org.jkiss.dbeaver.registry.BasePlatformImpl;
 import org.jkiss.dbeaver.registry.DataSourceRegistry;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.OperationSystemState;
+import org.jkiss.dbeaver.runtime.StartupTracer;
 import org.jkiss.dbeaver.ui.AWTUtils;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
 import org.jkiss.dbeaver.ui.UIFonts;
@@ -182,6 +183,7 @@ public class ApplicationWorkbenchAdvisor extends IDEWorkbenchAdvisor {
     //processor must be created before we start event loop
     protected final DBPApplication application;
     private final OpenEventProcessor processor;
+    private StartupTracer.Phase workbenchStartPhase;
 
     private final SystemEventListener systemSleepListener = new SystemSleepListener() {
         @Override
@@ -250,6 +252,7 @@ public class ApplicationWorkbenchAdvisor extends IDEWorkbenchAdvisor {
     @Override
     public void preStartup() {
         super.preStartup();
+        workbenchStartPhase = StartupTracer.startPhase(StartupTracer.PHASE_WORKBENCH_START);
 
         {
             Map<String, Object> params = new LinkedHashMap<>();
@@ -277,6 +280,11 @@ public class ApplicationWorkbenchAdvisor extends IDEWorkbenchAdvisor {
         if (DBWorkbench.getPlatform() instanceof DesktopPlatform platformDesktop) {
             platformDesktop.setWorkbenchStarted(true);
         }
+        if (workbenchStartPhase != null) {
+            workbenchStartPhase.close();
+            workbenchStartPhase = null;
+        }
+        StartupTracer.finish(System.currentTimeMillis() - DBWorkbench.getPlatform().getApplication().getApplicationStartTime());
     }
 
     @Override
@@ -57,6 +57,7 @@ import org.jkiss.dbeaver.registry.SWTBrowserRegistry;
 import org.jkiss.dbeaver.registry.timezone.TimezoneRegistry;
 import org.jkiss.dbeaver.registry.updater.VersionDescriptor;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.dbeaver.runtime.StartupTracer;
 import org.jkiss.dbeaver.runtime.ui.DBPPlatformUI;
 import org.jkiss.dbeaver.runtime.ui.console.ConsoleUserInterface;
 import org.jkiss.dbeaver.ui.app.standalone.rpc.DBeaverInstanceServer;
@@ -281,9 +282,13 @@ public class DBeaverApplication extends DesktopApplicationImpl implements DBPApp
             SWTBrowserRegistry.overrideBrowser();
         }
 
-        DBWorkbench.getPlatform();
+        try (StartupTracer.Phase ignored = StartupTracer.startPhase(StartupTracer.PHASE_PLATFORM_INIT)) {
+            DBWorkbench.getPlatform();
+        }
 
-        initializeApplication();
+        try (StartupTracer.Phase ignored = StartupTracer.startPhase(StartupTracer.PHASE_APPLICATION_INIT)) {
+            initializeApplication();
+        }
 
         // Run instance server
         try {
@@ -18,6 +18,8 @@
 package org.jkiss.dbeaver.registry.functions;
 
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
@@ -31,6 +33,11 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
 
     public static final String EXTENSION_ID = "org.jkiss.dbeaver.aggregateFunction"; //$NON-NLS-1$
 
+    /**
+     * Placeholder of the aggregated value expression in the function SQL template
+     */
+    public static final String SQL_VALUE_PLACEHOLDER = "{value}"; //$NON-NLS-1$
+
     private final String id;
     private final String label;
     private final String description;
@@ -38,6 +45,7 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
     private final DBPImage icon;
     private final String type;
     private final boolean isDefault;
+    private final String sqlTemplate;
 
     public AggregateFunctionDescriptor(IConfigurationElement config)
     {
@@ -49,6 +57,7 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
         this.icon = iconToImage(config.getAttribute("icon"));
         this.type = config.getAttribute("type");
         this.isDefault = CommonUtils.toBoolean(config.getAttribute("default"));
+        this.sqlTemplate = CommonUtils.nullIfEmpty(config.getAttribute("sql"));
     }
 
     public String getId() {
@@ -75,6 +84,20 @@ public class AggregateFunctionDescriptor extends AbstractContextDescriptor {
         return isDefault;
     }
 
+    /**
+     * Returns SQL template of this function or null if function can't be evaluated on the server side.
+     * Template refers to the aggregated value as {@link #SQL_VALUE_PLACEHOLDER}.
+     */
+    @Nullable
+    public String getSQLTemplate() {
+        return sqlTemplate;
+    }
+
+    @Nullable
+    public String generateSQL(@NotNull String valueExpression) {
+        return sqlTemplate == null ? null : sqlTemplate.replace(SQL_VALUE_PLACEHOLDER, valueExpression);
+    }
+
     public IAggregateFunction createFunction()
         throws DBException
     {
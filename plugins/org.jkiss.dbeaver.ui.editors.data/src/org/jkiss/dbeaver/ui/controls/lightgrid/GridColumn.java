@@ -21,6 +21,7 @@ import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.jkiss.code.NotNull;
 import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPImage;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -278,8 +279,18 @@ public class GridColumn implements IGridColumn {
      * Causes the receiver to be resized to its preferred size.
      */
     void pack(GC gc, boolean reflect) {
+        pack(gc, reflect, true);
+    }
+
+    /**
+     * Causes the receiver to be resized to its preferred size.
+     * @param measureCells if false then only header width is used, cell values are measured later
+     */
+    void pack(GC gc, boolean reflect, boolean measureCells) {
         int newWidth = computeHeaderWidth(gc);
-        if (CommonUtils.isEmpty(children)) {
+        if (!measureCells && CommonUtils.isEmpty(children)) {
+            // Cell values will be measured by layout engine
+        } else if (CommonUtils.isEmpty(children)) {
             // Calculate width of visible cells
             int topIndex = grid.getTopIndex();
             int bottomIndex = grid.getBottomIndex();
@@ -304,7 +315,7 @@ public class GridColumn implements IGridColumn {
         } else {
             int childrenWidth = 0;
             for (GridColumn child : children) {
-                child.pack(gc, reflect);
+                child.pack(gc, reflect, measureCells);
                 childrenWidth += child.getWidth();
             }
             if (newWidth > childrenWidth) {
@@ -322,6 +333,13 @@ public class GridColumn implements IGridColumn {
         }
     }
 
+    /**
+     * Returns cell width for the specified value text width
+     */
+    int getValueWidth(int textWidth) {
+        return leftMargin + textWidth + rightMargin;
+    }
+
     private int computeCellWidth(GC gc, IGridRow row) {
         int x = 0;
 
@@ -331,20 +349,24 @@ public class GridColumn implements IGridColumn {
             this, row, false);
 
         String cellText = grid.getCellText(cellInfo.text);
-        int state = cellInfo.state;
+        x += getCellImageWidth(cellInfo);
+
+        x += gc.textExtent(cellText).x + rightMargin;
+        return x;
+    }
+
+    /**
+     * Returns width of the cell image (or link icon) including margin. Must be called in UI thread.
+     */
+    int getCellImageWidth(@NotNull IGridContentProvider.CellInformation cellInfo) {
         Rectangle imageBounds;
-        if (GridCellRenderer.isLinkState(state)) {
+        if (GridCellRenderer.isLinkState(cellInfo.state)) {
             imageBounds = GridCellRenderer.LINK_IMAGE_BOUNDS;
         } else {
             DBPImage image = cellInfo.image;
             imageBounds = image == null ? null : DBeaverIcons.getImage(image).getBounds();
         }
-        if (imageBounds != null) {
-            x += imageBounds.width + insideMargin;
-        }
-
-        x += gc.textExtent(cellText).x + rightMargin;
-        return x;
+        return imageBounds == null ? 0 : imageBounds.width + insideMargin;
     }
 
     /**
@@ -0,0 +1,240 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.ui.UIUtils;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Column layout engine for wide grids.
+ * Visible rows are measured in UI thread, like in regular column packing.
+ * For the rest of sampled rows only raw cell values are read in UI thread (grid content is not thread-safe),
+ * they are formatted and measured in background job with cached font metrics.
+ * Display strings are memoized per cell until cell value changes.
+ * Results are published to the grid asynchronously.
+ */
+class GridLayoutEngine {
+
+    private static final Log log = Log.getLog(GridLayoutEngine.class);
+
+    private static final int MAX_SAMPLE_ROWS = 200;
+    private static final int MAX_CACHED_CELLS = 100_000;
+
+    private final LightGrid grid;
+    private final Map<CellKey, CellText> textCache = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CellKey, CellText> eldest) {
+            return size() > MAX_CACHED_CELLS;
+        }
+    };
+    private LayoutJob layoutJob;
+    private volatile int generation;
+
+    private record CellKey(Object column, Object row) {
+    }
+
+    private record CellText(Object value, String text) {
+    }
+
+    /**
+     * Width of visible cells and raw values of other sampled rows of a column
+     */
+    private record ColumnSample(
+        @NotNull GridColumn column,
+        int visibleWidth,
+        int imageWidth,
+        @Nullable Function<Object, String> formatter,
+        @NotNull Object[] rowElements,
+        @NotNull Object[] values
+    ) {
+    }
+
+    GridLayoutEngine(@NotNull LightGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Schedules width calculation for the specified leaf columns. Must be called in UI thread.
+     * Rows are sampled: all visible rows and evenly distributed rows from the rest of the grid.
+     */
+    void scheduleLayout(@NotNull List<GridColumn> columns, @NotNull IGridRow[] rows, int visibleRows, @NotNull GridTextMetrics metrics) {
+        int headRows = Math.min(Math.max(visibleRows, 0), Math.min(rows.length, MAX_SAMPLE_ROWS));
+        List<ColumnSample> samples = readSamples(
+            columns,
+            Arrays.copyOf(rows, headRows),
+            sampleRows(rows, headRows),
+            metrics);
+        synchronized (this) {
+            cancelJob();
+            layoutJob = new LayoutJob(generation, samples, metrics);
+            layoutJob.schedule();
+        }
+    }
+
+    synchronized void cancel() {
+        cancelJob();
+    }
+
+    void clearCache() {
+        synchronized (textCache) {
+            textCache.clear();
+        }
+    }
+
+    private void cancelJob() {
+        generation++;
+        if (layoutJob != null) {
+            layoutJob.cancel();
+            layoutJob = null;
+        }
+    }
+
+    @NotNull
+    private List<ColumnSample> readSamples(
+        @NotNull List<GridColumn> columns,
+        @NotNull IGridRow[] visibleRows,
+        @NotNull IGridRow[] otherRows,
+        @NotNull GridTextMetrics metrics
+    ) {
+        IGridContentProvider contentProvider = grid.getContentProvider();
+        List<ColumnSample> samples = new ArrayList<>(columns.size());
+        for (GridColumn column : columns) {
+            int visibleWidth = 0;
+            int imageWidth = 0;
+            for (IGridRow row : visibleRows) {
+                IGridContentProvider.CellInformation cellInfo = contentProvider.getCellInfo(column, row, false);
+                int cellImageWidth = column.getCellImageWidth(cellInfo);
+                imageWidth = Math.max(imageWidth, cellImageWidth);
+                visibleWidth = Math.max(visibleWidth, cellImageWidth + metrics.getTextWidth(grid.getCellText(cellInfo.text)));
+            }
+            Function<Object, String> formatter = contentProvider.getCellValueFormatter(column);
+            Object[] rowElements;
+            Object[] values;
+            if (formatter == null) {
+                // Values can't be formatted in background, use visible rows only
+                rowElements = values = new Object[0];
+            } else {
+                rowElements = new Object[otherRows.length];
+                values = new Object[otherRows.length];
+                for (int i = 0; i < otherRows.length; i++) {
+                    rowElements[i] = otherRows[i].getElement();
+                    values[i] = contentProvider.getCellValue(column, otherRows[i], false);
+                }
+            }
+            samples.add(new ColumnSample(column, visibleWidth, imageWidth, formatter, rowElements, values));
+        }
+        return samples;
+    }
+
+    /**
+     * Returns display string of the cell value. Cached string is used if cell value wasn't changed.
+     */
+    @Nullable
+    private String getCellText(@NotNull ColumnSample sample, int index) {
+        Object value = sample.values[index];
+        CellKey key = new CellKey(sample.column.getElement(), sample.rowElements[index]);
+        synchronized (textCache) {
+            CellText cellText = textCache.get(key);
+            if (cellText != null && cellText.value == value) {
+                return cellText.text;
+            }
+        }
+        String text = sample.formatter.apply(value);
+        if (text == null) {
+            return null;
+        }
+        text = grid.getCellText(text);
+        synchronized (textCache) {
+            textCache.put(key, new CellText(value, text));
+        }
+        return text;
+    }
+
+    /**
+     * Returns evenly distributed rows which follow head rows
+     */
+    @NotNull
+    private static IGridRow[] sampleRows(@NotNull IGridRow[] rows, int headRows) {
+        int restCount = MAX_SAMPLE_ROWS - headRows;
+        if (rows.length <= MAX_SAMPLE_ROWS) {
+            return Arrays.copyOfRange(rows, headRows, rows.length);
+        }
+        IGridRow[] sample = new IGridRow[restCount];
+        double step = (double) (rows.length - headRows) / restCount;
+        for (int i = 0; i < restCount; i++) {
+            sample[i] = rows[headRows + (int) (i * step)];
+        }
+        return sample;
+    }
+
+    private class LayoutJob extends AbstractJob {
+        private final int jobGeneration;
+        private final List<ColumnSample> samples;
+        private final GridTextMetrics metrics;
+
+        LayoutJob(int jobGeneration, @NotNull List<ColumnSample> samples, @NotNull GridTextMetrics metrics) {
+            super("Calculate grid layout");
+            this.jobGeneration = jobGeneration;
+            this.samples = samples;
+            this.metrics = metrics;
+            setSystem(true);
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            Map<GridColumn, Integer> valueWidths = new HashMap<>(samples.size());
+            for (ColumnSample sample : samples) {
+                if (monitor.isCanceled() || jobGeneration != generation) {
+                    return Status.CANCEL_STATUS;
+                }
+                int maxWidth = sample.visibleWidth;
+                for (int i = 0; i < sample.values.length; i++) {
+                    try {
+                        String text = getCellText(sample, i);
+                        if (text != null) {
+                            // Cell images of other rows are assumed the same as in visible rows
+                            maxWidth = Math.max(maxWidth, sample.imageWidth + metrics.getTextWidth(text));
+                        }
+                    } catch (Exception e) {
+                        log.debug("Error formatting cell value", e);
+                    }
+                }
+                valueWidths.put(sample.column, maxWidth);
+            }
+            UIUtils.asyncExec(() -> publishLayout(valueWidths));
+            return Status.OK_STATUS;
+        }
+
+        private void publishLayout(@NotNull Map<GridColumn, Integer> valueWidths) {
+            if (jobGeneration != generation || grid.isDisposed()) {
+                return;
+            }
+            grid.applyColumnLayout(valueWidths, metrics);
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.lightgrid;
+
+import org.eclipse.swt.graphics.GC;
+import org.jkiss.code.NotNull;
+
+/**
+ * Cached font metrics.
+ * Character widths are measured once (in UI thread) and then text width may be estimated
+ * in any thread without GC.
+ */
+final class GridTextMetrics {
+
+    private static final int CACHED_CHARS = 256;
+
+    private final int[] charWidths = new int[CACHED_CHARS];
+    private final int narrowCharWidth;
+    private final int wideCharWidth;
+
+    GridTextMetrics(@NotNull GC gc) {
+        for (int i = 0; i < CACHED_CHARS; i++) {
+            charWidths[i] = gc.getAdvanceWidth((char) i);
+        }
+        narrowCharWidth = gc.getAdvanceWidth('n');
+        wideCharWidth = gc.stringExtent("\u6F22").x;
+    }
+
+    /**
+     * Returns estimated width of the widest line of the text
+     */
+    int getTextWidth(@NotNull String text) {
+        int maxWidth = 0;
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                maxWidth = Math.max(maxWidth, width);
+                width = 0;
+            } else if (c < CACHED_CHARS) {
+                width += charWidths[c];
+            } else if (Character.isLowSurrogate(c)) {
+                // Counted with high surrogate
+            } else {
+                width += isWideChar(c) ? wideCharWidth : narrowCharWidth;
+            }
+        }
+        return Math.max(maxWidth, width);
+    }
+
+    private static boolean isWideChar(char c) {
+        // CJK, Hangul, full-width forms and surrogate pairs (emoji, etc)
+        return (c >= '\u1100' && c <= '\u115F') ||
+            (c >= '\u2E80' && c <= '\uA4CF') ||
+            (c >= '\uAC00' && c <= '\uD7A3') ||
+            (c >= '\uF900' && c <= '\uFAFF') ||
+            (c >= '\uFF00' && c <= '\uFF60') ||
+            Character.isHighSurrogate(c);
+    }
+}
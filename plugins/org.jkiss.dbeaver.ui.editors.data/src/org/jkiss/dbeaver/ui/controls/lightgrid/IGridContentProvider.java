@@ -25,6 +25,7 @@ import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.model.DBPImage;
 
 import java.util.List;
+import java.util.function.Function;
 
 public interface IGridContentProvider extends IContentProvider {
 
@@ -111,6 +112,17 @@ public interface IGridContentProvider extends IContentProvider {
      */
     Object getCellValue(IGridColumn colElement, IGridRow rowElement, boolean formatString);
 
+    /**
+     * Returns formatter of raw cell values (see {@link #getCellValue}) of the specified column.
+     * Formatter may be called outside of UI thread. It returns null for values which can't be formatted
+     * without cell context.
+     * Returns null if values of this column can be formatted only in UI thread.
+     */
+    @Nullable
+    default Function<Object, String> getCellValueFormatter(@NotNull IGridColumn colElement) {
+        return null;
+    }
+
     @NotNull
     String getCellLinkText(IGridColumn colElement, IGridRow rowElement);
 
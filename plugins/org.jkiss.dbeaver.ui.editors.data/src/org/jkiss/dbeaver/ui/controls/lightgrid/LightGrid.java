@@ -52,6 +52,8 @@ public abstract class LightGrid extends Canvas {
     private static final Log log = Log.getLog(LightGrid.class);
 
     private static final int MAX_CELL_TEXT_LENGTH = 1000;
+    // Grids with more columns calculate column widths in background
+    private static final int ASYNC_LAYOUT_MIN_COLUMNS = 100;
     private static final int MAX_TOOLTIP_LENGTH = 250;
 
     protected static final int Event_ChangeSort = 1000;
@@ -223,6 +225,9 @@ public abstract class LightGrid extends Canvas {
 
     private int maxColumnDefWidth = 1000;
 
+    private final GridLayoutEngine layoutEngine = new GridLayoutEngine(this);
+    private GridTextMetrics textMetrics;
+
     private final GridColumnRenderer columnHeaderRenderer;
     private final GridRowRenderer rowHeaderRenderer;
     private final GridCellRenderer cellRenderer;
@@ -438,6 +443,7 @@ public abstract class LightGrid extends Canvas {
 
         GC sizingGC = new GC(this);
         fontMetrics = sizingGC.getFontMetrics();
+        textMetrics = new GridTextMetrics(sizingGC);
         sizingGC.dispose();
 
         normalFont = getFont();
@@ -574,6 +580,7 @@ public abstract class LightGrid extends Canvas {
         controlWasHidden = getClientArea().height == 0;
 
         if (refreshColumns) {
+            layoutEngine.cancel();
             this.removeAll();
         } else {
             this.deselectAll();
@@ -647,36 +654,17 @@ public abstract class LightGrid extends Canvas {
                 }
                 column.setWidth(columnWidth);
             } else {
+                // Measuring values of wide grids freezes UI. Use header widths and calculate the rest in background.
+                boolean asyncLayout = oldWidths == null && !fitValue && columns.size() >= ASYNC_LAYOUT_MIN_COLUMNS;
                 int totalWidth = 0;
                 for (GridColumn curColumn : topColumns) {
-                    curColumn.pack(sizingGC, false);
+                    curColumn.pack(sizingGC, false, !asyncLayout);
                     totalWidth += curColumn.getWidth();
                 }
-                if (!fitValue) {
-                    // If grid width more than screen - lets narrow too long columns
-                    int clientWidth = getCurrentOrLastClientArea().width;
-                    if (totalWidth > clientWidth && clientWidth != 0) {
-                        int normalWidth = 0;
-                        List<GridColumn> fatColumns = new ArrayList<>();
-                        for (GridColumn curColumn : columns) {
-                            int curColumnWidthPercent = (int)((curColumn.getWidth() / (double)  clientWidth) * 100);
-                            if (CommonUtils.isEmpty(curColumn.getChildren()) && curColumnWidthPercent > maxColumnDefWidth) {
-                                fatColumns.add(curColumn);
-                            } else {
-                                normalWidth += curColumn.getWidth();
-                            }
-                        }
-                        if (!fatColumns.isEmpty()) {
-                            // Narrow fat columns on decWidth
-                            int freeSpace = (clientWidth - normalWidth - getBorderWidth() - rowHeaderWidth - vScroll.getWidth())
-                                / fatColumns.size();
-                            int freeSpacePercent = (int) (((double) freeSpace / clientWidth) * 100);
-                            int newFatWidth = (freeSpacePercent > maxColumnDefWidth ? freeSpace : (int) ((double) maxColumnDefWidth / 100 * clientWidth));
-                            for (GridColumn curColumn : fatColumns) {
-                                curColumn.setWidth(newFatWidth);
-                            }
-                        }
-                    }
+                if (asyncLayout) {
+                    layoutEngine.scheduleLayout(columns, gridRows, getMaxVisibleRows(), textMetrics);
+                } else if (!fitValue) {
+                    narrowFatColumns(totalWidth);
                 }
             }
 
@@ -2321,6 +2309,69 @@ public abstract class LightGrid extends Canvas {
         }
     }
 
+    /**
+     * If grid width more than screen - lets narrow too long columns
+     */
+    private void narrowFatColumns(int totalWidth) {
+        int clientWidth = getCurrentOrLastClientArea().width;
+        if (totalWidth > clientWidth && clientWidth != 0) {
+            int normalWidth = 0;
+            List<GridColumn> fatColumns = new ArrayList<>();
+            for (GridColumn curColumn : columns) {
+                int curColumnWidthPercent = (int)((curColumn.getWidth() / (double)  clientWidth) * 100);
+                if (CommonUtils.isEmpty(curColumn.getChildren()) && curColumnWidthPercent > maxColumnDefWidth) {
+                    fatColumns.add(curColumn);
+                } else {
+                    normalWidth += curColumn.getWidth();
+                }
+            }
+            if (!fatColumns.isEmpty()) {
+                // Narrow fat columns on decWidth
+                int freeSpace = (clientWidth - normalWidth - getBorderWidth() - rowHeaderWidth - vScroll.getWidth())
+                    / fatColumns.size();
+                int freeSpacePercent = (int) (((double) freeSpace / clientWidth) * 100);
+                int newFatWidth = (freeSpacePercent > maxColumnDefWidth ? freeSpace : (int) ((double) maxColumnDefWidth / 100 * clientWidth));
+                for (GridColumn curColumn : fatColumns) {
+                    curColumn.setWidth(newFatWidth);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies column value widths calculated by layout engine.
+     * Columns are only widened, so widths changed by user in the meantime are kept.
+     */
+    void applyColumnLayout(@NotNull Map<GridColumn, Integer> valueWidths, @NotNull GridTextMetrics metrics) {
+        IGridContentProvider contentProvider = getContentProvider();
+        int hintCharWidth = metrics.getTextWidth("x");
+        Set<GridColumn> currentColumns = new HashSet<>(columns);
+        for (Map.Entry<GridColumn, Integer> entry : valueWidths.entrySet()) {
+            GridColumn column = entry.getKey();
+            if (!currentColumns.contains(column)) {
+                continue;
+            }
+            int newWidth = column.getValueWidth(entry.getValue());
+            int columnHintsWidth = contentProvider.getColumnHintsWidth(column);
+            if (columnHintsWidth > 0) {
+                newWidth += Math.min(columnHintsWidth, 16) * hintCharWidth;
+            }
+            if (newWidth > column.getWidth()) {
+                column.setWidth(newWidth, false);
+            }
+        }
+        int totalWidth = 0;
+        for (GridColumn column : topColumns) {
+            totalWidth += column.getWidth();
+        }
+        narrowFatColumns(totalWidth);
+
+        scrollValuesObsolete = true;
+        recalculateSizes(true);
+        updateScrollbars();
+        redraw();
+    }
+
     public int getMaxVisibleRows(){
         int y = 0;
 
@@ -3135,6 +3186,8 @@ public abstract class LightGrid extends Canvas {
 
     private void onDispose(Event event)
     {
+        layoutEngine.cancel();
+        layoutEngine.clearCache();
         removeAll();
         //We only want to dispose of our items and such *after* anybody else who may have been
         //listening to the dispose has had a chance to do whatever.
@@ -4745,6 +4798,7 @@ public abstract class LightGrid extends Canvas {
         GC sizingGC = new GC(this);
         sizingGC.setFont(font);
         fontMetrics = sizingGC.getFontMetrics();
+        textMetrics = new GridTextMetrics(sizingGC);
         sizingGC.dispose();
 
         normalFont = font;
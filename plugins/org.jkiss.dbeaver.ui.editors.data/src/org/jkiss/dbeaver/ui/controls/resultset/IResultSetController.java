@@ -150,6 +150,12 @@ public interface IResultSetController extends IDataController, DBPContextProvide
      */
     void readNextSegment();
 
+    /**
+     * Notifies controller about the last visible row during scrolling.
+     * Controller may start reading of next segments in background before scroll reaches the end of fetched data.
+     */
+    void readAhead(int lastVisibleRow);
+
     /**
      * Reads all rows from data container.
      * Note: in case of huge resultset this function may eventually throw {@link java.lang.OutOfMemoryError}
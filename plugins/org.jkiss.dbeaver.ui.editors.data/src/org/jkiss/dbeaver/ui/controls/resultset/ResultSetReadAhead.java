@@ -0,0 +1,126 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+/**
+ * Adaptive read-ahead policy.
+ * Tracks scroll velocity and segment read latency and decides how far ahead of the scroll position
+ * next segments should be requested so that scrolling never reaches the end of already fetched rows.
+ */
+public class ResultSetReadAhead {
+
+    // Exponential smoothing factor for velocity and latency
+    private static final double SMOOTHING = 0.3;
+    // Extra time reserve (in latencies) we keep ahead of the scroll position
+    private static final double SAFETY_FACTOR = 2.0;
+    // Do not read ahead if heap usage is higher than this
+    private static final double MAX_HEAP_USAGE = 0.75;
+    // Velocity is reset after this idle period
+    private static final long SCROLL_IDLE_TIMEOUT = 1000;
+
+    private int lastRow = -1;
+    private long lastScrollTime;
+    // Rows per millisecond
+    private double scrollVelocity;
+    // Milliseconds per row
+    private double fetchLatencyPerRow;
+
+    /**
+     * Registers the last visible row
+     */
+    public void trackScroll(int lastVisibleRow) {
+        trackScroll(lastVisibleRow, System.currentTimeMillis());
+    }
+
+    /**
+     * Registers the last visible row shown at the given time (in milliseconds)
+     */
+    public void trackScroll(int lastVisibleRow, long now) {
+        if (lastRow >= 0 && lastVisibleRow > lastRow) {
+            long elapsed = now - lastScrollTime;
+            if (elapsed > SCROLL_IDLE_TIMEOUT) {
+                scrollVelocity = 0;
+            } else if (elapsed > 0) {
+                double velocity = (double) (lastVisibleRow - lastRow) / elapsed;
+                scrollVelocity = scrollVelocity == 0 ? velocity : scrollVelocity + SMOOTHING * (velocity - scrollVelocity);
+            }
+        } else if (lastVisibleRow < lastRow) {
+            // Scrolling up
+            scrollVelocity = 0;
+        }
+        lastRow = lastVisibleRow;
+        lastScrollTime = now;
+    }
+
+    /**
+     * Registers completed segment read
+     *
+     * @param rowCount number of rows actually read. It is less than requested at the end of the result set.
+     */
+    public void trackSegmentRead(int rowCount, long latency) {
+        if (rowCount <= 0 || latency < 0) {
+            return;
+        }
+        double perRow = (double) latency / rowCount;
+        fetchLatencyPerRow = fetchLatencyPerRow == 0 ? perRow : fetchLatencyPerRow + SMOOTHING * (perRow - fetchLatencyPerRow);
+    }
+
+    /**
+     * Forgets the scroll state when results are read again (refresh or new query).
+     * Fetch latency is kept, it is still the best estimate for the same data container.
+     */
+    public void reset() {
+        lastRow = -1;
+        scrollVelocity = 0;
+    }
+
+    /**
+     * Number of rows which must stay fetched ahead of the scroll position
+     */
+    public int getReadAheadDistance(int segmentSize, int maxSegments) {
+        if (scrollVelocity <= 0) {
+            return 0;
+        }
+        double latency = fetchLatencyPerRow * segmentSize;
+        long distance = Math.round(scrollVelocity * latency * SAFETY_FACTOR);
+        return (int) Math.min(distance, (long) segmentSize * maxSegments);
+    }
+
+    public boolean isReadAheadRequired(int lastVisibleRow, int rowCount, int segmentSize, int maxSegments) {
+        if (segmentSize <= 0 || maxSegments <= 0 || isMemoryLow()) {
+            return false;
+        }
+        int distance = getReadAheadDistance(segmentSize, maxSegments);
+        return distance > 0 && rowCount - lastVisibleRow <= distance;
+    }
+
+    /**
+     * Number of rows to read in one request. Fast scrolling leads to bigger requests (up to maxSegments segments)
+     * so we do not pay request round-trip for each segment.
+     */
+    public int getReadAheadRows(int segmentSize, int maxSegments) {
+        int distance = getReadAheadDistance(segmentSize, maxSegments);
+        int segments = Math.max(1, Math.min(maxSegments, (distance + segmentSize - 1) / segmentSize));
+        return segmentSize * segments;
+    }
+
+    private static boolean isMemoryLow() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > runtime.maxMemory() * MAX_HEAP_USAGE;
+    }
+}
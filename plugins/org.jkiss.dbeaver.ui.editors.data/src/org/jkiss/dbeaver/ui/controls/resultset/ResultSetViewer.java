@@ -240,6 +240,7 @@ public class ResultSetViewer extends Viewer
     private volatile long lastThemeUpdateTime;
 
     private volatile boolean nextSegmentReadingBlocked;
+    private final ResultSetReadAhead readAhead = new ResultSetReadAhead();
 
     private volatile boolean isWindowVisible = true;
     private volatile boolean needToRetryTaskOnWindowDeiconified = false;
@@ -4164,6 +4165,31 @@ public class ResultSetViewer extends Viewer
         if (!verifyQuerySafety()) {
             return;
         }
+        readNextSegment(getSegmentMaxRows());
+    }
+
+    @Override
+    public void readAhead(int lastVisibleRow) {
+        DBPPreferenceStore preferenceStore = getPreferenceStore();
+        if (!preferenceStore.getBoolean(ResultSetPreferences.RESULT_SET_READ_AHEAD)) {
+            return;
+        }
+        readAhead.trackScroll(lastVisibleRow);
+        if (!dataReceiver.isHasMoreData() || nextSegmentReadingBlocked || isRefreshInProgress() || isDirty()) {
+            return;
+        }
+        DBSDataContainer dataContainer = getDataContainer();
+        if (dataContainer == null || dataContainer.isFeatureSupported(DBSDataContainer.FEATURE_DATA_MODIFIED_ON_REFRESH)) {
+            return;
+        }
+        int segmentSize = getSegmentMaxRows();
+        int maxSegments = preferenceStore.getInt(ResultSetPreferences.RESULT_SET_READ_AHEAD_MAX_SEGMENTS);
+        if (readAhead.isReadAheadRequired(lastVisibleRow, model.getRowCount(), segmentSize, maxSegments)) {
+            readNextSegment(readAhead.getReadAheadRows(segmentSize, maxSegments));
+        }
+    }
+
+    private void readNextSegment(int maxRows) {
         if (!dataReceiver.isHasMoreData()) {
             return;
         }
@@ -4184,16 +4210,23 @@ public class ResultSetViewer extends Viewer
                 dataReceiver.setHasMoreData(false);
                 dataReceiver.setNextSegmentRead(true);
 
+                long readStartTime = System.currentTimeMillis();
+                int readStartRow = model.getRowCount();
                 runDataPump(
                     dataContainer,
                     model.getDataFilter(),
                     model.getRowCount(),
-                    getSegmentMaxRows(),
+                    maxRows,
                     -1,//curRow == null ? -1 : curRow.getRowNumber(), // Do not reposition cursor after next segment read!
                     false,
                     true,
                     true,
-                    () -> nextSegmentReadingBlocked = false);
+                    () -> {
+                        readAhead.trackSegmentRead(model.getRowCount() - readStartRow, System.currentTimeMillis() - readStartTime);
+                        nextSegmentReadingBlocked = false;
+                    });
+            } else {
+                nextSegmentReadingBlocked = false;
             }
         });
     }
@@ -4342,6 +4375,10 @@ public class ResultSetViewer extends Viewer
         }
         // Cancel any refresh jobs
         autoRefreshControl.cancelRefresh();
+        if (!scroll) {
+            // Scroll speed and fetch latency of the previous results don't apply to the new ones
+            readAhead.reset();
+        }
 
         // Read data
         Composite progressControl = viewerPanel;
@@ -332,6 +332,8 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_binary_strings_max_length;
     public static String pref_page_database_resultsets_label_auto_fetch_segment;
     public static String pref_page_database_resultsets_label_auto_fetch_segment_tip;
+    public static String pref_page_database_resultsets_label_read_ahead;
+    public static String pref_page_database_resultsets_label_read_ahead_tip;
     public static String pref_page_database_resultsets_label_automatic_row_count;
     public static String pref_page_database_resultsets_label_automatic_row_count_tip;
     public static String pref_page_database_resultsets_label_reread_on_scrolling;
@@ -360,6 +362,8 @@ public class ResultSetMessages extends NLS {
     public static String pref_page_database_resultsets_label_read_metadata_tip;
     public static String pref_page_database_resultsets_label_read_references_tip;
     public static String pref_page_database_resultsets_label_fetch_size_tip;
+    public static String pref_page_database_resultsets_label_statement_cache_size;
+    public static String pref_page_database_resultsets_label_statement_cache_size_tip;
 
     public static String pref_page_content_cache_clob;
     public static String pref_page_content_cache_blob;
@@ -457,6 +461,10 @@ public class ResultSetMessages extends NLS {
     public static String aggregate_columns_reset_text;
     public static String aggregate_columns_copy_value_text;
     public static String aggregate_columns_copy_all_text;
+    public static String aggregate_columns_server_side_text;
+    public static String aggregate_columns_server_side_tip;
+    public static String aggregate_columns_server_calculating_text;
+    public static String aggregate_columns_server_unsupported_text;
     public static String result_set_view_menu_text;
     public static String result_set_stat_columns;
     public static String result_set_stat_rows;
@@ -16,8 +16,12 @@
  */
 package org.jkiss.dbeaver.ui.controls.resultset.panel.aggregate;
 
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.action.*;
 import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.swt.SWT;
@@ -27,13 +31,26 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.widgets.*;
 import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBIcon;
+import org.jkiss.dbeaver.model.DBPDataSource;
 import org.jkiss.dbeaver.model.DBPImage;
+import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.data.DBDAttributeBinding;
 import org.jkiss.dbeaver.model.data.aggregate.IAggregateFunction;
+import org.jkiss.dbeaver.model.exec.*;
+import org.jkiss.dbeaver.model.runtime.AbstractJob;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.*;
+import org.jkiss.dbeaver.model.sql.parser.SQLRuleManager;
+import org.jkiss.dbeaver.model.sql.parser.tokens.SQLTokenType;
+import org.jkiss.dbeaver.model.struct.DBSDataContainer;
+import org.jkiss.dbeaver.model.text.parser.TPRuleBasedScanner;
+import org.jkiss.dbeaver.model.text.parser.TPToken;
+import org.jkiss.dbeaver.model.text.parser.TPTokenDefault;
 import org.jkiss.dbeaver.registry.functions.AggregateFunctionDescriptor;
 import org.jkiss.dbeaver.registry.functions.FunctionsRegistry;
 import org.jkiss.dbeaver.ui.DBeaverIcons;
@@ -42,6 +59,7 @@ import org.jkiss.dbeaver.ui.UIIcon;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.*;
 import org.jkiss.dbeaver.ui.controls.resultset.internal.ResultSetMessages;
+import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
@@ -61,6 +79,9 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     public static final String SETTINGS_SECTION_AGGREGATE = "panel-" + PANEL_ID;
     public static final String PARAM_GROUP_BY_COLUMNS = "groupByColumns";
     public static final String PARAM_GROUP_AS_STRINGS = "groupAsStrings";
+    public static final String PARAM_RUN_SERVER_QUERIES = "runServerQueries";
+
+    private static final long SERVER_QUERY_DELAY = 300;
 
     private static final DecimalFormat DOUBLE_FORMAT = new DecimalFormat("###,###,###,###,###,##0.###");
     private static final DecimalFormat INTEGER_FORMAT = new DecimalFormat("###,###,###,###,###,##0");
@@ -70,13 +91,16 @@ public class AggregateColumnsPanel implements IResultSetPanel {
 
     private boolean groupByColumns;
     private boolean aggregateAsStrings;
-    //private boolean runServerQueries;
+    private boolean runServerQueries;
 
     private IDialogSettings panelSettings;
 
     private final List<AggregateFunctionDescriptor> enabledFunctions = new ArrayList<>();
     private boolean featureTracked;
 
+    private ServerAggregateJob serverJob;
+    private volatile DBCExecutionContext serverContext;
+
     public AggregateColumnsPanel() {
     }
 
@@ -111,7 +135,11 @@ public class AggregateColumnsPanel implements IResultSetPanel {
 
         menuMgr.setRemoveAllWhenShown(true);
         this.aggregateTable.setMenu(menuMgr.createContextMenu(this.aggregateTable));
-        this.aggregateTable.addDisposeListener(e -> menuMgr.dispose());
+        this.aggregateTable.addDisposeListener(e -> {
+            menuMgr.dispose();
+            cancelServerJob();
+            closeServerContext();
+        });
 
         aggregateTable.addSelectionListener(new SelectionAdapter() {
             @Override
@@ -131,6 +159,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private void loadSettings() {
         aggregateAsStrings = panelSettings.getBoolean(PARAM_GROUP_AS_STRINGS);
         groupByColumns = panelSettings.getBoolean(PARAM_GROUP_BY_COLUMNS);
+        runServerQueries = panelSettings.getBoolean(PARAM_RUN_SERVER_QUERIES);
         IDialogSettings functionsSection = panelSettings.getSection("functions");
         if (functionsSection != null) {
             final Map<AggregateFunctionDescriptor, Integer> funcIndexes = new HashMap<>();
@@ -168,6 +197,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     private void saveSettings() {
         panelSettings.put(PARAM_GROUP_BY_COLUMNS, groupByColumns);
         panelSettings.put(PARAM_GROUP_AS_STRINGS, aggregateAsStrings);
+        panelSettings.put(PARAM_RUN_SERVER_QUERIES, runServerQueries);
         IDialogSettings functionsSection = UIUtils.getSettingsSection(panelSettings, "functions");
 
         for (AggregateFunctionDescriptor func : FunctionsRegistry.getInstance().getAggregateFunctions()) {
@@ -201,11 +231,16 @@ public class AggregateColumnsPanel implements IResultSetPanel {
     public void refresh(boolean force) {
         aggregateTable.setRedraw(false);
         try {
+            cancelServerJob();
             aggregateTable.removeAll();
             if (this.presentation instanceof ISelectionProvider) {
                 ISelection selection = ((ISelectionProvider) presentation).getSelection();
                 if (selection instanceof IResultSetSelection) {
-                    aggregateSelection((IResultSetSelection)selection);
+                    if (runServerQueries) {
+                        aggregateOnServer((IResultSetSelection) selection);
+                    } else {
+                        aggregateSelection((IResultSetSelection) selection);
+                    }
                 }
             }
             UIUtils.packColumns(aggregateTable, false, null);
@@ -263,19 +298,180 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         }
     }
 
+    /**
+     * Evaluates enabled functions for all selected columns over the whole query result.
+     * The aggregation query wraps the original query and runs in a separate execution context,
+     * so results do not depend on the number of fetched rows.
+     */
+    private void aggregateOnServer(@NotNull IResultSetSelection selection) {
+        IResultSetController controller = presentation.getController();
+        DBSDataContainer dataContainer = controller.getDataContainer();
+        DBCExecutionContext executionContext = controller.getExecutionContext();
+        DBCStatistics statistics = controller.getModel().getStatistics();
+        List<DBDAttributeBinding> attributes = selection.getSelectedAttributes();
+        if (dataContainer == null || executionContext == null || statistics == null || attributes.isEmpty()) {
+            aggregateSelection(selection);
+            return;
+        }
+        DBPDataSource dataSource = executionContext.getDataSource();
+        SQLDialect dialect = SQLUtils.getDialectFromDataSource(dataSource);
+        SQLSyntaxManager syntaxManager = new SQLSyntaxManager();
+        syntaxManager.init(dialect, controller.getPreferenceStore());
+        if (hasQueryParameters(dataSource, syntaxManager, statistics.getQueryText())) {
+            // Parameter values (e.g. bound filter values) are not available here
+            aggregateSelection(selection);
+            return;
+        }
+        SQLAggregateQueryGenerator queryGenerator = new SQLAggregateQueryGenerator(dataSource, dataContainer, dialect, syntaxManager);
+
+        List<String> sqlFunctions = new ArrayList<>();
+        List<TreeItem> resultItems = new ArrayList<>();
+        for (DBDAttributeBinding attr : attributes) {
+            TreeItem attrItem = new TreeItem(aggregateTable, SWT.NONE);
+            attrItem.setText(attr.getName());
+            attrItem.setImage(DBeaverIcons.getImage(DBValueFormatting.getObjectImage(attr)));
+            String valueExpression = queryGenerator.getValueExpression(SQLGroupingAttribute.makeBound(attr));
+            for (AggregateFunctionDescriptor funcDesc : enabledFunctions) {
+                TreeItem funcItem = createFunctionItem(attrItem, funcDesc);
+                String funcSQL = funcDesc.generateSQL(valueExpression);
+                if (funcSQL != null) {
+                    sqlFunctions.add(funcSQL);
+                    resultItems.add(funcItem);
+                    funcItem.setText(1, ResultSetMessages.aggregate_columns_server_calculating_text);
+                } else {
+                    funcItem.setText(1, ResultSetMessages.aggregate_columns_server_unsupported_text);
+                }
+            }
+            attrItem.setExpanded(true);
+        }
+        if (sqlFunctions.isEmpty()) {
+            return;
+        }
+        String query;
+        try {
+            query = queryGenerator.generateAggregateQuery(statistics.getQueryText(), sqlFunctions);
+        } catch (DBException e) {
+            log.debug("Can't generate aggregation query", e);
+            for (TreeItem item : resultItems) {
+                item.setText(1, e.getMessage());
+            }
+            return;
+        }
+        serverJob = new ServerAggregateJob(executionContext, query, resultItems);
+        serverJob.schedule(SERVER_QUERY_DELAY);
+    }
+
+    /**
+     * Checks whether query contains parameter placeholders outside of literals and comments
+     */
+    private static boolean hasQueryParameters(
+        @NotNull DBPDataSource dataSource,
+        @NotNull SQLSyntaxManager syntaxManager,
+        @NotNull String queryText
+    ) {
+        SQLRuleManager ruleManager = new SQLRuleManager(syntaxManager);
+        ruleManager.loadRules(dataSource, false);
+        TPRuleBasedScanner scanner = new TPRuleBasedScanner();
+        scanner.setRules(ruleManager.getAllRules());
+        Document document = new Document(queryText);
+        scanner.setRange(document, 0, queryText.length());
+        String anonymousMark = String.valueOf(syntaxManager.getAnonymousParameterMark());
+        for (; ; ) {
+            TPToken token = scanner.nextToken();
+            if (token != null && token.isEOF()) {
+                return false;
+            }
+            if (token instanceof TPTokenDefault tokenDefault && tokenDefault.getData() instanceof SQLTokenType tokenType) {
+                if (tokenType == SQLTokenType.T_PARAMETER) {
+                    return true;
+                }
+                if (tokenType == SQLTokenType.T_STRING || tokenType == SQLTokenType.T_QUOTED || tokenType == SQLTokenType.T_COMMENT) {
+                    continue;
+                }
+            }
+            try {
+                if (anonymousMark.equals(document.get(scanner.getTokenOffset(), scanner.getTokenLength()))) {
+                    return true;
+                }
+            } catch (BadLocationException e) {
+                return false;
+            }
+        }
+    }
+
+    private void showServerResults(@NotNull ServerAggregateJob job, @NotNull Object[] results, @Nullable Throwable error) {
+        if (job != serverJob || aggregateTable.isDisposed()) {
+            return;
+        }
+        serverJob = null;
+        for (int i = 0; i < job.resultItems.size(); i++) {
+            TreeItem item = job.resultItems.get(i);
+            if (item.isDisposed()) {
+                continue;
+            }
+            if (error != null) {
+                item.setText(1, CommonUtils.notEmpty(error.getMessage()));
+            } else {
+                String strValue = formatResult(results[i]);
+                item.setText(1, strValue == null ? "" : strValue);
+            }
+        }
+        UIUtils.packColumns(aggregateTable, false, null);
+    }
+
+    private void cancelServerJob() {
+        if (serverJob != null) {
+            serverJob.cancel();
+            serverJob = null;
+        }
+    }
+
+    private void closeServerContext() {
+        DBCExecutionContext context = serverContext;
+        serverContext = null;
+        if (context != null) {
+            new AbstractJob("Close aggregation context") {
+                @Override
+                protected IStatus run(DBRProgressMonitor monitor) {
+                    context.close();
+                    return Status.OK_STATUS;
+                }
+            }.schedule();
+        }
+    }
+
+    private TreeItem createFunctionItem(@Nullable TreeItem parentItem, @NotNull AggregateFunctionDescriptor funcDesc) {
+        TreeItem funcItem = (parentItem == null) ?
+            new TreeItem(aggregateTable, SWT.NONE) :
+            new TreeItem(parentItem, SWT.NONE);
+        funcItem.setData(funcDesc);
+        funcItem.setText(0, funcDesc.getLabel());
+        DBPImage icon = funcDesc.getIcon();
+        if (icon != null) {
+            funcItem.setImage(0, DBeaverIcons.getImage(icon));
+        }
+        return funcItem;
+    }
+
+    @Nullable
+    private static String formatResult(@Nullable Object result) {
+        if (result == null) {
+            return null;
+        }
+        if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
+            return DOUBLE_FORMAT.format(result);
+        } else if (result instanceof Integer || result instanceof Long || result instanceof Short) {
+            return INTEGER_FORMAT.format(result);
+        } else {
+            return result.toString();
+        }
+    }
+
     private void aggregateValues(TreeItem parentItem, Collection<Object> values) {
         List<AggregateFunctionDescriptor> functions = enabledFunctions;
         Map<IAggregateFunction, TreeItem> funcMap = new IdentityHashMap<>();
         for (AggregateFunctionDescriptor funcDesc : functions) {
-            TreeItem funcItem = (parentItem == null) ?
-                new TreeItem(aggregateTable, SWT.NONE) :
-                new TreeItem(parentItem, SWT.NONE);
-            funcItem.setData(funcDesc);
-            funcItem.setText(0, funcDesc.getLabel());
-            DBPImage icon = funcDesc.getIcon();
-            if (icon != null) {
-                funcItem.setImage(0, DBeaverIcons.getImage(icon));
-            }
+            TreeItem funcItem = createFunctionItem(parentItem, funcDesc);
             try {
                 IAggregateFunction func = funcDesc.createFunction();
                 funcMap.put(func, funcItem);
@@ -298,20 +494,9 @@ public class AggregateColumnsPanel implements IResultSetPanel {
                 continue;
             }
             IAggregateFunction func = funcs[i];
-            Object result = func.getResult(funcCount[i]);
-            if (result != null) {
-                TreeItem treeItem = funcMap.get(func);
-                String strValue;
-                if (result instanceof Double || result instanceof Float || result instanceof BigDecimal) {
-                    strValue = DOUBLE_FORMAT.format(result);
-                } else if (result instanceof Integer || result instanceof Long || result instanceof Short) {
-                    strValue = INTEGER_FORMAT.format(result);
-                } else {
-                    strValue = result.toString();
-                }
-                if (strValue != null) {
-                    treeItem.setText(1, strValue);
-                }
+            String strValue = formatResult(func.getResult(funcCount[i]));
+            if (strValue != null) {
+                funcMap.get(func).setText(1, strValue);
             }
         }
     }
@@ -329,6 +514,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         contributionManager.add(new Separator());
         contributionManager.add(new GroupByColumnsAction());
         contributionManager.add(new ValueTypeToggleAction());
+        contributionManager.add(new ServerSideToggleAction());
     }
 
     private class GroupByColumnsAction extends Action {
@@ -363,6 +549,87 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         }
     }
 
+    private class ServerSideToggleAction extends Action {
+        public ServerSideToggleAction() {
+            super(ResultSetMessages.aggregate_columns_server_side_text, IAction.AS_CHECK_BOX);
+            setToolTipText(ResultSetMessages.aggregate_columns_server_side_tip);
+            setImageDescriptor(DBeaverIcons.getImageDescriptor(DBIcon.TREE_SERVER));
+            setChecked(runServerQueries);
+        }
+
+        @Override
+        public void run() {
+            runServerQueries = !runServerQueries;
+            setChecked(runServerQueries);
+            if (!runServerQueries) {
+                cancelServerJob();
+                closeServerContext();
+            }
+            refresh(false);
+        }
+    }
+
+    private class ServerAggregateJob extends AbstractJob {
+        private final DBCExecutionContext executionContext;
+        private final String query;
+        private final List<TreeItem> resultItems;
+
+        ServerAggregateJob(@NotNull DBCExecutionContext executionContext, @NotNull String query, @NotNull List<TreeItem> resultItems) {
+            super("Calculate aggregate functions");
+            this.executionContext = executionContext;
+            this.query = query;
+            this.resultItems = resultItems;
+            setUser(false);
+        }
+
+        @Override
+        protected IStatus run(DBRProgressMonitor monitor) {
+            Object[] results = new Object[resultItems.size()];
+            Throwable error = null;
+            try {
+                DBCExecutionContext context = getServerContext(monitor);
+                try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Calculate aggregate functions")) {
+                    try (DBCStatement dbStat = DBUtils.makeStatement(session, query, false)) {
+                        if (dbStat.executeStatement()) {
+                            try (DBCResultSet dbResult = dbStat.openResultSet()) {
+                                if (dbResult != null && dbResult.nextRow()) {
+                                    for (int i = 0; i < results.length; i++) {
+                                        results[i] = dbResult.getAttributeValue(i);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                log.debug("Error calculating aggregate functions on server", e);
+                error = e;
+            }
+            Throwable finalError = error;
+            UIUtils.asyncExec(() -> showServerResults(this, results, finalError));
+            return Status.OK_STATUS;
+        }
+
+        @NotNull
+        private DBCExecutionContext getServerContext(@NotNull DBRProgressMonitor monitor) throws DBException {
+            synchronized (AggregateColumnsPanel.this) {
+                DBCExecutionContext context = serverContext;
+                if (context != null && context.isConnected() && context.getOwnerInstance() == executionContext.getOwnerInstance()) {
+                    return context;
+                }
+                if (context != null) {
+                    context.close();
+                }
+                context = executionContext.getOwnerInstance().openIsolatedContext(monitor, "Aggregate calculation", executionContext);
+                serverContext = context;
+                return context;
+            }
+        }
+    }
+
     private class AddFunctionAction extends Action {
         public AddFunctionAction() {
             super(ResultSetMessages.aggregate_columns_add_function_text, DBeaverIcons.getImageDescriptor(UIIcon.ADD));
@@ -469,7 +736,7 @@ public class AggregateColumnsPanel implements IResultSetPanel {
         @Override
         public void run() {
             StringBuilder result = new StringBuilder();
-            if (!groupByColumns) {
+            if (!groupByColumns && !runServerQueries) {
                 for (TreeItem item : aggregateTable.getItems()) {
                     if (result.length() > 0) result.append("\n");
                     result.append(item.getText(0)).append("=").append(item.getText(1));
@@ -95,6 +95,7 @@ import org.jkiss.utils.xml.XMLUtils;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -2234,6 +2235,9 @@ public class SpreadsheetPresentation extends AbstractPresentation
             // Check for next segment read
             ResultSetRow row = getResultRowFromGrid(gridColumn, gridRow);
             int rowNum = row.getVisualNumber();
+            if (autoFetchSegments && !controller.isRecordMode()) {
+                controller.readAhead(rowNum);
+            }
             if (rowNum > 0 &&
                 rowNum == controller.getModel().getRowCount() - 1 &&
                 autoFetchSegments &&
@@ -2368,6 +2372,34 @@ public class SpreadsheetPresentation extends AbstractPresentation
             }
         }
 
+        @Nullable
+        @Override
+        public Function<Object, String> getCellValueFormatter(@NotNull IGridColumn colElement) {
+            if (controller.isRecordMode() || !(colElement.getElement() instanceof DBDAttributeBinding attr) || isShowAsCheckbox(attr)) {
+                return null;
+            }
+            // Read settings now, formatter may be used outside of UI thread
+            final DBDDisplayFormat displayFormat = gridValueFormat;
+            final boolean nativeNumbers = useNativeNumbersFormat;
+            return value -> {
+                if (value instanceof DBDValueError valueError) {
+                    return valueError.getErrorTitle();
+                }
+                if (value instanceof DBDComplexValue || value == DBDVoid.INSTANCE) {
+                    // Depends on the expanded state of the cell
+                    return null;
+                }
+                try {
+                    return attr.getValueRenderer().getValueDisplayString(
+                        attr.getAttribute(),
+                        value,
+                        value instanceof Number && nativeNumbers ? DBDDisplayFormat.NATIVE : displayFormat);
+                } catch (Exception e) {
+                    return null;
+                }
+            };
+        }
+
         @Nullable
         public Object getCellValue(
             @NotNull IGridColumn gridColumn,
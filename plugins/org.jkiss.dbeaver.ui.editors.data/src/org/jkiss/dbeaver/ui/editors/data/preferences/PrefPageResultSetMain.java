@@ -54,6 +54,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
     public static final String PAGE_ID = "org.jkiss.dbeaver.preferences.main.resultset"; //$NON-NLS-1$
 
     private Button autoFetchNextSegmentCheck;
+    private Button readAheadCheck;
     private Button automaticRowCountCheck;
     private Button rereadOnScrollingCheck;
     private Text resultSetSize;
@@ -75,6 +76,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
     private Button markCellValueOccurrences;
 
     private Button advUseFetchSize;
+    private Text statementCacheSize;
 
     private Button ignoreColumnLabelCheck;
     private Button useDateTimeEditor;
@@ -91,6 +93,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
         DBPPreferenceStore store = dataSourceDescriptor.getPreferenceStore();
         return
             store.contains(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT) ||
+            store.contains(ResultSetPreferences.RESULT_SET_READ_AHEAD) ||
             store.contains(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING) ||
             store.contains(ModelPreferences.RESULT_SET_MAX_ROWS) ||
             store.contains(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL) ||
@@ -105,6 +108,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.contains(ResultSetPreferences.RESULT_SET_ORDERING_STRATEGY) ||
             store.contains(ResultSetPreferences.RESULT_SET_ORDERING_POLICY) ||
             store.contains(ModelPreferences.RESULT_SET_USE_FETCH_SIZE) ||
+            store.contains(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE) ||
             store.contains(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS) ||
             store.contains(ResultSetPreferences.RESULT_SET_CONFIRM_BEFORE_SAVE) ||
             store.contains(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG) ||
@@ -145,6 +149,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
             });
 
             autoFetchNextSegmentCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_auto_fetch_segment, ResultSetMessages.pref_page_database_resultsets_label_auto_fetch_segment_tip, true, 2);
+            readAheadCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_read_ahead, ResultSetMessages.pref_page_database_resultsets_label_read_ahead_tip, false, 2);
             rereadOnScrollingCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_reread_on_scrolling, ResultSetMessages.pref_page_database_resultsets_label_reread_on_scrolling_tip, true, 2);
             resultSetUseSQLCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_use_sql, ResultSetMessages.pref_page_database_resultsets_label_use_sql_tip, false, 2);
             automaticRowCountCheck = UIUtils.createCheckbox(queriesGroup, ResultSetMessages.pref_page_database_resultsets_label_automatic_row_count, ResultSetMessages.pref_page_database_resultsets_label_automatic_row_count_tip, false, 2);
@@ -178,10 +183,13 @@ public class PrefPageResultSetMain extends TargetPrefPage
                 ResultSetMessages.pref_page_database_resultsets_label_filter_force_subselect_tip, false, 2);
         }
         {
-            Group advGroup = UIUtils.createControlGroup(leftPane, ResultSetMessages.pref_page_results_group_advanced, 1, GridData.VERTICAL_ALIGN_BEGINNING, 0);
+            Group advGroup = UIUtils.createControlGroup(leftPane, ResultSetMessages.pref_page_results_group_advanced, 2, GridData.VERTICAL_ALIGN_BEGINNING, 0);
 
-            ignoreColumnLabelCheck = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_general_use_column_names, ResultSetMessages.pref_page_database_general_use_column_names_tip, false, 1);
-            advUseFetchSize = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_fetch_size, ResultSetMessages.pref_page_database_resultsets_label_fetch_size_tip, false, 1);
+            ignoreColumnLabelCheck = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_general_use_column_names, ResultSetMessages.pref_page_database_general_use_column_names_tip, false, 2);
+            advUseFetchSize = UIUtils.createCheckbox(advGroup, ResultSetMessages.pref_page_database_resultsets_label_fetch_size, ResultSetMessages.pref_page_database_resultsets_label_fetch_size_tip, false, 2);
+            statementCacheSize = UIUtils.createLabelText(advGroup, ResultSetMessages.pref_page_database_resultsets_label_statement_cache_size, "0");
+            statementCacheSize.addVerifyListener(UIUtils.getIntegerVerifyListener(Locale.getDefault()));
+            statementCacheSize.setToolTipText(ResultSetMessages.pref_page_database_resultsets_label_statement_cache_size_tip);
         }
 
 
@@ -267,6 +275,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
     {
         try {
             autoFetchNextSegmentCheck.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT));
+            readAheadCheck.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_READ_AHEAD));
             rereadOnScrollingCheck.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING));
             useDateTimeEditor.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_USE_DATETIME_EDITOR));
             int rsSegmentSize = store.getInt(ModelPreferences.RESULT_SET_MAX_ROWS);
@@ -298,6 +307,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
             useNavigatorFilters.setSelection(store.getBoolean(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS));
 
             advUseFetchSize.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE));
+            statementCacheSize.setText(store.getString(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE));
             ignoreColumnLabelCheck.setSelection(store.getBoolean(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL));
 
             if (confirmDataSave != null) {
@@ -317,6 +327,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
         try {
             store.setValue(ModelPreferences.RESULT_SET_USE_DATETIME_EDITOR, useDateTimeEditor.getSelection());
             store.setValue(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT, autoFetchNextSegmentCheck.getSelection());
+            store.setValue(ResultSetPreferences.RESULT_SET_READ_AHEAD, readAheadCheck.getSelection());
             store.setValue(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING, rereadOnScrollingCheck.getSelection());
             store.setValue(ModelPreferences.RESULT_SET_MAX_ROWS, resultSetSize.getText());
             store.setValue(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL, resultSetUseSQLCheck.getSelection());
@@ -341,6 +352,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
             store.setValue(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS, useNavigatorFilters.getSelection());
 
             store.setValue(ModelPreferences.RESULT_SET_USE_FETCH_SIZE, advUseFetchSize.getSelection());
+            store.setValue(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE, CommonUtils.toInt(statementCacheSize.getText()));
             store.setValue(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL, ignoreColumnLabelCheck.getSelection());
 
             if (confirmDataSave != null) {
@@ -359,6 +371,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
         store.setToDefault(ResultSetPreferences.RESULT_IMAGE_USE_BROWSER_BASED_RENDERER);
         store.setToDefault(ModelPreferences.RESULT_SET_USE_DATETIME_EDITOR);
         store.setToDefault(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT);
+        store.setToDefault(ResultSetPreferences.RESULT_SET_READ_AHEAD);
         store.setToDefault(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING);
         store.setToDefault(ModelPreferences.RESULT_SET_MAX_ROWS);
         store.setToDefault(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL);
@@ -376,6 +389,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
         store.setToDefault(ResultSetPreferences.RESULT_SET_USE_NAVIGATOR_FILTERS);
 
         store.setToDefault(ModelPreferences.RESULT_SET_USE_FETCH_SIZE);
+        store.setToDefault(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE);
         store.setToDefault(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL);
 
         store.setToDefault(ResultSetPreferences.RESULT_SET_CONFIRM_BEFORE_SAVE);
@@ -389,6 +403,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
     protected void performDefaults() {
         DBPPreferenceStore store = DBWorkbench.getPlatform().getPreferenceStore();
         autoFetchNextSegmentCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_AUTO_FETCH_NEXT_SEGMENT));
+        readAheadCheck.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_READ_AHEAD));
         rereadOnScrollingCheck.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_REREAD_ON_SCROLLING));
         resultSetSize.setText(String.valueOf(store.getDefaultInt(ModelPreferences.RESULT_SET_MAX_ROWS)));
         resultSetUseSQLCheck.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_MAX_ROWS_USE_SQL));
@@ -408,6 +423,7 @@ public class PrefPageResultSetMain extends TargetPrefPage
         showErrorsInDialog.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_SHOW_ERRORS_IN_DIALOG));
         markCellValueOccurrences.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_SET_MARK_CELL_VALUE_OCCURRENCES));
         advUseFetchSize.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_USE_FETCH_SIZE));
+        statementCacheSize.setText(String.valueOf(store.getDefaultInt(ModelPreferences.RESULT_SET_STATEMENT_CACHE_SIZE)));
         ignoreColumnLabelCheck.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_IGNORE_COLUMN_LABEL));
         useDateTimeEditor.setSelection(store.getDefaultBoolean(ModelPreferences.RESULT_SET_USE_DATETIME_EDITOR));
         useBrowserCheckbox.setSelection(store.getDefaultBoolean(ResultSetPreferences.RESULT_IMAGE_USE_BROWSER_BASED_RENDERER));
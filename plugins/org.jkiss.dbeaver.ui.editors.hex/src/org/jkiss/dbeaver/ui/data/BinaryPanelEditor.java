@@ -27,7 +27,9 @@ import org.jkiss.dbeaver.model.DBPEventListener;
 import org.jkiss.dbeaver.model.DBValueFormatting;
 import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
 import org.jkiss.dbeaver.model.data.DBDContent;
+import org.jkiss.dbeaver.model.data.DBDContentCached;
 import org.jkiss.dbeaver.model.data.DBDContentStorage;
+import org.jkiss.dbeaver.model.data.DBDContentStorageLocal;
 import org.jkiss.dbeaver.model.data.storage.BytesContentStorage;
 import org.jkiss.dbeaver.model.exec.DBCException;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
@@ -48,7 +50,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 
 /**
 * ControlPanelEditor
@@ -95,25 +96,15 @@ public class BinaryPanelEditor implements IStreamValueEditor<HexEditControl> {
             DBDContentStorage data = value.getContents(monitor);
             String charset = null;
             monitor.subTask("Read binary value");
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ByteBuffer byteData;
             if (data != null) {
-                try (InputStream contentStream = data.getContentStream()){
-                    ContentUtils.copyStreams(contentStream, -1, buffer, monitor);
-                }
+                byteData = getContentBuffer(monitor, data);
                 charset = data.getCharset();
             } else {
+                byteData = ByteBuffer.allocate(0);
                 charset = DBValueFormatting.getDefaultBinaryFileEncoding(value.getDataSource());
             }
             String finalCharset = charset;
-            byte[] byteData = buffer.toByteArray();
-            BinaryContent content = control.getContent();
-            if (content != null && content.length() == byteData.length) {
-                ByteBuffer byteBuffer = ByteBuffer.allocate(byteData.length);
-                if (Arrays.equals(byteBuffer.array(), byteData)) {
-                    // Equals data
-                    return;
-                }
-            }
             UIUtils.syncExec(() -> {
                 control.setContent(byteData, finalCharset, false);
                 control.setReadOnly(value.getDataSource().getContainer().isConnectionReadOnly());
@@ -125,6 +116,27 @@ public class BinaryPanelEditor implements IStreamValueEditor<HexEditControl> {
         }
     }
 
+    /**
+     * Cached and local file contents are passed to the editor as is, without copying
+     */
+    @NotNull
+    private static ByteBuffer getContentBuffer(@NotNull DBRProgressMonitor monitor, @NotNull DBDContentStorage data) throws IOException {
+        if (data instanceof DBDContentCached cached && cached.getCachedValue() instanceof byte[] bytes) {
+            return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        }
+        if (data instanceof DBDContentStorageLocal localStorage) {
+            ByteBuffer mapped = ContentUtils.mapContentFile(localStorage.getDataFile());
+            if (mapped != null) {
+                return mapped;
+            }
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (InputStream contentStream = data.getContentStream()) {
+            ContentUtils.copyStreams(contentStream, -1, buffer, monitor);
+        }
+        return ByteBuffer.wrap(buffer.toByteArray());
+    }
+
     @Override
     public void extractEditorValue(@NotNull DBRProgressMonitor monitor, @NotNull HexEditControl control, @NotNull DBDContent value) throws DBException
     {
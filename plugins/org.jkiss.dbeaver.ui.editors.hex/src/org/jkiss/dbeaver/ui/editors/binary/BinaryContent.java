@@ -17,15 +17,20 @@
 package org.jkiss.dbeaver.ui.editors.binary;
 
 import org.jkiss.code.NotNull;
-import org.jkiss.dbeaver.utils.ContentUtils;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.utils.RuntimeUtils;
 
-import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
-import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.util.*;
 
 
@@ -40,6 +45,8 @@ import java.util.*;
  */
 public class BinaryContent {
 
+    private static final Log log = Log.getLog(BinaryContent.class);
+
 
     /**
      * Used to notify changes in content
@@ -53,7 +60,8 @@ public class BinaryContent {
 
 
     /**
-     * A subset of data contained in a ByteBuffer or a File
+     * A subset of data contained in a ByteBuffer or a file. Ranges are pieces of the piece table:
+     * they point into the original data or into the added data and are never modified in place.
      */
     final static class Range implements Comparable<Range>, Cloneable {
         long position = -1L;
@@ -76,13 +84,10 @@ public class BinaryContent {
             dirty = isDirty;
         }
 
-        Range(long aPosition, File aFile, boolean isDirty)
-            throws IOException
+        Range(long aPosition, BinaryFileData aFile, boolean isDirty)
         {
             this(aPosition, aFile.length());
-            if (length < 0L) throw new IOException("File error");
-
-            data = new RandomAccessFile(aFile, "r");
+            data = aFile;
             dirty = isDirty;
         }
 
@@ -124,7 +129,7 @@ public class BinaryContent {
     }
 
 
-    private static final long mappedFileBufferLength = 2048 * 1024;  // for mapped file I/O
+    private static final int ADD_BUFFER_SIZE = 64 * 1024;
 
     private ActionHistory actions = null;  // undo/redo actions history
     private ActionHistory actionsTemp = null;
@@ -137,6 +142,8 @@ public class BinaryContent {
     private long changesPosition = -1L;
     private TreeSet<Range> ranges = new TreeSet<>();
     private Iterator<Range> tailTree = null;
+    private final List<BinaryFileData> files = new ArrayList<>();
+    private ByteBuffer addBuffer = null;  // append-only storage of typed bytes
 
     /**
      * Create new empty content.
@@ -158,7 +165,15 @@ public class BinaryContent {
         if (aFile == null || aFile.length() < 1L)
             return;
 
-        ranges.add(new Range(0L, aFile, false));
+        ranges.add(new Range(0L, openFile(aFile), false));
+    }
+
+    private BinaryFileData openFile(File aFile)
+        throws IOException
+    {
+        BinaryFileData fileData = new BinaryFileData(aFile.toPath());
+        files.add(fileData);
+        return fileData;
     }
 
 
@@ -214,11 +229,16 @@ public class BinaryContent {
     {
         if (changeList == null) return;
 
-        ByteBuffer store = ByteBuffer.allocate(changeList.size());
+        int size = changeList.size();
+        if (addBuffer == null || addBuffer.remaining() < size) {
+            addBuffer = ByteBuffer.allocate(Math.max(ADD_BUFFER_SIZE, size));
+        }
+        // Each range gets its own view of the add buffer: action history merges ranges with the same data
+        ByteBuffer store = addBuffer.slice();
+        store.limit(size);
         for (Integer myChange : changeList) {
-            store.put(myChange.byteValue());
+            addBuffer.put(myChange.byteValue());
         }
-        store.position(0);
         changeList = null;
         if (changesInserted)
             insertRange(new Range(changesPosition, store, true));
@@ -355,11 +375,12 @@ public class BinaryContent {
     {
         if (ranges == null) return;
 
-        for (Range value : ranges) {
-            if (value.data instanceof Closeable) {
-                ContentUtils.close((Closeable) value.data);
-            }
+        // Files are referenced by ranges of content and of action history, so they are closed here
+        for (BinaryFileData file : files) {
+            file.dispose();
         }
+        files.clear();
+        addBuffer = null;
 
         if (actions != null) {
             actions.dispose();
@@ -399,18 +420,9 @@ public class BinaryContent {
                 src.limit(src.position() + Math.min(dst.remaining(), maxCopyLength));
             }
             dst.put(src);
-        } else if (sourceRange.data instanceof RandomAccessFile) {
-            RandomAccessFile src = (RandomAccessFile) sourceRange.data;
+        } else if (sourceRange.data instanceof BinaryFileData src) {
             long start = sourceRange.dataOffset + overlapBytes;
-            int length = (int) Math.min(sourceRange.length - overlapBytes, maxCopyLength);
-            int limit = -1;
-            if (dst.remaining() > length) {
-                limit = dst.limit();
-                dst.limit(dst.position() + length);
-            }
-            src.getChannel().read(dst, start);
-            if (limit > 0)
-                dst.limit(limit);
+            src.read(dst, start, (int) Math.min(sourceRange.length - overlapBytes, maxCopyLength));
         }
 
         return dst.position() - dstInitialPosition;
@@ -553,47 +565,168 @@ public class BinaryContent {
             actions.endAction();
         commitChanges();
 
-        RandomAccessFile dst = new RandomAccessFile(destinationFile, "rws");
+        if (isSourceFile(destinationFile)) {
+            replaceSourceFile(destinationFile.toPath(), start, length);
+        } else {
+            writeContent(destinationFile.toPath(), start, length);
+        }
+
+        return length;
+    }
+
+
+    /**
+     * Content reads this file, so it can't be overwritten in place.
+     * A new file is written next to it and replaces the old one, open file data keeps reading the old data.
+     * Symbolic link stays as is, the file it points to is replaced.
+     * If the file can't be replaced it is overwritten in place and the content is reloaded from it,
+     * in this case only the whole content can be saved.
+     */
+    private void replaceSourceFile(Path destinationFile, long start, long length)
+        throws IOException
+    {
+        Path targetFile = destinationFile.toRealPath();
+        Path tempFile = Files.createTempFile(targetFile.getParent(), targetFile.getFileName().toString(), ".tmp");
         try {
-            dst.setLength(length);
-            FileChannel channel = dst.getChannel();
-
-            ByteBuffer buffer = null;
-            for (long position = 0L; position < length; position += mappedFileBufferLength) {
-                int partLength = (int) Math.min(mappedFileBufferLength, length - position);
-                boolean bufferFromMap = true;
-                try {
-                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, partLength);
+            writeContent(tempFile, start, length);
+            copyFileAttributes(targetFile, tempFile);
+            try {
+                Files.move(tempFile, targetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileSystemException e) {
+                if (!RuntimeUtils.isWindows() || start != 0L || length != length()) {
+                    throw e;
                 }
-                catch (IOException e) {
-                    // gcj 4.3.0 channel maps work differently than sun's:
-                    // gcj won't accept two calls to channel.map with a different position, sun does
-                    // gcj will happily accept maps of size bigger than available memory, sun won't
-                    // to access past the 2Gb barrier there is no choice but use plain ByteBuffers in gcj
-                    bufferFromMap = false;
-                    if (buffer == null)
-                        buffer = ByteBuffer.allocateDirect((int) mappedFileBufferLength);
-                    buffer.position(0);
-                    buffer.limit(partLength);
+                // Windows may deny to replace an open file, overwrite it in place then
+                log.debug("Can't replace file '" + targetFile + "', overwrite it", e);
+                overwriteFile(tempFile, targetFile);
+                // File data and undo history read the overwritten file, so they aren't valid anymore
+                reloadFile(targetFile);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+
+    /**
+     * Replaces the whole content with the given file. Action history is cleared.
+     */
+    private void reloadFile(Path file)
+        throws IOException
+    {
+        boolean actionsEnabled = actions != null;
+        if (actions != null) {
+            actions.dispose();
+            actions = null;
+        }
+        actionsTemp = null;
+        for (BinaryFileData fileData : files) {
+            fileData.dispose();
+        }
+        files.clear();
+        addBuffer = null;
+        ranges = new TreeSet<>();
+        tailTree = null;
+        lastUpperNibblePosition = -1L;
+        if (Files.size(file) > 0L) {
+            ranges.add(new Range(0L, openFile(file.toFile()), false));
+        }
+        if (actionsEnabled) {
+            actions = new ActionHistory(this);
+        }
+        notifyListeners();
+    }
+
+
+    private static void overwriteFile(Path sourceFile, Path targetFile)
+        throws IOException
+    {
+        try (FileChannel source = FileChannel.open(sourceFile, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(targetFile, StandardOpenOption.WRITE)) {
+            long size = source.size();
+            for (long position = 0; position < size; ) {
+                long count = target.transferFrom(source, position, size - position);
+                if (count <= 0) {
+                    throw new IOException("Can't write " + (size - position) + " bytes at " + position);
                 }
-                get(buffer, start + position);
-                if (bufferFromMap) {
-                    ((MappedByteBuffer) buffer).force();
-                    buffer = null;
-                } else {
-                    buffer.position(0);
-                    buffer.limit(partLength);
-                    channel.write(buffer, position);
+                position += count;
+            }
+            target.truncate(size);
+            target.force(true);
+        }
+    }
+
+
+    /**
+     * Copies permissions and group of the original file to the new file which replaces it.
+     * Temporary files are created with owner-only permissions.
+     */
+    private static void copyFileAttributes(@NotNull Path sourceFile, @NotNull Path targetFile)
+        throws IOException
+    {
+        PosixFileAttributeView sourceView = Files.getFileAttributeView(sourceFile, PosixFileAttributeView.class);
+        PosixFileAttributeView targetView = Files.getFileAttributeView(targetFile, PosixFileAttributeView.class);
+        if (sourceView == null || targetView == null) {
+            return;
+        }
+        PosixFileAttributes attributes = sourceView.readAttributes();
+        targetView.setPermissions(attributes.permissions());
+        try {
+            targetView.setGroup(attributes.group());
+        } catch (IOException e) {
+            // Group can be changed only by owner who is a member of the group
+            log.debug("Can't copy group of file '" + sourceFile + "'", e);
+        }
+    }
+
+
+    private void writeContent(Path destinationFile, long start, long length)
+        throws IOException
+    {
+        // Pieces are written one by one, file pieces are transferred by the channel without heap buffers
+        try (FileChannel channel = FileChannel.open(destinationFile,
+            StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long end = start + length;
+            initSubtreeTraversing(start, length);
+            while (tailTree.hasNext()) {
+                Range range = tailTree.next();
+                if (range.position >= end)
+                    break;
+                long from = Math.max(start, range.position);
+                long count = Math.min(end, range.exclusiveEnd()) - from;
+                long dataStart = range.dataOffset + from - range.position;
+                if (range.data instanceof BinaryFileData fileData) {
+                    fileData.transferTo(dataStart, count, channel);
+                } else if (range.data instanceof ByteBuffer buffer) {
+                    ByteBuffer src = buffer.duplicate();
+                    src.clear();
+                    src.limit((int) (dataStart + count));
+                    src.position((int) dataStart);
+                    while (src.hasRemaining()) {
+                        channel.write(src);
+                    }
                 }
             }
             channel.force(true);
-            channel.close();
-        }
-        finally {
-            ContentUtils.close(dst);
         }
+    }
 
-        return length;
+
+    private boolean isSourceFile(File aFile)
+    {
+        if (!aFile.exists()) {
+            return false;
+        }
+        for (BinaryFileData fileData : files) {
+            try {
+                if (Files.isSameFile(fileData.getFile(), aFile.toPath())) {
+                    return true;
+                }
+            } catch (IOException e) {
+                // Source file was removed
+            }
+        }
+        return false;
     }
 
 
@@ -610,12 +743,9 @@ public class BinaryContent {
             if (value instanceof ByteBuffer) {
                 ByteBuffer data = (ByteBuffer) value;
                 data.limit(data.capacity());
-                data.position((int) range.dataOffset);
-                result = data.get((int) (position - range.position)) & 0x0ff;
-            } else if (value instanceof RandomAccessFile) {
-                RandomAccessFile randomFile = (RandomAccessFile) value;
-                randomFile.seek(position);
-                result = randomFile.read();
+                result = data.get((int) (range.dataOffset + position - range.position)) & 0x0ff;
+            } else if (value instanceof BinaryFileData fileData) {
+                result = fileData.get(range.dataOffset + position - range.position);
             }
         }
 
@@ -705,7 +835,7 @@ public class BinaryContent {
         long fileLength = aFile.length();
         if (fileLength < 1L || position > length()) return;
 
-        Range newRange = new Range(position, aFile, true);
+        Range newRange = new Range(position, openFile(aFile), true);
         dirty = true;
         lastUpperNibblePosition = -1L;
         if (actions != null)
@@ -873,7 +1003,7 @@ public class BinaryContent {
         throws IOException
     {
         if (aFile.length() > 0L && position < length())
-            overwriteInternal(new Range(position, aFile, true));
+            overwriteInternal(new Range(position, openFile(aFile), true));
     }
 
 
@@ -48,8 +48,6 @@ import org.jkiss.dbeaver.utils.RuntimeUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.file.Files;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -207,17 +205,8 @@ public class BinaryEditor extends EditorPart implements ISelectionProvider, IMen
         }
         if (systemFile != null) {
             try {
-                final BinaryContent content;
-
-                if (RuntimeUtils.isLinux() || RuntimeUtils.isMacOS()) {
-                    // The implementation of hex editor may have two RandomAccessFile at the same time.
-                    // In such case, reading from one blocks file descriptor and the application hangs.
-                    // To avoid rewriting a big chunk of the editor, let's just pass a buffer instead.
-                    content = new BinaryContent();
-                    content.insert(ByteBuffer.wrap(Files.readAllBytes(systemFile.toPath())), 0);
-                } else {
-                    content = new BinaryContent(systemFile);
-                }
+                // Content maps file pages lazily, so large files are opened without reading them
+                BinaryContent content = new BinaryContent(systemFile);
 
                 manager.setContent(content, charset);
             } catch (IOException e) {
@@ -276,6 +265,7 @@ public class BinaryEditor extends EditorPart implements ISelectionProvider, IMen
             File systemFile = absolutePath.toFile();
             // Save to file
             try {
+                // Content reads the editor file, so the file is replaced with a new one
                 manager.getContent().get(systemFile);
             }
             catch (IOException e) {
@@ -288,7 +278,6 @@ public class BinaryEditor extends EditorPart implements ISelectionProvider, IMen
         }
     }
 
-
     /**
      * @see org.eclipse.ui.part.EditorPart#doSaveAs()
      */
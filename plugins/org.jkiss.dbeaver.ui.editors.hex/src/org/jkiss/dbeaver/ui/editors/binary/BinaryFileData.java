@@ -0,0 +1,177 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.dbeaver.Log;
+import org.jkiss.dbeaver.utils.RuntimeUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only file data of binary content.
+ * File is mapped by pages on first access, so opening doesn't depend on file size and data isn't copied into the heap.
+ * On Windows mapped files can't be replaced or deleted, so data is read with positional channel reads there,
+ * single bytes are read through a small page buffer.
+ */
+class BinaryFileData {
+
+    private static final Log log = Log.getLog(BinaryFileData.class);
+
+    private static final int PAGE_SHIFT = 26;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT; // 64Mb
+    private static final int READ_PAGE_SIZE = 1 << 16; // 64Kb
+
+    @NotNull
+    private final Path file;
+    @NotNull
+    private final FileChannel channel;
+    private final long length;
+    private final MappedByteBuffer[] pages;
+    private ByteBuffer readPage;
+    private long readPageOffset = -1;
+
+    BinaryFileData(@NotNull Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.length = channel.size();
+        this.pages = RuntimeUtils.isWindows() ? null : new MappedByteBuffer[(int) ((length + PAGE_SIZE - 1) >> PAGE_SHIFT)];
+    }
+
+    @NotNull
+    Path getFile() {
+        return file;
+    }
+
+    long length() {
+        return length;
+    }
+
+    /**
+     * Reads up to maxLength bytes starting at the given file offset into the buffer
+     *
+     * @return number of bytes read
+     */
+    int read(@NotNull ByteBuffer dst, long offset, int maxLength) throws IOException {
+        int toRead = (int) Math.min(Math.min(dst.remaining(), maxLength), length - offset);
+        if (toRead <= 0) {
+            return 0;
+        }
+        if (pages == null) {
+            return readChannel(dst, offset, toRead);
+        }
+        int total = 0;
+        while (total < toRead) {
+            long position = offset + total;
+            ByteBuffer page = getPage(position).duplicate();
+            int pageOffset = (int) (position & (PAGE_SIZE - 1));
+            int count = Math.min(toRead - total, page.capacity() - pageOffset);
+            page.limit(pageOffset + count).position(pageOffset);
+            dst.put(page);
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Reads byte at the given file offset
+     */
+    int get(long offset) throws IOException {
+        if (offset < 0 || offset >= length) {
+            return 0;
+        }
+        if (pages == null) {
+            return getFromReadPage(offset);
+        }
+        return getPage(offset).get((int) (offset & (PAGE_SIZE - 1))) & 0x0ff;
+    }
+
+    /**
+     * Writes file part into the target channel without copying it into the heap
+     */
+    void transferTo(long offset, long count, @NotNull WritableByteChannel target) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long result = channel.transferTo(offset + transferred, count - transferred, target);
+            if (result <= 0) {
+                throw new IOException("Can't read " + (count - transferred) + " bytes at " + (offset + transferred));
+            }
+            transferred += result;
+        }
+    }
+
+    void dispose() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Error closing binary file", e);
+        }
+    }
+
+    private int readChannel(@NotNull ByteBuffer dst, long offset, int count) throws IOException {
+        int limit = dst.limit();
+        dst.limit(dst.position() + count);
+        try {
+            int total = 0;
+            while (dst.hasRemaining()) {
+                int result = channel.read(dst, offset + total);
+                if (result < 0) {
+                    break;
+                }
+                total += result;
+            }
+            return total;
+        } finally {
+            dst.limit(limit);
+        }
+    }
+
+    private synchronized int getFromReadPage(long offset) throws IOException {
+        if (readPageOffset < 0 || offset < readPageOffset || offset >= readPageOffset + readPage.limit()) {
+            if (readPage == null) {
+                readPage = ByteBuffer.allocate(READ_PAGE_SIZE);
+            }
+            long pageStart = offset & ~(long) (READ_PAGE_SIZE - 1);
+            readPage.clear();
+            readPageOffset = -1;
+            readChannel(readPage, pageStart, (int) Math.min(READ_PAGE_SIZE, length - pageStart));
+            readPage.flip();
+            readPageOffset = pageStart;
+        }
+        int index = (int) (offset - readPageOffset);
+        return index < readPage.limit() ? readPage.get(index) & 0x0ff : 0;
+    }
+
+    @NotNull
+    private MappedByteBuffer getPage(long offset) throws IOException {
+        int index = (int) (offset >> PAGE_SHIFT);
+        MappedByteBuffer page = pages[index];
+        if (page == null) {
+            long pageStart = (long) index << PAGE_SHIFT;
+            page = channel.map(FileChannel.MapMode.READ_ONLY, pageStart, Math.min(PAGE_SIZE, length - pageStart));
+            pages[index] = page;
+        }
+        return page;
+    }
+
+}
@@ -1833,13 +1833,20 @@ public class HexEditControl extends Composite {
     }
 
     public void setContent(byte[] data, String charset, boolean notify)
+    {
+        setContent(ByteBuffer.wrap(data), charset, notify);
+    }
+
+    /**
+     * Sets content backed by the buffer. Buffer isn't copied or modified, so it may be a read-only mapping.
+     */
+    public void setContent(ByteBuffer data, String charset, boolean notify)
     {
         BinaryContent binaryContent = new BinaryContent();
         if (charset != null) {
             setCharset(charset);
         }
-        ByteBuffer byteBuffer = ByteBuffer.wrap(data);
-        binaryContent.insert(byteBuffer, 0);
+        binaryContent.insert(data, 0);
 
         setContentProvider(binaryContent, notify);
     }
@@ -36,6 +36,7 @@ import org.jkiss.dbeaver.ui.navigator.itemlist.DatabaseObjectListControl;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +46,8 @@ import java.util.Map;
 public class LockTable extends DatabaseObjectListControl<DBAServerLock> {
 
     private DBAServerLockManager<DBAServerLock,DBAServerLockItem> lockManager;
+    // Ids of shown locks with ids of their holders
+    private Map<Object, Object> shownLocks;
 
     public LockTable(Composite parent, int style, IWorkbenchSite site, DBAServerLockManager<DBAServerLock,DBAServerLockItem> lockManager)
     {
@@ -72,7 +75,7 @@ public class LockTable extends DatabaseObjectListControl<DBAServerLock> {
     {
         return LoadingJob.createService(
             new LoadLocksService(),
-            new ObjectsLoadVisualizer());
+            new LocksLoadVisualizer());
     }
 
     public LoadingJob<Void> createAlterService(DBAServerLock lock, Map<String, Object> options)
@@ -85,6 +88,34 @@ public class LockTable extends DatabaseObjectListControl<DBAServerLock> {
     public void init(DBAServerLockManager<DBAServerLock, DBAServerLockItem> lockManager)
     {
         this.lockManager = lockManager;
+        this.shownLocks = null;
+    }
+
+    /**
+     * Returns ids of locks with ids of their holders, or null if locks can't be identified
+     */
+    private static Map<Object, Object> getLocksState(Collection<DBAServerLock> locks) {
+        Map<Object, Object> state = new HashMap<>(locks.size());
+        for (DBAServerLock lock : locks) {
+            if (lock.getId() == null || state.containsKey(lock.getId())) {
+                return null;
+            }
+            state.put(lock.getId(), lock.getHoldID());
+        }
+        return state;
+    }
+
+    private class LocksLoadVisualizer extends ObjectsLoadVisualizer {
+        @Override
+        protected void afterCompleteLoading(@NotNull Collection<DBAServerLock> items) {
+            // Locks rarely change between auto refreshes. Keep the shown rows and the selection if they didn't.
+            Map<Object, Object> locksState = getLocksState(items);
+            if (locksState != null && locksState.equals(shownLocks)) {
+                return;
+            }
+            shownLocks = locksState;
+            super.afterCompleteLoading(items);
+        }
     }
 
     private static IStructuredContentProvider CONTENT_PROVIDER = new TreeContentProvider() { // Use Tree provider for the grouping elements support in ObjectListControl
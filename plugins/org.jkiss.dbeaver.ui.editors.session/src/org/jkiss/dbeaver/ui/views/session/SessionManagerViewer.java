@@ -124,7 +124,7 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
         sashMain = UIUtils.createPartDivider(workbenchPart, composite, SWT.VERTICAL | SWT.SMOOTH);
         sashMain.setLayoutData(new GridData(GridData.FILL_BOTH));
 
-        refreshControl = new AutoRefreshControl(sashMain, sessionManager.getClass().getSimpleName(), monitor -> UIUtils.syncExec(this::refreshSessions));
+        refreshControl = new AutoRefreshControl(sashMain, sessionManager.getClass().getSimpleName(), monitor -> UIUtils.syncExec(this::autoRefreshSessions));
 
         {
             sessionTable = new SessionListControl(sashMain, workbenchPart.getSite(), sessionManager);
@@ -383,7 +383,13 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
     }
 
     public void refreshSessions() {
-        sessionTable.loadData();
+        sessionTable.refreshSessions(false);
+        refreshControl.scheduleAutoRefresh(false);
+    }
+
+    private void autoRefreshSessions() {
+        // Auto refresh reads only changed sessions
+        sessionTable.refreshSessions(true);
         refreshControl.scheduleAutoRefresh(false);
     }
 
@@ -501,7 +507,7 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
                 @Override
                 public void run()
                 {
-                    refreshSessions();
+                    SessionManagerViewer.this.refreshSessions();
                 }
             });
         }
@@ -575,7 +581,7 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
             }
         }
 
-        private final class SessionLoadVisualizer extends ObjectsLoadVisualizer {
+        private final class SessionLoadVisualizer extends SessionsLoadVisualizer {
             @Override
             public void completeLoading(Collection<SESSION_TYPE> items) {
                 Collection<DBAServerSession> previouslySelectedSessions = getSelectedSessions();
@@ -590,11 +596,6 @@ public class SessionManagerViewer<SESSION_TYPE extends DBAServerSession>
                     }
                 }
             }
-
-            @Override
-            protected void afterCompleteLoading(@NotNull Collection<SESSION_TYPE> items) {
-                setListData(items, false, false, true);
-            }
         }
     }
 
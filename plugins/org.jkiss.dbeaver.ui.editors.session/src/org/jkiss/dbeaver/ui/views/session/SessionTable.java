@@ -27,6 +27,8 @@ import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBUtils;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSession;
 import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManager;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionManagerIncremental;
+import org.jkiss.dbeaver.model.admin.sessions.DBAServerSessionModel;
 import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
 import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
@@ -48,6 +50,11 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     private static final Log log = Log.getLog(SessionTable.class);
 
     private DBAServerSessionManager<SESSION_TYPE> sessionManager;
+    // Sessions shown in the table, used to update only changed rows
+    private final DBAServerSessionModel<SESSION_TYPE> sessionModel = new DBAServerSessionModel<>();
+    private volatile DBAServerSessionModel.Delta<SESSION_TYPE> lastDelta;
+    private boolean incrementalRefresh;
+    private volatile boolean incrementalReadFailed;
 
     SessionTable(Composite parent, int style, IWorkbenchSite site, DBAServerSessionManager<SESSION_TYPE> sessionManager)
     {
@@ -66,12 +73,30 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
         return "Sessions/" + sessionManager.getDataSource().getContainer().getDriver().getId();
     }
 
+    @NotNull
+    public DBAServerSessionModel<SESSION_TYPE> getSessionModel() {
+        return sessionModel;
+    }
+
+    /**
+     * Reloads sessions. Incremental refresh reads only sessions changed since the previous refresh
+     * if session manager supports it.
+     */
+    public void refreshSessions(boolean incremental) {
+        this.incrementalRefresh = incremental;
+        try {
+            loadData();
+        } finally {
+            this.incrementalRefresh = false;
+        }
+    }
+
     @Override
     protected LoadingJob<Collection<SESSION_TYPE>> createLoadService(boolean forUpdate)
     {
         return LoadingJob.createService(
             new LoadSessionsService(),
-            new ObjectsLoadVisualizer());
+            new SessionsLoadVisualizer());
     }
 
     LoadingJob<Void> createAlterService(List<SESSION_TYPE> sessions, Map<String, Object> options)
@@ -84,6 +109,8 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
     public void init(DBAServerSessionManager<SESSION_TYPE> sessionManager)
     {
         this.sessionManager = sessionManager;
+        this.sessionModel.clear();
+        this.incrementalReadFailed = false;
     }
 
     protected Map<String, Object> getSessionOptions() {
@@ -128,11 +155,25 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
 
     };
 
+    class SessionsLoadVisualizer extends ObjectsLoadVisualizer {
+        @Override
+        protected void afterCompleteLoading(@NotNull Collection<SESSION_TYPE> items) {
+            DBAServerSessionModel.Delta<SESSION_TYPE> delta = lastDelta;
+            lastDelta = null;
+            if (delta == null || delta.reset() || !updateListData(delta.added(), delta.removed(), delta.updated())) {
+                setListData(items, false, false, true);
+            }
+        }
+    }
+
     class LoadSessionsService extends DatabaseLoadService<Collection<SESSION_TYPE>> {
 
+        private final boolean incremental;
+
         LoadSessionsService()
         {
             super("Load sessions", sessionManager.getDataSource());
+            this.incremental = incrementalRefresh;
         }
 
         @Override
@@ -155,7 +196,22 @@ class SessionTable<SESSION_TYPE extends DBAServerSession> extends DatabaseObject
         
         private Collection<SESSION_TYPE> getSessions(DBRProgressMonitor monitor, DBCExecutionContext context) throws DBException {
             try (DBCSession session = context.openSession(monitor, DBCExecutionPurpose.UTIL, "Retrieve server sessions")) {
-                return sessionManager.getSessions(session, getSessionOptions());
+                if (incremental && !incrementalReadFailed &&
+                    sessionManager instanceof DBAServerSessionManagerIncremental<?> incrementalManager &&
+                    incrementalManager.supportsIncrementalRead()
+                ) {
+                    try {
+                        lastDelta = sessionModel.update(
+                            ((DBAServerSessionManagerIncremental<SESSION_TYPE>) incrementalManager).getSessionChanges(
+                                session, getSessionOptions(), sessionModel.getPollMark()));
+                        return sessionModel.getSessions();
+                    } catch (DBException e) {
+                        log.debug("Incremental sessions read failed, switching to full read", e);
+                        incrementalReadFailed = true;
+                    }
+                }
+                lastDelta = sessionModel.update(sessionManager.getSessions(session, getSessionOptions()));
+                return sessionModel.getSessions();
             }
         }
     }
@@ -58,6 +58,10 @@ public class SQLEditorMessages extends NLS {
     public static String editors_sql_explain_plan;
     public static String editors_sql_explain_refresh_plan_action_text;
     public static String editors_sql_explain_refresh_tree_viewer_plan_toggle_view_text;
+    public static String editors_sql_explain_show_plan_changes_action_text;
+    public static String editors_sql_explain_plan_cached_info;
+    public static String editors_sql_explain_plan_changed_info;
+    public static String editors_sql_explain_plan_changed_cost_info;
     public static String editors_sql_output;
     public static String editors_sql_output_tip;
     public static String editors_sql_warning_many_subtables_title;
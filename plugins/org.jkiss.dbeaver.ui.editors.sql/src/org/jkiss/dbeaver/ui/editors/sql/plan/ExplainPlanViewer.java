@@ -22,6 +22,7 @@ import org.eclipse.jface.action.IContributionManager;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StackLayout;
 import org.eclipse.swt.layout.GridData;
@@ -30,6 +31,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.ui.IWorkbenchPart;
+import org.jkiss.code.Nullable;
 import org.jkiss.dbeaver.DBException;
 import org.jkiss.dbeaver.Log;
 import org.jkiss.dbeaver.model.DBPContextProvider;
@@ -40,6 +42,7 @@ import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
 import org.jkiss.dbeaver.model.exec.DBCSession;
 import org.jkiss.dbeaver.model.exec.DBExecUtils;
 import org.jkiss.dbeaver.model.exec.plan.*;
+import org.jkiss.dbeaver.model.impl.plan.ExecutionPlanCache;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
 import org.jkiss.dbeaver.model.runtime.load.DatabaseLoadService;
 import org.jkiss.dbeaver.model.runtime.load.ILoadVisualizerExt;
@@ -52,6 +55,7 @@ import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.ProgressPageControl;
 import org.jkiss.dbeaver.ui.controls.VerticalButton;
 import org.jkiss.dbeaver.ui.controls.VerticalFolder;
+import org.jkiss.dbeaver.ui.dialogs.EditTextDialog;
 import org.jkiss.dbeaver.ui.editors.sql.SQLEditor;
 import org.jkiss.dbeaver.ui.editors.sql.SQLPlanSaveProvider;
 import org.jkiss.dbeaver.ui.editors.sql.SQLPlanViewProvider;
@@ -67,7 +71,9 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.lang.reflect.InvocationTargetException;
+import java.text.DateFormat;
 import java.util.Collections;
+import java.util.Date;
 
 /**
  * ResultSetViewer
@@ -76,6 +82,7 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
 {
     static final Log log = Log.getLog(ExplainPlanViewer.class);
     private LoadingJob<DBCPlan> explainService;
+    private ExplainPlanService planService;
 
     private static class PlanViewInfo {
         private SQLPlanViewDescriptor descriptor;
@@ -101,7 +108,9 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
     private int planNumber;
 
     private RefreshPlanAction refreshPlanAction;
-    
+    private ShowPlanChangesAction showPlanChangesAction;
+    private ExecutionPlanCache.PlanChange lastPlanChange;
+
     private String curFolder;
 
     public ExplainPlanViewer(final IWorkbenchPart workbenchPart, DBPContextProvider contextProvider, Composite parent, int planNumber)
@@ -112,6 +121,8 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
 
         this.refreshPlanAction = new RefreshPlanAction();
         this.refreshPlanAction.setEnabled(false);
+        this.showPlanChangesAction = new ShowPlanChangesAction();
+        this.showPlanChangesAction.setEnabled(false);
 
         this.planPresentationContainer = new ProgressControl(parent);
         this.planPresentationContainer.getLayout().numColumns = 2;
@@ -272,6 +283,10 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
 
     @Override
     public void refresh() {
+        refreshPlan(false);
+    }
+
+    private void refreshPlan(boolean forceRefresh) {
         DBCQueryPlanner planner;
         DBCExecutionContext executionContext = contextProvider.getExecutionContext();
         if (executionContext != null) {
@@ -284,8 +299,10 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
         if (planner == null) {
             DBWorkbench.getPlatformUI().showError("No SQL Plan","This datasource doesn't support execution plans");
         } else {
+            planService = new ExplainPlanService(planner, executionContext, lastQuery.getText(), lastQueryId);
+            planService.setForceRefresh(forceRefresh);
             explainService = LoadingJob.createService(
-                new ExplainPlanService(planner, executionContext, lastQuery.getText(), lastQueryId),
+                planService,
                 planPresentationContainer.createVisualizer());
             explainService.schedule();
         }
@@ -294,6 +311,7 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
     private void visualizePlan(DBCPlan plan) {
         this.lastPlan = plan;
         this.refreshPlanAction.setEnabled(true);
+        updatePlanInfo();
 
         for (PlanViewInfo viewInfo : getPlanViews()) {
             if (viewInfo.viewer != null) {
@@ -303,6 +321,28 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
         planPresentationContainer.refreshActions();
     }
 
+    private void updatePlanInfo() {
+        lastPlanChange = null;
+        String info = "";
+        if (planService != null) {
+            lastPlanChange = planService.getPlanChange();
+            if (planService.getCacheTimestamp() > 0) {
+                info = NLS.bind(
+                    SQLEditorMessages.editors_sql_explain_plan_cached_info,
+                    DateFormat.getTimeInstance().format(new Date(planService.getCacheTimestamp())));
+            } else if (lastPlanChange != null && lastPlanChange.isShapeChanged()) {
+                Double costDelta = lastPlanChange.getCostDelta();
+                info = costDelta == null ?
+                    SQLEditorMessages.editors_sql_explain_plan_changed_info :
+                    NLS.bind(
+                        SQLEditorMessages.editors_sql_explain_plan_changed_cost_info,
+                        String.format("%+.0f%%", costDelta * 100)); //$NON-NLS-1$
+            }
+        }
+        showPlanChangesAction.setEnabled(lastPlanChange != null && lastPlanChange.isShapeChanged());
+        planPresentationContainer.setInfo(info);
+    }
+
     @Override
     public void setInput(Object input) {
         if (activeViewInfo != null) {
@@ -336,6 +376,7 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
             if (activeViewInfo != null && activeViewInfo.viewer != null) {
                 activeViewInfo.planViewer.contributeActions(activeViewInfo.viewer, contributionManager, lastQuery, lastPlan);
             }
+            contributionManager.add(showPlanChangesAction);
             contributionManager.add(refreshPlanAction);
         }
 
@@ -380,6 +421,9 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
         private final String query;
         private final Object savedQueryId;
         private DBCPlan plan;
+        private boolean forceRefresh;
+        private long cacheTimestamp;
+        private ExecutionPlanCache.PlanChange planChange;
 
         ExplainPlanService(DBCQueryPlanner planner, DBCExecutionContext executionContext, String query, Object savedQueryId)
         {
@@ -390,6 +434,28 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
             this.savedQueryId = savedQueryId;
         }
 
+        /**
+         * Skips cached plan and reads the plan from the database
+         */
+        public void setForceRefresh(boolean forceRefresh) {
+            this.forceRefresh = forceRefresh;
+        }
+
+        /**
+         * Time when the cached plan was read or zero if the plan was read from the database
+         */
+        public long getCacheTimestamp() {
+            return cacheTimestamp;
+        }
+
+        /**
+         * Change since the previous plan of the same query
+         */
+        @Nullable
+        public ExecutionPlanCache.PlanChange getPlanChange() {
+            return planChange;
+        }
+
         @Override
         public DBCPlan evaluate(DBRProgressMonitor monitor)
             throws InvocationTargetException {
@@ -398,6 +464,20 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
                 if (configuration == null) {
                     return null;
                 }
+                ExecutionPlanCache planCache = null;
+                String cacheKey = null;
+                if (savedQueryId == null) {
+                    planCache = ExecutionPlanCache.getInstance();
+                    cacheKey = ExecutionPlanCache.makeKey(executionContext.getDataSource(), query, configuration);
+                    if (!forceRefresh && ExecutionPlanCache.REUSE_PERIOD > 0) {
+                        DBCPlan cachedPlan = planCache.getCachedPlan(planner, cacheKey, query, ExecutionPlanCache.REUSE_PERIOD * 1000);
+                        if (cachedPlan != null) {
+                            ExecutionPlanCache.Entry entry = planCache.getEntry(cacheKey);
+                            cacheTimestamp = entry == null ? System.currentTimeMillis() : entry.getTimestamp();
+                            return cachedPlan;
+                        }
+                    }
+                }
 
                 DBExecUtils.tryExecuteRecover(monitor, executionContext.getDataSource(), param -> {
                     try (DBCSession session = executionContext.openSession(monitor, DBCExecutionPurpose.UTIL, "Explain '" + query + "'")) {
@@ -412,6 +492,9 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
                         }
                     }
                 });
+                if (planCache != null && plan != null) {
+                    planChange = planCache.putPlan(planner, cacheKey, query, plan);
+                }
             } catch (Throwable ex) {
                 throw new InvocationTargetException(ex);
             }
@@ -429,7 +512,24 @@ public class ExplainPlanViewer extends Viewer implements IAdaptable
         @Override
         public void run()
         {
-            ExplainPlanViewer.this.refresh();
+            ExplainPlanViewer.this.refreshPlan(true);
+        }
+    }
+
+    private class ShowPlanChangesAction extends Action {
+        private ShowPlanChangesAction() {
+            super(SQLEditorMessages.editors_sql_explain_show_plan_changes_action_text, DBeaverIcons.getImageDescriptor(UIIcon.COMPARE));
+        }
+
+        @Override
+        public void run() {
+            if (lastPlanChange == null) {
+                return;
+            }
+            EditTextDialog.showText(
+                planPresentationContainer.getShell(),
+                SQLEditorMessages.editors_sql_explain_show_plan_changes_action_text,
+                String.join("\n", lastPlanChange.getDiff()));
         }
     }
 
@@ -80,7 +80,7 @@ public class DataSourceToolbarUtils {
 
             Color bgColor = dataSourceContainer == null ?
                 null :
-                UIUtils.getConnectionTypeColor(dataSourceContainer.getConnectionConfiguration().getConnectionType());
+                UIUtils.getConnectionTypeColor(dataSourceContainer.getConnectionType());
 
             for (MTrimElement element : topTrim.getChildren()) {
                 if (CONNECTION_SELECTOR_TOOLBAR_ID.equals(element.getElementId())) {
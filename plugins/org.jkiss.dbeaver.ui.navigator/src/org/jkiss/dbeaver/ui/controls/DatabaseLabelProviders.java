@@ -64,7 +64,7 @@ public class DatabaseLabelProviders {
 
         @Override
         public Color getBackground(Object element) {
-            return element == null ? null : UIUtils.getConnectionColor(((DBPDataSourceContainer) element).getConnectionConfiguration());
+            return element == null ? null : UIUtils.getConnectionColor((DBPDataSourceContainer) element);
         }
     }
 
@@ -95,7 +95,7 @@ public class DatabaseLabelProviders {
             if (element instanceof DBNDatabaseNode) {
                 final DBPDataSourceContainer container = ((DBNDatabaseNode) element).getDataSourceContainer();
                 if (container != null) {
-                    return UIUtils.getConnectionColor((container.getConnectionConfiguration()));
+                    return UIUtils.getConnectionColor(container);
                 }
             }
             return null;
@@ -155,7 +155,7 @@ public class DatabaseNavigatorLabelProvider extends ColumnLabelProvider implemen
         if (element instanceof DBNNode dbnNode)  {
             if (dbnNode instanceof DBNDataSource dbnDataSource) {
                 DBPDataSourceContainer ds = dbnDataSource.getDataSourceContainer();
-                Color bgColor = UIUtils.getConnectionColor(ds.getConnectionConfiguration());
+                Color bgColor = UIUtils.getConnectionColor(ds);
                 return bgColor == null ? null : UIStyles.getContrastColor(bgColor);
             }
             if (dbnNode.isLocked()) {
@@ -176,7 +176,7 @@ public class DatabaseNavigatorLabelProvider extends ColumnLabelProvider implemen
         if (element instanceof DBNDataSource dbnDataSource) {
             DBPDataSourceContainer ds = dbnDataSource.getDataSourceContainer();
             if (ds != null) {
-                return UIUtils.getConnectionColor(ds.getConnectionConfiguration());
+                return UIUtils.getConnectionColor(ds);
             }
         }
         return null;
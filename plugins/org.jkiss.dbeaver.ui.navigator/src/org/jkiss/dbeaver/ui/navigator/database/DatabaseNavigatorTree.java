@@ -62,6 +62,8 @@ import org.jkiss.utils.CommonUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 public class DatabaseNavigatorTree extends Composite implements INavigatorListener {
@@ -416,6 +418,38 @@ public class DatabaseNavigatorTree extends Composite implements INavigatorListen
         return (CheckboxTreeViewer) treeViewer;
     }
 
+    @Override
+    public void nodesChanged(@NotNull List<DBNEvent> events) {
+        // Each added or removed child refreshes its parent, so refresh every parent once per batch
+        Set<DBNNode> parentsToRefresh = new LinkedHashSet<>();
+        for (DBNEvent event : events) {
+            DBNNode parentNode = event.getNode().getParentNode();
+            if ((event.getAction() == DBNEvent.Action.ADD || event.getAction() == DBNEvent.Action.REMOVE) &&
+                event.getNodeChange() != DBNEvent.NodeChange.SELECT && parentNode != null
+            ) {
+                parentsToRefresh.add(parentNode);
+            } else {
+                refreshParentNodes(parentsToRefresh);
+                nodeChanged(event);
+            }
+        }
+        refreshParentNodes(parentsToRefresh);
+    }
+
+    private void refreshParentNodes(@NotNull Set<DBNNode> parentNodes) {
+        if (parentNodes.isEmpty()) {
+            return;
+        }
+        if (!treeViewer.getControl().isDisposed()) {
+            for (DBNNode parentNode : parentNodes) {
+                if (!parentNode.isDisposed()) {
+                    treeViewer.refresh(getViewerObject(parentNode));
+                }
+            }
+        }
+        parentNodes.clear();
+    }
+
     @Override
     public void nodeChanged(final DBNEvent event) {
         switch (event.getAction()) {
@@ -43,7 +43,7 @@ public class DefaultNavigatorNodeRenderer implements INavigatorItemRenderer {
         Object element = event.item.getData();
         if (element instanceof DBNDatabaseNode) {
             DBPDataSourceContainer ds = ((DBNDatabaseNode) element).getDataSourceContainer();
-            conColor = UIUtils.getConnectionColor(ds.getConnectionConfiguration());
+            conColor = UIUtils.getConnectionColor(ds);
         }
 
         if (conColor != null) {
@@ -324,6 +324,27 @@ public abstract class NodeListControl extends ObjectListControl<DBNNode>
         return super.createListPropertySource();
     }
 
+    @Override
+    public void nodesChanged(@NotNull List<DBNEvent> events) {
+        if (isDisposed()) {
+            return;
+        }
+        DBNNode rootNode = getRootNode();
+        for (DBNEvent event : events) {
+            DBNNode eventNode = event.getNode();
+            if ((event.getAction() != DBNEvent.Action.UPDATE || eventNode == rootNode) &&
+                (eventNode == rootNode || eventNode.isChildOf(rootNode))
+            ) {
+                // Reload the list once, it also updates all changed items
+                loadData(false, true);
+                return;
+            }
+        }
+        for (DBNEvent event : events) {
+            nodeChanged(event);
+        }
+    }
+
     @Override
     public void nodeChanged(final DBNEvent event) {
         if (isDisposed()) {
@@ -45,8 +45,11 @@ import org.jkiss.dbeaver.model.navigator.DBNNodeReference;
 import org.jkiss.dbeaver.model.preferences.DBPPropertyDescriptor;
 import org.jkiss.dbeaver.model.runtime.AbstractJob;
 import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.ParallelGroupProcessor;
+import org.jkiss.dbeaver.model.runtime.RunnableWithResult;
 import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.sql.SQLUtils;
+import org.jkiss.dbeaver.model.struct.DBSObject;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.runtime.properties.*;
 import org.jkiss.dbeaver.ui.*;
@@ -63,6 +66,7 @@ import org.jkiss.utils.CommonUtils;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -75,6 +79,9 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
 
     private final static LazyValue DEF_LAZY_VALUE = new LazyValue("..."); //$NON-NLS-1$
     private final static int LAZY_LOAD_DELAY = 100;
+    private final static int LAZY_LOAD_BATCH_SIZE = 50;
+    // Objects of different data sources are loaded in parallel, objects of one data source are loaded one by one
+    private final static int LAZY_LOAD_WORKERS = Integer.getInteger("dbeaver.navigator.lazyLoadWorkers", 4);
     private final static Object NULL_VALUE = new Object();
     private static final String EMPTY_STRING = "";
     private static final String EMPTY_GROUPING_LABEL = "<None>";
@@ -562,6 +569,68 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
         setInfo(getItemsLoadMessage(objectList.size()));
     }
 
+    /**
+     * Applies changes to the shown flat list without recreating columns and reloading the whole viewer.
+     * Updated objects replace shown objects which are equal to them.
+     *
+     * @return false if list wasn't shown yet and must be set with {@link #setListData}
+     */
+    protected boolean updateListData(
+        @NotNull Collection<OBJECT_TYPE> added,
+        @NotNull Collection<OBJECT_TYPE> removed,
+        @NotNull Collection<OBJECT_TYPE> updated
+    ) {
+        final Control itemsControl = itemsViewer.getControl();
+        if (itemsControl.isDisposed()) {
+            return true;
+        }
+        if (columnController == null || CommonUtils.isEmpty(objectList) ||
+            !(itemsViewer instanceof AbstractTreeViewer || itemsViewer instanceof AbstractTableViewer)) {
+            return false;
+        }
+        if (added.isEmpty() && removed.isEmpty() && updated.isEmpty()) {
+            return true;
+        }
+        itemsControl.setRedraw(false);
+        try {
+            if (!removed.isEmpty()) {
+                Set<OBJECT_TYPE> removedSet = new HashSet<>(removed);
+                objectList.removeIf(removedSet::contains);
+                if (itemsViewer instanceof AbstractTreeViewer treeViewer) {
+                    treeViewer.remove(removed.toArray());
+                } else if (itemsViewer instanceof AbstractTableViewer tableViewer) {
+                    tableViewer.remove(removed.toArray());
+                }
+            }
+            if (!updated.isEmpty()) {
+                Map<OBJECT_TYPE, Integer> positions = new HashMap<>(objectList.size());
+                for (int i = 0; i < objectList.size(); i++) {
+                    positions.put(objectList.get(i), i);
+                }
+                for (OBJECT_TYPE object : updated) {
+                    Integer position = positions.get(object);
+                    if (position != null) {
+                        objectList.set(position, object);
+                    }
+                }
+                // Viewer associates items with new objects
+                itemsViewer.update(updated.toArray(), null);
+            }
+            if (!added.isEmpty()) {
+                objectList.addAll(added);
+                if (itemsViewer instanceof AbstractTreeViewer treeViewer) {
+                    treeViewer.add(treeViewer.getInput(), added.toArray());
+                } else if (itemsViewer instanceof AbstractTableViewer tableViewer) {
+                    tableViewer.add(added.toArray());
+                }
+            }
+        } finally {
+            itemsControl.setRedraw(true);
+        }
+        setInfo(getItemsLoadMessage(objectList.size()));
+        return true;
+    }
+
     protected List<OBJECT_TYPE> createViewerInput(Collection<OBJECT_TYPE> objectList) {
         return new ArrayList<>(objectList);
     }
@@ -1319,60 +1388,54 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
         @Override
         protected IStatus run(final DBRProgressMonitor monitor) {
             final Map<OBJECT_TYPE, List<ObjectColumn>> objectMap = obtainLazyObjects();
-            if (isDisposed()) {
+            if (objectMap == null || isDisposed()) {
                 return Status.OK_STATUS;
             }
-            monitor.beginTask(UINavigatorMessages.controls_object_list_monitor_load_lazy_props, objectMap.size());
-            for (Map.Entry<OBJECT_TYPE, List<ObjectColumn>> entry : objectMap.entrySet()) {
-                if (monitor.isCanceled() || isDisposed()) {
-                    break;
-                }
-                final OBJECT_TYPE element = entry.getKey();
-                Object object = getObjectValue(element);
-                if (object == null) {
-                    continue;
-                }
-                Map<String, Object> objectCache;
-                synchronized (lazyCache) {
-                    objectCache = lazyCache.get(element);
-                    if (objectCache == null) {
-                        objectCache = new HashMap<>();
-                        lazyCache.put(element, objectCache);
-                    }
-                }
-                String objectName = GeneralUtils.makeDisplayString(getObjectValue(element)).toString();
-                monitor.subTask(NLS.bind(UINavigatorMessages.controls_object_list_monitor_load_props, objectName));
-                for (ObjectColumn column : entry.getValue()) {
+            final List<OBJECT_TYPE> elements = new ArrayList<>(objectMap.keySet());
+            moveVisibleElementsFirst(elements);
+            monitor.beginTask(UINavigatorMessages.controls_object_list_monitor_load_lazy_props, elements.size());
+            loadPropertiesInBulk(monitor, elements, objectMap);
+            ExecutorService executor = null;
+            try {
+                for (int i = 0; i < elements.size(); i += LAZY_LOAD_BATCH_SIZE) {
                     if (monitor.isCanceled() || isDisposed()) {
                         break;
                     }
-                    ObjectPropertyDescriptor prop = getPropertyByObject(column, object);
-                    if (prop != null) {
-                        try {
-                            synchronized (lazyCache) {
-                                if (objectCache.containsKey(prop.getId())) {
-                                    // This property already cached
-                                    continue;
-                                }
-                            }
-                            Object lazyValue = prop.readValue(object, monitor, false);
-                            if (lazyValue == null) {
-                                lazyValue = NULL_VALUE;
-                            }
-                            synchronized (lazyCache) {
-                                objectCache.put(prop.getId(), lazyValue);
+                    final List<OBJECT_TYPE> batch = elements.subList(i, Math.min(i + LAZY_LOAD_BATCH_SIZE, elements.size()));
+                    final Collection<List<OBJECT_TYPE>> groups = groupByDataSource(batch);
+                    if (groups.size() > 1 && LAZY_LOAD_WORKERS > 1) {
+                        if (executor == null) {
+                            executor = Executors.newFixedThreadPool(LAZY_LOAD_WORKERS, runnable -> {
+                                Thread thread = new Thread(runnable, "Object properties loader");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                        }
+                        // Each worker reads properties with its own monitor
+                        ParallelGroupProcessor.processGroups(monitor, executor, LAZY_LOAD_WORKERS, groups, (workerMonitor, element) -> {
+                            if (!isDisposed()) {
+                                loadObjectProperties(workerMonitor, element, objectMap.get(element));
                             }
-                        } catch (Throwable e) {
-                            if (e instanceof InvocationTargetException) {
-                                e = ((InvocationTargetException) e).getTargetException();
+                        });
+                    } else {
+                        for (OBJECT_TYPE element : batch) {
+                            if (monitor.isCanceled() || isDisposed()) {
+                                break;
                             }
-                            log.error("Error reading property '" + prop.getId() + "' from " + object, e); //$NON-NLS-1$ //$NON-NLS-2$
-                            // do not return error - it causes a lot of error boxes
-                            //return RuntimeUtils.makeExceptionStatus(e);
+                            loadObjectProperties(monitor, element, objectMap.get(element));
                         }
                     }
+                    // Show loaded values before the rest of objects are loaded
+                    UIUtils.asyncExec(() -> {
+                        if (!isDisposed()) {
+                            itemsViewer.update(batch.toArray(), null);
+                        }
+                    });
+                }
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
                 }
-                monitor.worked(1);
             }
             monitor.done();
             if (!isDisposed()) {
@@ -1390,6 +1453,163 @@ public abstract class ObjectListControl<OBJECT_TYPE> extends ProgressPageControl
             }
             return Status.OK_STATUS;
         }
+
+        /**
+         * Objects painted in the visible part of the table are loaded first
+         */
+        private void moveVisibleElementsFirst(@NotNull List<OBJECT_TYPE> elements) {
+            final Set<Object> visibleElements = UIUtils.syncExec(new RunnableWithResult<>() {
+                @Override
+                public Set<Object> runWithResult() {
+                    return getVisibleElements();
+                }
+            });
+            if (CommonUtils.isEmpty(visibleElements)) {
+                return;
+            }
+            final List<OBJECT_TYPE> visible = new ArrayList<>();
+            final List<OBJECT_TYPE> other = new ArrayList<>();
+            for (OBJECT_TYPE element : elements) {
+                (visibleElements.contains(element) ? visible : other).add(element);
+            }
+            elements.clear();
+            elements.addAll(visible);
+            elements.addAll(other);
+        }
+
+        /**
+         * Reads properties of many objects at once if objects container supports it
+         */
+        private void loadPropertiesInBulk(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull List<OBJECT_TYPE> elements,
+            @NotNull Map<OBJECT_TYPE, List<ObjectColumn>> objectMap
+        ) {
+            final Map<DBPLazyPropertiesLoader, Map<String, List<DBSObject>>> loaders = new IdentityHashMap<>();
+            for (OBJECT_TYPE element : elements) {
+                if (!(getObjectValue(element) instanceof DBSObject object) ||
+                    !(DBUtils.getPublicObject(object.getParentObject()) instanceof DBPLazyPropertiesLoader loader)
+                ) {
+                    continue;
+                }
+                for (ObjectColumn column : objectMap.get(element)) {
+                    ObjectPropertyDescriptor prop = getPropertyByObject(column, object);
+                    if (prop != null && !isPropertyCached(element, prop)) {
+                        loaders.computeIfAbsent(loader, k -> new LinkedHashMap<>())
+                            .computeIfAbsent(prop.getId(), k -> new ArrayList<>())
+                            .add(object);
+                    }
+                }
+            }
+            for (Map.Entry<DBPLazyPropertiesLoader, Map<String, List<DBSObject>>> entry : loaders.entrySet()) {
+                for (Map.Entry<String, List<DBSObject>> propEntry : entry.getValue().entrySet()) {
+                    if (monitor.isCanceled() || isDisposed()) {
+                        return;
+                    }
+                    if (propEntry.getValue().size() < 2) {
+                        continue;
+                    }
+                    try {
+                        entry.getKey().loadLazyProperties(monitor, propEntry.getKey(), propEntry.getValue());
+                    } catch (Throwable e) {
+                        log.debug("Error reading property '" + propEntry.getKey() + "' of " + propEntry.getValue().size() + " objects", e);
+                    }
+                }
+            }
+        }
+
+        @NotNull
+        private Collection<List<OBJECT_TYPE>> groupByDataSource(@NotNull List<OBJECT_TYPE> elements) {
+            final Map<Object, List<OBJECT_TYPE>> groups = new LinkedHashMap<>();
+            for (OBJECT_TYPE element : elements) {
+                Object key = null;
+                if (getObjectValue(element) instanceof DBSObject object && object.getDataSource() != null) {
+                    key = object.getDataSource().getContainer();
+                }
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+            }
+            return groups.values();
+        }
+
+        private void loadObjectProperties(
+            @NotNull DBRProgressMonitor monitor,
+            @NotNull OBJECT_TYPE element,
+            @NotNull List<ObjectColumn> columns
+        ) {
+            Object object = getObjectValue(element);
+            if (object == null) {
+                return;
+            }
+            Map<String, Object> objectCache;
+            synchronized (lazyCache) {
+                objectCache = lazyCache.computeIfAbsent(element, k -> new HashMap<>());
+            }
+            String objectName = GeneralUtils.makeDisplayString(object).toString();
+            monitor.subTask(NLS.bind(UINavigatorMessages.controls_object_list_monitor_load_props, objectName));
+            for (ObjectColumn column : columns) {
+                if (monitor.isCanceled() || isDisposed()) {
+                    break;
+                }
+                ObjectPropertyDescriptor prop = getPropertyByObject(column, object);
+                if (prop != null) {
+                    try {
+                        synchronized (lazyCache) {
+                            if (objectCache.containsKey(prop.getId())) {
+                                // This property already cached
+                                continue;
+                            }
+                        }
+                        Object lazyValue = prop.readValue(object, monitor, false);
+                        if (lazyValue == null) {
+                            lazyValue = NULL_VALUE;
+                        }
+                        synchronized (lazyCache) {
+                            objectCache.put(prop.getId(), lazyValue);
+                        }
+                    } catch (Throwable e) {
+                        if (e instanceof InvocationTargetException) {
+                            e = ((InvocationTargetException) e).getTargetException();
+                        }
+                        log.error("Error reading property '" + prop.getId() + "' from " + object, e); //$NON-NLS-1$ //$NON-NLS-2$
+                        // do not return error - it causes a lot of error boxes
+                        //return RuntimeUtils.makeExceptionStatus(e);
+                    }
+                }
+            }
+            monitor.worked(1);
+        }
+
+        private boolean isPropertyCached(@NotNull OBJECT_TYPE element, @NotNull ObjectPropertyDescriptor prop) {
+            synchronized (lazyCache) {
+                Map<String, Object> objectCache = lazyCache.get(element);
+                return objectCache != null && objectCache.containsKey(prop.getId());
+            }
+        }
+    }
+
+    /**
+     * Returns elements of rows in the visible part of the table. Must be called in UI thread.
+     */
+    @NotNull
+    private Set<Object> getVisibleElements() {
+        final Set<Object> elements = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (isDisposed() || !(itemsViewer instanceof TableViewer)) {
+            return elements;
+        }
+        final Table table = getTable();
+        final int itemHeight = table.getItemHeight();
+        if (itemHeight <= 0) {
+            return elements;
+        }
+        final int topIndex = table.getTopIndex();
+        final int lastIndex = Math.min(table.getItemCount(), topIndex + table.getClientArea().height / itemHeight + 1);
+        for (int i = topIndex; i < lastIndex; i++) {
+            Object data = table.getItem(i).getData();
+            if (data != null) {
+                elements.add(data);
+            }
+        }
+        return elements;
     }
 
     protected void addColumnConfigAction(IContributionManager contributionManager) {
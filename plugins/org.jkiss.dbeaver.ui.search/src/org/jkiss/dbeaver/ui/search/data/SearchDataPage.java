@@ -60,11 +60,16 @@ public class SearchDataPage extends AbstractSearchPage {
     private static final String PROP_SEARCH_NUMBERS = "search.data.search-numbers"; //$NON-NLS-1$
     private static final String PROP_SEARCH_LOBS = "search.data.search-lobs"; //$NON-NLS-1$
     private static final String PROP_SEARCH_FOREIGN = "search.data.search-foreign"; //$NON-NLS-1$
+    private static final String PROP_MAX_THREADS = "search.data.max-threads"; //$NON-NLS-1$
+    private static final String PROP_MAX_MATCHES = "search.data.max-matches"; //$NON-NLS-1$
     private static final String PROP_HISTORY = "search.data.history"; //$NON-NLS-1$
 
     private static final String PROP_SOURCES = "search.data.object-source"; //$NON-NLS-1$
     private static final String PROP_SHOW_CONNECTED = "search.data.show-connected-only"; //$NON-NLS-1$
 
+    private static final int DEFAULT_MAX_THREADS = 4;
+    private static final int MAX_THREADS = 16;
+
     private Combo searchText;
 
     private SearchDataParams params = new SearchDataParams();
@@ -216,6 +221,27 @@ public class SearchDataPage extends AbstractSearchPage {
             maxResultsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
             maxResultsSpinner.addModifyListener(e -> params.maxResults = maxResultsSpinner.getSelection());
 
+            if (params.maxThreads <= 0) {
+                params.maxThreads = DEFAULT_MAX_THREADS;
+            }
+            final Spinner maxThreadsSpinner = UIUtils.createLabelSpinner(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_spinner_max_threads,
+                UISearchMessages.dialog_data_search_spinner_max_threads_tip, params.maxThreads,
+                1,
+                MAX_THREADS);
+            maxThreadsSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            maxThreadsSpinner.addModifyListener(e -> params.maxThreads = maxThreadsSpinner.getSelection());
+
+            final Spinner maxMatchesSpinner = UIUtils.createLabelSpinner(
+                optionsGroup2,
+                UISearchMessages.dialog_data_search_spinner_max_matches,
+                UISearchMessages.dialog_data_search_spinner_max_matches_tip, params.maxMatches,
+                0,
+                Integer.MAX_VALUE);
+            maxMatchesSpinner.setLayoutData(new GridData(GridData.HORIZONTAL_ALIGN_BEGINNING));
+            maxMatchesSpinner.addModifyListener(e -> params.maxMatches = maxMatchesSpinner.getSelection());
+
             final Button caseCheckbox = UIUtils.createCheckbox(
                 optionsGroup2,
                 UISearchMessages.dialog_search_objects_case_sensitive,
@@ -321,6 +347,8 @@ public class SearchDataPage extends AbstractSearchPage {
         params.searchLOBs = store.getBoolean(PROP_SEARCH_LOBS);
         params.searchForeignObjects = store.getBoolean(PROP_SEARCH_FOREIGN);
         params.maxResults = store.getInt(PROP_SAMPLE_ROWS);
+        params.maxThreads = store.getInt(PROP_MAX_THREADS);
+        params.maxMatches = store.getInt(PROP_MAX_MATCHES);
         for (int i = 0; ; i++) {
             String history = store.getString(PROP_HISTORY + "." + i); //$NON-NLS-1$
             if (CommonUtils.isEmpty(history)) {
@@ -345,6 +373,8 @@ public class SearchDataPage extends AbstractSearchPage {
         store.setValue(PROP_MASK, params.searchString);
         store.setValue(PROP_CASE_SENSITIVE, params.caseSensitive);
         store.setValue(PROP_SAMPLE_ROWS, params.maxResults);
+        store.setValue(PROP_MAX_THREADS, params.maxThreads);
+        store.setValue(PROP_MAX_MATCHES, params.maxMatches);
         store.setValue(PROP_FAST_SEARCH, params.fastSearch);
         store.setValue(PROP_SEARCH_NUMBERS, params.searchNumbers);
         store.setValue(PROP_SEARCH_LOBS, params.searchLOBs);
@@ -35,6 +35,8 @@ public class SearchDataParams {
     boolean searchLOBs;
     boolean searchForeignObjects;
     int maxResults;
+    int maxThreads; // Per data source
+    int maxMatches; // Stop after this number of tables with matches, 0 - unlimited
     List<DBNNode> selectedNodes = new ArrayList<>();
 
     public SearchDataParams()
@@ -105,6 +107,22 @@ public class SearchDataParams {
         this.maxResults = maxResults;
     }
 
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public int getMaxMatches() {
+        return maxMatches;
+    }
+
+    public void setMaxMatches(int maxMatches) {
+        this.maxMatches = maxMatches;
+    }
+
     public List<DBNNode> getSelectedNodes() {
         return selectedNodes;
     }
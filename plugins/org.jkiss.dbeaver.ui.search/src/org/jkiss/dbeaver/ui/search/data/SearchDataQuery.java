@@ -42,6 +42,7 @@ import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
 import org.jkiss.dbeaver.model.struct.DBSDataContainer;
 import org.jkiss.dbeaver.model.struct.DBSEntity;
 import org.jkiss.dbeaver.model.struct.DBSEntityAttribute;
+import org.jkiss.dbeaver.model.struct.DBSInstance;
 import org.jkiss.dbeaver.runtime.DBWorkbench;
 import org.jkiss.dbeaver.ui.UIUtils;
 import org.jkiss.dbeaver.ui.controls.resultset.IResultSetController;
@@ -55,6 +56,8 @@ import org.jkiss.utils.CommonUtils;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SearchDataQuery implements ISearchQuery {
 
@@ -62,6 +65,8 @@ public class SearchDataQuery implements ISearchQuery {
 
     private final SearchDataParams params;
     private SearchDataResult searchResult;
+    private final AtomicInteger matchedObjects = new AtomicInteger();
+    private volatile boolean searchStopped;
 
     private SearchDataQuery(SearchDataParams params)
     {
@@ -97,37 +102,48 @@ public class SearchDataQuery implements ISearchQuery {
         try {
             String searchString = params.getSearchString();
 
+            DBRProgressMonitor monitor = new DefaultProgressMonitor(m);
+
             //monitor.subTask("Collect tables");
-            Set<DBPDataSource> dataSources = new HashSet<>();
-            for (DBSDataContainer searcher : params.sources) {
-                dataSources.add(searcher.getDataSource());
+            Map<DBPDataSource, List<DBSDataContainer>> dataSourceContainers = new LinkedHashMap<>();
+            for (DBSDataContainer dataContainer : params.sources) {
+                if (!params.searchForeignObjects && dataContainer instanceof DBPForeignObject fo && fo.isForeignObject()) {
+                    continue;
+                }
+                dataSourceContainers.computeIfAbsent(dataContainer.getDataSource(), ds -> new ArrayList<>()).add(dataContainer);
+            }
+            for (List<DBSDataContainer> containers : dataSourceContainers.values()) {
+                sortContainersBySize(monitor, containers);
             }
 
             // Search
             DBNModel dbnModel = DBWorkbench.getPlatform().getNavigatorModel();
 
-            DBRProgressMonitor monitor = new DefaultProgressMonitor(m);
-
-            int totalObjects = 0;
+            searchStopped = false;
+            matchedObjects.set(0);
 
             monitor.beginTask(
-                "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSources.size() + " database(s)",
+                "Search \"" + searchString + "\" in " + params.sources.size() + " table(s) / " + dataSourceContainers.size() + " database(s)",
                 params.sources.size());
             try {
-                for (DBSDataContainer dataContainer : params.sources) {
-                    if (monitor.isCanceled()) {
-                        break;
-                    }
-                    if (searchDataInContainer(monitor, dbnModel, dataContainer)) {
-                        totalObjects++;
+                if (params.maxThreads <= 1) {
+                    for (List<DBSDataContainer> containers : dataSourceContainers.values()) {
+                        for (DBSDataContainer dataContainer : containers) {
+                            if (monitor.isCanceled() || searchStopped) {
+                                break;
+                            }
+                            searchDataInContainer(monitor, dbnModel, dataContainer, null);
+                            monitor.worked(1);
+                        }
                     }
-                    monitor.worked(1);
+                } else {
+                    searchDataInParallel(monitor, dbnModel, dataSourceContainers.values());
                 }
             } finally {
                 monitor.done();
             }
 
-            searchResult.fireChange(new AbstractSearchResult.DatabaseSearchFinishEvent(searchResult, totalObjects));
+            searchResult.fireChange(new AbstractSearchResult.DatabaseSearchFinishEvent(searchResult, matchedObjects.get()));
 
             return Status.OK_STATUS;
         } catch (Exception e) {
@@ -135,21 +151,135 @@ public class SearchDataQuery implements ISearchQuery {
         }
     }
 
-    private boolean searchDataInContainer(DBRProgressMonitor monitor, DBNModel dbnModel, DBSDataContainer dataContainer) {
-        if (!params.searchForeignObjects && dataContainer instanceof DBPForeignObject && ((DBPForeignObject) dataContainer).isForeignObject()) {
-            return false;
+    /**
+     * Runs search with up to maxThreads workers per data source.
+     * Each worker searches in its own isolated execution context, so slow tables do not block the others.
+     */
+    private void searchDataInParallel(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBNModel dbnModel,
+        @NotNull Collection<List<DBSDataContainer>> dataSourceContainers
+    ) throws InterruptedException {
+        List<Runnable> workers = new ArrayList<>();
+        for (List<DBSDataContainer> containers : dataSourceContainers) {
+            Queue<DBSDataContainer> queue = new ConcurrentLinkedQueue<>(containers);
+            int workerCount = Math.min(params.maxThreads, containers.size());
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(() -> searchDataInQueue(monitor, dbnModel, queue));
+            }
+        }
+        if (workers.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size(), runnable -> {
+            Thread thread = new Thread(runnable, "Data search worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Runnable worker : workers) {
+                executor.execute(worker);
+            }
+            executor.shutdown();
+            while (!executor.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                if (monitor.isCanceled()) {
+                    searchStopped = true;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void searchDataInQueue(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBNModel dbnModel,
+        @NotNull Queue<DBSDataContainer> queue
+    ) {
+        // Containers of one data source may belong to different instances (e.g. PostgreSQL databases)
+        Map<DBSInstance, DBCExecutionContext> contexts = new HashMap<>();
+        try {
+            for (DBSDataContainer dataContainer = queue.poll(); dataContainer != null; dataContainer = queue.poll()) {
+                if (monitor.isCanceled() || searchStopped) {
+                    break;
+                }
+                DBCExecutionContext context = null;
+                DBSInstance instance = DBUtils.getObjectOwnerInstance(dataContainer);
+                if (instance != null) {
+                    context = contexts.get(instance);
+                    if (context == null) {
+                        try {
+                            context = instance.openIsolatedContext(
+                                monitor, "Data search", DBUtils.getDefaultContext(dataContainer, false));
+                            contexts.put(instance, context);
+                        } catch (DBException e) {
+                            log.debug("Can't open isolated context for data search, use default context", e);
+                        }
+                    }
+                }
+                searchDataInContainer(monitor, dbnModel, dataContainer, context);
+                synchronized (monitor) {
+                    monitor.worked(1);
+                }
+            }
+        } finally {
+            for (DBCExecutionContext context : contexts.values()) {
+                try {
+                    context.close();
+                } catch (Throwable e) {
+                    log.debug("Error closing data search context", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts smaller tables first: they are searched fast, so the first results appear early.
+     * Table size estimates come from object statistics, tables without statistics go last.
+     */
+    private static void sortContainersBySize(@NotNull DBRProgressMonitor monitor, @NotNull List<DBSDataContainer> containers) {
+        Set<DBPObjectStatisticsCollector> collectors = new LinkedHashSet<>();
+        for (DBSDataContainer dataContainer : containers) {
+            if (dataContainer.getParentObject() instanceof DBPObjectStatisticsCollector collector && !collector.isStatisticsCollected()) {
+                collectors.add(collector);
+            }
+        }
+        for (DBPObjectStatisticsCollector collector : collectors) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            try {
+                collector.collectObjectStatistics(monitor, false, false);
+            } catch (DBException e) {
+                log.debug("Error reading table statistics", e);
+            }
         }
+        containers.sort(Comparator.comparingLong(dataContainer ->
+            dataContainer instanceof DBPObjectStatistics statistics && statistics.hasStatistics() ?
+                statistics.getStatObjectSize() : Long.MAX_VALUE));
+    }
 
+    private void searchDataInContainer(
+        @NotNull DBRProgressMonitor monitor,
+        @NotNull DBNModel dbnModel,
+        @NotNull DBSDataContainer dataContainer,
+        @Nullable DBCExecutionContext context
+    ) {
         String objectName = DBUtils.getObjectFullName(dataContainer, DBPEvaluationContext.DML);
         DBNDatabaseNode node = dbnModel.getNodeByObject(monitor, dataContainer, false);
         if (node == null) {
             log.warn("Can't find tree node for object \"" + objectName + "\"");
-            return false;
+            return;
+        }
+        synchronized (monitor) {
+            monitor.subTask("Search in '" + objectName + "'");
         }
-        monitor.subTask("Search in '" + objectName + "'");
         log.debug("Search in '" + objectName + "'");
         SearchTableMonitor searchMonitor = new SearchTableMonitor(monitor);
-        try (DBCSession session = DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName)) {
+        try (DBCSession session = context == null ?
+            DBUtils.openUtilSession(searchMonitor, dataContainer, "Search rows in " + objectName) :
+            context.openSession(searchMonitor, DBCExecutionPurpose.UTIL, "Search rows in " + objectName))
+        {
             TestDataReceiver dataReceiver = new TestDataReceiver(searchMonitor);
             try {
                 findRows(session, dataContainer, dataReceiver);
@@ -161,13 +291,17 @@ public class SearchDataQuery implements ISearchQuery {
 
             if (dataReceiver.rowCount > 0) {
                 SearchDataObject object = new SearchDataObject(node, dataReceiver.rowCount, dataReceiver.filter);
-                searchResult.addObjects(Collections.singletonList(object));
-                return true;
+                synchronized (searchResult) {
+                    searchResult.addObjects(Collections.singletonList(object));
+                }
+                if (matchedObjects.incrementAndGet() >= params.maxMatches && params.maxMatches > 0) {
+                    // Enough tables found
+                    searchStopped = true;
+                }
             }
         } catch (DBCException e) {
             log.error("Error searching data in container", e);
         }
-        return false;
     }
 
     private DBCStatistics findRows(
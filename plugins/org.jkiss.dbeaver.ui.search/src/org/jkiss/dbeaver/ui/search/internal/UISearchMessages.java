@@ -47,6 +47,10 @@ public class UISearchMessages extends NLS {
     public static String dialog_data_search_control_group_settings;
     public static String dialog_data_search_spinner_max_results;
     public static String dialog_data_search_spinner_max_results_tip;
+    public static String dialog_data_search_spinner_max_threads;
+    public static String dialog_data_search_spinner_max_threads_tip;
+    public static String dialog_data_search_spinner_max_matches;
+    public static String dialog_data_search_spinner_max_matches_tip;
     public static String dialog_data_search_checkbox_case_sensitive_tip;
     public static String dialog_data_search_checkbox_fast_search;
     public static String dialog_data_search_checkbox_fast_search_tip;
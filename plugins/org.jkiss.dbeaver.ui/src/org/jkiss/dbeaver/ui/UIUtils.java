@@ -2052,9 +2052,19 @@ public class UIUtils {
     }
 
     public static Color getConnectionColor(DBPConnectionConfiguration connectionInfo) {
-        String rgbString = connectionInfo.getConnectionColor();
+        return getConnectionColor(connectionInfo.getConnectionColor(), connectionInfo.getConnectionType());
+    }
+
+    /**
+     * Returns connection color. Doesn't load connection configuration of the data source.
+     */
+    public static Color getConnectionColor(@NotNull DBPDataSourceContainer dataSourceContainer) {
+        return getConnectionColor(dataSourceContainer.getConnectionColor(), dataSourceContainer.getConnectionType());
+    }
+
+    private static Color getConnectionColor(@Nullable String rgbString, @NotNull DBPConnectionType connectionType) {
         if (CommonUtils.isEmpty(rgbString)) {
-            rgbString = connectionInfo.getConnectionType().getColor();
+            rgbString = connectionType.getColor();
         }
         if (CommonUtils.isEmpty(rgbString)) {
             return null;
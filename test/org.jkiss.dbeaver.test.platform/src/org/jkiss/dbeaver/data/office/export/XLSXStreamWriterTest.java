@@ -0,0 +1,88 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.data.office.export;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Date;
+import java.util.zip.Deflater;
+
+public class XLSXStreamWriterTest extends DBeaverUnitTest {
+
+    // More than one row batch
+    private static final int ROW_COUNT = 2500;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteWorkbookReadableByPOI() throws Exception {
+        Date date = new Date(1700000000000L);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        XLSXStreamWriter writer = new XLSXStreamWriter(folder.getRoot().toPath(), Deflater.DEFAULT_COMPRESSION, "thin", "b", null);
+        try {
+            int headerStyle = writer.getStyle(true, false, null);
+            int cellStyle = writer.getStyle(false, false, "255,0,0");
+            int dateStyle = writer.getStyle(false, true, null);
+            int[] styles = {cellStyle, cellStyle, dateStyle, cellStyle, cellStyle};
+
+            XLSXStreamWriter.Sheet data = writer.createSheet("Data & <more>");
+            XLSXStreamWriter.Sheet other = writer.createSheet("Other");
+            data.addRow(new Object[]{"#", "Text", "Date", "Flag", "Empty"}, new int[]{headerStyle, headerStyle, headerStyle, headerStyle, headerStyle});
+            for (int i = 1; i <= ROW_COUNT; i++) {
+                data.addRow(new Object[]{i, "value <" + i + "> & \"quoted\"", date, i % 2 == 0, null}, styles);
+                // Rows of different sheets are interleaved
+                other.addRow(new Object[]{i * 0.5}, new int[]{cellStyle});
+            }
+            writer.write(buffer);
+        } finally {
+            writer.dispose();
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(buffer.toByteArray()))) {
+            Assert.assertEquals(2, workbook.getNumberOfSheets());
+            XSSFSheet data = workbook.getSheetAt(0);
+            Assert.assertEquals("Data & <more>", data.getSheetName());
+            Assert.assertEquals(ROW_COUNT, data.getLastRowNum());
+            Assert.assertEquals("Text", data.getRow(0).getCell(1).getStringCellValue());
+            Assert.assertTrue(data.getRow(0).getCell(0).getCellStyle().getFont().getBold());
+
+            XSSFRow lastRow = data.getRow(ROW_COUNT);
+            Assert.assertEquals(CellType.NUMERIC, lastRow.getCell(0).getCellType());
+            Assert.assertEquals(ROW_COUNT, lastRow.getCell(0).getNumericCellValue(), 0);
+            Assert.assertEquals("value <" + ROW_COUNT + "> & \"quoted\"", lastRow.getCell(1).getStringCellValue());
+            Assert.assertEquals(date.getTime(), lastRow.getCell(2).getDateCellValue().getTime(), 1000);
+            Assert.assertTrue(lastRow.getCell(3).getBooleanCellValue());
+            Assert.assertEquals(CellType.BLANK, lastRow.getCell(4).getCellType());
+
+            XSSFSheet other = workbook.getSheetAt(1);
+            Assert.assertEquals(ROW_COUNT - 1, other.getLastRowNum());
+            Assert.assertEquals(ROW_COUNT * 0.5, other.getRow(ROW_COUNT - 1).getCell(0).getNumericCellValue(), 0);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.admin.sessions;
+
+import org.jkiss.code.NotNull;
+import org.jkiss.code.Nullable;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+public class DBAServerSessionModelTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldDetectChangedSessions() {
+        DBAServerSessionModel<TestSession> model = new DBAServerSessionModel<>();
+        DBAServerSessionModel.Delta<TestSession> delta = model.update(List.of(
+            new TestSession("1", 100, DBAServerSessionHistory.State.IDLE),
+            new TestSession("2", 100, DBAServerSessionHistory.State.ACTIVE)));
+        Assert.assertTrue(delta.reset());
+
+        TestSession unchanged = new TestSession("1", 100, DBAServerSessionHistory.State.IDLE);
+        TestSession changed = new TestSession("2", 200, DBAServerSessionHistory.State.WAITING);
+        TestSession added = new TestSession("3", 200, DBAServerSessionHistory.State.ACTIVE);
+        delta = model.update(List.of(unchanged, changed, added));
+        Assert.assertFalse(delta.reset());
+        Assert.assertEquals(List.of(added), delta.added());
+        Assert.assertTrue(delta.updated().contains(changed));
+        Assert.assertFalse(delta.updated().contains(unchanged));
+        Assert.assertTrue(delta.removed().isEmpty());
+        // Unchanged session keeps the shown object
+        Assert.assertNotSame(unchanged, model.getSessions().get(0));
+    }
+
+    @Test
+    public void shouldUpdateSessionsWithChangedHistory() throws Exception {
+        DBAServerSessionModel<TestSession> model = new DBAServerSessionModel<>();
+        TestSession shown = new TestSession("1", 100, DBAServerSessionHistory.State.IDLE);
+        model.update(List.of(shown));
+        // History samples must have different times
+        Thread.sleep(5);
+
+        DBAServerSessionModel.Delta<TestSession> delta = model.update(List.of(
+            new TestSession("1", 100, DBAServerSessionHistory.State.IDLE)));
+        Assert.assertEquals(List.of(shown), delta.updated());
+        Assert.assertEquals(2, shown.history.getSize());
+    }
+
+    @Test
+    public void shouldApplyIncrementalChanges() {
+        DBAServerSessionModel<TestSession> model = new DBAServerSessionModel<>();
+        TestSession first = new TestSession("1", 100, DBAServerSessionHistory.State.IDLE);
+        TestSession second = new TestSession("2", 100, DBAServerSessionHistory.State.ACTIVE);
+        model.update(new DBAServerSessionChanges<>(Set.of("1", "2"), List.of(first, second), 1));
+        Assert.assertEquals(1, model.getPollMark());
+
+        TestSession changed = new TestSession("1", 200, DBAServerSessionHistory.State.ACTIVE);
+        DBAServerSessionModel.Delta<TestSession> delta = model.update(
+            new DBAServerSessionChanges<>(Set.of("1", "3"), List.of(changed), 2));
+        Assert.assertEquals(List.of(changed), delta.updated());
+        Assert.assertEquals(List.of(second), delta.removed());
+        Assert.assertEquals(List.of(changed), model.getSessions());
+        Assert.assertEquals(2, model.getPollMark());
+        Assert.assertNull(model.getHistory("2"));
+
+        DBAServerSessionHistory history = model.getHistory("1");
+        Assert.assertNotNull(history);
+        Assert.assertSame(history, changed.history);
+    }
+
+    @Test
+    public void shouldKeepHistoryInRingBuffer() {
+        DBAServerSessionHistory history = new DBAServerSessionHistory();
+        for (int i = 0; i < DBAServerSessionHistory.CAPACITY + 5; i++) {
+            history.record(i, i < DBAServerSessionHistory.CAPACITY ? DBAServerSessionHistory.State.IDLE : DBAServerSessionHistory.State.WAITING);
+        }
+        Assert.assertEquals(DBAServerSessionHistory.CAPACITY, history.getSize());
+        Assert.assertEquals(DBAServerSessionHistory.CAPACITY + 4, history.getLastTime());
+        Assert.assertEquals(5, history.getStateCount(DBAServerSessionHistory.State.WAITING));
+        DBAServerSessionHistory.State[] states = history.getStates();
+        Assert.assertEquals(DBAServerSessionHistory.State.IDLE, states[0]);
+        Assert.assertEquals(DBAServerSessionHistory.State.WAITING, states[states.length - 1]);
+    }
+
+    private static class TestSession implements DBAServerSessionActivity {
+        private final String id;
+        private final Date stateChange;
+        private final DBAServerSessionHistory.State state;
+        private DBAServerSessionHistory history;
+
+        TestSession(String id, long stateChange, DBAServerSessionHistory.State state) {
+            this.id = id;
+            this.stateChange = new Date(stateChange);
+            this.state = state;
+        }
+
+        @Override
+        public String getActiveQuery() {
+            return null;
+        }
+
+        @Override
+        public Object getActiveQueryId() {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            return id;
+        }
+
+        @Nullable
+        @Override
+        public Date getStateChangeTime() {
+            return stateChange;
+        }
+
+        @NotNull
+        @Override
+        public DBAServerSessionHistory.State getActivityState() {
+            return state;
+        }
+
+        @Nullable
+        @Override
+        public String getWaitEvent() {
+            return null;
+        }
+
+        @Override
+        public void setActivityHistory(@NotNull DBAServerSessionHistory history) {
+            this.history = history;
+        }
+    }
+}
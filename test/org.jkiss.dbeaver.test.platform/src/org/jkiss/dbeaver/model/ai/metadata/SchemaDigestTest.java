@@ -0,0 +1,111 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.ai.metadata;
+
+import org.jkiss.dbeaver.model.DBPDataSource;
+import org.jkiss.dbeaver.model.DBPDataSourceContainer;
+import org.jkiss.dbeaver.model.DBPEvent;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.struct.DBSEntity;
+import org.jkiss.dbeaver.model.struct.DBSObjectContainer;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+
+public class SchemaDigestTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldSplitIdentifiers() {
+        Assert.assertEquals(List.of("customer", "order", "customerorder"), SchemaDigest.tokenize("customerOrders"));
+        Assert.assertEquals(List.of("order", "item", "order_item"), SchemaDigest.tokenize("ORDER_ITEMS"));
+        Assert.assertEquals(List.of("show", "all", "order"), SchemaDigest.tokenize("Show all orders!"));
+    }
+
+    @Test
+    public void shouldStemOnlyLongPluralTerms() {
+        Assert.assertEquals(List.of("address", "bus", "statu"), SchemaDigest.tokenize("address bus status"));
+        Assert.assertTrue(SchemaDigest.tokenize(null).isEmpty());
+        Assert.assertTrue(SchemaDigest.tokenize(" ,.; ").isEmpty());
+    }
+
+    @Test
+    public void shouldScoreMatchingEntitiesOnly() {
+        SchemaDigest digest = new SchemaDigest();
+        DBSEntity orders = addEntity(digest, "orders", "CREATE TABLE orders (id int, customer_id int, total numeric)");
+        DBSEntity customers = addEntity(digest, "customers", "CREATE TABLE customers (id int, name varchar)");
+        DBSEntity products = addEntity(digest, "products", "CREATE TABLE products (id int, title varchar)");
+
+        Map<DBSEntity, Double> scores = digest.score(List.of(orders, customers, products), "total of orders by customer");
+        Assert.assertTrue(scores.get(orders) > scores.get(customers));
+        Assert.assertTrue(scores.get(customers) > 0);
+        Assert.assertFalse(scores.containsKey(products));
+    }
+
+    @Test
+    public void shouldPreferEntityNameMatches() {
+        SchemaDigest digest = new SchemaDigest();
+        DBSEntity invoices = addEntity(digest, "invoices", "CREATE TABLE invoices (id int, payment_id int)");
+        DBSEntity payments = addEntity(digest, "payments", "CREATE TABLE payments (id int, amount numeric)");
+
+        Map<DBSEntity, Double> scores = digest.score(List.of(invoices, payments), "payments");
+        Assert.assertTrue(scores.get(payments) > scores.get(invoices));
+    }
+
+    @Test
+    public void shouldNotScoreWithoutRequest() {
+        SchemaDigest digest = new SchemaDigest();
+        DBSEntity orders = addEntity(digest, "orders", "CREATE TABLE orders (id int)");
+        Assert.assertTrue(digest.score(List.of(orders), null).isEmpty());
+        Assert.assertTrue(digest.score(List.of(orders), "").isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveRegistryListenerWhenDigestsAreDropped() {
+        DBPDataSourceRegistry registry = Mockito.mock(DBPDataSourceRegistry.class);
+        DBPDataSourceContainer dataSourceContainer = Mockito.mock(DBPDataSourceContainer.class);
+        DBPDataSource dataSource = Mockito.mock(DBPDataSource.class);
+        DBSObjectContainer container = Mockito.mock(DBSObjectContainer.class);
+        Mockito.when(dataSourceContainer.getRegistry()).thenReturn(registry);
+        Mockito.when(dataSource.getContainer()).thenReturn(dataSourceContainer);
+        Mockito.when(container.getDataSource()).thenReturn(dataSource);
+
+        SchemaDigestCache cache = SchemaDigestCache.getInstance();
+        cache.getDigest(container);
+        cache.getDigest(container);
+        Mockito.verify(registry).addDataSourceListener(cache);
+
+        // Reconnect drops digests of the data source
+        cache.handleDataSourceEvent(new DBPEvent(DBPEvent.Action.OBJECT_UPDATE, dataSourceContainer));
+        Mockito.verify(registry).removeDataSourceListener(cache);
+
+        cache.getDigest(container);
+        Mockito.verify(registry, Mockito.times(2)).addDataSourceListener(cache);
+        cache.clear();
+        Mockito.verify(registry, Mockito.times(2)).removeDataSourceListener(cache);
+    }
+
+    private static DBSEntity addEntity(SchemaDigest digest, String name, String description) {
+        DBSEntity entity = Mockito.mock(DBSEntity.class);
+        digest.putEntry(entity, new SchemaDigest.Entry(name, description, false));
+        return entity;
+    }
+
+}
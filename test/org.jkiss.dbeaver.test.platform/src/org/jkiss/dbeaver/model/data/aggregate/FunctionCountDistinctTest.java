@@ -0,0 +1,57 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FunctionCountDistinctTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldCountExactlyForSmallSet() {
+        FunctionCountDistinct countDistinct = new FunctionCountDistinct();
+        for (Object value : new Object[]{"a", "b", "a", null, "c", null}) {
+            countDistinct.accumulate(value, false);
+        }
+        Assert.assertEquals(4, ((Number) countDistinct.getResult(0)).intValue());
+    }
+
+    @Test
+    public void shouldEstimateLargeSet() {
+        FunctionCountDistinct countDistinct = new FunctionCountDistinct();
+        int count = FunctionCountDistinct.EXACT_VALUES_LIMIT * 5;
+        for (int i = 0; i < count; i++) {
+            countDistinct.accumulate("value" + i, false);
+            countDistinct.accumulate("value" + (i / 2), false);
+        }
+        Assert.assertEquals(count, ((Number) countDistinct.getResult(0)).doubleValue(), count * 0.03);
+    }
+
+    @Test
+    public void shouldMergeSketches() {
+        HyperLogLog sketch1 = new HyperLogLog();
+        HyperLogLog sketch2 = new HyperLogLog();
+        for (int i = 0; i < 200000; i++) {
+            sketch1.add(i);
+            sketch2.add(i + 100000);
+        }
+        sketch1.merge(sketch2);
+        Assert.assertEquals(300000, sketch1.estimate(), 300000 * 0.03);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.data.aggregate;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class FunctionMedianTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldCalculateExactMedianForSmallSet() {
+        FunctionMedian median = new FunctionMedian();
+        for (int value : new int[]{5, 1, 4, 2, 3, 6}) {
+            median.accumulate(value, false);
+        }
+        Assert.assertEquals(3.5, (Double) median.getResult(6), 0.0);
+    }
+
+    @Test
+    public void shouldEstimateMedianForLargeSet() {
+        FunctionMedian median = new FunctionMedian();
+        Random random = new Random(42);
+        int count = FunctionMedian.EXACT_VALUES_LIMIT * 10;
+        for (int i = 0; i < count; i++) {
+            median.accumulate(random.nextDouble() * 1000, false);
+        }
+        Assert.assertEquals(500.0, ((Number) median.getResult(count)).doubleValue(), 10.0);
+    }
+
+    @Test
+    public void shouldMergePartialMedians() {
+        FunctionMedian part1 = new FunctionMedian();
+        FunctionMedian part2 = new FunctionMedian();
+        int count = FunctionMedian.EXACT_VALUES_LIMIT * 2;
+        for (int i = 0; i < count; i++) {
+            part1.accumulate(i, false);
+            part2.accumulate(count + i, false);
+        }
+        part1.merge(part2);
+        Assert.assertEquals(count, ((Number) part1.getResult(count * 2)).doubleValue(), count * 0.01);
+    }
+
+    @Test
+    public void shouldNotIgnoreNonNumericValuesAfterSpill() {
+        FunctionMedian median = new FunctionMedian();
+        int count = FunctionMedian.EXACT_VALUES_LIMIT * 2;
+        for (int i = 0; i < count; i++) {
+            median.accumulate(i, false);
+        }
+        Assert.assertNotNull(median.getResult(count));
+        Assert.assertTrue(median.accumulate("text", false));
+        Assert.assertNull(median.getResult(count + 1));
+    }
+
+    @Test
+    public void shouldNotMergeDigestIntoNonNumericValues() {
+        FunctionMedian numeric = new FunctionMedian();
+        int count = FunctionMedian.EXACT_VALUES_LIMIT * 2;
+        for (int i = 0; i < count; i++) {
+            numeric.accumulate(i, false);
+        }
+        FunctionMedian text = new FunctionMedian();
+        text.accumulate("text", false);
+        text.merge(numeric);
+        Assert.assertNull(text.getResult(count + 1));
+    }
+
+}
@@ -22,6 +22,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.*;
 
 public class JSONUtilsTest extends DBeaverUnitTest {
@@ -97,4 +99,31 @@ public class JSONUtilsTest extends DBeaverUnitTest {
 		Assert.assertEquals(Collections.emptyList(), JSONUtils.getObjectList(map3, "Time"));
 	}
 
+	@Test
+	public void escapeJsonStringTest() {
+		Assert.assertNull(JSONUtils.escapeJsonString(null));
+		Assert.assertEquals("", JSONUtils.escapeJsonString(""));
+		Assert.assertEquals("plain text", JSONUtils.escapeJsonString("plain text"));
+		Assert.assertEquals("a\\\"b\\\\c\\/d", JSONUtils.escapeJsonString("a\"b\\c/d"));
+		Assert.assertEquals("\\n\\r\\t\\f\\b\\u0001\\u001f", JSONUtils.escapeJsonString("\n\r\t\f\b\u0001\u001f"));
+		Assert.assertEquals("\u00e9\u4e2d\u007f", JSONUtils.escapeJsonString("\u00e9\u4e2d\u007f"));
+	}
+
+	@Test
+	public void writeEscapedJsonStringTest() throws IOException {
+		String text = "\"quoted\"\nline\\ \u00e9 end\t";
+		StringWriter stringOut = new StringWriter();
+		JSONUtils.writeEscapedJsonString(stringOut, text);
+		Assert.assertEquals(JSONUtils.escapeJsonString(text), stringOut.toString());
+
+		char[] chars = ("xx" + text + "yy").toCharArray();
+		StringWriter charsOut = new StringWriter();
+		JSONUtils.writeEscapedJsonString(charsOut, chars, 2, text.length());
+		Assert.assertEquals(JSONUtils.escapeJsonString(text), charsOut.toString());
+
+		StringWriter emptyOut = new StringWriter();
+		JSONUtils.writeEscapedJsonString(emptyOut, chars, 1, 0);
+		Assert.assertEquals("", emptyOut.toString());
+	}
+
 }
@@ -0,0 +1,168 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.jdbc.exec;
+
+import org.jkiss.dbeaver.model.exec.jdbc.JDBCSession;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class JDBCStatementCacheTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldNormalizeWhitespaces() {
+        Assert.assertEquals(
+            "SELECT * FROM t WHERE a = 1",
+            JDBCStatementCache.normalizeQuery("  SELECT *\n\tFROM   t\r\nWHERE a = 1  "));
+    }
+
+    @Test
+    public void shouldKeepQuotedTextAndComments() {
+        Assert.assertEquals(
+            "SELECT 'a  b', \"x  y\" FROM t",
+            JDBCStatementCache.normalizeQuery("SELECT  'a  b',  \"x  y\"\nFROM t"));
+        Assert.assertEquals(
+            "SELECT 1 -- a  comment\n FROM t",
+            JDBCStatementCache.normalizeQuery("SELECT 1   -- a  comment\n  FROM t"));
+        String dollarQuoted = "SELECT $$a   b$$";
+        Assert.assertSame(dollarQuoted, JDBCStatementCache.normalizeQuery(dollarQuoted));
+    }
+
+    @Test
+    public void shouldKeepDialectSpecificQueriesAsIs() {
+        String[] queries = {
+            "SELECT [a  b] FROM t",
+            "SELECT 'it\\'s  x' FROM t",
+            "SELECT /* a  'b */ 1  FROM t",
+            "SELECT data #>  '{a,b}' FROM t",
+            "SELECT q'[a  b]' FROM t",
+        };
+        for (String query : queries) {
+            Assert.assertSame(query, JDBCStatementCache.normalizeQuery(query));
+        }
+    }
+
+    @Test
+    public void shouldShareKeyForDifferentFormatting() {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        Assert.assertEquals(
+            cache.makeKey("SELECT *\nFROM t", ResultSet.TYPE_FORWARD_ONLY, null, "public"),
+            cache.makeKey("SELECT * FROM   t", ResultSet.TYPE_FORWARD_ONLY, null, "public"));
+        Assert.assertNotEquals(
+            cache.makeKey("SELECT * FROM t", ResultSet.TYPE_FORWARD_ONLY, null, "public"),
+            cache.makeKey("SELECT * FROM t", ResultSet.TYPE_FORWARD_ONLY, null, "sales"));
+    }
+
+    @Test
+    public void shouldReuseReleasedStatement() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        JDBCStatementCache.Key key = cache.makeKey("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, null, null);
+        Assert.assertNull(cache.acquire(key));
+
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        cache.register(statement);
+        Mockito.when(statement.getMaxRows()).thenReturn(200);
+        cache.release(key, statement);
+
+        Mockito.verify(statement).clearParameters();
+        Mockito.verify(statement).setMaxRows(0);
+        Assert.assertSame(statement, cache.acquire(key));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedStatement() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(2);
+        JDBCStatementCache.Key key1 = cache.makeKey("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, null, null);
+        JDBCStatementCache.Key key2 = cache.makeKey("SELECT 2", ResultSet.TYPE_FORWARD_ONLY, null, null);
+        JDBCStatementCache.Key key3 = cache.makeKey("SELECT 3", ResultSet.TYPE_FORWARD_ONLY, null, null);
+        PreparedStatement statement1 = prepare(cache, key1);
+        PreparedStatement statement2 = prepare(cache, key2);
+
+        // Use first statement again, so the second one becomes the eldest
+        cache.release(key1, cache.acquire(key1));
+        PreparedStatement statement3 = prepare(cache, key3);
+
+        Assert.assertEquals(2, cache.size());
+        Mockito.verify(statement2).close();
+        Mockito.verify(statement1, Mockito.never()).close();
+        Mockito.verify(statement3, Mockito.never()).close();
+        Assert.assertNull(cache.acquire(key2));
+    }
+
+    @Test
+    public void shouldCloseStatementsOnShrinkAndClear() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(2);
+        PreparedStatement statement1 = prepare(cache, cache.makeKey("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, null, null));
+        PreparedStatement statement2 = prepare(cache, cache.makeKey("SELECT 2", ResultSet.TYPE_FORWARD_ONLY, null, null));
+
+        cache.setMaxSize(1);
+        Assert.assertEquals(1, cache.size());
+        Mockito.verify(statement1).close();
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Mockito.verify(statement2).close();
+    }
+
+    @Test
+    public void shouldCloseStatementReleasedAfterClear() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(2);
+        JDBCStatementCache.Key key = cache.makeKey("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, null, null);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        cache.register(statement);
+
+        cache.clear();
+        cache.release(key, statement);
+
+        Mockito.verify(statement).close();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldNotReuseFailedStatement() throws SQLException {
+        JDBCStatementCache cache = new JDBCStatementCache(10);
+        JDBCStatementCache.Key key = cache.makeKey("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, null, null);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeQuery()).thenThrow(new SQLException("Table was dropped"));
+        cache.register(statement);
+        JDBCSession session = Mockito.mock(JDBCSession.class, Mockito.RETURNS_DEEP_STUBS);
+
+        JDBCPreparedStatementCachedImpl cachedStatement = new JDBCPreparedStatementCachedImpl(
+            session, statement, "SELECT 1", true, cache, key);
+        Assert.assertThrows(SQLException.class, cachedStatement::executeQuery);
+        cachedStatement.close();
+
+        Mockito.verify(statement).close();
+        Assert.assertNull(cache.acquire(key));
+    }
+
+    private static PreparedStatement prepare(JDBCStatementCache cache, JDBCStatementCache.Key key) throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        cache.register(statement);
+        cache.release(key, statement);
+        return statement;
+    }
+
+}
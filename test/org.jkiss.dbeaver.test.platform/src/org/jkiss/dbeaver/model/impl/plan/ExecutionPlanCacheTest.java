@@ -0,0 +1,87 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.dbeaver.model.exec.plan.DBCPlan;
+import org.jkiss.dbeaver.model.exec.plan.DBCPlanNode;
+import org.jkiss.dbeaver.model.exec.plan.DBCQueryPlanner;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ExecutionPlanCacheTest extends DBeaverUnitTest {
+
+    private static final String KEY = "ds1\nfingerprint\n{}";
+    private static final String QUERY = "select * from customers where email = 'secret@example.com'";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final DBCQueryPlanner planner = Mockito.mock(DBCQueryPlanner.class);
+
+    @Test
+    public void shouldDetectPlanChangeAfterReload() throws Exception {
+        Path folder = tempFolder.getRoot().toPath();
+        Assert.assertNull(new ExecutionPlanCache(folder).putPlan(planner, KEY, QUERY, plan("Seq Scan customers")));
+
+        ExecutionPlanCache cache = new ExecutionPlanCache(folder);
+        ExecutionPlanCache.PlanChange change = cache.putPlan(planner, KEY, QUERY, plan("Index Scan customers"));
+        Assert.assertNotNull(change);
+        Assert.assertTrue(change.isShapeChanged());
+        Assert.assertEquals(change.previous().getQueryHash(), change.current().getQueryHash());
+    }
+
+    @Test
+    public void shouldNotPersistQueryText() throws Exception {
+        Path folder = tempFolder.getRoot().toPath();
+        new ExecutionPlanCache(folder).putPlan(planner, KEY, QUERY, plan("Seq Scan customers"));
+
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path file : files.toList()) {
+                Assert.assertFalse(Files.readString(file, StandardCharsets.UTF_8).contains("secret@example.com"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotReuseOtherQueryPlan() {
+        ExecutionPlanCache cache = new ExecutionPlanCache(tempFolder.getRoot().toPath());
+        DBCPlan plan = plan("Seq Scan customers");
+        cache.putPlan(planner, KEY, QUERY, plan);
+
+        Assert.assertSame(plan, cache.getCachedPlan(planner, KEY, QUERY, Long.MAX_VALUE));
+        Assert.assertNull(cache.getCachedPlan(planner, KEY, QUERY.replace("secret", "other"), Long.MAX_VALUE));
+    }
+
+    private static DBCPlan plan(String nodeType) {
+        DBCPlanNode node = Mockito.mock(DBCPlanNode.class);
+        Mockito.when(node.getNodeType()).thenReturn(nodeType);
+        DBCPlan plan = Mockito.mock(DBCPlan.class);
+        Mockito.doReturn(List.of(node)).when(plan).getPlanNodes(null);
+        return plan;
+    }
+
+}
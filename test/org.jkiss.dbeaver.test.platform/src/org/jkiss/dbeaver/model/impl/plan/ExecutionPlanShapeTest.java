@@ -0,0 +1,49 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.impl.plan;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ExecutionPlanShapeTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldHaveSameFingerprintForSameShape() {
+        ExecutionPlanShape first = new ExecutionPlanShape(List.of("Hash Join", "  Seq Scan orders", "  Index Scan customers"), 100.0);
+        ExecutionPlanShape second = new ExecutionPlanShape(List.of("Hash Join", "  Seq Scan orders", "  Index Scan customers"), 250.0);
+        Assert.assertEquals(first.getFingerprint(), second.getFingerprint());
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void shouldDetectChangedShape() {
+        ExecutionPlanShape first = new ExecutionPlanShape(List.of("Hash Join", "  Seq Scan orders", "  Index Scan customers"), 100.0);
+        ExecutionPlanShape second = new ExecutionPlanShape(List.of("Hash Join", "  Seq Scan orders", "  Seq Scan customers"), 900.0);
+        Assert.assertNotEquals(first.getFingerprint(), second.getFingerprint());
+        Assert.assertEquals(
+            List.of(
+                ExecutionPlanShape.DIFF_SAME + "Hash Join",
+                ExecutionPlanShape.DIFF_SAME + "  Seq Scan orders",
+                ExecutionPlanShape.DIFF_REMOVED + "  Index Scan customers",
+                ExecutionPlanShape.DIFF_ADDED + "  Seq Scan customers"),
+            first.diff(second));
+    }
+
+}
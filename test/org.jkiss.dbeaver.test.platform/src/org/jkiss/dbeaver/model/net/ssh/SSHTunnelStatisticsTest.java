@@ -0,0 +1,83 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2024 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.net.ssh;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+public class SSHTunnelStatisticsTest extends DBeaverUnitTest {
+
+    @Test
+    public void testTrafficCounters() throws Exception {
+        final SSHTunnelStatistics statistics = new SSHTunnelStatistics();
+        try (ServerSocket serverSocket = statistics.createServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            // Echo server plays the role of port forwarder
+            final Thread echoThread = new Thread(() -> {
+                try (Socket socket = serverSocket.accept();
+                     InputStream in = socket.getInputStream();
+                     OutputStream out = socket.getOutputStream()
+                ) {
+                    final byte[] buffer = new byte[1024];
+                    for (int count = in.read(buffer); count >= 0; count = in.read(buffer)) {
+                        out.write(buffer, 0, count);
+                    }
+                } catch (Exception ignored) {
+                }
+            });
+            echoThread.start();
+
+            final byte[] request = "SELECT 1".getBytes(StandardCharsets.UTF_8);
+            try (Socket client = new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort())) {
+                for (int i = 0; i < 3; i++) {
+                    client.getOutputStream().write(request);
+                    new DataInputStream(client.getInputStream()).readFully(new byte[request.length]);
+                }
+                Assert.assertEquals(request.length * 3L, statistics.getBytesSent());
+                Assert.assertEquals(request.length * 3L, statistics.getBytesReceived());
+                Assert.assertEquals(1, statistics.getConnectionCount());
+                Assert.assertEquals(1, statistics.getActiveConnectionCount());
+                Assert.assertTrue(statistics.getAverageLatency() >= 0);
+            }
+            echoThread.join(5000);
+            Assert.assertEquals(0, statistics.getActiveConnectionCount());
+        }
+    }
+
+    @Test
+    public void testAggregate() {
+        final SSHTunnelStatistics first = new SSHTunnelStatistics();
+        first.setConnectTime(100);
+        final SSHTunnelStatistics second = new SSHTunnelStatistics();
+        second.setConnectTime(200);
+
+        final SSHTunnelStatistics total = new SSHTunnelStatistics();
+        total.add(first);
+        total.add(second);
+        Assert.assertEquals(200, total.getConnectTime());
+        Assert.assertEquals(0, total.getBytesSent());
+        Assert.assertEquals(0, total.getAverageLatency(), 0);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QMLatencyHistogramTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldKeepSmallValuesExact() {
+        QMLatencyHistogram histogram = new QMLatencyHistogram();
+        for (int i = 0; i < 10; i++) {
+            histogram.record(i);
+        }
+        Assert.assertEquals(10, histogram.getCount());
+        Assert.assertEquals(4, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(9, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(4.5, histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void shouldEstimatePercentilesWithBoundedError() {
+        QMLatencyHistogram histogram = new QMLatencyHistogram();
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i * 100L);
+        }
+        Assert.assertEquals(500000, histogram.getValueAtPercentile(50), 500000 * 0.0625);
+        Assert.assertEquals(990000, histogram.getValueAtPercentile(99), 990000 * 0.0625);
+        Assert.assertEquals(1000000, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(1000000, histogram.getMax());
+    }
+
+    @Test
+    public void shouldMergeHistograms() {
+        QMLatencyHistogram first = new QMLatencyHistogram();
+        QMLatencyHistogram second = new QMLatencyHistogram();
+        first.record(1000);
+        second.record(3000);
+        second.record(5000);
+        first.add(second);
+        Assert.assertEquals(3, first.getCount());
+        Assert.assertEquals(9000, first.getSum());
+        Assert.assertEquals(5000, first.getMax());
+        Assert.assertEquals(3000, second.copy().getValueAtPercentile(50), 3000 * 0.0625);
+    }
+
+}
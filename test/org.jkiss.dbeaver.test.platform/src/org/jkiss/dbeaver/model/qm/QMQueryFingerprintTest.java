@@ -0,0 +1,57 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QMQueryFingerprintTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldStripLiteralsAndComments() {
+        QMQueryFingerprint first = fingerprint("SELECT * FROM Users WHERE id = 10 AND name = 'John' -- comment");
+        QMQueryFingerprint second = fingerprint("select *\n  from users /* other */ where ID = 25 and NAME = 'it''s'");
+        Assert.assertEquals(first, second);
+        Assert.assertEquals("select * from users where id = ? and name = ?", first.getText());
+        Assert.assertEquals("SELECT", first.getStatementType());
+    }
+
+    @Test
+    public void shouldKeepQuotedIdentifiers() {
+        Assert.assertNotEquals(
+            fingerprint("select \"Name\" from t"),
+            fingerprint("select \"NAME\" from t"));
+    }
+
+    @Test
+    public void shouldCollapseInLists() {
+        QMQueryFingerprint first = fingerprint("delete from t where id in (1, 2, 3)");
+        QMQueryFingerprint second = fingerprint("DELETE FROM t WHERE id IN ('a')");
+        Assert.assertEquals(first, second);
+        Assert.assertEquals("delete from t where id in(...)", first.getText());
+        // Sub-queries are not collapsed
+        Assert.assertEquals(
+            "select * from t where id in(select id from s where x = ?)",
+            fingerprint("select * from t where id in (select id from s where x = 1)").getText());
+    }
+
+    private static QMQueryFingerprint fingerprint(String query) {
+        return QMQueryFingerprint.of(QMQueryFingerprint.tokenize(query));
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.qm;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class QMTopQueriesTest extends DBeaverUnitTest {
+
+    @Test
+    public void shouldAggregateByFingerprint() {
+        QMTopQueries topQueries = new QMTopQueries(10);
+        topQueries.record(fingerprint("select * from a where id = 1"), 10, false);
+        topQueries.record(fingerprint("select * from a where id = 2"), 30, true);
+        topQueries.record(fingerprint("select * from b"), 100, false);
+
+        List<QMQueryStatistics> frequent = topQueries.getMostFrequent(1);
+        Assert.assertEquals(1, frequent.size());
+        QMQueryStatistics stat = frequent.get(0);
+        Assert.assertEquals("select * from a where id = ?", stat.getFingerprint().getText());
+        Assert.assertEquals(2, stat.getCount());
+        Assert.assertEquals(40, stat.getTotalTime());
+        Assert.assertEquals(30, stat.getMaxTime());
+        Assert.assertEquals(20.0, stat.getMeanTime(), 0.0);
+        Assert.assertEquals(1, stat.getErrorCount());
+        Assert.assertEquals(0, stat.getOverestimation());
+
+        Assert.assertEquals("select * from b", topQueries.getSlowest(1).get(0).getFingerprint().getText());
+        Assert.assertEquals(3, topQueries.getTotalCount());
+        Assert.assertEquals(140, topQueries.getTotalTime());
+    }
+
+    @Test
+    public void shouldKeepHeavyQueriesWhenFull() {
+        QMTopQueries topQueries = new QMTopQueries(5);
+        for (int i = 0; i < 100; i++) {
+            topQueries.record(fingerprint("select * from frequent"), 1, false);
+            // Every unique query is executed once
+            topQueries.record(fingerprint("select * from table_" + i), 1, false);
+        }
+        topQueries.record(fingerprint("select * from slow"), 10000, false);
+
+        List<QMQueryStatistics> frequent = topQueries.getMostFrequent(5);
+        Assert.assertEquals(5, frequent.size());
+        Assert.assertEquals("select * from frequent", frequent.get(0).getFingerprint().getText());
+        Assert.assertTrue(frequent.get(0).getCount() >= 50);
+        Assert.assertEquals("select * from slow", topQueries.getSlowest(1).get(0).getFingerprint().getText());
+    }
+
+    private static QMQueryFingerprint fingerprint(String query) {
+        return QMQueryFingerprint.of(QMQueryFingerprint.tokenize(query));
+    }
+
+}
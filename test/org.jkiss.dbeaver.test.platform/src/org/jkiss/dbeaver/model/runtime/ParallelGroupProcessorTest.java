@@ -0,0 +1,129 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.runtime;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ParallelGroupProcessorTest extends DBeaverUnitTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldProcessGroupsWithWorkerMonitors() {
+        DBRProgressMonitor monitor = Mockito.mock(DBRProgressMonitor.class);
+        Map<String, List<Integer>> processed = new ConcurrentHashMap<>();
+        Map<String, Set<Thread>> threads = new ConcurrentHashMap<>();
+        List<List<String>> groups = List.of(
+            List.of("a:1", "a:2", "a:3"),
+            List.of("b:1", "b:2"),
+            List.of("c:1"));
+
+        int count = ParallelGroupProcessor.processGroups(monitor, executor, 4, groups, (workerMonitor, item) -> {
+            Assert.assertNotSame(monitor, workerMonitor);
+            Assert.assertTrue(workerMonitor instanceof WorkerProgressMonitor);
+            String[] parts = item.split(":");
+            processed.computeIfAbsent(parts[0], k -> Collections.synchronizedList(new ArrayList<>())).add(Integer.parseInt(parts[1]));
+            threads.computeIfAbsent(parts[0], k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+        });
+
+        Assert.assertEquals(6, count);
+        // Items of one group are processed in order by one worker
+        Assert.assertEquals(Map.of("a", List.of(1, 2, 3), "b", List.of(1, 2), "c", List.of(1)), processed);
+        for (Set<Thread> groupThreads : threads.values()) {
+            Assert.assertEquals(1, groupThreads.size());
+        }
+        Mockito.verify(monitor, Mockito.never()).subTask(Mockito.anyString());
+    }
+
+    @Test
+    public void shouldContinueAfterItemError() {
+        DBRProgressMonitor monitor = new VoidProgressMonitor();
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        int count = ParallelGroupProcessor.processGroups(monitor, executor, 2, List.of(List.of("fail", "next")), (workerMonitor, item) -> {
+            processed.add(item);
+            if (item.equals("fail")) {
+                throw new IllegalStateException(item);
+            }
+        });
+
+        Assert.assertEquals(2, count);
+        Assert.assertEquals(List.of("fail", "next"), processed);
+    }
+
+    @Test
+    public void shouldCancelWorkersWithParentMonitor() throws Exception {
+        AtomicBoolean canceled = new AtomicBoolean();
+        DBRProgressMonitor monitor = new VoidProgressMonitor() {
+            @Override
+            public boolean isCanceled() {
+                return canceled.get();
+            }
+        };
+        CountDownLatch started = new CountDownLatch(1);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blockCanceled = new CountDownLatch(1);
+        DBRBlockingObject blockingObject = Mockito.mock(DBRBlockingObject.class);
+        Mockito.doAnswer(invocation -> {
+            blockCanceled.countDown();
+            return null;
+        }).when(blockingObject).cancelBlock(Mockito.any(), Mockito.any());
+        Thread cancelThread = new Thread(() -> {
+            try {
+                started.await(10, TimeUnit.SECONDS);
+                canceled.set(true);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        cancelThread.start();
+
+        ParallelGroupProcessor.processGroups(monitor, executor, 1, List.of(List.of("first", "second")), (workerMonitor, item) -> {
+            processed.add(item);
+            workerMonitor.startBlock(blockingObject, item);
+            try {
+                started.countDown();
+                // Running statement is canceled through the worker monitor
+                Assert.assertTrue(blockCanceled.await(10, TimeUnit.SECONDS));
+            } finally {
+                workerMonitor.endBlock();
+            }
+        });
+        cancelThread.join();
+
+        Assert.assertEquals(List.of("first"), processed);
+        Assert.assertEquals(0, blockCanceled.getCount());
+    }
+
+}
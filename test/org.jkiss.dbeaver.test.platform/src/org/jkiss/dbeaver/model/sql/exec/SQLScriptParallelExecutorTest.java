@@ -0,0 +1,170 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.exec;
+
+import org.jkiss.dbeaver.DBException;
+import org.jkiss.dbeaver.model.exec.DBCExecutionContext;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.sql.SQLQuery;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+
+public class SQLScriptParallelExecutorTest extends DBeaverUnitTest {
+
+    private DBRProgressMonitor monitor;
+    private List<DBCExecutionContext> openedContexts;
+    private List<String> executedStatements;
+
+    @Before
+    public void setUp() {
+        monitor = Mockito.mock(DBRProgressMonitor.class);
+        openedContexts = Collections.synchronizedList(new ArrayList<>());
+        executedStatements = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Test
+    public void shouldTreatStatementsWithoutTargetAsBarriers() {
+        Assert.assertTrue(SQLScriptParallelExecutor.getMaintenanceTargets("ANALYZE").isEmpty());
+        Assert.assertTrue(SQLScriptParallelExecutor.getMaintenanceTargets("VACUUM FULL").isEmpty());
+        Assert.assertTrue(SQLScriptParallelExecutor.getMaintenanceTargets("VACUUM (VERBOSE, ANALYZE);").isEmpty());
+        Assert.assertTrue(SQLScriptParallelExecutor.getMaintenanceTargets("REINDEX SCHEMA public").isEmpty());
+        Assert.assertTrue(SQLScriptParallelExecutor.getMaintenanceTargets("REINDEX DATABASE test").isEmpty());
+    }
+
+    @Test
+    public void shouldExtractMaintenanceTargets() {
+        Assert.assertEquals(Set.of("orders"), SQLScriptParallelExecutor.getMaintenanceTargets("VACUUM FULL ANALYZE orders"));
+        Assert.assertEquals(Set.of("orders"), SQLScriptParallelExecutor.getMaintenanceTargets("vacuum (verbose) orders (id, total);"));
+        Assert.assertEquals(Set.of("t1", "t2"), SQLScriptParallelExecutor.getMaintenanceTargets("OPTIMIZE NO_WRITE_TO_BINLOG TABLE t1, t2"));
+        Assert.assertEquals(Set.of("public.orders"), SQLScriptParallelExecutor.getMaintenanceTargets(
+            "CREATE INDEX CONCURRENTLY orders_idx ON public.orders(customer_id)"));
+        Assert.assertTrue(SQLScriptParallelExecutor.getMaintenanceTargets("CREATE INDEX orders_idx").isEmpty());
+    }
+
+    @Test
+    public void shouldClassifyStatements() {
+        Assert.assertTrue(SQLScriptParallelExecutor.isParallelStatement("ANALYZE orders"));
+        Assert.assertTrue(SQLScriptParallelExecutor.isParallelStatement("create  unique index i on t(c)"));
+        Assert.assertFalse(SQLScriptParallelExecutor.isParallelStatement("ANALYZED orders"));
+        Assert.assertFalse(SQLScriptParallelExecutor.isParallelStatement("SELECT * FROM orders"));
+
+        Assert.assertTrue(SQLScriptParallelExecutor.isSessionStatement("SET search_path = sales"));
+        Assert.assertTrue(SQLScriptParallelExecutor.isSessionStatement("use sales"));
+        Assert.assertTrue(SQLScriptParallelExecutor.isSessionStatement("ALTER SESSION SET CURRENT_SCHEMA = sales"));
+        Assert.assertFalse(SQLScriptParallelExecutor.isSessionStatement("SETTINGS"));
+        Assert.assertFalse(SQLScriptParallelExecutor.isSessionStatement("UPDATE orders SET total = 0"));
+    }
+
+    @Test
+    public void shouldStopAfterFailedQuery() {
+        try (SQLScriptParallelExecutor executor = createExecutor(true)) {
+            executor.submit(query("fail"), Set.of());
+            executor.submit(query("second"), Set.of());
+            executor.submit(query("third"), Set.of());
+
+            SQLScriptParallelExecutor.Result result = executor.awaitPending();
+            Assert.assertEquals(1, result.executedCount());
+            Assert.assertEquals(1, result.errors().size());
+            Assert.assertEquals("fail", result.errors().get(0).getMessage());
+            Assert.assertEquals(List.of("fail"), executedStatements);
+            Assert.assertFalse(executor.canSubmit(Set.of()));
+        }
+    }
+
+    @Test
+    public void shouldReportAllErrorsWhenErrorsAreIgnored() {
+        try (SQLScriptParallelExecutor executor = createExecutor(false)) {
+            executor.submit(query("fail"), Set.of());
+            executor.submit(query("second"), Set.of());
+
+            SQLScriptParallelExecutor.Result result = executor.awaitPending();
+            Assert.assertEquals(2, result.executedCount());
+            Assert.assertEquals(1, result.errors().size());
+            Assert.assertTrue(executor.canSubmit(Set.of()));
+        }
+    }
+
+    @Test
+    public void shouldNotSubmitQueriesOfPendingTables() {
+        try (SQLScriptParallelExecutor executor = createExecutor(true)) {
+            executor.submit(query("ANALYZE orders"), Set.of("orders"));
+            Assert.assertFalse(executor.canSubmit(Set.of("orders")));
+            Assert.assertTrue(executor.canSubmit(Set.of("customers")));
+            executor.awaitPending();
+            Assert.assertTrue(executor.canSubmit(Set.of("orders")));
+        }
+    }
+
+    @Test
+    public void shouldReplaySessionStatementsOnce() {
+        try (SQLScriptParallelExecutor executor = createExecutor(true)) {
+            executor.addSessionStatement(query("SET search_path = sales"));
+            executor.submit(query("ANALYZE orders"), Set.of("orders"));
+            Assert.assertTrue(executor.awaitPending().errors().isEmpty());
+            executor.submit(query("ANALYZE customers"), Set.of("customers"));
+            Assert.assertTrue(executor.awaitPending().errors().isEmpty());
+
+            Assert.assertEquals(
+                List.of("replay:SET search_path = sales", "ANALYZE orders", "ANALYZE customers"),
+                executedStatements);
+        }
+    }
+
+    @Test
+    public void shouldCloseWorkerContexts() throws Exception {
+        SQLScriptParallelExecutor executor = createExecutor(true);
+        executor.submit(query("ANALYZE orders"), Set.of("orders"));
+        executor.awaitPending();
+        executor.close();
+
+        Assert.assertEquals(1, openedContexts.size());
+        Mockito.verify(openedContexts.get(0)).close();
+    }
+
+    private SQLScriptParallelExecutor createExecutor(boolean stopOnError) {
+        // Single worker executes queries in order of submission
+        return new SQLScriptParallelExecutor(
+            monitor,
+            1,
+            stopOnError,
+            workerMonitor -> {
+                if (workerMonitor == monitor) {
+                    throw new DBException("Worker must use its own monitor");
+                }
+                DBCExecutionContext context = Mockito.mock(DBCExecutionContext.class);
+                openedContexts.add(context);
+                return context;
+            },
+            (workerMonitor, context, query, sessionReplay) -> {
+                Assert.assertNotSame(monitor, workerMonitor);
+                executedStatements.add((sessionReplay ? "replay:" : "") + query.getText());
+                if (query.getText().equals("fail")) {
+                    throw new DBException("fail");
+                }
+            });
+    }
+
+    private static SQLQuery query(String text) {
+        return new SQLQuery(null, text);
+    }
+
+}
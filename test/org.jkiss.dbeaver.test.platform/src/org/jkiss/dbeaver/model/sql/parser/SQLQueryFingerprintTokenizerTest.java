@@ -0,0 +1,61 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.model.sql.parser;
+
+import org.jkiss.dbeaver.model.qm.QMQueryFingerprint;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class SQLQueryFingerprintTokenizerTest extends DBeaverUnitTest {
+
+    private static final String LITERAL = QMQueryFingerprint.LITERAL_MARK;
+
+    private final SQLQueryFingerprintTokenizer tokenizer = new SQLQueryFingerprintTokenizer();
+
+    @Test
+    public void shouldReplaceLiterals() {
+        Assert.assertEquals(
+            List.of("select", "*", "from", "users", "where", "id", "=", LITERAL, "and", "name", "=", LITERAL),
+            tokenizer.tokenize(null, "SELECT * FROM Users WHERE id = 10 AND name = 'it''s'"));
+    }
+
+    @Test
+    public void shouldSkipComments() {
+        Assert.assertEquals(
+            tokenizer.tokenize(null, "select id from t"),
+            tokenizer.tokenize(null, "select /* block */ id\n  from t -- line comment"));
+    }
+
+    @Test
+    public void shouldKeepQuotedIdentifiers() {
+        List<String> tokens = tokenizer.tokenize(null, "select \"Name\" from t");
+        Assert.assertEquals(List.of("select", "\"Name\"", "from", "t"), tokens);
+        Assert.assertNotEquals(tokens, tokenizer.tokenize(null, "select \"NAME\" from t"));
+    }
+
+    @Test
+    public void shouldNotSplitLiteralsWithQuotes() {
+        // Quote inside a string literal must not start a quoted identifier
+        Assert.assertEquals(
+            List.of("select", LITERAL, ",", "\"A\"", "from", "t"),
+            tokenizer.tokenize(null, "select 'say \"hi\"', \"A\" from t"));
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.dbeaver.model.app.DBPProject;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public class DataSourceConfigurationJournalTest extends DBeaverUnitTest {
+
+    private static final String JOURNAL_NAME = "data-sources.json" + DataSourceConfigurationJournal.JOURNAL_FILE_EXT;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldReplayRecordsInOrder() {
+        Map<String, Object> connections = new LinkedHashMap<>();
+        connections.put("c1", Map.of("name", "first"));
+        connections.put("c2", Map.of("name", "second"));
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("connections", connections);
+
+        DataSourceConfigurationJournal.applyRecord(configuration, Map.of(
+            DataSourceConfigurationJournal.ATTR_JOURNAL_ID, "j1",
+            "connections", Map.of("c1", Map.of("name", "renamed"))));
+        DataSourceConfigurationJournal.applyRecord(configuration, Map.of(
+            "connections", Map.of("c3", Map.of("name", "third")),
+            "connection-types", Map.of("dev", Map.of("name", "Development"))));
+
+        Assert.assertFalse(configuration.containsKey(DataSourceConfigurationJournal.ATTR_JOURNAL_ID));
+        Assert.assertEquals(List.of("c1", "c2", "c3"), new ArrayList<>(connections.keySet()));
+        Assert.assertEquals(Map.of("name", "renamed"), connections.get("c1"));
+        Assert.assertEquals(Map.of("dev", Map.of("name", "Development")), configuration.get("connection-types"));
+    }
+
+    @Test
+    public void shouldDeleteAndRecreateConnection() {
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("connections", new LinkedHashMap<>(Map.of("c1", Map.of("name", "first"))));
+
+        DataSourceConfigurationJournal.applyRecord(configuration, Map.of(
+            DataSourceConfigurationJournal.ATTR_DELETED_CONNECTIONS, List.of("c1")));
+        Assert.assertTrue(((Map<?, ?>) configuration.get("connections")).isEmpty());
+        Assert.assertEquals(List.of("c1"), configuration.get(DataSourceConfigurationJournal.ATTR_DELETED_CONNECTIONS));
+
+        DataSourceConfigurationJournal.applyRecord(configuration, Map.of(
+            "connections", Map.of("c1", Map.of("name", "recreated"))));
+        Assert.assertEquals(Map.of("name", "recreated"), ((Map<?, ?>) configuration.get("connections")).get("c1"));
+        Assert.assertEquals(List.of(), configuration.get(DataSourceConfigurationJournal.ATTR_DELETED_CONNECTIONS));
+    }
+
+    @Test
+    public void shouldApplyCredentialsRecord() {
+        Map<String, Map<String, Map<String, String>>> credentials = new LinkedHashMap<>();
+        credentials.put("c1", Map.of("#connection", Map.of("user", "old")));
+        credentials.put("c2", Map.of("#connection", Map.of("user", "other")));
+
+        Map<String, Map<String, Map<String, String>>> record = new LinkedHashMap<>();
+        record.put("c1", Map.of("#connection", Map.of("user", "new")));
+        record.put("c2", Map.of());
+        DataSourceConfigurationJournal.applyCredentialsRecord(credentials, record);
+
+        Assert.assertEquals(Map.of("c1", Map.of("#connection", Map.of("user", "new"))), credentials);
+    }
+
+    @Test
+    public void shouldSkipTornLastRecord() throws Exception {
+        String header = "{\"journal-id\":\"j1\"}\n";
+        String record = "{\"journal-id\":\"j1\",\"connections\":{}}\n";
+        List<DataSourceConfigurationJournal.Line> lines = readJournal(header + record + "{\"journal-id\":\"j1\",\"conn");
+
+        Assert.assertEquals(2, lines.size());
+        Assert.assertEquals(record.trim(), lines.get(1).text());
+        // Torn record is read again on the next refresh
+        Assert.assertEquals(header.length() + record.length(), lines.get(1).endOffset());
+    }
+
+    @Test
+    public void shouldReadMissingJournal() throws Exception {
+        DataSourceConfigurationManager configurationManager = Mockito.mock(DataSourceConfigurationManager.class);
+        Assert.assertNull(DataSourceConfigurationJournal.readJournal(configurationManager, JOURNAL_NAME));
+    }
+
+    @Test
+    public void shouldMoveRecordToNewJournal() {
+        String record = "{\"journal-id\":\"j1\",\"connections\":{}}";
+        Assert.assertEquals(
+            "{\"journal-id\":\"j2\",\"connections\":{}}",
+            DataSourceConfigurationJournal.replaceRecordJournalId(record, "j1", "j2"));
+        Assert.assertNull(DataSourceConfigurationJournal.replaceRecordJournalId(record, "j0", "j2"));
+
+        Assert.assertEquals(
+            Set.of("c1", "c2"),
+            DataSourceConfigurationJournal.getRecordDataSourceIds(Map.of(
+                "connections", Map.of("c1", Map.of()),
+                DataSourceConfigurationJournal.ATTR_DELETED_CONNECTIONS, List.of("c2"))));
+    }
+
+    @Test
+    public void shouldDetectConfigurationChange() {
+        Assert.assertEquals(
+            DataSourceConfigurationJournal.getConfigurationChecksum("{\"connections\":{}}"),
+            DataSourceConfigurationJournal.getConfigurationChecksum("{\"connections\":{}}"));
+        Assert.assertNotEquals(
+            DataSourceConfigurationJournal.getConfigurationChecksum("{\"connections\":{}}"),
+            DataSourceConfigurationJournal.getConfigurationChecksum("{\"connections\":{\"c1\":{}}}"));
+    }
+
+    @Test
+    public void shouldRewriteAppendedJournal() throws Exception {
+        Path folder = tempFolder.getRoot().toPath();
+        DBPProject project = Mockito.mock(DBPProject.class);
+        Mockito.when(project.getMetadataFolder(Mockito.anyBoolean())).thenReturn(folder);
+        DataSourceConfigurationManagerNIO configurationManager = new DataSourceConfigurationManagerNIO(project);
+        String header = "{\"journal-id\":\"j1\"}\n";
+        String record = "{\"journal-id\":\"j1\",\"connections\":{}}\n";
+        configurationManager.appendConfiguration(JOURNAL_NAME, header.getBytes(StandardCharsets.UTF_8));
+        configurationManager.appendConfiguration(JOURNAL_NAME, record.getBytes(StandardCharsets.UTF_8));
+
+        configurationManager.rewriteConfiguration(JOURNAL_NAME, data -> {
+            Assert.assertEquals(header + record, new String(data, StandardCharsets.UTF_8));
+            return record.getBytes(StandardCharsets.UTF_8);
+        });
+        // Shorter content truncates the file
+        Assert.assertEquals(record, Files.readString(folder.resolve(JOURNAL_NAME)));
+
+        configurationManager.rewriteConfiguration(JOURNAL_NAME, data -> null);
+        Assert.assertFalse(Files.exists(folder.resolve(JOURNAL_NAME)));
+    }
+
+    private static List<DataSourceConfigurationJournal.Line> readJournal(String journal) throws Exception {
+        DataSourceConfigurationManager configurationManager = Mockito.mock(DataSourceConfigurationManager.class);
+        Mockito.when(configurationManager.readConfiguration(JOURNAL_NAME, null))
+            .thenReturn(new ByteArrayInputStream(journal.getBytes(StandardCharsets.UTF_8)));
+        return DataSourceConfigurationJournal.readJournal(configurationManager, JOURNAL_NAME);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry;
+
+import org.jkiss.dbeaver.model.DBPDataSourceConfigurationStorage;
+import org.jkiss.dbeaver.model.app.DBPDataSourceRegistry;
+import org.jkiss.dbeaver.model.connection.DBPConnectionConfiguration;
+import org.jkiss.dbeaver.model.connection.DBPConnectionType;
+import org.jkiss.dbeaver.model.connection.DBPDriver;
+import org.jkiss.dbeaver.model.struct.DBSObjectFilter;
+import org.jkiss.dbeaver.model.struct.rdb.DBSTable;
+import org.jkiss.dbeaver.runtime.DBWorkbench;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DataSourceDescriptorLazyLoadTest extends DBeaverUnitTest {
+
+    private static final String TABLE_TYPE = DBSTable.class.getName();
+
+    @Test
+    public void shouldRenderWithoutLoadingConfiguration() {
+        DataSourceDescriptor dataSource = createDataSource();
+        AtomicInteger loadCount = new AtomicInteger();
+        dataSource.setConnectionAppearance(DBPConnectionType.PROD, "255,0,0", true);
+        // Loader parses connection settings and decrypts credentials
+        dataSource.setConfigurationLoader(loadCount::incrementAndGet);
+
+        Assert.assertSame(DBPConnectionType.PROD, dataSource.getConnectionType());
+        Assert.assertEquals("255,0,0", dataSource.getConnectionColor());
+        Assert.assertTrue(dataSource.hasNetworkHandlers());
+        Assert.assertEquals(0, loadCount.get());
+        Assert.assertFalse(dataSource.isConfigurationLoaded());
+    }
+
+    @Test
+    public void shouldLoadConfigurationOnConnect() {
+        DataSourceDescriptor dataSource = createDataSource();
+        AtomicInteger loadCount = new AtomicInteger();
+        dataSource.setConnectionAppearance(DBPConnectionType.DEV, null, true);
+        dataSource.setConfigurationLoader(() -> {
+            loadCount.incrementAndGet();
+            dataSource.getConnectionConfiguration().setHostName("db-host");
+        });
+
+        // Connect reads the actual configuration
+        Assert.assertEquals("db-host", dataSource.getActualConnectionConfiguration().getHostName());
+        Assert.assertEquals("db-host", dataSource.getConnectionConfiguration().getHostName());
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertTrue(dataSource.isConfigurationLoaded());
+        Assert.assertSame(DBPConnectionType.DEV, dataSource.getConnectionType());
+        // Loaded configuration has no network handlers
+        Assert.assertFalse(dataSource.hasNetworkHandlers());
+    }
+
+    @Test
+    public void shouldKeepFiltersChangedBeforeLoad() {
+        DataSourceDescriptor dataSource = createDataSource();
+        DBSObjectFilter savedFilter = new DBSObjectFilter();
+        DBSObjectFilter userFilter = new DBSObjectFilter();
+        dataSource.setConfigurationLoader(() -> dataSource.updateObjectFilter(TABLE_TYPE, null, savedFilter));
+
+        dataSource.updateObjectFilter(TABLE_TYPE, null, userFilter);
+
+        Assert.assertSame(userFilter, dataSource.getObjectFilter(DBSTable.class, null, false));
+    }
+
+    @Test
+    public void shouldNotRestoreClearedFilters() {
+        DataSourceDescriptor dataSource = createDataSource();
+        dataSource.setConfigurationLoader(() -> dataSource.updateObjectFilter(TABLE_TYPE, null, new DBSObjectFilter()));
+
+        dataSource.clearFilters();
+
+        Assert.assertNull(dataSource.getObjectFilter(DBSTable.class, null, false));
+        Assert.assertTrue(dataSource.getObjectFilters().isEmpty());
+    }
+
+    private static DataSourceDescriptor createDataSource() {
+        DBPDataSourceRegistry registry = Mockito.mock(DBPDataSourceRegistry.class);
+        Mockito.when(registry.getPreferenceStore()).thenReturn(DBWorkbench.getPlatform().getPreferenceStore());
+        DBPDataSourceConfigurationStorage storage = Mockito.mock(DBPDataSourceConfigurationStorage.class);
+        DBPDriver driver = Mockito.mock(DBPDriver.class);
+        return new DataSourceDescriptor(
+            registry,
+            storage,
+            DataSourceOriginLocal.INSTANCE,
+            "lazy-test",
+            driver,
+            driver,
+            new DBPConnectionConfiguration());
+    }
+
+}
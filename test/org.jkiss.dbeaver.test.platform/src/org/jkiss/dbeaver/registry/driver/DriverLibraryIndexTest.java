@@ -0,0 +1,117 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.registry.driver;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+public class DriverLibraryIndexTest extends DBeaverUnitTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldIdentifyLibrariesByContent() throws IOException {
+        DriverLibraryIndex index = new DriverLibraryIndex(folder.getRoot().toPath().resolve("index.json"));
+        Path library1 = writeLibrary("first/driver.jar", "driver classes");
+        Path library2 = writeLibrary("second/driver.jar", "driver classes");
+        Path library3 = writeLibrary("third/driver.jar", "other classes");
+
+        String hash = index.getLibraryHash(library1);
+        Assert.assertNotNull(hash);
+        Assert.assertEquals(hash, index.getLibraryHash(library2));
+        Assert.assertNotEquals(hash, index.getLibraryHash(library3));
+        Assert.assertNull(index.getLibraryHash(folder.getRoot().toPath().resolve("missing.jar")));
+    }
+
+    @Test
+    public void shouldRecalculateHashOfChangedLibrary() throws IOException {
+        DriverLibraryIndex index = new DriverLibraryIndex(folder.getRoot().toPath().resolve("index.json"));
+        Path library = writeLibrary("driver.jar", "version 1");
+        String oldHash = index.getLibraryHash(library);
+
+        // Same size, different modification time
+        Files.writeString(library, "version 2", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(library, FileTime.fromMillis(Files.getLastModifiedTime(library).toMillis() + 10000));
+        Assert.assertNotEquals(oldHash, index.getLibraryHash(library));
+    }
+
+    @Test
+    public void shouldKeepLookupResults() throws IOException {
+        DriverLibraryIndex index = new DriverLibraryIndex(folder.getRoot().toPath().resolve("index.json"));
+        String hash = index.getLibraryHash(writeLibrary("driver.jar", "driver classes"));
+        Assert.assertNotNull(hash);
+        Assert.assertNull(index.getImplementors(hash, "java.sql.Driver"));
+        Assert.assertNull(index.getServices(hash, "java.sql.Driver"));
+
+        index.putLibraryInfo(hash, "java.sql.Driver", List.of("com.example.Driver"),
+            Map.of("java.sql.Driver", List.of("com.example.Driver")));
+        Assert.assertEquals(List.of("com.example.Driver"), index.getImplementors(hash, "java.sql.Driver"));
+        Assert.assertEquals(List.of("com.example.Driver"), index.getServices(hash, "java.sql.Driver"));
+        Assert.assertTrue(index.getServices(hash, "javax.sql.DataSource").isEmpty());
+        Assert.assertNull(index.getImplementors(hash, "javax.sql.DataSource"));
+    }
+
+    @Test
+    public void shouldSaveAndLoadIndex() throws IOException {
+        Path indexFile = folder.getRoot().toPath().resolve("index.json");
+        Path library = writeLibrary("driver.jar", "driver classes");
+        Path removedLibrary = writeLibrary("removed.jar", "removed classes");
+
+        DriverLibraryIndex index = new DriverLibraryIndex(indexFile);
+        String hash = index.getLibraryHash(library);
+        String removedHash = index.getLibraryHash(removedLibrary);
+        index.putLibraryInfo(hash, "java.sql.Driver", List.of("com.example.Driver"), Map.of());
+        index.putLibraryInfo(removedHash, "java.sql.Driver", List.of("com.example.Removed"), Map.of());
+        Files.delete(removedLibrary);
+        index.save();
+        Assert.assertTrue(Files.exists(indexFile));
+
+        DriverLibraryIndex loadedIndex = new DriverLibraryIndex(indexFile);
+        Assert.assertEquals(List.of("com.example.Driver"), loadedIndex.getImplementors(hash, "java.sql.Driver"));
+        // Libraries of deleted files are forgotten
+        Assert.assertNull(loadedIndex.getImplementors(removedHash, "java.sql.Driver"));
+    }
+
+    @Test
+    public void shouldRebuildBrokenIndex() throws IOException {
+        Path indexFile = folder.getRoot().toPath().resolve("index.json");
+        Files.writeString(indexFile, "{ broken", StandardCharsets.UTF_8);
+
+        DriverLibraryIndex index = new DriverLibraryIndex(indexFile);
+        Assert.assertNotNull(index.getLibraryHash(writeLibrary("driver.jar", "driver classes")));
+    }
+
+    private Path writeLibrary(String name, String content) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+}
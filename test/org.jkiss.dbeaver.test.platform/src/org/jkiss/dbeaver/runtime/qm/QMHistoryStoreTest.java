@@ -0,0 +1,168 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.runtime.qm;
+
+import org.jkiss.dbeaver.model.exec.DBCExecutionPurpose;
+import org.jkiss.dbeaver.model.qm.QMEventAction;
+import org.jkiss.dbeaver.model.qm.QMEventCursor;
+import org.jkiss.dbeaver.model.qm.QMMetaEvent;
+import org.jkiss.dbeaver.model.qm.QMMetaEventEntity;
+import org.jkiss.dbeaver.model.qm.filters.QMCursorFilter;
+import org.jkiss.dbeaver.model.qm.filters.QMEventCriteria;
+import org.jkiss.dbeaver.model.qm.meta.QMMConnectionInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementExecuteInfo;
+import org.jkiss.dbeaver.model.qm.meta.QMMStatementInfo;
+import org.jkiss.dbeaver.model.runtime.DBRProgressMonitor;
+import org.jkiss.dbeaver.model.runtime.VoidProgressMonitor;
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class QMHistoryStoreTest extends DBeaverUnitTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final DBRProgressMonitor monitor = new VoidProgressMonitor();
+    private final QMMConnectionInfo connection = QMMConnectionInfo.builder()
+        .setContainerId("test-ds")
+        .setContainerName("Test")
+        .setDriverId("test-driver")
+        .setContextName("Main")
+        .build();
+
+    @Test
+    public void shouldReadWrittenEvents() throws Exception {
+        QMHistoryStore store = new QMHistoryStore(tempFolder.getRoot().toPath());
+        try {
+            writeQueries(store, 1, 10);
+
+            Assert.assertEquals(List.of(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L), readEventIds(store, true, null));
+            Assert.assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), readEventIds(store, false, null));
+            Assert.assertEquals(List.of(5L), readEventIds(store, true, "select 5"));
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    public void shouldTruncateBrokenSegmentTail() throws Exception {
+        Path folder = tempFolder.getRoot().toPath();
+        QMHistoryStore store = new QMHistoryStore(folder);
+        writeQueries(store, 1, 5);
+        readEventIds(store, false, null);
+        store.dispose();
+
+        // Torn record of an interrupted write
+        List<Path> segmentFiles = getSegmentFiles(folder);
+        Assert.assertEquals(1, segmentFiles.size());
+        Files.write(segmentFiles.get(0), new byte[]{0, 0, 1, 0, 2, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        store = new QMHistoryStore(folder);
+        try {
+            Assert.assertEquals(List.of(1L, 2L, 3L, 4L, 5L), readEventIds(store, false, null));
+            writeQueries(store, 6, 1);
+            Assert.assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), readEventIds(store, false, null));
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    public void shouldContinueReadingAfterCompaction() throws Exception {
+        checkCompactionDuringRead(false, List.of(1L, 2L, 3L, 4L), List.of(5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L));
+    }
+
+    @Test
+    public void shouldContinueReadingAfterCompactionInDescendingOrder() throws Exception {
+        checkCompactionDuringRead(true, List.of(12L, 11L, 10L, 9L, 8L), List.of(7L, 6L, 5L, 4L, 3L, 2L, 1L));
+    }
+
+    private void checkCompactionDuringRead(boolean desc, List<Long> beforeCompaction, List<Long> afterCompaction) throws Exception {
+        Path folder = tempFolder.getRoot().toPath();
+        // 4 segments of 3 events, the last one is active
+        QMHistoryStore store = new QMHistoryStore(folder, 3);
+        try {
+            writeQueries(store, 1, 12);
+            try (QMEventCursor cursor = store.getQueryHistoryCursor(createFilter(desc, null))) {
+                Assert.assertEquals(12, cursor.getTotalSize());
+                Assert.assertEquals(beforeCompaction, readEventIds(cursor, beforeCompaction.size()));
+
+                store.compactSegments(monitor);
+                Assert.assertEquals(2, getSegmentFiles(folder).size());
+
+                Assert.assertEquals(afterCompaction, readEventIds(cursor, Integer.MAX_VALUE));
+            }
+            List<Long> allEvents = new ArrayList<>(beforeCompaction);
+            allEvents.addAll(afterCompaction);
+            Assert.assertEquals(allEvents, readEventIds(store, desc, null));
+        } finally {
+            store.dispose();
+        }
+    }
+
+    private void writeQueries(QMHistoryStore store, int firstQuery, int count) {
+        List<QMMetaEvent> events = new ArrayList<>();
+        long time = System.currentTimeMillis();
+        for (int i = firstQuery; i < firstQuery + count; i++) {
+            QMMStatementInfo statement = new QMMStatementInfo(time, time, connection, DBCExecutionPurpose.USER);
+            QMMStatementExecuteInfo execution = new QMMStatementExecuteInfo(
+                time, time, statement, "SELECT " + i, 1, 0, null, time, time, false, null, null);
+            events.add(new QMMetaEvent(execution, QMEventAction.END, null));
+        }
+        store.metaInfoChanged(monitor, events);
+    }
+
+    private List<Long> readEventIds(QMHistoryStore store, boolean desc, String searchString) throws Exception {
+        try (QMEventCursor cursor = store.getQueryHistoryCursor(createFilter(desc, searchString))) {
+            return readEventIds(cursor, Integer.MAX_VALUE);
+        }
+    }
+
+    private List<Long> readEventIds(QMEventCursor cursor, int maxCount) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        while (ids.size() < maxCount && cursor.hasNextEvent(monitor)) {
+            QMMetaEventEntity event = cursor.nextEvent(monitor);
+            Assert.assertEquals("SELECT " + event.getId(), event.getObject().getText());
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    private static QMCursorFilter createFilter(boolean desc, String searchString) {
+        QMEventCriteria criteria = new QMEventCriteria();
+        criteria.setDesc(desc);
+        criteria.setSearchString(searchString);
+        return new QMCursorFilter(null, criteria, null);
+    }
+
+    private static List<Path> getSegmentFiles(Path folder) throws Exception {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".qmh")).toList();
+        }
+    }
+
+}
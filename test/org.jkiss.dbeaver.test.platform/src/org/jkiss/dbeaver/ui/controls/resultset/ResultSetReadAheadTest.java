@@ -0,0 +1,106 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.controls.resultset;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ResultSetReadAheadTest extends DBeaverUnitTest {
+
+    private static final int SEGMENT_SIZE = 200;
+
+    @Test
+    public void shouldNotReadAheadWithoutScrolling() {
+        ResultSetReadAhead readAhead = new ResultSetReadAhead();
+        readAhead.trackSegmentRead(SEGMENT_SIZE, 400);
+        readAhead.trackScroll(50, 1000);
+
+        Assert.assertEquals(0, readAhead.getReadAheadDistance(SEGMENT_SIZE, 10));
+        Assert.assertEquals(SEGMENT_SIZE, readAhead.getReadAheadRows(SEGMENT_SIZE, 10));
+    }
+
+    @Test
+    public void shouldReadAheadByVelocityAndLatency() {
+        ResultSetReadAhead readAhead = scrollOneRowPerMillisecond();
+        // 2 ms per row
+        readAhead.trackSegmentRead(SEGMENT_SIZE, 400);
+
+        // 1 row/ms * 400 ms per segment * safety factor 2
+        Assert.assertEquals(800, readAhead.getReadAheadDistance(SEGMENT_SIZE, 10));
+        Assert.assertEquals(800, readAhead.getReadAheadRows(SEGMENT_SIZE, 10));
+    }
+
+    @Test
+    public void shouldLimitReadAheadBySegmentCount() {
+        ResultSetReadAhead readAhead = scrollOneRowPerMillisecond();
+        readAhead.trackSegmentRead(SEGMENT_SIZE, 400);
+
+        Assert.assertEquals(2 * SEGMENT_SIZE, readAhead.getReadAheadDistance(SEGMENT_SIZE, 2));
+        Assert.assertEquals(2 * SEGMENT_SIZE, readAhead.getReadAheadRows(SEGMENT_SIZE, 2));
+    }
+
+    @Test
+    public void shouldKeepRowLatencyForShortLastSegment() {
+        ResultSetReadAhead readAhead = scrollOneRowPerMillisecond();
+        readAhead.trackSegmentRead(SEGMENT_SIZE, 400);
+        // The last segment of the result set has only 20 rows
+        readAhead.trackSegmentRead(20, 40);
+        // Empty read doesn't change latency
+        readAhead.trackSegmentRead(0, 100);
+
+        Assert.assertEquals(800, readAhead.getReadAheadDistance(SEGMENT_SIZE, 10));
+    }
+
+    @Test
+    public void shouldResetVelocityAfterIdlePeriod() {
+        ResultSetReadAhead readAhead = scrollOneRowPerMillisecond();
+        readAhead.trackSegmentRead(SEGMENT_SIZE, 400);
+        readAhead.trackScroll(150, 5000);
+
+        Assert.assertEquals(0, readAhead.getReadAheadDistance(SEGMENT_SIZE, 10));
+    }
+
+    @Test
+    public void shouldResetVelocityOnScrollUp() {
+        ResultSetReadAhead readAhead = scrollOneRowPerMillisecond();
+        readAhead.trackSegmentRead(SEGMENT_SIZE, 400);
+        readAhead.trackScroll(10, 1200);
+
+        Assert.assertEquals(0, readAhead.getReadAheadDistance(SEGMENT_SIZE, 10));
+    }
+
+    @Test
+    public void shouldNotReadAheadAfterReset() {
+        ResultSetReadAhead readAhead = scrollOneRowPerMillisecond();
+        readAhead.trackSegmentRead(SEGMENT_SIZE, 400);
+        readAhead.reset();
+
+        Assert.assertEquals(0, readAhead.getReadAheadDistance(SEGMENT_SIZE, 10));
+        // Scroll of the new results is measured from scratch
+        readAhead.trackScroll(100, 1200);
+        Assert.assertEquals(0, readAhead.getReadAheadDistance(SEGMENT_SIZE, 10));
+    }
+
+    private static ResultSetReadAhead scrollOneRowPerMillisecond() {
+        ResultSetReadAhead readAhead = new ResultSetReadAhead();
+        readAhead.trackScroll(0, 1000);
+        readAhead.trackScroll(100, 1100);
+        return readAhead;
+    }
+
+}
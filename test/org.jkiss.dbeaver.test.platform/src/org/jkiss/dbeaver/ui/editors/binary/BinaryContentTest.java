@@ -0,0 +1,113 @@
+/*
+ * DBeaver - Universal Database Manager
+ * Copyright (C) 2010-2025 DBeaver Corp and others
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jkiss.dbeaver.ui.editors.binary;
+
+import org.jkiss.junit.DBeaverUnitTest;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
+
+public class BinaryContentTest extends DBeaverUnitTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldKeepFileDataOffsetOnPartialOverwrite() throws Exception {
+        BinaryContent content = new BinaryContent(createFile("data.bin").toFile());
+        try {
+            checkPartialOverwrite(content);
+        } finally {
+            content.dispose();
+        }
+    }
+
+    @Test
+    public void shouldKeepBufferDataOffsetOnPartialOverwrite() throws Exception {
+        BinaryContent content = new BinaryContent();
+        content.insert(ByteBuffer.wrap(makeData()), 0);
+        checkPartialOverwrite(content);
+    }
+
+    @Test
+    public void shouldReplaceSourceFileKeepingPermissionsAndLinks() throws Exception {
+        Path file = createFile("data.bin");
+        Assume.assumeNotNull(Files.getFileAttributeView(file, PosixFileAttributeView.class));
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r--r--"));
+        Path link = tempFolder.getRoot().toPath().resolve("link.bin");
+        Files.createSymbolicLink(link, file);
+
+        BinaryContent content = new BinaryContent(link.toFile());
+        try {
+            content.overwrite((byte) 0x7f, 0);
+            Assert.assertEquals(10, content.get(link.toFile()));
+
+            Assert.assertTrue(Files.isSymbolicLink(link));
+            Assert.assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+            byte[] expected = makeData();
+            expected[0] = 0x7f;
+            Assert.assertArrayEquals(expected, Files.readAllBytes(file));
+            // Content still reads the old file data
+            Assert.assertArrayEquals(expected, readContent(content));
+        } finally {
+            content.dispose();
+        }
+        try (Stream<Path> files = Files.list(tempFolder.getRoot().toPath())) {
+            Assert.assertEquals(2, files.count());
+        }
+    }
+
+    private static void checkPartialOverwrite(BinaryContent content) throws Exception {
+        // The only piece starts at data offset 3 now
+        content.delete(0, 3);
+        // Lower nibble of 0x55
+        content.overwrite((byte) 0x0f, 4, 4, 2);
+        Assert.assertArrayEquals(
+            new byte[]{0x33, 0x44, 0x5f, 0x66, 0x77, (byte) 0x88, (byte) 0x99},
+            readContent(content));
+    }
+
+    private Path createFile(String name) throws Exception {
+        Path file = tempFolder.getRoot().toPath().resolve(name);
+        Files.write(file, makeData());
+        return file;
+    }
+
+    private static byte[] readContent(BinaryContent content) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate((int) content.length());
+        content.get(buffer, 0);
+        return buffer.array();
+    }
+
+    private static byte[] makeData() {
+        byte[] data = new byte[10];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 0x11);
+        }
+        return data;
+    }
+
+}